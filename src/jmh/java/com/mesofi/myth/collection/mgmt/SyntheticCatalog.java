@@ -0,0 +1,305 @@
+package com.mesofi.myth.collection.mgmt;
+
+import com.mesofi.myth.collection.mgmt.config.ImportProperties;
+import com.mesofi.myth.collection.mgmt.mappers.FigurineMapper;
+import com.mesofi.myth.collection.mgmt.model.DistributionChannel;
+import com.mesofi.myth.collection.mgmt.model.Distributor;
+import com.mesofi.myth.collection.mgmt.model.Figurine;
+import com.mesofi.myth.collection.mgmt.model.SourceFigurine;
+import com.mesofi.myth.collection.mgmt.repository.DistributionChannelRepository;
+import com.mesofi.myth.collection.mgmt.repository.DistributorRepository;
+import com.mesofi.myth.collection.mgmt.service.DistributionChannelService;
+import com.mesofi.myth.collection.mgmt.service.DistributorService;
+import com.mesofi.myth.collection.mgmt.service.ReferenceDataRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Builds catalogs of made up figurines for the benchmarks. The same size always builds the same
+ * catalog, roughly one out of four figurines is a restock of a previous one.
+ */
+public final class SyntheticCatalog {
+
+  private static final String[] NAMES = {
+    "Pegasus Seiya",
+    "Dragon Shiryu",
+    "Cygnus Hyoga",
+    "Andromeda Shun",
+    "Phoenix Ikki",
+    "Aries Shion",
+    "Gemini Saga",
+    "Leo Aiolia",
+    "Virgo Shaka",
+    "Sea Emperor",
+    "Hades",
+    "Athena"
+  };
+  private static final String[] LINE_UPS = {
+    "Myth Cloth EX", "Myth Cloth", "Appendix", "Saint Cloth Legend", "Figuarts", "DD Panoramation"
+  };
+  private static final String[] SERIES = {
+    "Saint Seiya", "Saintia Sho", "Soul of Gold", "The Lost Canvas", "Saint Seiya Omega"
+  };
+  private static final String[] GROUPS = {
+    "Bronze Saint V1",
+    "Bronze Saint V2",
+    "Bronze Saint V3",
+    "Bronze Saint V4",
+    "Bronze Saint V5",
+    "Black Saint",
+    "Silver Saint",
+    "Gold Saint",
+    "God Robe",
+    "Poseidon Scale",
+    "Surplice Saint",
+    "Specter",
+    "Judge",
+    "God",
+    "Inheritor"
+  };
+  private static final String[] ANNIVERSARIES = {"10", "15", "20", "30", "40", "50"};
+  private static final String[] CHANNELS = {"Stores", "Tamashii Web Shop", "Tamashii World Tour"};
+  private static final String[] DISTRIBUTORS = {"DTM", "Bandai Mexico", "Toys Unlimited"};
+
+  private static final String[] HEADER = {
+    "Base Name",
+    "Price (JPY)",
+    "Announcement (JPY)",
+    "Preorder (JPY)",
+    "Release (JPY)",
+    "Distributor (MXN)",
+    "Price (MXN)",
+    "Preorder (MXN)",
+    "Release (MXN)",
+    "Link",
+    "Distribution",
+    "LineUp",
+    "Series",
+    "Group",
+    "Metal",
+    "OCE",
+    "Revival",
+    "PlainCloth",
+    "Broken",
+    "Golden",
+    "Gold",
+    "HK",
+    "Manga",
+    "Set",
+    "Anniversary",
+    "Official Images",
+    "Other Images",
+    "Remarks"
+  };
+
+  private SyntheticCatalog() {}
+
+  /**
+   * Builds the rows of a source file.
+   *
+   * @param size The number of rows.
+   * @return The rows.
+   */
+  public static List<SourceFigurine> sourceFigurines(int size) {
+    Random random = new Random(42);
+    int distinct = Math.max(1, size * 3 / 4);
+    List<SourceFigurine> rows = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      int id = i < distinct ? i : random.nextInt(distinct);
+      rows.add(sourceFigurine(id, random));
+    }
+    return rows;
+  }
+
+  /**
+   * Builds a source file, the same rows returned by {@link #sourceFigurines(int)}.
+   *
+   * @param size The number of rows.
+   * @return The CSV content.
+   */
+  public static String csv(int size) {
+    StringBuilder csv = new StringBuilder(size * 300);
+    appendRow(csv, HEADER);
+    for (SourceFigurine row : sourceFigurines(size)) {
+      appendRow(
+          csv,
+          new String[] {
+            row.getBaseName(),
+            row.getPriceJPY(),
+            row.getAnnJPY(),
+            row.getPreorderJPY(),
+            row.getReleaseJPY(),
+            row.getDistributorMXN(),
+            row.getPriceMXN(),
+            row.getPreorderMXN(),
+            row.getReleaseMXN(),
+            row.getLink(),
+            row.getDist(),
+            row.getLineUp(),
+            row.getSeries(),
+            row.getGroup(),
+            row.getMetal(),
+            row.getOce(),
+            row.getRevival(),
+            row.getPlainCloth(),
+            row.getBroken(),
+            row.getGolden(),
+            row.getGold(),
+            row.getHk(),
+            row.getManga(),
+            row.getSet(),
+            row.getAnniversary(),
+            row.getOfficialImages(),
+            row.getOtherImages(),
+            row.getRemarks()
+          });
+    }
+    return csv.toString();
+  }
+
+  /**
+   * Builds the figurines as they are mapped from a source file, the calculated fields are not
+   * populated.
+   *
+   * @param size The number of figurines.
+   * @return The figurines.
+   */
+  public static List<Figurine> figurines(int size) {
+    FigurineMapper mapper = mapper();
+    return new ArrayList<>(sourceFigurines(size).stream().map(mapper::toFigure).toList());
+  }
+
+  /**
+   * Creates a mapper that knows the distributors and distribution channels used in the catalog.
+   *
+   * @return The mapper.
+   */
+  public static FigurineMapper mapper() {
+    List<Distributor> distributors =
+        IntStream.range(0, DISTRIBUTORS.length)
+            .mapToObj(i -> new Distributor("d" + i, DISTRIBUTORS[i]))
+            .toList();
+    List<DistributionChannel> channels =
+        IntStream.range(0, CHANNELS.length)
+            .mapToObj(i -> new DistributionChannel("c" + i, CHANNELS[i]))
+            .toList();
+    return new FigurineMapper(
+        new ReferenceDataRegistry(
+            new DistributorService(stub(DistributorRepository.class, distributors), event -> {}),
+            new DistributionChannelService(
+                stub(DistributionChannelRepository.class, channels), event -> {}),
+            new ImportProperties()),
+        new SimpleMeterRegistry());
+  }
+
+  /**
+   * Creates a repository that returns the same result no matter which method is called, or an empty
+   * map when there is no result and the method returns a map.
+   *
+   * @param type The type of repository.
+   * @param result The result returned by every method.
+   * @return The repository.
+   */
+  public static <T> T stub(Class<T> type, Object result) {
+    Object proxy =
+        Proxy.newProxyInstance(
+            type.getClassLoader(),
+            new Class<?>[] {type},
+            (self, method, args) ->
+                switch (method.getName()) {
+                  case "hashCode" -> System.identityHashCode(self);
+                  case "equals" -> self == args[0];
+                  case "toString" -> type.getSimpleName() + " stub";
+                  default -> result == null && method.getReturnType() == Map.class
+                      ? Map.of()
+                      : result;
+                });
+    return type.cast(proxy);
+  }
+
+  private static SourceFigurine sourceFigurine(int id, Random random) {
+    // The attributes depend on the id only, so the restocks share them.
+    Random attributes = new Random(id);
+    SourceFigurine row = new SourceFigurine();
+    row.setBaseName(NAMES[id % NAMES.length] + " " + id);
+    row.setLineUp(pick(attributes, LINE_UPS));
+    row.setSeries(pick(attributes, SERIES));
+    row.setGroup(pick(attributes, GROUPS));
+    row.setMetal(flag(attributes, 10));
+    row.setOce(flag(attributes, 10));
+    row.setRevival(flag(attributes, 8));
+    row.setPlainCloth(flag(attributes, 20));
+    row.setBroken(flag(attributes, 20));
+    row.setGolden(flag(attributes, 15));
+    row.setGold(flag(attributes, 25));
+    row.setHk(flag(attributes, 30));
+    row.setManga(flag(attributes, 20));
+    row.setSet(flag(attributes, 30));
+    row.setAnniversary(attributes.nextInt(8) == 0 ? pick(attributes, ANNIVERSARIES) : "");
+
+    // The dates and prices change between restocks.
+    LocalDate announcement = LocalDate.of(2003, 1, 1).plusDays(random.nextInt(365 * 25));
+    row.setAnnJPY(random.nextInt(10) == 0 ? "" : mdy(announcement));
+    int release = random.nextInt(10);
+    if (release < 8) {
+      LocalDate releaseDate = announcement.plusDays(90 + random.nextInt(365));
+      row.setPriceJPY(String.format(Locale.US, "¥%,d", 6000 + random.nextInt(60) * 500));
+      row.setPreorderJPY(mdy(announcement.plusDays(30)));
+      row.setReleaseJPY(
+          release == 0
+              ? releaseDate.getMonthValue() + "/" + releaseDate.getYear()
+              : mdy(releaseDate));
+    } else {
+      row.setPriceJPY("¥0");
+    }
+    if (random.nextBoolean()) {
+      row.setDistributorMXN(pick(random, DISTRIBUTORS));
+      row.setPriceMXN(String.format(Locale.US, "$%,d", 1500 + random.nextInt(40) * 100));
+      row.setReleaseMXN(mdy(announcement.plusDays(200 + random.nextInt(365))));
+    }
+
+    row.setLink(random.nextInt(3) == 0 ? "" : "https://tamashiiweb.com/item/" + (10000 + id));
+    row.setDist(pick(random, CHANNELS));
+    row.setOfficialImages(images(random, id, "o"));
+    row.setOtherImages(images(random, id, "x"));
+    row.setRemarks(random.nextInt(5) == 0 ? "Remarks for " + id : "");
+    return row;
+  }
+
+  private static String images(Random random, int id, String prefix) {
+    StringBuilder images = new StringBuilder();
+    int count = random.nextInt(4);
+    for (int i = 0; i < count; i++) {
+      images.append(i == 0 ? "" : ",").append(prefix).append(id).append('_').append(i);
+      images.append(i % 2 == 0 ? "" : ".png");
+    }
+    return images.toString();
+  }
+
+  private static String mdy(LocalDate date) {
+    return date.getMonthValue() + "/" + date.getDayOfMonth() + "/" + date.getYear();
+  }
+
+  private static String flag(Random random, int oneOutOf) {
+    return random.nextInt(oneOutOf) == 0 ? "TRUE" : "FALSE";
+  }
+
+  private static String pick(Random random, String[] values) {
+    return values[random.nextInt(values.length)];
+  }
+
+  private static void appendRow(StringBuilder csv, String[] values) {
+    for (int i = 0; i < values.length; i++) {
+      String value = values[i] == null ? "" : values[i];
+      csv.append(i == 0 ? "" : ",").append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+    csv.append('\n');
+  }
+}
@@ -0,0 +1,49 @@
+package com.mesofi.myth.collection.mgmt.mappers;
+
+import com.mesofi.myth.collection.mgmt.SyntheticCatalog;
+import com.mesofi.myth.collection.mgmt.model.SourceFigurine;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Measures the mapping of the rows of a source file, every operation maps the whole catalog. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class FigurineMapperBenchmark {
+
+  /** Number of rows in the source file, use -p size=... to try other sizes. */
+  @Param({"1000", "10000"})
+  private int size;
+
+  private FigurineMapper mapper;
+  private List<SourceFigurine> rows;
+
+  @Setup(Level.Trial)
+  public void createCatalog() {
+    mapper = SyntheticCatalog.mapper();
+    rows = SyntheticCatalog.sourceFigurines(size);
+  }
+
+  @Benchmark
+  public void toFigure(Blackhole blackhole) {
+    for (SourceFigurine row : rows) {
+      blackhole.consume(mapper.toFigure(row));
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package com.mesofi.myth.collection.mgmt.mappers;
+
+import com.mesofi.myth.collection.mgmt.SyntheticCatalog;
+import com.mesofi.myth.collection.mgmt.model.SourceFigurine;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the parsing of the dates and amounts of a source file, against the previous
+ * implementation. Every operation parses the values of the whole catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class SourceValueParserBenchmark {
+
+  /** Number of rows in the source file, use -p size=... to try other sizes. */
+  @Param({"1000", "10000"})
+  private int size;
+
+  private List<String> dates;
+  private List<String> amounts;
+
+  @Setup(Level.Trial)
+  public void createValues() {
+    List<SourceFigurine> rows = SyntheticCatalog.sourceFigurines(size);
+    dates =
+        nonEmpty(
+            rows.stream()
+                .flatMap(
+                    row ->
+                        Stream.of(
+                            row.getAnnJPY(),
+                            row.getPreorderJPY(),
+                            row.getReleaseJPY(),
+                            row.getPreorderMXN(),
+                            row.getReleaseMXN())));
+    amounts =
+        nonEmpty(
+            rows.stream()
+                .flatMap(row -> Stream.of(row.getPriceJPY(), row.getPriceMXN()))
+                .filter(amount -> !"¥0".equals(amount)));
+  }
+
+  @Benchmark
+  public void parseDate(Blackhole blackhole) {
+    for (String date : dates) {
+      blackhole.consume(SourceValueParser.parseDate(date));
+    }
+  }
+
+  @Benchmark
+  public void parseDateLegacy(Blackhole blackhole) {
+    for (String date : dates) {
+      blackhole.consume(LegacySourceValues.parseDate(date));
+    }
+  }
+
+  @Benchmark
+  public void parseAmount(Blackhole blackhole) {
+    for (String amount : amounts) {
+      blackhole.consume(SourceValueParser.parseAmount(amount));
+    }
+  }
+
+  @Benchmark
+  public void parseAmountLegacy(Blackhole blackhole) {
+    for (String amount : amounts) {
+      blackhole.consume(LegacySourceValues.parseAmount(amount));
+    }
+  }
+
+  private static List<String> nonEmpty(Stream<String> values) {
+    return values.filter(Objects::nonNull).filter(value -> !value.isEmpty()).toList();
+  }
+}
@@ -0,0 +1,131 @@
+package com.mesofi.myth.collection.mgmt.service;
+
+import com.mesofi.myth.collection.mgmt.SyntheticCatalog;
+import com.mesofi.myth.collection.mgmt.config.DisplayableNameProperties;
+import com.mesofi.myth.collection.mgmt.config.ImportExecutorConfig;
+import com.mesofi.myth.collection.mgmt.config.ImportProperties;
+import com.mesofi.myth.collection.mgmt.config.TaxProperties;
+import com.mesofi.myth.collection.mgmt.model.ImportCheckpoint;
+import com.mesofi.myth.collection.mgmt.model.ImportMode;
+import com.mesofi.myth.collection.mgmt.model.ImportSummary;
+import com.mesofi.myth.collection.mgmt.model.SourceFigurine;
+import com.mesofi.myth.collection.mgmt.repository.MythCollectionRepository;
+import com.opencsv.bean.CsvToBeanBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Measures the import of a spooled source file: the CSV parsing alone, over the mapped file and by
+ * OpenCSV as it was parsed before, the whole import with a repository that discards the figurines
+ * and the dry run of the same file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class FigurineImportBenchmark {
+
+  /** Number of rows in the source file, use -p size=... to try other sizes. */
+  @Param({"1000", "10000"})
+  private int size;
+
+  private String csv;
+  private Path sourceFile;
+  private FigurineImportService importService;
+  private ThreadPoolTaskExecutor mappingTaskExecutor;
+
+  @Setup(Level.Trial)
+  public void createSourceFile() throws IOException {
+    csv = SyntheticCatalog.csv(size);
+    sourceFile = Files.createTempFile("figurines", ".csv");
+    Files.writeString(sourceFile, csv, StandardCharsets.UTF_8);
+    ImportProperties properties = new ImportProperties();
+    mappingTaskExecutor = new ImportExecutorConfig().mappingTaskExecutor(properties);
+    mappingTaskExecutor.initialize();
+
+    MythCollectionRepository repository =
+        SyntheticCatalog.stub(MythCollectionRepository.class, null);
+    importService =
+        new FigurineImportService(
+            repository,
+            SyntheticCatalog.mapper(),
+            new MythCollectionService(
+                repository,
+                event -> {},
+                new DisplayableNameCache(
+                    new DisplayableNameProperties(), new SimpleMeterRegistry()),
+                new TaxRateTimeline(new TaxProperties()),
+                Clock.systemDefaultZone()),
+            properties,
+            Clock.systemDefaultZone(),
+            mappingTaskExecutor);
+  }
+
+  @TearDown(Level.Trial)
+  public void shutdown() throws IOException {
+    mappingTaskExecutor.shutdown();
+    Files.deleteIfExists(sourceFile);
+  }
+
+  /** The rows parsed by OpenCSV, as they were parsed before the mapped file, to compare them. */
+  @Benchmark
+  public void parseCsv(Blackhole blackhole) {
+    for (SourceFigurine row :
+        new CsvToBeanBuilder<SourceFigurine>(new StringReader(csv))
+            .withType(SourceFigurine.class)
+            .build()) {
+      blackhole.consume(row);
+    }
+  }
+
+  @Benchmark
+  public void parseMappedFile(Blackhole blackhole) throws IOException {
+    try (MappedSourceFile rows = MappedSourceFile.open(sourceFile)) {
+      while (rows.hasNext()) {
+        blackhole.consume(rows.next());
+      }
+    }
+  }
+
+  @Benchmark
+  public ImportSummary importFigurines() throws IOException {
+    return importFigurines(ImportMode.INSERT);
+  }
+
+  /** The same import in a dry run, the rows are mapped but not written. */
+  @Benchmark
+  public ImportSummary dryRun() throws IOException {
+    return importFigurines(ImportMode.DRY_RUN);
+  }
+
+  private ImportSummary importFigurines(ImportMode mode) throws IOException {
+    try (MappedSourceFile rows = MappedSourceFile.open(sourceFile)) {
+      return importService.importFigurines(
+          rows, mode, ImportCheckpoint.start(UUID.randomUUID().toString()), $ -> true);
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package com.mesofi.myth.collection.mgmt.service;
+
+import com.mesofi.myth.collection.mgmt.SyntheticCatalog;
+import com.mesofi.myth.collection.mgmt.config.DisplayableNameProperties;
+import com.mesofi.myth.collection.mgmt.config.TaxProperties;
+import com.mesofi.myth.collection.mgmt.model.Distribution;
+import com.mesofi.myth.collection.mgmt.model.Figurine;
+import com.mesofi.myth.collection.mgmt.repository.MythCollectionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the calculated fields and the listing of the figurines, every operation covers the whole
+ * catalog. The restocks are grouped by the DB, so {@code getAllFigurines} measures the sorting done
+ * once the figurines are read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class MythCollectionServiceBenchmark {
+
+  /** Number of figurines in the catalog, use -p size=... to try other sizes. */
+  @Param({"1000", "10000"})
+  private int size;
+
+  private MythCollectionService service;
+  private DisplayableNameEngine displayableNames;
+  private TaxRateTimeline taxRates;
+
+  private List<Figurine> figurines;
+  private List<List<String>> images;
+
+  @Setup(Level.Trial)
+  public void createCatalog() {
+    figurines = SyntheticCatalog.figurines(size);
+    displayableNames = DisplayableNameEngine.compile(DisplayableNameRules.RULES);
+    taxRates = new TaxRateTimeline(new TaxProperties());
+    images = figurines.stream().map(Figurine::getOfficialImages).filter(Objects::nonNull).toList();
+
+    service =
+        new MythCollectionService(
+            SyntheticCatalog.stub(MythCollectionRepository.class, figurines),
+            event -> {},
+            new DisplayableNameCache(new DisplayableNameProperties(), new SimpleMeterRegistry()),
+            taxRates,
+            Clock.systemDefaultZone());
+    figurines.forEach(service::populateAdditionalInfo); // stored with the calculated fields
+  }
+
+  @Benchmark
+  public void calculateDisplayableName(Blackhole blackhole) {
+    for (Figurine figurine : figurines) {
+      blackhole.consume(service.calculateDisplayableName(figurine));
+    }
+  }
+
+  /** The displayable name calculated every time, without the names kept by the service. */
+  @Benchmark
+  public void calculateDisplayableNameUncached(Blackhole blackhole) {
+    for (Figurine figurine : figurines) {
+      blackhole.consume(displayableNames.calculate(figurine));
+    }
+  }
+
+  /** The displayable name as it was calculated before the rules, to compare them. */
+  @Benchmark
+  public void calculateDisplayableNameLegacy(Blackhole blackhole) {
+    for (Figurine figurine : figurines) {
+      blackhole.consume(LegacyDisplayableName.calculateDisplayableName(figurine));
+    }
+  }
+
+  @Benchmark
+  public void calculateFinalPrice(Blackhole blackhole) {
+    for (Figurine figurine : figurines) {
+      Distribution jpy = figurine.getDistributionJPY();
+      if (Objects.nonNull(jpy) && Objects.nonNull(jpy.getBasePrice())) {
+        blackhole.consume(taxRates.finalPrice(jpy.getBasePrice(), jpy.getReleaseDate()));
+      }
+    }
+  }
+
+  @Benchmark
+  public void complementImageUrls(Blackhole blackhole) {
+    for (List<String> image : images) {
+      blackhole.consume(service.complementImageUrls(image));
+    }
+  }
+
+  @Benchmark
+  public void populateAdditionalInfo() {
+    figurines.forEach(service::populateAdditionalInfo);
+  }
+
+  @Benchmark
+  public List<Figurine> getAllFigurines() {
+    return service.getAllFigurines(false);
+  }
+}
@@ -0,0 +1,72 @@
+package com.mesofi.myth.collection.mgmt.service;
+
+import com.mesofi.myth.collection.mgmt.SyntheticCatalog;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+
+/**
+ * Measures the spooling of an uploaded source file, plain and compressed with gzip. The time saved
+ * sending the compressed file is not measured, only the time spent decompressing it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class UploadedFilesBenchmark {
+
+  /** Number of rows in the source file, use -p size=... to try other sizes. */
+  @Param({"10000", "100000"})
+  private int size;
+
+  private MockMultipartFile plain;
+  private MockMultipartFile gzip;
+  private Path spoolFile;
+
+  @Setup(Level.Trial)
+  public void createSourceFiles() throws IOException {
+    byte[] csv = SyntheticCatalog.csv(size).getBytes(StandardCharsets.UTF_8);
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+      out.write(csv);
+    }
+    plain = new MockMultipartFile("file", "catalog.csv", "text/csv", csv);
+    gzip = new MockMultipartFile("file", "catalog.csv.gz", null, compressed.toByteArray());
+    spoolFile = Files.createTempFile("spool", ".csv");
+  }
+
+  @TearDown(Level.Trial)
+  public void deleteSpoolFile() throws IOException {
+    Files.deleteIfExists(spoolFile);
+  }
+
+  @Benchmark
+  public boolean spoolPlain() throws IOException {
+    return UploadedFiles.spool(plain, spoolFile);
+  }
+
+  @Benchmark
+  public boolean spoolGzip() throws IOException {
+    return UploadedFiles.spool(gzip, spoolFile);
+  }
+}
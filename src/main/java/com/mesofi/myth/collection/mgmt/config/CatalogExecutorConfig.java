@@ -0,0 +1,25 @@
+package com.mesofi.myth.collection.mgmt.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/** Configures the executor where the catalog snapshots are rebuilt. */
+@Configuration
+public class CatalogExecutorConfig {
+
+  /**
+   * Creates a single thread executor, the rebuilds are coalesced so there is never more than one
+   * waiting.
+   *
+   * @return The executor.
+   */
+  @Bean
+  public ThreadPoolTaskExecutor catalogTaskExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(1);
+    executor.setMaxPoolSize(1);
+    executor.setThreadNamePrefix("figurine-catalog-");
+    return executor;
+  }
+}
@@ -0,0 +1,21 @@
+package com.mesofi.myth.collection.mgmt.config;
+
+import java.time.Clock;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** Configures the clock used to calculate the status of the figurines and the import jobs. */
+@Configuration
+public class ClockConfig {
+
+  /**
+   * Creates the clock, the current date is read from it once per request or batch so every figurine
+   * in it gets the status calculated with the same date.
+   *
+   * @return The clock of the system.
+   */
+  @Bean
+  public Clock clock() {
+    return Clock.systemDefaultZone();
+  }
+}
@@ -0,0 +1,15 @@
+package com.mesofi.myth.collection.mgmt.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Settings used while calculating the displayable names. */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "myth.displayable-names")
+public class DisplayableNameProperties {
+
+  /** Number of displayable names kept in memory, the oldest ones are discarded first. */
+  private int cacheSize = 10_000;
+}
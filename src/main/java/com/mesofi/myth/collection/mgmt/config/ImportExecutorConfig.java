@@ -0,0 +1,43 @@
+package com.mesofi.myth.collection.mgmt.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/** Configures the executors where the import jobs are executed and their rows are mapped. */
+@Configuration
+public class ImportExecutorConfig {
+
+  /**
+   * Creates a bounded executor for the import jobs. Once all the workers are busy and the queue is
+   * full, new jobs are rejected.
+   *
+   * @param properties The import settings.
+   * @return The executor.
+   */
+  @Bean
+  public ThreadPoolTaskExecutor importTaskExecutor(ImportProperties properties) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(properties.getWorkers());
+    executor.setMaxPoolSize(properties.getWorkers());
+    executor.setQueueCapacity(properties.getQueueCapacity());
+    executor.setThreadNamePrefix("figurine-import-");
+    return executor;
+  }
+
+  /**
+   * Creates the executor where the rows of the source files are mapped to figurines. The mapping
+   * only uses CPU, so the pool is not larger than the number of processors by default.
+   *
+   * @param properties The import settings.
+   * @return The executor.
+   */
+  @Bean
+  public ThreadPoolTaskExecutor mappingTaskExecutor(ImportProperties properties) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(Math.max(1, properties.getMappingThreads()));
+    executor.setMaxPoolSize(Math.max(1, properties.getMappingThreads()));
+    executor.setThreadNamePrefix("figurine-mapping-");
+    return executor;
+  }
+}
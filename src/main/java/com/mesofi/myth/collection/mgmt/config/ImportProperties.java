@@ -0,0 +1,54 @@
+package com.mesofi.myth.collection.mgmt.config;
+
+import java.nio.file.Path;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Settings used while importing figurines from a source file. */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "myth.import")
+public class ImportProperties {
+
+  /** Number of figurines written to the DB in a single bulk insert. */
+  private int batchSize = 500;
+
+  /** Number of import jobs running at the same time. */
+  private int workers = 2;
+
+  /** Number of threads mapping the rows of the source files, shared by all the import jobs. */
+  private int mappingThreads = Runtime.getRuntime().availableProcessors();
+
+  /**
+   * Number of rows that may be rejected before an import fails, the rows rejected are skipped. A
+   * dry run never fails, it reports every row.
+   */
+  private int errorBudget = 0;
+
+  /**
+   * Number of rows that cannot be imported kept in the report of an import, the rest are counted.
+   */
+  private int maxReportedErrors = 100;
+
+  /** Number of import jobs waiting for a worker before new jobs are rejected. */
+  private int queueCapacity = 10;
+
+  /**
+   * Directory where the uploaded files are kept while the import job is running, the files of the
+   * failed jobs are kept so they can be resumed.
+   */
+  private Path spoolDirectory = Path.of(System.getProperty("java.io.tmpdir"), "myth-imports");
+
+  /**
+   * Whether the import jobs interrupted by a restart are resumed once the application is ready, the
+   * jobs are found by the files left in the spool directory.
+   */
+  private boolean resumeOnStartup = true;
+
+  /**
+   * Whether the distributors and distribution channels of the source file are found ignoring the
+   * case and the extra whitespace.
+   */
+  private boolean lenientNames = false;
+}
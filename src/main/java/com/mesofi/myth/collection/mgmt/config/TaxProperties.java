@@ -0,0 +1,32 @@
+package com.mesofi.myth.collection.mgmt.config;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.format.annotation.DateTimeFormat;
+
+/** Settings of the consumption tax included in the final price of the JPY figurines. */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "myth.tax")
+public class TaxProperties {
+
+  /** Tax rates, every rate is applied from its date until the date of the next one. */
+  private List<Rate> rates =
+      List.of(
+          new Rate(LocalDate.of(1997, 4, 1), new BigDecimal("0.05")),
+          new Rate(LocalDate.of(2014, 4, 1), new BigDecimal("0.08")),
+          new Rate(LocalDate.of(2019, 10, 1), new BigDecimal("0.1")));
+
+  /**
+   * A tax rate.
+   *
+   * @param from The first day the rate is applied.
+   * @param rate The rate, e.g. 0.1 for 10%.
+   */
+  public record Rate(
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from, BigDecimal rate) {}
+}
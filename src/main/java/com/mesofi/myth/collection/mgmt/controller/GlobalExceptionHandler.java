@@ -1,10 +1,18 @@
 package com.mesofi.myth.collection.mgmt.controller;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+import static org.springframework.http.HttpStatus.UNSUPPORTED_MEDIA_TYPE;
 
 import com.mesofi.myth.collection.mgmt.exceptions.CatalogItemNotFoundException;
 import com.mesofi.myth.collection.mgmt.exceptions.FigurineNotFoundException;
+import com.mesofi.myth.collection.mgmt.exceptions.ImportJobNotFoundException;
+import com.mesofi.myth.collection.mgmt.exceptions.ImportJobNotResumableException;
+import com.mesofi.myth.collection.mgmt.exceptions.ImportJobRejectedException;
+import com.mesofi.myth.collection.mgmt.exceptions.InvalidCursorException;
+import com.mesofi.myth.collection.mgmt.exceptions.UnsupportedCompressionException;
 import com.mesofi.myth.collection.mgmt.model.ErrorDetails;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.List;
@@ -86,6 +94,60 @@ public class GlobalExceptionHandler {
         NOT_FOUND, "The figurine for the given identifier was not found.", null, request);
   }
 
+  // Handle the case where no import job is found (404 error)
+  @ExceptionHandler(ImportJobNotFoundException.class)
+  @ResponseStatus(NOT_FOUND)
+  public ResponseEntity<ErrorDetails> handleHttpRequestImportJobNotFound(
+      ImportJobNotFoundException ex, HttpServletRequest request) {
+    return createErrorDetails(
+        NOT_FOUND, "The import job for the given identifier was not found.", null, request);
+  }
+
+  // Handle the case where the import job cannot be resumed (409 error)
+  @ExceptionHandler(ImportJobNotResumableException.class)
+  @ResponseStatus(CONFLICT)
+  public ResponseEntity<ErrorDetails> handleHttpRequestImportJobNotResumable(
+      ImportJobNotResumableException ex, HttpServletRequest request) {
+    return createErrorDetails(
+        CONFLICT,
+        "Only the failed import jobs whose file is still available can be resumed.",
+        ex.getMessage(),
+        request);
+  }
+
+  // Handle the case where there is no room for more import jobs (503 error)
+  @ExceptionHandler(ImportJobRejectedException.class)
+  @ResponseStatus(SERVICE_UNAVAILABLE)
+  public ResponseEntity<ErrorDetails> handleHttpRequestImportJobRejected(
+      ImportJobRejectedException ex, HttpServletRequest request) {
+    return createErrorDetails(
+        SERVICE_UNAVAILABLE,
+        "Too many imports in progress, try again later.",
+        ex.getMessage(),
+        request);
+  }
+
+  // Handle the case where the uploaded file is compressed with an unsupported codec (415 error)
+  @ExceptionHandler(UnsupportedCompressionException.class)
+  @ResponseStatus(UNSUPPORTED_MEDIA_TYPE)
+  public ResponseEntity<ErrorDetails> handleHttpRequestUnsupportedCompression(
+      UnsupportedCompressionException ex, HttpServletRequest request) {
+    return createErrorDetails(
+        UNSUPPORTED_MEDIA_TYPE,
+        "The compression of the uploaded file is not supported.",
+        ex.getMessage(),
+        request);
+  }
+
+  // Handle the case where the cursor sent by the client cannot be read (400 error)
+  @ExceptionHandler(InvalidCursorException.class)
+  @ResponseStatus(BAD_REQUEST)
+  public ResponseEntity<ErrorDetails> handleInvalidCursor(
+      InvalidCursorException ex, HttpServletRequest request) {
+    return createErrorDetails(
+        BAD_REQUEST, "The cursor provided is not valid.", ex.getMessage(), request);
+  }
+
   private ResponseEntity<ErrorDetails> createErrorDetails(
       HttpStatus httpStatus, String messages, String detailMessage, HttpServletRequest request) {
 
@@ -0,0 +1,80 @@
+package com.mesofi.myth.collection.mgmt.controller;
+
+import com.mesofi.myth.collection.mgmt.model.ImportJob;
+import com.mesofi.myth.collection.mgmt.model.ImportRejection;
+import com.mesofi.myth.collection.mgmt.service.ImportJobService;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Reports the progress of the figurine imports. */
+@Slf4j
+@Validated
+@RestController
+@AllArgsConstructor
+@RequestMapping(ImportJobController.MAPPING)
+@CrossOrigin(origins = "*")
+public class ImportJobController {
+
+  public static final String MAPPING = MythCollectionController.MAPPING + "/imports";
+
+  private final ImportJobService service;
+
+  /**
+   * Retrieves the progress of an import job.
+   *
+   * @param jobId The unique identifier of the job.
+   * @return The import job.
+   */
+  @GetMapping("/{jobId}")
+  public ImportJob getImportJob(@PathVariable String jobId) {
+    return service.getJob(jobId);
+  }
+
+  /**
+   * Retrieves the rows rejected by an import job, in the order of the file. Use the line of the
+   * last row returned to get the next page.
+   *
+   * @param jobId The unique identifier of the job.
+   * @param afterLine The last line of the previous page.
+   * @param size The number of rows in the page.
+   * @return The rows rejected.
+   */
+  @GetMapping("/{jobId}/rejections")
+  public List<ImportRejection> getRejections(
+      @PathVariable String jobId,
+      @RequestParam(defaultValue = "0") long afterLine,
+      @RequestParam(defaultValue = "100") int size) {
+    return service.getRejections(jobId, afterLine, size);
+  }
+
+  /**
+   * Resumes a failed import job from the last batch written.
+   *
+   * @param jobId The unique identifier of the job.
+   * @return The import job.
+   */
+  @PostMapping("/{jobId}/resume")
+  public ImportJob resumeImportJob(@PathVariable String jobId) {
+    return service.resume(jobId);
+  }
+
+  /**
+   * Cancels an import job.
+   *
+   * @param jobId The unique identifier of the job.
+   * @return The import job.
+   */
+  @PostMapping("/{jobId}/cancel")
+  public ImportJob cancelImportJob(@PathVariable String jobId) {
+    return service.cancel(jobId);
+  }
+}
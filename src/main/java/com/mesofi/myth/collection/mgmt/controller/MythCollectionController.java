@@ -1,13 +1,28 @@
 package com.mesofi.myth.collection.mgmt.controller;
 
+import com.mesofi.myth.collection.mgmt.model.Category;
 import com.mesofi.myth.collection.mgmt.model.Figurine;
+import com.mesofi.myth.collection.mgmt.model.FigurineFilter;
+import com.mesofi.myth.collection.mgmt.model.FigurinePage;
+import com.mesofi.myth.collection.mgmt.model.ImportJob;
+import com.mesofi.myth.collection.mgmt.model.ImportMode;
+import com.mesofi.myth.collection.mgmt.model.LineUp;
+import com.mesofi.myth.collection.mgmt.model.SerializedCatalog;
+import com.mesofi.myth.collection.mgmt.model.Series;
+import com.mesofi.myth.collection.mgmt.model.Status;
+import com.mesofi.myth.collection.mgmt.service.FigurineCatalogService;
+import com.mesofi.myth.collection.mgmt.service.ImportJobService;
 import com.mesofi.myth.collection.mgmt.service.MythCollectionService;
 import jakarta.validation.Valid;
 import java.net.URI;
-import java.util.List;
+import java.util.regex.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,11 +30,13 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
 
 /**
  * @author armandorivasarzaluz
@@ -34,15 +51,39 @@ public class MythCollectionController {
 
   public static final String MAPPING = "/figurines";
 
+  private static final Pattern ZERO_QUALITY = Pattern.compile("q=0(\\.0{0,3})?");
+
   private final MythCollectionService service;
+  private final ImportJobService importJobService;
+  private final FigurineCatalogService catalogService;
 
+  /**
+   * Creates the figurines contained in a CSV file. The import runs in the background, its progress
+   * is available in the location returned. With {@link ImportMode#UPSERT} the figurines imported
+   * before from the same rows are updated instead, and the rows that have not changed are skipped.
+   * With {@link ImportMode#REPLACE} the file becomes the whole catalog once every row has been
+   * written, and with {@link ImportMode#DRY_RUN} nothing is written, the job reports the rows that
+   * cannot be imported along with their line numbers.
+   *
+   * @param file The CSV file.
+   * @param mode How the figurines are written, every row is inserted by default.
+   * @param uriBuilder The Uri builder.
+   * @return The import job created.
+   */
   @PostMapping("/upload")
-  public List<Figurine> uploadFigurines(@RequestParam("file") MultipartFile file) {
+  public ResponseEntity<ImportJob> uploadFigurines(
+      @RequestParam("file") MultipartFile file,
+      @RequestParam(defaultValue = "INSERT") ImportMode mode,
+      UriComponentsBuilder uriBuilder) {
+
+    ImportJob importJob = importJobService.submit(file, mode);
 
-    List<Figurine> figurineList = service.createFigurines(file);
-    log.info("{} figurines created ...", figurineList.size());
+    // Build the URI where the progress of the import is reported
+    String pathLocation = ImportJobController.MAPPING + "/{id}";
+    String location = uriBuilder.path(pathLocation).buildAndExpand(importJob.getId()).toUriString();
 
-    return figurineList;
+    // Return 202 Accepted with Location header and the import job
+    return ResponseEntity.accepted().location(URI.create(location)).body(importJob);
   }
 
   /**
@@ -83,14 +124,82 @@ public class MythCollectionController {
   }
 
   /**
-   * Retrieves all the existing figurines.
+   * Retrieves all the existing figurines. The catalog is already serialized, compressed when the
+   * client accepts gzip, and 304 is returned when the client already has the latest catalog.
    *
    * @param excludeRestocks By default, the restocks are included in the list.
-   * @return A list of figurines.
+   * @param acceptEncoding The encodings accepted by the client.
+   * @return A list of figurines as JSON.
    */
   @GetMapping
-  public List<Figurine> getAllFigurines(@RequestParam(required = false) boolean excludeRestocks) {
-    return service.getAllFigurines(excludeRestocks);
+  public ResponseEntity<byte[]> getAllFigurines(
+      @RequestParam(required = false) boolean excludeRestocks,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+    SerializedCatalog catalog = catalogService.getSerializedCatalog(excludeRestocks);
+    boolean gzip = acceptsGzip(acceptEncoding);
+
+    // The If-None-Match header is checked against the ETag by Spring, it answers 304 on a match
+    ResponseEntity.BodyBuilder response =
+        ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(gzip ? catalog.gzipEtag() : catalog.etag())
+            .cacheControl(CacheControl.noCache())
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+    if (gzip) {
+      return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(catalog.gzip());
+    }
+    return response.body(catalog.json());
+  }
+
+  /**
+   * Retrieves a page of figurines, use the cursor returned to get the next page.
+   *
+   * @param lineUp Optional line up filter.
+   * @param series Optional series filter.
+   * @param category Optional category filter.
+   * @param status Optional status filter.
+   * @param excludeRestocks By default, the restocks are included in the list.
+   * @param size The number of figurines in the page.
+   * @param cursor The cursor returned in the previous page.
+   * @return A page of figurines.
+   */
+  @GetMapping("/page")
+  public FigurinePage getFigurinePage(
+      @RequestParam(required = false) LineUp lineUp,
+      @RequestParam(required = false) Series series,
+      @RequestParam(required = false) Category category,
+      @RequestParam(required = false) Status status,
+      @RequestParam(required = false) boolean excludeRestocks,
+      @RequestParam(defaultValue = "50") int size,
+      @RequestParam(required = false) String cursor) {
+    return service.getFigurinePage(
+        new FigurineFilter(lineUp, series, category, status), excludeRestocks, size, cursor);
+  }
+
+  /**
+   * Streams the existing figurines as newline delimited JSON or as server-sent events, depending on
+   * the Accept header. The figurines are sent as they are read, in the same order as the whole
+   * list, and they are read only as fast as the client receives them.
+   *
+   * @param lineUp Optional line up filter.
+   * @param series Optional series filter.
+   * @param category Optional category filter.
+   * @param status Optional status filter.
+   * @param excludeRestocks By default, the restocks are included in the list.
+   * @return The figurines.
+   */
+  @GetMapping(
+      value = "/stream",
+      produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+  public Flux<Figurine> streamFigurines(
+      @RequestParam(required = false) LineUp lineUp,
+      @RequestParam(required = false) Series series,
+      @RequestParam(required = false) Category category,
+      @RequestParam(required = false) Status status,
+      @RequestParam(required = false) boolean excludeRestocks) {
+    return service.streamFigurines(
+        new FigurineFilter(lineUp, series, category, status), excludeRestocks);
   }
 
   /**
@@ -103,4 +212,19 @@ public class MythCollectionController {
   public Figurine getFigurine(@PathVariable String id) {
     return service.getFigurine(id);
   }
+
+  private static boolean acceptsGzip(String acceptEncoding) {
+    if (!StringUtils.hasText(acceptEncoding)) {
+      return false;
+    }
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.split(";");
+      String name = parts[0].trim();
+      if ("gzip".equalsIgnoreCase(name) || "*".equals(name)) {
+        // gzip;q=0 means the client does not accept it
+        return parts.length < 2 || !ZERO_QUALITY.matcher(parts[1].trim()).matches();
+      }
+    }
+    return false;
+  }
 }
@@ -0,0 +1,11 @@
+package com.mesofi.myth.collection.mgmt.exceptions;
+
+import java.io.Serial;
+
+public class ImportJobNotFoundException extends RuntimeException {
+  @Serial private static final long serialVersionUID = 1633194847674823762L;
+
+  public ImportJobNotFoundException(String msg) {
+    super(msg);
+  }
+}
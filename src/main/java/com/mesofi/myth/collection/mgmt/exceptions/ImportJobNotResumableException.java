@@ -0,0 +1,11 @@
+package com.mesofi.myth.collection.mgmt.exceptions;
+
+import java.io.Serial;
+
+public class ImportJobNotResumableException extends RuntimeException {
+  @Serial private static final long serialVersionUID = 4218830761495122374L;
+
+  public ImportJobNotResumableException(String msg) {
+    super(msg);
+  }
+}
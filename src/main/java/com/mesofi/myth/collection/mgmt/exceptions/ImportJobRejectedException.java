@@ -0,0 +1,11 @@
+package com.mesofi.myth.collection.mgmt.exceptions;
+
+import java.io.Serial;
+
+public class ImportJobRejectedException extends RuntimeException {
+  @Serial private static final long serialVersionUID = 1633194847674823762L;
+
+  public ImportJobRejectedException(String msg) {
+    super(msg);
+  }
+}
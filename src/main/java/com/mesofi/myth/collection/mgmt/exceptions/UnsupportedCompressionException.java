@@ -0,0 +1,11 @@
+package com.mesofi.myth.collection.mgmt.exceptions;
+
+import java.io.Serial;
+
+public class UnsupportedCompressionException extends RuntimeException {
+  @Serial private static final long serialVersionUID = 7305519863407216485L;
+
+  public UnsupportedCompressionException(String msg) {
+    super(msg);
+  }
+}
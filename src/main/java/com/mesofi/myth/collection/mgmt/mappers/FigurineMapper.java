@@ -9,43 +9,31 @@ import com.mesofi.myth.collection.mgmt.model.Figurine;
 import com.mesofi.myth.collection.mgmt.model.LineUp;
 import com.mesofi.myth.collection.mgmt.model.Series;
 import com.mesofi.myth.collection.mgmt.model.SourceFigurine;
-import com.mesofi.myth.collection.mgmt.service.DistributionChannelService;
-import com.mesofi.myth.collection.mgmt.service.DistributorService;
+import com.mesofi.myth.collection.mgmt.service.ReferenceDataRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.YearMonth;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
-import java.time.format.DateTimeParseException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
 @Component
 public class FigurineMapper {
 
-  private static final DateTimeFormatter formatterMDY =
-      new DateTimeFormatterBuilder()
-          .appendPattern("M/d/yyyy") // Format: M/d/yyyy
-          .toFormatter();
+  private final ReferenceDataRegistry referenceData;
 
-  private static final DateTimeFormatter formatterMY =
-      new DateTimeFormatterBuilder()
-          .appendPattern("M/yyyy") // Format: M/yyyy
-          .toFormatter();
+  private final Counter unresolvedDistributors;
+  private final Counter unresolvedDistributionChannels;
 
-  private final List<DistributionChannel> distributionChannels;
-  private final List<Distributor> distributors;
-
-  public FigurineMapper(
-      DistributionChannelService distributionChannelService,
-      DistributorService distributorService) {
-
-    this.distributors = distributorService.getAllDistributors();
-    this.distributionChannels = distributionChannelService.getAllDistributionChannels();
+  public FigurineMapper(ReferenceDataRegistry referenceData, MeterRegistry meterRegistry) {
+    this.referenceData = referenceData;
+    this.unresolvedDistributors = unresolvedCounter(meterRegistry, "distributor");
+    this.unresolvedDistributionChannels = unresolvedCounter(meterRegistry, "distribution-channel");
   }
 
   /**
@@ -53,8 +41,13 @@ public class FigurineMapper {
    *
    * @param catalog The source figurine.
    * @return The actual figurine.
+   * @throws IllegalArgumentException If a date or an amount cannot be parsed, or the line up, the
+   *     series or the group is unknown.
    */
   public Figurine toFigure(SourceFigurine catalog) {
+    // The same reference data is used for the whole row.
+    ReferenceDataRegistry.Snapshot references = referenceData.snapshot();
+
     Figurine figurine = new Figurine();
     figurine.setBaseName(catalog.getBaseName());
 
@@ -64,14 +57,15 @@ public class FigurineMapper {
     getDistribution(figurine, true).setReleaseDate(toLocalDate(catalog.getReleaseJPY()));
     getDistribution(figurine, true).setReleaseDateConfirmed(isConfirmed(catalog.getReleaseJPY()));
 
-    getDistribution(figurine, false).setDistributor(findDistributor(catalog.getDistributorMXN()));
+    getDistribution(figurine, false)
+        .setDistributor(findDistributor(references, catalog.getDistributorMXN()));
     getDistribution(figurine, false).setBasePrice(toBigDecimal(catalog.getPriceMXN()));
     getDistribution(figurine, false).setPreOrderDate(toLocalDate(catalog.getPreorderMXN()));
     getDistribution(figurine, false).setReleaseDate(toLocalDate(catalog.getReleaseMXN()));
     getDistribution(figurine, false).setReleaseDateConfirmed(isConfirmed(catalog.getReleaseMXN()));
 
     figurine.setTamashiiUrl(StringUtils.hasLength(catalog.getLink()) ? catalog.getLink() : null);
-    figurine.setDistributionChannel(findDistributionChannel(catalog.getDist()));
+    figurine.setDistributionChannel(findDistributionChannel(references, catalog.getDist()));
     figurine.setLineUp(toLineUp(catalog.getLineUp()));
     figurine.setSeries(toSeries(catalog.getSeries()));
     figurine.setCategory(toCategory(catalog.getGroup()));
@@ -143,7 +137,8 @@ public class FigurineMapper {
       case "Judge" -> Category.JUDGE;
       case "God" -> Category.GOD;
       case "Inheritor" -> Category.INHERITOR;
-      default -> null;
+      case "" -> null;
+      default -> throw new IllegalArgumentException("Unknown group: " + group);
     };
   }
 
@@ -157,7 +152,8 @@ public class FigurineMapper {
       case "Saint Cloth Crown" -> LineUp.SC_CROWN;
       case "DD Panoramation" -> LineUp.DDP;
       case "Figuarts Zero Metallic Touch" -> LineUp.FIGUARTS_ZERO;
-      default -> null;
+      case "" -> null;
+      default -> throw new IllegalArgumentException("Unknown line up: " + lineUp);
     };
   }
 
@@ -170,23 +166,37 @@ public class FigurineMapper {
       case "Saint Seiya Omega" -> Series.SS_OMEGA;
       case "The Lost Canvas" -> Series.LOST_CANVAS;
       case "Saint Seiya The Beginning" -> Series.SS_THE_BEGINNING;
-
-      default -> null;
+      case "" -> null;
+      default -> throw new IllegalArgumentException("Unknown series: " + series);
     };
   }
 
-  private Distributor findDistributor(String distributor) {
-    return distributors.stream()
-        .filter(d -> d.getName().equals(distributor))
-        .findFirst()
-        .orElse(null);
+  private Distributor findDistributor(ReferenceDataRegistry.Snapshot references, String name) {
+    return countUnresolved(name, references::findDistributor, unresolvedDistributors);
+  }
+
+  private DistributionChannel findDistributionChannel(
+      ReferenceDataRegistry.Snapshot references, String distribution) {
+    return countUnresolved(
+        distribution, references::findDistributionChannel, unresolvedDistributionChannels);
+  }
+
+  private <T> T countUnresolved(String name, Function<String, T> finder, Counter unresolved) {
+    if (!StringUtils.hasLength(name)) {
+      return null;
+    }
+    T value = finder.apply(name);
+    if (Objects.isNull(value)) {
+      unresolved.increment();
+    }
+    return value;
   }
 
-  private DistributionChannel findDistributionChannel(String distribution) {
-    return distributionChannels.stream()
-        .filter(dc -> dc.getDistribution().equals(distribution))
-        .findFirst()
-        .orElse(null);
+  private static Counter unresolvedCounter(MeterRegistry meterRegistry, String reference) {
+    return Counter.builder("figurines.import.unresolved")
+        .description("Names in the source file that match no distributor or distribution channel")
+        .tag("reference", reference)
+        .register(meterRegistry);
   }
 
   private boolean isDistributionEmpty(Distribution distribution) {
@@ -210,29 +220,12 @@ public class FigurineMapper {
 
   private BigDecimal toBigDecimal(String amount) {
     amount = Optional.ofNullable(amount).orElse("");
-    return (amount.isEmpty() || amount.equals("¥0"))
-        ? null
-        : new BigDecimal(amount.substring(1).replaceAll(",", ""));
+    return (amount.isEmpty() || amount.equals("¥0")) ? null : SourceValueParser.parseAmount(amount);
   }
 
   private LocalDate toLocalDate(String date) {
     date = Optional.ofNullable(date).orElse("");
-    return date.isEmpty() ? null : tryParse(date);
-  }
-
-  private LocalDate tryParse(String input) {
-    try {
-      // Try the first format
-      return LocalDate.parse(input, formatterMDY);
-    } catch (DateTimeParseException e1) {
-      try {
-        // If parsing fails, try the second format
-        return YearMonth.parse(input, formatterMY).atDay(1);
-      } catch (DateTimeParseException e2) {
-        // If both parsing attempts fail, throw an exception
-        throw new IllegalArgumentException("Invalid date format: " + input);
-      }
-    }
+    return date.isEmpty() ? null : SourceValueParser.parseDate(date);
   }
 
   private Distribution getDistribution(Figurine figurine, boolean jpy) {
@@ -0,0 +1,133 @@
+package com.mesofi.myth.collection.mgmt.mappers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Parses the dates and amounts found in the source file. The usual values (M/d/yyyy, M/yyyy and
+ * amounts made of digits and thousands separators) are parsed by hand, without exceptions nor
+ * regular expressions; anything else goes through the formatters, so the result is the same as
+ * before.
+ */
+final class SourceValueParser {
+
+  private static final DateTimeFormatter formatterMDY =
+      new DateTimeFormatterBuilder()
+          .appendPattern("M/d/yyyy") // Format: M/d/yyyy
+          .toFormatter();
+
+  private static final DateTimeFormatter formatterMY =
+      new DateTimeFormatterBuilder()
+          .appendPattern("M/yyyy") // Format: M/yyyy
+          .toFormatter();
+
+  // Digits that always fit in a long.
+  private static final int MAX_LONG_DIGITS = 18;
+
+  private SourceValueParser() {}
+
+  /**
+   * Parses a date, either M/d/yyyy or M/yyyy, the latter is the first day of the month.
+   *
+   * @param input The date, not empty.
+   * @return The date.
+   * @throws IllegalArgumentException If the date has none of the formats.
+   */
+  static LocalDate parseDate(String input) {
+    int first = input.indexOf('/');
+    int second = first < 0 ? -1 : input.indexOf('/', first + 1);
+
+    int month = number(input, 0, first, 2);
+    if (second < 0) {
+      int year = number(input, first + 1, input.length(), 4);
+      if (month >= 1 && month <= 12 && year >= 1000) {
+        return LocalDate.of(year, month, 1);
+      }
+    } else {
+      int day = number(input, first + 1, second, 2);
+      int year = number(input, second + 1, input.length(), 4);
+      if (month >= 1 && month <= 12 && day >= 1 && day <= 31 && year >= 1000) {
+        // Like the formatters, a day past the end of the month is the last day of the month.
+        return LocalDate.of(year, month, Math.min(day, YearMonth.of(year, month).lengthOfMonth()));
+      }
+    }
+    return parseWithFormatters(input);
+  }
+
+  /**
+   * Parses an amount, the first character is the currency symbol and the thousands are separated by
+   * commas.
+   *
+   * @param amount The amount, not empty.
+   * @return The amount without the currency symbol.
+   * @throws NumberFormatException If the amount is not a number.
+   */
+  static BigDecimal parseAmount(String amount) {
+    long value = 0;
+    int digits = 0;
+    for (int i = 1; i < amount.length(); i++) {
+      char c = amount.charAt(i);
+      if (c >= '0' && c <= '9') {
+        value = value * 10 + (c - '0');
+        digits++;
+      } else if (c != ',') {
+        return parseDecimal(amount);
+      }
+    }
+    return digits > 0 && digits <= MAX_LONG_DIGITS
+        ? BigDecimal.valueOf(value)
+        : parseDecimal(amount);
+  }
+
+  /**
+   * Parses a number made only of digits.
+   *
+   * @return The number, or -1 when the text is not made of 1 to maxDigits digits.
+   */
+  private static int number(String input, int from, int to, int maxDigits) {
+    if (from < 0 || to - from < 1 || to - from > maxDigits) {
+      return -1;
+    }
+    int value = 0;
+    for (int i = from; i < to; i++) {
+      char c = input.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      value = value * 10 + (c - '0');
+    }
+    return value;
+  }
+
+  // Decimals, signs or too many digits.
+  private static BigDecimal parseDecimal(String amount) {
+    StringBuilder number = new StringBuilder(amount.length());
+    for (int i = 1; i < amount.length(); i++) {
+      char c = amount.charAt(i);
+      if (c != ',') {
+        number.append(c);
+      }
+    }
+    return new BigDecimal(number.toString());
+  }
+
+  // Values with leading zeros, short years and invalid dates.
+  private static LocalDate parseWithFormatters(String input) {
+    try {
+      // Try the first format
+      return LocalDate.parse(input, formatterMDY);
+    } catch (DateTimeParseException e1) {
+      try {
+        // If parsing fails, try the second format
+        return YearMonth.parse(input, formatterMY).atDay(1);
+      } catch (DateTimeParseException e2) {
+        // If both parsing attempts fail, throw an exception
+        throw new IllegalArgumentException("Invalid date format: " + input);
+      }
+    }
+  }
+}
@@ -1,8 +1,10 @@
 package com.mesofi.myth.collection.mgmt.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import java.time.LocalDate;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
@@ -10,6 +12,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Setter
@@ -18,6 +22,16 @@ import org.springframework.data.mongodb.core.mapping.Document;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "figurines")
+@CompoundIndex(name = "releaseDate_id", def = "{'distributionJPY.releaseDate': -1, '_id': 1}")
+@CompoundIndex(
+    name = "announcementDate_id",
+    def = "{'distributionJPY.firstAnnouncementDate': -1, '_id': 1}")
+@CompoundIndex(
+    name = "groupHead_releaseDate_id",
+    def = "{'groupHead': 1, 'distributionJPY.releaseDate': -1, '_id': 1}")
+@CompoundIndex(
+    name = "groupHead_announcementDate_id",
+    def = "{'groupHead': 1, 'distributionJPY.firstAnnouncementDate': -1, '_id': 1}")
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class Figurine extends BaseFigurine {
   @EqualsAndHashCode.Exclude @Id private String id; // generated by the DB
@@ -47,4 +61,24 @@ public class Figurine extends BaseFigurine {
   private Anniversary anniversary;
 
   @EqualsAndHashCode.Exclude private List<Restock> restocks; // This field is calculated
+
+  @JsonIgnore @EqualsAndHashCode.Exclude @Indexed
+  private String groupKey; // This field is calculated, see FigurineKey
+
+  @JsonIgnore @EqualsAndHashCode.Exclude
+  private Boolean groupHead; // This field is calculated, the oldest figurine of its group
+
+  @JsonIgnore @EqualsAndHashCode.Exclude @Indexed
+  private LocalDate statusChangeDate; // This field is calculated, see FigurineStatus
+
+  @JsonIgnore
+  @EqualsAndHashCode.Exclude
+  @Indexed(unique = true, sparse = true)
+  private String importKey; // Row of the source file the figurine was imported from
+
+  @JsonIgnore @EqualsAndHashCode.Exclude
+  private String contentHash; // Hash of the row of the source file, used to detect changes
+
+  @JsonIgnore @EqualsAndHashCode.Exclude @Indexed
+  private String importBatch; // Import and batch that wrote the figurine, used to resume imports
 }
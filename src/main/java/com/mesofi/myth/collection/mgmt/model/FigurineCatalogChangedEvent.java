@@ -0,0 +1,8 @@
+package com.mesofi.myth.collection.mgmt.model;
+
+/**
+ * Published every time the figurines are created, updated or imported.
+ *
+ * @param source Description of the change, used for logging.
+ */
+public record FigurineCatalogChangedEvent(String source) {}
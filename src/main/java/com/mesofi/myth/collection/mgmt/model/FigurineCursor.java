@@ -0,0 +1,115 @@
+package com.mesofi.myth.collection.mgmt.model;
+
+import com.mesofi.myth.collection.mgmt.exceptions.InvalidCursorException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Position of the last figurine returned in a page, the next page starts right after it. The
+ * figurines are listed by segment, each one with its own order:
+ *
+ * <ul>
+ *   <li>{@link Segment#UNDATED}: release date TBD, by id.
+ *   <li>{@link Segment#RELEASE_DATE}: future releases and released, by release date (newest first)
+ *       and id.
+ *   <li>{@link Segment#ANNOUNCEMENT_DATE}: prototypes and unreleased, by announcement date (newest
+ *       first) and id.
+ * </ul>
+ *
+ * @param segment The segment of the figurine.
+ * @param date The date used to sort the figurine in its segment, null for undated figurines.
+ * @param id The unique identifier of the figurine.
+ */
+public record FigurineCursor(Segment segment, LocalDate date, String id) {
+
+  private static final String SEPARATOR = "|";
+
+  /** Groups of figurines, listed in the same order the status is listed. */
+  public enum Segment {
+    UNDATED,
+    RELEASE_DATE,
+    ANNOUNCEMENT_DATE;
+
+    /**
+     * Gets the segment of a given figurine.
+     *
+     * @param figurine The figurine.
+     * @return The segment.
+     */
+    public static Segment of(Figurine figurine) {
+      if (Objects.nonNull(releaseDate(figurine))) {
+        return RELEASE_DATE;
+      }
+      return Objects.nonNull(announcementDate(figurine)) ? ANNOUNCEMENT_DATE : UNDATED;
+    }
+  }
+
+  /**
+   * Creates the cursor pointing to a given figurine.
+   *
+   * @param figurine The figurine.
+   * @return The cursor.
+   */
+  public static FigurineCursor of(Figurine figurine) {
+    Segment segment = Segment.of(figurine);
+    LocalDate date =
+        switch (segment) {
+          case RELEASE_DATE -> releaseDate(figurine);
+          case ANNOUNCEMENT_DATE -> announcementDate(figurine);
+          case UNDATED -> null;
+        };
+    return new FigurineCursor(segment, date, figurine.getId());
+  }
+
+  /**
+   * Gets the opaque value sent to the clients.
+   *
+   * @return The encoded cursor.
+   */
+  public String encode() {
+    String value =
+        segment.name() + SEPARATOR + Objects.toString(date, "") + SEPARATOR + Objects.toString(id);
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Gets the cursor from the value sent by the clients.
+   *
+   * @param cursor The encoded cursor.
+   * @return The cursor.
+   */
+  public static FigurineCursor decode(String cursor) {
+    try {
+      String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] parts = value.split("\\" + SEPARATOR, -1);
+      if (parts.length == 3 && !parts[2].isEmpty()) {
+        Segment segment = Segment.valueOf(parts[0]);
+        LocalDate date = parts[1].isEmpty() ? null : LocalDate.parse(parts[1]);
+        if ((segment == Segment.UNDATED) == (date == null)) {
+          return new FigurineCursor(segment, date, parts[2]);
+        }
+      }
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      // handled below
+    }
+    throw new InvalidCursorException("Invalid cursor: " + cursor);
+  }
+
+  private static LocalDate releaseDate(Figurine figurine) {
+    return Optional.ofNullable(figurine.getDistributionJPY())
+        .map(Distribution::getReleaseDate)
+        .orElse(null);
+  }
+
+  private static LocalDate announcementDate(Figurine figurine) {
+    return Optional.ofNullable(figurine.getDistributionJPY())
+        .map(Distribution::getFirstAnnouncementDate)
+        .orElse(null);
+  }
+}
@@ -0,0 +1,15 @@
+package com.mesofi.myth.collection.mgmt.model;
+
+/**
+ * Filters used to list the figurines, a null value means the attribute is not filtered.
+ *
+ * @param lineUp The line up.
+ * @param series The series.
+ * @param category The category.
+ * @param status The status.
+ */
+public record FigurineFilter(LineUp lineUp, Series series, Category category, Status status) {
+
+  /** Filter that matches all the figurines. */
+  public static final FigurineFilter NONE = new FigurineFilter(null, null, null, null);
+}
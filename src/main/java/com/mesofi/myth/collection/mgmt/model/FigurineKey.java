@@ -0,0 +1,82 @@
+package com.mesofi.myth.collection.mgmt.model;
+
+import java.nio.charset.StandardCharsets;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Identity of a figurine, figurines with the same key are restocks of each other. The displayable
+ * name and the status are not part of the key, both are calculated from the attributes below and
+ * the dates, so a restock released years later would end up in a different group otherwise.
+ *
+ * @param baseName The base name.
+ * @param lineUp The line up.
+ * @param series The series.
+ * @param category The category.
+ * @param anniversary The anniversary.
+ * @param flags The boolean attributes packed as bits.
+ */
+public record FigurineKey(
+    String baseName,
+    LineUp lineUp,
+    Series series,
+    Category category,
+    Anniversary anniversary,
+    int flags) {
+
+  /**
+   * Creates the key for a given figurine.
+   *
+   * @param figurine The figurine.
+   * @return The key.
+   */
+  public static FigurineKey of(Figurine figurine) {
+    int flags = 0;
+    flags |= figurine.isRevival() ? 1 : 0;
+    flags |= figurine.isOce() ? 1 << 1 : 0;
+    flags |= figurine.isMetal() ? 1 << 2 : 0;
+    flags |= figurine.isGolden() ? 1 << 3 : 0;
+    flags |= figurine.isGold() ? 1 << 4 : 0;
+    flags |= figurine.isBroken() ? 1 << 5 : 0;
+    flags |= figurine.isPlain() ? 1 << 6 : 0;
+    flags |= figurine.isHk() ? 1 << 7 : 0;
+    flags |= figurine.isComic() ? 1 << 8 : 0;
+    flags |= figurine.isSet() ? 1 << 9 : 0;
+
+    return new FigurineKey(
+        figurine.getBaseName(),
+        figurine.getLineUp(),
+        figurine.getSeries(),
+        figurine.getCategory(),
+        figurine.getAnniversary(),
+        flags);
+  }
+
+  /**
+   * Gets the value stored in the DB to group the restocks, a fixed length hash keeps the index
+   * small no matter how long the base name is.
+   *
+   * @return The group key.
+   */
+  public String toGroupKey() {
+    String value =
+        String.join(
+            "\u0000",
+            String.valueOf(baseName),
+            String.valueOf(lineUp),
+            String.valueOf(series),
+            String.valueOf(category),
+            String.valueOf(anniversary),
+            Integer.toString(flags));
+    return DigestUtils.md5DigestAsHex(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Calculates the group key for a given figurine.
+   *
+   * @param figurine The figurine.
+   * @return The group key.
+   */
+  public static String groupKeyOf(Figurine figurine) {
+    return of(figurine).toGroupKey();
+  }
+}
@@ -0,0 +1,13 @@
+package com.mesofi.myth.collection.mgmt.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+/**
+ * A single page of figurines.
+ *
+ * @param figurines The figurines in the page.
+ * @param nextCursor The cursor to get the next page, null when this is the last one.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record FigurinePage(List<Figurine> figurines, String nextCursor) {}
@@ -0,0 +1,58 @@
+package com.mesofi.myth.collection.mgmt.model;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Status of a figurine on a given date, along with the date it changes next. A figurine becomes
+ * released the day after its release date, and a figurine without release date becomes unreleased
+ * once it was announced more than 5 years ago. The rest of the statuses never change over time.
+ *
+ * @param status The status.
+ * @param changeDate The date the status changes next, null if it never changes over time.
+ */
+public record FigurineStatus(Status status, LocalDate changeDate) {
+
+  // Figurines announced this number of years ago or before are considered unreleased.
+  private static final int UNRELEASED_YEARS = 6;
+
+  /**
+   * Calculates the status of a figurine.
+   *
+   * @param figurine The figurine.
+   * @param today The date used to calculate the status.
+   * @return The status.
+   */
+  public static FigurineStatus of(Figurine figurine, LocalDate today) {
+    Distribution jpy = figurine.getDistributionJPY();
+    LocalDate releaseDate = Optional.ofNullable(jpy).map(Distribution::getReleaseDate).orElse(null);
+    if (Objects.nonNull(releaseDate)) {
+      return releaseDate.isBefore(today)
+          ? new FigurineStatus(Status.RELEASED, null)
+          : new FigurineStatus(Status.FUTURE_RELEASE, releaseDate.plusDays(1));
+    }
+    LocalDate anncDate =
+        Optional.ofNullable(jpy).map(Distribution::getFirstAnnouncementDate).orElse(null);
+    if (Objects.nonNull(anncDate)) {
+      LocalDate unreleasedDate = unreleasedDate(anncDate);
+      return today.isBefore(unreleasedDate)
+          ? new FigurineStatus(Status.PROTOTYPE, unreleasedDate)
+          : new FigurineStatus(Status.UNRELEASED, null);
+    }
+    return new FigurineStatus(Status.RELEASE_TBD, null);
+  }
+
+  /**
+   * Gets the first date a figurine announced on a given date is considered unreleased, an
+   * announcement made on February 29 is complete on March 1.
+   *
+   * @param anncDate The announcement date.
+   * @return The date.
+   */
+  private static LocalDate unreleasedDate(LocalDate anncDate) {
+    LocalDate date = anncDate.plusYears(UNRELEASED_YEARS);
+    return Period.between(anncDate, date).getYears() < UNRELEASED_YEARS ? date.plusDays(1) : date;
+  }
+}
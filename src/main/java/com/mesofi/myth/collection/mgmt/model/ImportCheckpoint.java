@@ -0,0 +1,32 @@
+package com.mesofi.myth.collection.mgmt.model;
+
+/**
+ * Where an import starts from: the beginning of the file, or the last batch written before the
+ * import was interrupted.
+ *
+ * @param importId Unique identifier of the import, it names the staging collection and the batches
+ *     written.
+ * @param committed The progress after the last batch written, the rows it covers are not written
+ *     again.
+ */
+public record ImportCheckpoint(String importId, ImportSummary committed) {
+
+  /**
+   * Creates the checkpoint of an import that starts from the beginning of the file.
+   *
+   * @param importId Unique identifier of the import.
+   * @return The checkpoint.
+   */
+  public static ImportCheckpoint start(String importId) {
+    return new ImportCheckpoint(importId, new ImportSummary(0, 0));
+  }
+
+  /**
+   * Whether some rows were already written before.
+   *
+   * @return true if the import resumes after some rows.
+   */
+  public boolean isResumed() {
+    return committed.rowsParsed() > 0;
+  }
+}
@@ -0,0 +1,82 @@
+package com.mesofi.myth.collection.mgmt.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@Document(collection = "importJobs")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportJob {
+  @Id private String id; // generated by the DB
+
+  private String fileName;
+  private ImportMode mode;
+  private ImportJobStatus status;
+
+  private long totalBytes;
+  private long bytesRead;
+  private long rowsParsed;
+  private long rowsWritten;
+  private long rowsInserted;
+  private long rowsUpdated;
+  private long rowsUnchanged;
+  private long rowsRejected;
+  private long rowsOrphaned;
+  private List<ImportRowError> errors;
+
+  private Instant createdAt;
+  private Instant startedAt;
+  private Instant resumedAt;
+  private Instant updatedAt;
+  private Instant finishedAt;
+
+  // Time spent running, over every run of the job.
+  private long activeMillis;
+
+  private String errorMessage;
+
+  // Calculated when the job is read, they are not stored.
+  @Transient private Double throughput;
+  @Transient private Long etaSeconds;
+
+  /**
+   * Calculates the number of rows written per second while the job has been running, a resumed job
+   * is measured over all its runs, and estimates the number of seconds left, based on the bytes
+   * already consumed from the file and the time spent running to consume them. The throughput is
+   * left empty until the job starts and the estimation while the job is not running or nothing has
+   * been read yet.
+   *
+   * @param now The current time.
+   */
+  public void calculateRates(Instant now) {
+    throughput = null;
+    etaSeconds = null;
+    long millis = getElapsed(now).toMillis();
+    if (Objects.nonNull(startedAt)) {
+      throughput = millis == 0 ? 0d : rowsWritten * 1000d / millis;
+    }
+    if (status == ImportJobStatus.RUNNING && bytesRead > 0 && totalBytes >= bytesRead) {
+      etaSeconds = millis * (totalBytes - bytesRead) / bytesRead / 1000;
+    }
+  }
+
+  // The active time is stored along with the progress, the time since then is added while running.
+  private Duration getElapsed(Instant now) {
+    Duration elapsed = Duration.ofMillis(activeMillis);
+    if (status == ImportJobStatus.RUNNING && Objects.nonNull(updatedAt)) {
+      elapsed = elapsed.plus(Duration.between(updatedAt, now));
+    }
+    return elapsed;
+  }
+}
@@ -0,0 +1,9 @@
+package com.mesofi.myth.collection.mgmt.model;
+
+public enum ImportJobStatus {
+  QUEUED,
+  RUNNING,
+  COMPLETED,
+  FAILED,
+  CANCELLED
+}
@@ -0,0 +1,23 @@
+package com.mesofi.myth.collection.mgmt.model;
+
+/** How the rows of a source file are written to the DB, if at all. */
+public enum ImportMode {
+  /** Every row is inserted as a new figurine. */
+  INSERT,
+  /**
+   * The rows are matched with the figurines imported before, only the new and changed rows are
+   * written.
+   */
+  UPSERT,
+  /**
+   * The rows replace the whole catalog. They are written to a staging collection that takes the
+   * place of the catalog once every row has been written, a failed import leaves the catalog as it
+   * was.
+   */
+  REPLACE,
+  /**
+   * The rows are parsed and mapped as if they were imported, nothing is written. The rows that
+   * cannot be imported are reported along with their line numbers.
+   */
+  DRY_RUN
+}
@@ -0,0 +1,26 @@
+package com.mesofi.myth.collection.mgmt.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/** A row of a source file rejected by an import job. */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "importRejections")
+@CompoundIndex(name = "jobId_line", def = "{'jobId': 1, 'line': 1}")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportRejection {
+  @Id private String id; // generated by the DB
+
+  private String jobId;
+  private long line;
+  private String message;
+}
@@ -0,0 +1,9 @@
+package com.mesofi.myth.collection.mgmt.model;
+
+/**
+ * A row of the source file that cannot be imported.
+ *
+ * @param line Number of the line where the row ends, the header is the line 1.
+ * @param message What is wrong with the row.
+ */
+public record ImportRowError(long line, String message) {}
@@ -0,0 +1,37 @@
+package com.mesofi.myth.collection.mgmt.model;
+
+import java.util.List;
+
+/**
+ * Outcome of a figurine import.
+ *
+ * @param rowsParsed Number of rows read from the source file.
+ * @param rowsWritten Number of figurines written to the DB.
+ * @param rowsInserted Number of figurines inserted.
+ * @param rowsUpdated Number of figurines imported before that have been updated.
+ * @param rowsUnchanged Number of figurines imported before that were left as they were.
+ * @param rowsRejected Number of rows that cannot be imported.
+ * @param rowsOrphaned Number of figurines imported before whose row is no longer in the source
+ *     file, they are left as they are.
+ * @param errors The first rows that cannot be imported, the rest of them are only counted.
+ */
+public record ImportSummary(
+    long rowsParsed,
+    long rowsWritten,
+    long rowsInserted,
+    long rowsUpdated,
+    long rowsUnchanged,
+    long rowsRejected,
+    long rowsOrphaned,
+    List<ImportRowError> errors) {
+
+  /**
+   * Creates the outcome of an import where every figurine written was inserted.
+   *
+   * @param rowsParsed Number of rows read from the source file.
+   * @param rowsWritten Number of figurines written to the DB.
+   */
+  public ImportSummary(long rowsParsed, long rowsWritten) {
+    this(rowsParsed, rowsWritten, rowsWritten, 0, 0, 0, 0, List.of());
+  }
+}
@@ -0,0 +1,8 @@
+package com.mesofi.myth.collection.mgmt.model;
+
+/**
+ * Published every time a distributor or a distribution channel is created, updated or deleted.
+ *
+ * @param source Description of the change, used for logging.
+ */
+public record ReferenceDataChangedEvent(String source) {}
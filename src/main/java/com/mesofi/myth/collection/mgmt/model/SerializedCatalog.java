@@ -0,0 +1,41 @@
+package com.mesofi.myth.collection.mgmt.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.util.DigestUtils;
+
+/**
+ * The catalog serialized as JSON, the bytes are written as they are to the response. The arrays
+ * must not be modified.
+ *
+ * @param json The catalog as JSON.
+ * @param gzip The same JSON compressed with gzip.
+ * @param etag The strong ETag of the JSON, a hash of its content.
+ * @param gzipEtag The strong ETag of the compressed JSON.
+ */
+public record SerializedCatalog(byte[] json, byte[] gzip, String etag, String gzipEtag) {
+
+  /**
+   * Compresses the JSON and calculates the ETags.
+   *
+   * @param json The catalog as JSON.
+   * @return The serialized catalog.
+   */
+  public static SerializedCatalog of(byte[] json) {
+    String hash = DigestUtils.md5DigestAsHex(json);
+    // Both representations differ byte by byte, so they must not share a strong ETag.
+    return new SerializedCatalog(json, gzip(json), "\"" + hash + "\"", "\"" + hash + "-gzip\"");
+  }
+
+  private static byte[] gzip(byte[] content) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 4 + 64);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(content);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e); // never happens writing to memory
+    }
+    return out.toByteArray();
+  }
+}
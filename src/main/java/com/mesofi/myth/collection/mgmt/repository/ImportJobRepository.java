@@ -0,0 +1,8 @@
+package com.mesofi.myth.collection.mgmt.repository;
+
+import com.mesofi.myth.collection.mgmt.model.ImportJob;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ImportJobRepository extends MongoRepository<ImportJob, String> {}
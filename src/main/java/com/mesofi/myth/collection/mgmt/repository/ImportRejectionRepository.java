@@ -0,0 +1,22 @@
+package com.mesofi.myth.collection.mgmt.repository;
+
+import com.mesofi.myth.collection.mgmt.model.ImportRejection;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ImportRejectionRepository extends MongoRepository<ImportRejection, String> {
+
+  /**
+   * Gets the rows rejected by an import job after the given line, in the order of the file.
+   *
+   * @param jobId The unique identifier of the job.
+   * @param line The last line already read, 0 to start from the beginning.
+   * @param limit The max number of rows.
+   * @return The rows rejected.
+   */
+  List<ImportRejection> findByJobIdAndLineGreaterThanOrderByLine(
+      String jobId, long line, Limit limit);
+}
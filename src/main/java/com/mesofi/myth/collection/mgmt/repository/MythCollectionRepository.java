@@ -1,8 +1,33 @@
 package com.mesofi.myth.collection.mgmt.repository;
 
 import com.mesofi.myth.collection.mgmt.model.Figurine;
+import java.util.stream.Stream;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface MythCollectionRepository extends MongoRepository<Figurine, String> {}
+public interface MythCollectionRepository
+    extends MongoRepository<Figurine, String>, MythCollectionRepositoryCustom {
+
+  /**
+   * Gets the figurines stored before the calculated fields were stored along with them.
+   *
+   * @return The figurines without a group key or a status.
+   */
+  Stream<Figurine> findAllByGroupKeyIsNullOrStatusIsNull();
+
+  /**
+   * Gets the figurines stored before the heads of the groups were marked.
+   *
+   * @return The figurines not marked either as the head of their group or as a restock.
+   */
+  Stream<Figurine> findAllByGroupHeadIsNull();
+
+  /**
+   * Deletes the figurines written by a batch of an import.
+   *
+   * @param importBatch The import and the batch that wrote the figurines.
+   * @return The number of figurines deleted.
+   */
+  long deleteByImportBatch(String importBatch);
+}
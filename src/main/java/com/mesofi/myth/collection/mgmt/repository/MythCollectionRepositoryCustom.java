@@ -0,0 +1,161 @@
+package com.mesofi.myth.collection.mgmt.repository;
+
+import com.mesofi.myth.collection.mgmt.model.Figurine;
+import com.mesofi.myth.collection.mgmt.model.FigurineCursor;
+import com.mesofi.myth.collection.mgmt.model.FigurineCursor.Segment;
+import com.mesofi.myth.collection.mgmt.model.FigurineFilter;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/** Queries on the figurines that are built at runtime. */
+public interface MythCollectionRepositoryCustom {
+
+  /**
+   * Gets all the figurines sorted by the release date, the restocks are grouped by the DB using the
+   * group key. The oldest figurine in the group is returned and the rest of them are added as
+   * restocks, figurines without a group key are never grouped.
+   *
+   * @return The figurines with their restocks.
+   */
+  List<Figurine> findAllGroupingRestocks();
+
+  /**
+   * Gets a page of figurines in the same order they are listed by status, see {@link
+   * FigurineCursor}. The filters are applied by the DB. When the restocks are grouped only the
+   * heads of the groups are paged, see {@link #refreshGroupHeads(Collection)}, and the restocks are
+   * read afterwards for the groups in the page.
+   *
+   * @param filter The filters.
+   * @param after The last figurine of the previous page, null to get the first page.
+   * @param limit The max number of figurines.
+   * @param excludeRestocks Flag to group the restocks.
+   * @param today The date used to calculate the status.
+   * @return The figurines in the page.
+   */
+  List<Figurine> findPage(
+      FigurineFilter filter,
+      FigurineCursor after,
+      int limit,
+      boolean excludeRestocks,
+      LocalDate today);
+
+  /**
+   * Streams the figurines of a segment in the same order they are listed by status, see {@link
+   * FigurineCursor}. The figurines are read from the DB as the stream is consumed, the stream must
+   * be closed.
+   *
+   * @param filter The filters.
+   * @param segment The segment of the figurines.
+   * @param excludeRestocks Flag to group the restocks.
+   * @param today The date used to calculate the status.
+   * @return The figurines of the segment.
+   */
+  Stream<Figurine> streamSegment(
+      FigurineFilter filter, Segment segment, boolean excludeRestocks, LocalDate today);
+
+  /**
+   * Marks the oldest figurine of every group as its head, the one the restocks are grouped in, the
+   * rest of the figurines of the groups are unmarked. It must be called every time the figurines of
+   * a group are written.
+   *
+   * @param groupKeys The group keys of the figurines written.
+   */
+  void refreshGroupHeads(Collection<String> groupKeys);
+
+  /**
+   * Marks the heads of the groups in a staging collection, see {@link
+   * #refreshGroupHeads(Collection)}.
+   *
+   * @param stagingCollection The name of the staging collection.
+   * @param groupKeys The group keys of the figurines staged.
+   */
+  void refreshStagedGroupHeads(String stagingCollection, Collection<String> groupKeys);
+
+  /**
+   * Gets the figurines whose status change date has been reached, along with the ones stored before
+   * the date was calculated. Only the dates used to calculate the status are read.
+   *
+   * @param today The date used to calculate the status.
+   * @return The figurines whose status may have changed.
+   */
+  Stream<Figurine> findStatusChangesDue(LocalDate today);
+
+  /**
+   * Stores the status and the status change date of the figurines, the rest of the fields are left
+   * as they are.
+   *
+   * @param figurines The figurines.
+   * @return The number of figurines updated.
+   */
+  long updateStatus(List<Figurine> figurines);
+
+  /**
+   * Gets the content hash of the figurines imported from the given rows of the source file. Only
+   * the import key and the content hash are read.
+   *
+   * @param importKeys The import keys of the rows.
+   * @return The content hash by import key, the rows never imported are missing.
+   */
+  Map<String, String> findContentHashes(Collection<String> importKeys);
+
+  /**
+   * Replaces the figurines imported from the same rows of the source file, the ones never imported
+   * are inserted. The figurines keep their id. A row inserted by another import at the same time is
+   * rejected by the unique import key, it is written again to replace the figurine inserted.
+   *
+   * @param figurines The figurines, with their import key.
+   * @return The number of figurines inserted or updated.
+   */
+  long upsertByImportKey(List<Figurine> figurines);
+
+  /**
+   * Streams the import keys of all the figurines imported, the stream must be closed once read.
+   *
+   * @return The import keys, in no particular order.
+   */
+  Stream<String> streamImportKeys();
+
+  /**
+   * Inserts the figurines into a staging collection, the catalog is left as it is.
+   *
+   * @param stagingCollection The name of the staging collection, created on the first insert.
+   * @param figurines The figurines.
+   */
+  void insertStaged(String stagingCollection, List<Figurine> figurines);
+
+  /**
+   * Counts the figurines of a staging collection.
+   *
+   * @param stagingCollection The name of the staging collection.
+   * @return The number of figurines.
+   */
+  long countStaged(String stagingCollection);
+
+  /**
+   * Replaces the whole catalog with the figurines of a staging collection. The staging collection
+   * gets the indexes of the catalog and then takes its place with a single rename, so the readers
+   * see either the previous catalog or the new one, never a part of it.
+   *
+   * @param stagingCollection The name of the staging collection, it no longer exists afterwards.
+   */
+  void replaceWithStaged(String stagingCollection);
+
+  /**
+   * Deletes the figurines written to a staging collection by a batch of an import.
+   *
+   * @param stagingCollection The name of the staging collection.
+   * @param importBatch The import and the batch that wrote the figurines.
+   * @return The number of figurines deleted.
+   */
+  long deleteStagedByImportBatch(String stagingCollection, String importBatch);
+
+  /**
+   * Drops a staging collection, nothing happens if it does not exist.
+   *
+   * @param stagingCollection The name of the staging collection.
+   */
+  void dropStaged(String stagingCollection);
+}
@@ -0,0 +1,474 @@
+package com.mesofi.myth.collection.mgmt.repository;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import com.mesofi.myth.collection.mgmt.model.Figurine;
+import com.mesofi.myth.collection.mgmt.model.FigurineCursor;
+import com.mesofi.myth.collection.mgmt.model.FigurineCursor.Segment;
+import com.mesofi.myth.collection.mgmt.model.FigurineFilter;
+import com.mesofi.myth.collection.mgmt.model.Restock;
+import com.mesofi.myth.collection.mgmt.model.Status;
+import com.mongodb.MongoNamespace;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.RenameCollectionOptions;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+import lombok.AllArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.util.MongoDbErrorCodes;
+
+@AllArgsConstructor
+public class MythCollectionRepositoryCustomImpl implements MythCollectionRepositoryCustom {
+
+  private static final String ID = "_id";
+  private static final String RELEASE_DATE = "distributionJPY.releaseDate";
+  private static final String ANNOUNCEMENT_DATE = "distributionJPY.firstAnnouncementDate";
+  private static final String STATUS = "status";
+  private static final String STATUS_CHANGE_DATE = "statusChangeDate";
+  private static final String GROUP_KEY = "groupKey";
+  private static final String GROUP_HEAD = "groupHead";
+  private static final String IMPORT_KEY = "importKey";
+  private static final String CONTENT_HASH = "contentHash";
+  private static final String IMPORT_BATCH = "importBatch";
+
+  // Figurines announced this number of years ago or before are considered unreleased.
+  private static final int UNRELEASED_YEARS = 6;
+
+  private final MongoTemplate mongoTemplate;
+
+  /** {@inheritDoc} */
+  @Override
+  public List<Figurine> findAllGroupingRestocks() {
+    List<AggregationOperation> operations = new ArrayList<>(groupRestocks());
+    operations.add(Aggregation.sort(Sort.by(Sort.Order.asc(RELEASE_DATE), Sort.Order.asc(ID))));
+    return aggregate(operations);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<Figurine> findPage(
+      FigurineFilter filter,
+      FigurineCursor after,
+      int limit,
+      boolean excludeRestocks,
+      LocalDate today) {
+
+    List<Figurine> page = new ArrayList<>(limit);
+    for (Segment segment : Segment.values()) {
+      if (page.size() >= limit) {
+        break;
+      }
+      if (Objects.nonNull(after) && segment.compareTo(after.segment()) < 0) {
+        continue; // already listed in previous pages
+      }
+      Criteria statusCriteria = statusCriteria(segment, filter.status(), today);
+      if (Objects.isNull(statusCriteria)) {
+        continue; // the status is not part of this segment
+      }
+
+      List<Criteria> criteria = new ArrayList<>();
+      criteria.add(segmentCriteria(segment));
+      criteria.add(statusCriteria);
+      if (Objects.nonNull(after) && segment == after.segment()) {
+        criteria.add(keysetCriteria(segment, after));
+      }
+      Criteria pageCriteria = new Criteria().andOperator(criteria);
+      Sort sort = sort(segment);
+      int remaining = limit - page.size();
+
+      if (excludeRestocks) {
+        // Only the heads are paged, the restocks are read for the groups in the page.
+        Query query =
+            new Query(
+                    new Criteria()
+                        .andOperator(
+                            filterCriteria(filter), where(GROUP_HEAD).is(true), pageCriteria))
+                .with(sort)
+                .limit(remaining);
+        page.addAll(addRestocks(mongoTemplate.find(query, Figurine.class)));
+      } else {
+        Query query =
+            new Query(new Criteria().andOperator(filterCriteria(filter), pageCriteria))
+                .with(sort)
+                .limit(remaining);
+        page.addAll(mongoTemplate.find(query, Figurine.class));
+      }
+    }
+    return page;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Stream<Figurine> streamSegment(
+      FigurineFilter filter, Segment segment, boolean excludeRestocks, LocalDate today) {
+    Criteria statusCriteria = statusCriteria(segment, filter.status(), today);
+    if (Objects.isNull(statusCriteria)) {
+      return Stream.empty(); // the status is not part of this segment
+    }
+    Criteria segmentCriteria = new Criteria().andOperator(segmentCriteria(segment), statusCriteria);
+
+    if (excludeRestocks) {
+      // The restocks must be grouped before the status is applied.
+      List<AggregationOperation> operations = new ArrayList<>();
+      operations.add(Aggregation.match(filterCriteria(filter)));
+      operations.addAll(groupRestocks());
+      operations.add(Aggregation.match(segmentCriteria));
+      operations.add(Aggregation.sort(sort(segment)));
+      return mongoTemplate.aggregateStream(
+          Aggregation.newAggregation(operations)
+              .withOptions(AggregationOptions.builder().allowDiskUse(true).build()),
+          mongoTemplate.getCollectionName(Figurine.class),
+          Figurine.class);
+    }
+    Query query =
+        new Query(new Criteria().andOperator(filterCriteria(filter), segmentCriteria))
+            .with(sort(segment));
+    return mongoTemplate.stream(query, Figurine.class);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void refreshGroupHeads(Collection<String> groupKeys) {
+    refreshGroupHeads(mongoTemplate.getCollectionName(Figurine.class), groupKeys);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void refreshStagedGroupHeads(String stagingCollection, Collection<String> groupKeys) {
+    refreshGroupHeads(stagingCollection, groupKeys);
+  }
+
+  private void refreshGroupHeads(String collection, Collection<String> groupKeys) {
+    if (groupKeys.isEmpty()) {
+      return;
+    }
+    // The head is the figurine the restocks are grouped in, see groupRestocks.
+    Aggregation aggregation =
+        Aggregation.newAggregation(
+            Aggregation.match(where(GROUP_KEY).in(groupKeys)),
+            stage("{ $sort: { 'distributionJPY.releaseDate': 1, _id: 1 } }"),
+            stage("{ $group: { _id: '$groupKey', head: { $first: '$_id' } } }"));
+    List<Object> heads =
+        mongoTemplate.aggregate(aggregation, collection, Document.class).getMappedResults().stream()
+            .map(group -> group.get("head"))
+            .toList();
+
+    // The new heads are marked first, so a group is never left without one.
+    mongoTemplate.updateMulti(
+        new Query(where(ID).in(heads)), new Update().set(GROUP_HEAD, true), collection);
+    mongoTemplate.updateMulti(
+        new Query(where(GROUP_KEY).in(groupKeys).and(ID).nin(heads)),
+        new Update().set(GROUP_HEAD, false),
+        collection);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Stream<Figurine> findStatusChangesDue(LocalDate today) {
+    Criteria due = where(STATUS_CHANGE_DATE).lte(toMongo(today));
+    // Stored before the status change date was calculated.
+    Criteria undated =
+        where(STATUS_CHANGE_DATE)
+            .is(null)
+            .and(STATUS)
+            .in(toMongo(Status.FUTURE_RELEASE), toMongo(Status.PROTOTYPE));
+
+    Query query = new Query(new Criteria().orOperator(due, undated));
+    query.fields().include(RELEASE_DATE, ANNOUNCEMENT_DATE, STATUS, STATUS_CHANGE_DATE);
+    return mongoTemplate.stream(query, Figurine.class);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public long updateStatus(List<Figurine> figurines) {
+    if (figurines.isEmpty()) {
+      return 0;
+    }
+    BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Figurine.class);
+    for (Figurine figurine : figurines) {
+      bulk.updateOne(
+          new Query(where(ID).is(figurine.getId())),
+          new Update()
+              .set(STATUS, toMongo(figurine.getStatus()))
+              .set(STATUS_CHANGE_DATE, toMongo(figurine.getStatusChangeDate())));
+    }
+    return bulk.execute().getModifiedCount();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Map<String, String> findContentHashes(Collection<String> importKeys) {
+    Map<String, String> contentHashes = new HashMap<>();
+    if (importKeys.isEmpty()) {
+      return contentHashes;
+    }
+    Query query = new Query(where(IMPORT_KEY).in(importKeys));
+    query.fields().include(IMPORT_KEY, CONTENT_HASH);
+    for (Figurine figurine : mongoTemplate.find(query, Figurine.class)) {
+      contentHashes.put(figurine.getImportKey(), figurine.getContentHash());
+    }
+    return contentHashes;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public long upsertByImportKey(List<Figurine> figurines) {
+    if (figurines.isEmpty()) {
+      return 0;
+    }
+    try {
+      return upsert(figurines);
+    } catch (BulkOperationException e) {
+      // Another import inserted the same rows meanwhile, the second attempt replaces them.
+      List<Figurine> duplicated = new ArrayList<>();
+      for (BulkWriteError error : e.getErrors()) {
+        if (!MongoDbErrorCodes.isDuplicateKeyCode(error.getCode())) {
+          throw e;
+        }
+        duplicated.add(figurines.get(error.getIndex()));
+      }
+      return written(e.getResult()) + upsert(duplicated);
+    }
+  }
+
+  private long upsert(List<Figurine> figurines) {
+    BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Figurine.class);
+    for (Figurine figurine : figurines) {
+      // The figurines have no id, the replacement keeps the id of the figurine stored.
+      bulk.replaceOne(
+          new Query(where(IMPORT_KEY).is(figurine.getImportKey())),
+          figurine,
+          FindAndReplaceOptions.options().upsert());
+    }
+    return written(bulk.execute());
+  }
+
+  private static long written(BulkWriteResult result) {
+    return result.getMatchedCount() + result.getUpserts().size();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Stream<String> streamImportKeys() {
+    Query query = new Query(where(IMPORT_KEY).exists(true));
+    query.fields().include(IMPORT_KEY).exclude(ID);
+    return mongoTemplate.stream(query, Figurine.class).map(Figurine::getImportKey);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void insertStaged(String stagingCollection, List<Figurine> figurines) {
+    mongoTemplate.insert(figurines, stagingCollection);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public long countStaged(String stagingCollection) {
+    return mongoTemplate.getCollection(stagingCollection).countDocuments();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void replaceWithStaged(String stagingCollection) {
+    // The indexes are built once the figurines are loaded, which is faster than one by one.
+    IndexOperations indexOps = mongoTemplate.indexOps(stagingCollection);
+    new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext())
+        .resolveIndexFor(Figurine.class)
+        .forEach(indexOps::ensureIndex);
+
+    MongoNamespace catalog =
+        new MongoNamespace(
+            mongoTemplate.getDb().getName(), mongoTemplate.getCollectionName(Figurine.class));
+    mongoTemplate
+        .getCollection(stagingCollection)
+        .renameCollection(catalog, new RenameCollectionOptions().dropTarget(true));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public long deleteStagedByImportBatch(String stagingCollection, String importBatch) {
+    return mongoTemplate
+        .remove(new Query(where(IMPORT_BATCH).is(importBatch)), stagingCollection)
+        .getDeletedCount();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void dropStaged(String stagingCollection) {
+    mongoTemplate.dropCollection(stagingCollection);
+  }
+
+  private Criteria filterCriteria(FigurineFilter filter) {
+    Criteria criteria = new Criteria();
+    if (Objects.nonNull(filter.lineUp())) {
+      criteria.and("lineUp").is(toMongo(filter.lineUp()));
+    }
+    if (Objects.nonNull(filter.series())) {
+      criteria.and("series").is(toMongo(filter.series()));
+    }
+    if (Objects.nonNull(filter.category())) {
+      criteria.and("category").is(toMongo(filter.category()));
+    }
+    return criteria;
+  }
+
+  private Criteria segmentCriteria(Segment segment) {
+    return switch (segment) {
+      case UNDATED -> where(RELEASE_DATE).is(null).and(ANNOUNCEMENT_DATE).is(null);
+      case RELEASE_DATE -> where(RELEASE_DATE).ne(null);
+      case ANNOUNCEMENT_DATE -> where(RELEASE_DATE).is(null).and(ANNOUNCEMENT_DATE).ne(null);
+    };
+  }
+
+  /**
+   * Gets the criteria that matches the status in a given segment, the status is calculated the same
+   * way the service does it.
+   *
+   * @return The criteria or null if no figurine in the segment has the status.
+   */
+  private Criteria statusCriteria(Segment segment, Status status, LocalDate today) {
+    if (Objects.isNull(status)) {
+      return new Criteria();
+    }
+    return switch (status) {
+      case RELEASE_TBD -> segment == Segment.UNDATED ? new Criteria() : null;
+      case FUTURE_RELEASE -> segment == Segment.RELEASE_DATE
+          ? where(RELEASE_DATE).gte(toMongo(today))
+          : null;
+      case RELEASED -> segment == Segment.RELEASE_DATE
+          ? where(RELEASE_DATE).lt(toMongo(today))
+          : null;
+      case PROTOTYPE -> segment == Segment.ANNOUNCEMENT_DATE
+          ? where(ANNOUNCEMENT_DATE).gt(toMongo(today.minusYears(UNRELEASED_YEARS)))
+          : null;
+      case UNRELEASED -> segment == Segment.ANNOUNCEMENT_DATE
+          ? where(ANNOUNCEMENT_DATE).lte(toMongo(today.minusYears(UNRELEASED_YEARS)))
+          : null;
+    };
+  }
+
+  private Criteria keysetCriteria(Segment segment, FigurineCursor after) {
+    Object id = ObjectId.isValid(after.id()) ? new ObjectId(after.id()) : after.id();
+    if (segment == Segment.UNDATED) {
+      return where(ID).gt(id);
+    }
+    String field = segment == Segment.RELEASE_DATE ? RELEASE_DATE : ANNOUNCEMENT_DATE;
+    Object date = toMongo(after.date());
+    return new Criteria().orOperator(where(field).lt(date), where(field).is(date).and(ID).gt(id));
+  }
+
+  private Sort sort(Segment segment) {
+    return switch (segment) {
+      case UNDATED -> Sort.by(Sort.Order.asc(ID));
+      case RELEASE_DATE -> Sort.by(Sort.Order.desc(RELEASE_DATE), Sort.Order.asc(ID));
+      case ANNOUNCEMENT_DATE -> Sort.by(Sort.Order.desc(ANNOUNCEMENT_DATE), Sort.Order.asc(ID));
+    };
+  }
+
+  /**
+   * Stages that keep the oldest figurine of every group, the rest of them are added as restocks.
+   *
+   * @return The stages.
+   */
+  private List<AggregationOperation> groupRestocks() {
+    return List.of(
+        stage("{ $sort: { 'distributionJPY.releaseDate': 1, _id: 1 } }"),
+        stage(
+            "{ $group: { _id: { $ifNull: ['$groupKey', '$_id'] }, figurine: { $first: '$$ROOT' },"
+                + " restocks: { $push: { distributionJPY: '$distributionJPY',"
+                + " distributionMXN: '$distributionMXN', tamashiiUrl: '$tamashiiUrl',"
+                + " distributionChannel: '$distributionChannel', remarks: '$remarks' } } } }"),
+        stage(
+            "{ $replaceRoot: { newRoot: { $mergeObjects: ['$figurine', { restocks: { $slice:"
+                + " ['$restocks', 1, { $max: [1, { $subtract: [{ $size: '$restocks' }, 1] }] }] }"
+                + " }] } } }"),
+        stage(
+            "{ $addFields: { restocks: { $cond: [{ $gt: [{ $size: '$restocks' }, 0] },"
+                + " '$restocks', '$$REMOVE'] } } }"));
+  }
+
+  /**
+   * Adds the restocks to the heads of their groups, in the same order {@link #groupRestocks()} adds
+   * them. Only the figurines of the groups given are read.
+   *
+   * @param heads The heads of the groups.
+   * @return The same heads, along with their restocks.
+   */
+  private List<Figurine> addRestocks(List<Figurine> heads) {
+    List<String> groupKeys =
+        heads.stream().map(Figurine::getGroupKey).filter(Objects::nonNull).toList();
+    if (groupKeys.isEmpty()) {
+      return heads;
+    }
+    Query query =
+        new Query(where(GROUP_KEY).in(groupKeys).and(GROUP_HEAD).is(false))
+            .with(Sort.by(Sort.Order.asc(RELEASE_DATE), Sort.Order.asc(ID)));
+    query
+        .fields()
+        .include(
+            GROUP_KEY,
+            "distributionJPY",
+            "distributionMXN",
+            "tamashiiUrl",
+            "distributionChannel",
+            "remarks");
+
+    Map<String, List<Restock>> restocks = new HashMap<>();
+    for (Figurine figurine : mongoTemplate.find(query, Figurine.class)) {
+      Restock restock = new Restock();
+      restock.setDistributionJPY(figurine.getDistributionJPY());
+      restock.setDistributionMXN(figurine.getDistributionMXN());
+      restock.setTamashiiUrl(figurine.getTamashiiUrl());
+      restock.setDistributionChannel(figurine.getDistributionChannel());
+      restock.setRemarks(figurine.getRemarks());
+      restocks.computeIfAbsent(figurine.getGroupKey(), groupKey -> new ArrayList<>()).add(restock);
+    }
+    heads.forEach(head -> head.setRestocks(restocks.get(head.getGroupKey())));
+    return heads;
+  }
+
+  private List<Figurine> aggregate(List<AggregationOperation> operations) {
+    Aggregation aggregation =
+        Aggregation.newAggregation(operations)
+            .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+    return mongoTemplate
+        .aggregate(aggregation, mongoTemplate.getCollectionName(Figurine.class), Figurine.class)
+        .getMappedResults();
+  }
+
+  /**
+   * Converts the value the same way it is stored, the stages after the grouping are not mapped.
+   *
+   * @param value The value.
+   * @return The value stored in the DB.
+   */
+  private Object toMongo(Object value) {
+    return mongoTemplate.getConverter().convertToMongoType(value);
+  }
+
+  private static AggregationOperation stage(String json) {
+    Document stage = Document.parse(json);
+    return context -> stage;
+  }
+}
@@ -0,0 +1,90 @@
+package com.mesofi.myth.collection.mgmt.service;
+
+import com.mesofi.myth.collection.mgmt.config.DisplayableNameProperties;
+import com.mesofi.myth.collection.mgmt.model.Figurine;
+import com.mesofi.myth.collection.mgmt.service.DisplayableNameEngine.Key;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the displayable names already calculated. The name depends only on a few attributes of the
+ * figurine, so the restocks and the figurines created, updated or imported again get the name
+ * calculated before. The version of the rules is part of the key, a name calculated with other
+ * rules is never returned.
+ */
+@Service
+public class DisplayableNameCache {
+
+  private final DisplayableNameEngine engine;
+  private final int maximumSize;
+
+  private final Map<Key, String> names = new ConcurrentHashMap<>();
+  // The keys in the order they were added, the oldest names are discarded first.
+  private final Queue<Key> keys = new ConcurrentLinkedQueue<>();
+
+  private final Counter hits;
+  private final Counter misses;
+
+  @Autowired
+  public DisplayableNameCache(DisplayableNameProperties properties, MeterRegistry meterRegistry) {
+    this(
+        DisplayableNameEngine.compile(DisplayableNameRules.RULES),
+        properties.getCacheSize(),
+        meterRegistry);
+  }
+
+  DisplayableNameCache(DisplayableNameEngine engine, int maximumSize, MeterRegistry meterRegistry) {
+    this.engine = engine;
+    this.maximumSize = maximumSize;
+    this.hits = requestCounter(meterRegistry, "hit");
+    this.misses = requestCounter(meterRegistry, "miss");
+    Gauge.builder("figurines.displayable-names.size", names, Map::size)
+        .description("Displayable names kept in memory")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Gets the displayable name of a figurine, it is calculated when it is not found.
+   *
+   * @param figurine The figurine with the all its attributes.
+   * @return The displayable name.
+   */
+  public String get(Figurine figurine) {
+    Key key = engine.keyOf(figurine);
+    String name = names.get(key);
+    if (Objects.nonNull(name)) {
+      hits.increment();
+      return name;
+    }
+    misses.increment();
+
+    // Two threads may calculate the same name, only the first one is kept.
+    name = engine.calculate(figurine);
+    if (Objects.isNull(names.putIfAbsent(key, name))) {
+      keys.add(key);
+      while (names.size() > maximumSize) {
+        Key oldest = keys.poll();
+        if (Objects.isNull(oldest)) {
+          break;
+        }
+        names.remove(oldest);
+      }
+    }
+    return name;
+  }
+
+  private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("figurines.displayable-names.requests")
+        .description("Displayable names requested")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+}
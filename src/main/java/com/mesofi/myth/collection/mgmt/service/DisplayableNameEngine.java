@@ -0,0 +1,487 @@
+package com.mesofi.myth.collection.mgmt.service;
+
+import com.mesofi.myth.collection.mgmt.model.Anniversary;
+import com.mesofi.myth.collection.mgmt.model.Category;
+import com.mesofi.myth.collection.mgmt.model.Distribution;
+import com.mesofi.myth.collection.mgmt.model.Figurine;
+import com.mesofi.myth.collection.mgmt.model.LineUp;
+import com.mesofi.myth.collection.mgmt.model.Series;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.ToString;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Calculates the displayable names out of a table of rules, see {@link DisplayableNameRules}. Only
+ * the keywords and the release year are checked for every figurine, the rest of the conditions
+ * depend on the attributes of the figurine, so the rules that apply to every combination of
+ * attributes are selected once and kept. The base name is lowercased only when a rule looks for a
+ * keyword and the suffixes are appended to a single builder.
+ */
+final class DisplayableNameEngine {
+
+  private static final int ANNIVERSARIES = Anniversary.values().length + 1;
+  private static final int LINE_UPS = LineUp.values().length + 1;
+  private static final int SERIES = Series.values().length + 1;
+
+  private final List<Rule> rules;
+  private final String version;
+
+  // The combinations of attributes are bounded by the size of the catalog.
+  private final Map<Integer, Selection> rulesByAttributes = new ConcurrentHashMap<>();
+
+  private DisplayableNameEngine(List<Rule> rules, String version) {
+    this.rules = rules;
+    this.version = version;
+  }
+
+  /**
+   * Compiles the rules, the rules are applied in the order given.
+   *
+   * @param rules The rules.
+   * @return The engine.
+   */
+  static DisplayableNameEngine compile(List<Rule> rules) {
+    String version = DigestUtils.md5DigestAsHex(rules.toString().getBytes(StandardCharsets.UTF_8));
+    return new DisplayableNameEngine(List.copyOf(rules), version);
+  }
+
+  /**
+   * Calculates the displayable name of a figurine.
+   *
+   * @param figurine The figurine with the all its attributes.
+   * @return The displayable name.
+   */
+  String calculate(Figurine figurine) {
+    Name name = new Name(figurine);
+    for (Alternative[] rule : rulesFor(figurine, name.flags).rules()) {
+      for (Alternative alternative : rule) {
+        if (alternative.when().matches(name)) {
+          alternative.action().apply(name);
+          if (alternative.last()) {
+            return name.result();
+          }
+          break; // only the first alternative that matches is applied
+        }
+      }
+    }
+    return name.result();
+  }
+
+  /**
+   * Gets the attributes the displayable name of a figurine depends on, the figurines with the same
+   * key get the same name. The release year is part of the key only when it is checked by a rule.
+   *
+   * @param figurine The figurine with the all its attributes.
+   * @return The key, it includes the version of the rules.
+   */
+  Key keyOf(Figurine figurine) {
+    Name name = new Name(figurine);
+    Integer releaseYear = null;
+    for (When when : rulesFor(figurine, name.flags).releaseYearChecks()) {
+      if (when.checksReleaseYear(name)) {
+        releaseYear =
+            Optional.ofNullable(figurine.getDistributionJPY())
+                .map(Distribution::getReleaseDate)
+                .map(LocalDate::getYear)
+                .orElse(null);
+      }
+    }
+    return new Key(
+        version,
+        figurine.getBaseName(),
+        figurine.getCategory(),
+        figurine.getLineUp(),
+        figurine.getSeries(),
+        figurine.getAnniversary(),
+        name.flags,
+        releaseYear);
+  }
+
+  /**
+   * Gets the version of the rules, it changes every time the rules change.
+   *
+   * @return The version.
+   */
+  String version() {
+    return version;
+  }
+
+  private Selection rulesFor(Figurine figurine, int flags) {
+    int attributes = ordinal(figurine.getCategory());
+    attributes = attributes * LINE_UPS + ordinal(figurine.getLineUp());
+    attributes = attributes * SERIES + ordinal(figurine.getSeries());
+    attributes = attributes * ANNIVERSARIES + ordinal(figurine.getAnniversary());
+    attributes = attributes << Flag.values().length | flags;
+
+    Selection selected = rulesByAttributes.get(attributes);
+    if (Objects.isNull(selected)) {
+      selected = select(figurine, flags);
+      rulesByAttributes.putIfAbsent(attributes, selected);
+    }
+    return selected;
+  }
+
+  // A missing value comes first.
+  private static int ordinal(Enum<?> value) {
+    return Objects.isNull(value) ? 0 : value.ordinal() + 1;
+  }
+
+  private Selection select(Figurine figurine, int flags) {
+    List<Alternative[]> selected = new ArrayList<>();
+    List<When> releaseYearChecks = new ArrayList<>();
+    for (Rule rule : rules) {
+      List<Alternative> alternatives = new ArrayList<>();
+      for (Alternative alternative : rule.alternatives()) {
+        if (alternative.when().appliesTo(figurine, flags)) {
+          alternatives.add(alternative);
+          if (alternative.when().notReleaseYear != 0) {
+            releaseYearChecks.add(alternative.when());
+          }
+          if (alternative.when().alwaysMatches()) {
+            break; // the alternatives that follow are never reached
+          }
+        }
+      }
+      if (!alternatives.isEmpty()) {
+        selected.add(alternatives.toArray(Alternative[]::new));
+      }
+    }
+    return new Selection(
+        selected.toArray(Alternative[][]::new), releaseYearChecks.toArray(When[]::new));
+  }
+
+  /**
+   * The rules that may apply to a combination of attributes.
+   *
+   * @param rules The rules, only the alternatives that may apply are kept.
+   * @param releaseYearChecks The conditions of the alternatives that check the release year.
+   */
+  private record Selection(Alternative[][] rules, When[] releaseYearChecks) {}
+
+  /**
+   * The attributes the displayable name depends on.
+   *
+   * @param rulesVersion The version of the rules.
+   * @param baseName The base name.
+   * @param category The category.
+   * @param lineUp The line up.
+   * @param series The series.
+   * @param anniversary The anniversary.
+   * @param flags The boolean attributes, see {@link Flag}.
+   * @param releaseYear The release year, only when a rule checks it.
+   */
+  record Key(
+      String rulesVersion,
+      String baseName,
+      Category category,
+      LineUp lineUp,
+      Series series,
+      Anniversary anniversary,
+      int flags,
+      Integer releaseYear) {}
+
+  /**
+   * A row of the table, only the first alternative that matches is applied.
+   *
+   * @param alternatives The alternatives.
+   */
+  record Rule(List<Alternative> alternatives) {}
+
+  /**
+   * The change applied to the name when the conditions are met.
+   *
+   * @param when The conditions.
+   * @param action The change.
+   * @param last true if no other rule is applied afterward.
+   */
+  record Alternative(When when, Action action, boolean last) {}
+
+  /** The boolean attributes of a figurine. */
+  enum Flag {
+    REVIVAL,
+    OCE,
+    METAL,
+    GOLDEN,
+    GOLD,
+    BROKEN,
+    PLAIN,
+    HK,
+    COMIC,
+    SET;
+
+    private int bit() {
+      return DisplayableNameEngine.bit(this);
+    }
+
+    private static int of(Figurine figurine) {
+      int flags = 0;
+      flags |= figurine.isRevival() ? REVIVAL.bit() : 0;
+      flags |= figurine.isOce() ? OCE.bit() : 0;
+      flags |= figurine.isMetal() ? METAL.bit() : 0;
+      flags |= figurine.isGolden() ? GOLDEN.bit() : 0;
+      flags |= figurine.isGold() ? GOLD.bit() : 0;
+      flags |= figurine.isBroken() ? BROKEN.bit() : 0;
+      flags |= figurine.isPlain() ? PLAIN.bit() : 0;
+      flags |= figurine.isHk() ? HK.bit() : 0;
+      flags |= figurine.isComic() ? COMIC.bit() : 0;
+      flags |= figurine.isSet() ? SET.bit() : 0;
+      return flags;
+    }
+  }
+
+  // The enum constants are kept as bits, a missing value has no bit.
+  private static int bit(Enum<?> value) {
+    return Objects.isNull(value) ? 0 : 1 << value.ordinal();
+  }
+
+  /**
+   * The conditions of a rule, a condition not given is always met. The conditions on the attributes
+   * are checked once for every combination of attributes, the keywords and the release year are
+   * checked for every figurine.
+   */
+  @ToString
+  static final class When {
+    private final EnumSet<Category> categories = EnumSet.noneOf(Category.class);
+    private final EnumSet<Category> notCategories = EnumSet.noneOf(Category.class);
+    private int lineUps;
+    private int notLineUps;
+    private int series;
+    private int anniversaries;
+    private int notAnniversaries;
+    private boolean anyAnniversary;
+    private int flags;
+    private int notFlags;
+    private String[] keywords = {};
+    private String[] notKeywords = {};
+    private int notReleaseYear;
+
+    When category(Category... values) {
+      categories.addAll(Arrays.asList(values));
+      return this;
+    }
+
+    When notCategory(Category value) {
+      notCategories.add(value);
+      return this;
+    }
+
+    When lineUp(LineUp value) {
+      lineUps |= bit(value);
+      return this;
+    }
+
+    When notLineUp(LineUp value) {
+      notLineUps |= bit(value);
+      return this;
+    }
+
+    When series(Series value) {
+      series |= bit(value);
+      return this;
+    }
+
+    When anniversary(Anniversary value) {
+      anniversaries |= bit(value);
+      return this;
+    }
+
+    When notAnniversary(Anniversary value) {
+      notAnniversaries |= bit(value);
+      return this;
+    }
+
+    When anyAnniversary() {
+      anyAnniversary = true;
+      return this;
+    }
+
+    When is(Flag... values) {
+      Arrays.stream(values).forEach($ -> flags |= $.bit());
+      return this;
+    }
+
+    When isNot(Flag... values) {
+      Arrays.stream(values).forEach($ -> notFlags |= $.bit());
+      return this;
+    }
+
+    When keyword(String value) {
+      keywords = append(keywords, value);
+      return this;
+    }
+
+    When notKeyword(String value) {
+      notKeywords = append(notKeywords, value);
+      return this;
+    }
+
+    When notReleasedIn(int year) {
+      notReleaseYear = year;
+      return this;
+    }
+
+    private boolean appliesTo(Figurine figurine, int figurineFlags) {
+      int lineUp = bit(figurine.getLineUp());
+      int anniversary = bit(figurine.getAnniversary());
+      return (categories.isEmpty() || categories.contains(figurine.getCategory()))
+          && !notCategories.contains(figurine.getCategory())
+          && (lineUps == 0 || (lineUps & lineUp) != 0)
+          && (notLineUps & lineUp) == 0
+          && (series == 0 || (series & bit(figurine.getSeries())) != 0)
+          && (!anyAnniversary || anniversary != 0)
+          && (anniversaries == 0 || (anniversaries & anniversary) != 0)
+          && (notAnniversaries & anniversary) == 0
+          && (figurineFlags & flags) == flags
+          && (figurineFlags & notFlags) == 0;
+    }
+
+    private boolean alwaysMatches() {
+      return keywords.length == 0 && notKeywords.length == 0 && notReleaseYear == 0;
+    }
+
+    // The attributes have been checked when the rules were selected.
+    private boolean matches(Name name) {
+      return keywordsMatch(name)
+          && (notReleaseYear == 0
+              || name.figurine.getDistributionJPY().getReleaseDate().getYear() != notReleaseYear);
+    }
+
+    private boolean checksReleaseYear(Name name) {
+      return notReleaseYear != 0 && keywordsMatch(name);
+    }
+
+    private boolean keywordsMatch(Name name) {
+      for (String keyword : keywords) {
+        if (!name.lowerCaseBaseName().contains(keyword)) {
+          return false;
+        }
+      }
+      for (String keyword : notKeywords) {
+        if (name.lowerCaseBaseName().contains(keyword)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static String[] append(String[] values, String value) {
+      String[] result = Arrays.copyOf(values, values.length + 1);
+      result[values.length] = value;
+      return result;
+    }
+  }
+
+  /** A change to the name. */
+  sealed interface Action {
+    void apply(Name name);
+  }
+
+  /**
+   * Appends a text.
+   *
+   * @param text The text.
+   */
+  record Append(String text) implements Action {
+    @Override
+    public void apply(Name name) {
+      name.builder().append(text);
+    }
+  }
+
+  /**
+   * Appends the anniversary between two texts.
+   *
+   * @param prefix The text before the anniversary.
+   * @param suffix The text after the anniversary.
+   */
+  record AppendAnniversary(String prefix, String suffix) implements Action {
+    @Override
+    public void apply(Name name) {
+      String anniversary = name.figurine.getAnniversary().getDescription();
+      name.builder().append(prefix).append(anniversary).append(suffix);
+    }
+  }
+
+  /**
+   * Appends the first word of the name between two texts.
+   *
+   * @param prefix The text before the first word.
+   * @param suffix The text after the first word.
+   */
+  record AppendFirstWord(String prefix, String suffix) implements Action {
+    @Override
+    public void apply(Name name) {
+      String firstWord = name.builder().toString().split(" ")[0];
+      name.builder().append(prefix).append(firstWord).append(suffix);
+    }
+  }
+
+  /**
+   * Adds a text at the beginning.
+   *
+   * @param text The text.
+   */
+  record Prepend(String text) implements Action {
+    @Override
+    public void apply(Name name) {
+      name.builder().insert(0, text);
+    }
+  }
+
+  /**
+   * Replaces the name with the base name in upper case between two texts.
+   *
+   * @param prefix The text before the base name.
+   * @param suffix The text after the base name.
+   */
+  record ReplaceWithUpperCaseBaseName(String prefix, String suffix) implements Action {
+    @Override
+    public void apply(Name name) {
+      String baseName = name.figurine.getBaseName().toUpperCase();
+      name.builder().setLength(0);
+      name.builder().append(prefix).append(baseName).append(suffix);
+    }
+  }
+
+  /** The name being calculated, nothing is allocated until it changes. */
+  static final class Name {
+    private final Figurine figurine;
+    private final int flags;
+    private String lowerCaseBaseName;
+    private StringBuilder builder;
+
+    private Name(Figurine figurine) {
+      this.figurine = figurine;
+      this.flags = Flag.of(figurine);
+      Objects.requireNonNull(figurine.getBaseName());
+    }
+
+    private String lowerCaseBaseName() {
+      if (Objects.isNull(lowerCaseBaseName)) {
+        lowerCaseBaseName = figurine.getBaseName().toLowerCase();
+      }
+      return lowerCaseBaseName;
+    }
+
+    private StringBuilder builder() {
+      if (Objects.isNull(builder)) {
+        builder = new StringBuilder(figurine.getBaseName().length() + 64);
+        builder.append(figurine.getBaseName());
+      }
+      return builder;
+    }
+
+    private String result() {
+      return Objects.isNull(builder) ? figurine.getBaseName() : builder.toString();
+    }
+  }
+}
@@ -0,0 +1,188 @@
+package com.mesofi.myth.collection.mgmt.service;
+
+import static com.mesofi.myth.collection.mgmt.service.DisplayableNameEngine.Flag.BROKEN;
+import static com.mesofi.myth.collection.mgmt.service.DisplayableNameEngine.Flag.COMIC;
+import static com.mesofi.myth.collection.mgmt.service.DisplayableNameEngine.Flag.GOLD;
+import static com.mesofi.myth.collection.mgmt.service.DisplayableNameEngine.Flag.GOLDEN;
+import static com.mesofi.myth.collection.mgmt.service.DisplayableNameEngine.Flag.HK;
+import static com.mesofi.myth.collection.mgmt.service.DisplayableNameEngine.Flag.OCE;
+import static com.mesofi.myth.collection.mgmt.service.DisplayableNameEngine.Flag.PLAIN;
+import static com.mesofi.myth.collection.mgmt.service.DisplayableNameEngine.Flag.REVIVAL;
+import static com.mesofi.myth.collection.mgmt.service.DisplayableNameEngine.Flag.SET;
+
+import com.mesofi.myth.collection.mgmt.model.Anniversary;
+import com.mesofi.myth.collection.mgmt.model.Category;
+import com.mesofi.myth.collection.mgmt.model.LineUp;
+import com.mesofi.myth.collection.mgmt.model.Series;
+import com.mesofi.myth.collection.mgmt.service.DisplayableNameEngine.Action;
+import com.mesofi.myth.collection.mgmt.service.DisplayableNameEngine.Alternative;
+import com.mesofi.myth.collection.mgmt.service.DisplayableNameEngine.Append;
+import com.mesofi.myth.collection.mgmt.service.DisplayableNameEngine.AppendAnniversary;
+import com.mesofi.myth.collection.mgmt.service.DisplayableNameEngine.AppendFirstWord;
+import com.mesofi.myth.collection.mgmt.service.DisplayableNameEngine.Prepend;
+import com.mesofi.myth.collection.mgmt.service.DisplayableNameEngine.ReplaceWithUpperCaseBaseName;
+import com.mesofi.myth.collection.mgmt.service.DisplayableNameEngine.Rule;
+import com.mesofi.myth.collection.mgmt.service.DisplayableNameEngine.When;
+import java.util.List;
+
+/**
+ * The rules used to calculate the displayable names. The rules are applied from top to bottom,
+ * every rule appends its text to the name built so far.
+ */
+final class DisplayableNameRules {
+
+  static final List<Rule> RULES =
+      List.of(
+          // very specific cases.
+          last(
+              when().keyword("aries shion").is(OCE, HK, SET),
+              append(" & The Pope Set ~Asian Edition~")),
+          rule(
+              when().is(OCE).notAnniversary(Anniversary.A_40).notCategory(Category.V4),
+              append(" ~Original Color Edition~")),
+          firstOf(
+              option(
+                  when().category(Category.V2).is(BROKEN).notLineUp(LineUp.MYTH_CLOTH_EX),
+                  append(" (New Bronze Cloth) ~Broken Version~")),
+              option(
+                  when().category(Category.V2).anniversary(Anniversary.A_40),
+                  append(" (New Bronze Cloth)")),
+              option(
+                  when().category(Category.V2).lineUp(LineUp.MYTH_CLOTH_EX),
+                  append(" [New Bronze Cloth]"))),
+          rule(when().category(Category.V3), append(" [Final Bronze Cloth]")),
+          firstOf(
+              option(
+                  when().category(Category.V4).is(OCE),
+                  append(" (God Cloth) ~Original Color Edition~")),
+              option(
+                  when().category(Category.V4).anniversary(Anniversary.A_10), append(" God Cloth")),
+              option(when().category(Category.V4), append(" [God Cloth]"))),
+          rule(when().category(Category.V5), append(" Heaven Chapter")),
+          rule(when().category(Category.INHERITOR), append(" ~Inheritor of the Gold Cloth~")),
+          rule(
+              when().category(Category.ROBE).keyword("sorrento"),
+              append(" <Argard Final Battle Ver.>")),
+          rule(
+              when().category(Category.ROBE).keyword("polaris").notReleasedIn(2010),
+              append(" -The Earth Representative Of Odin-")),
+          rule(
+              when().category(Category.SURPLICE).isNot(BROKEN).notKeyword("mysterious"),
+              append(" (Surplice)")),
+          rule(when().series(Series.SS_THE_BEGINNING), append(" -Knights of the Zodiac-")),
+          rule(
+              when().series(Series.SS_LEGEND_OF_SANCTUARY).notLineUp(LineUp.SC_LEGEND),
+              append(" Legend of Sanctuary Edition")),
+          firstOf(
+              option(
+                  when().series(Series.SOG).isNot(SET).notKeyword("loki").notKeyword("odin"),
+                  append(" God Cloth")),
+              option(
+                  when()
+                      .series(Series.SOG)
+                      .is(SET)
+                      .keyword("saga")
+                      .notKeyword("loki")
+                      .notKeyword("odin"),
+                  append(" God Cloth"))),
+          rule(
+              when().series(Series.SAINTIA_SHO).category(Category.GOLD),
+              append(" Saintia Sho Color Edition")),
+          firstOf(
+              option(
+                  when().is(GOLDEN).category(Category.V1),
+                  new AppendFirstWord(" (Early Bronze Cloth) ~Limited Gold ", "~")),
+              option(when().is(GOLDEN).lineUp(LineUp.MYTH_CLOTH), append(" ~Power of Gold~")),
+              option(when().is(GOLDEN).notKeyword("jump"), append(" ~Golden Limited Edition~"))),
+          rule(when().is(COMIC), append(" Comic Ver.")),
+          rule(when().is(SET).category(Category.STEEL, Category.BLACK), append(" Set")),
+          rule(when().is(SET).category(Category.SPECTER), append(" Complete Set")),
+          firstOf(
+              option(
+                  when().is(SET).category(Category.GOD).keyword("abel"), append(" Memorial Set")),
+              option(when().is(SET).category(Category.GOD), append(" -Divine Saga Premium Set-"))),
+          rule(when().is(SET).series(Series.SOG).keyword("saga"), append(" Saga Saga Premium")),
+          rule(when().is(SET).series(Series.SOG), append(" Set")),
+          rule(when().is(SET).category(Category.SCALE), append(" Imperial Throne Set")),
+          firstOf(
+              option(when().is(SET, BROKEN).category(Category.SURPLICE), append(" Set")),
+              option(
+                  when().is(SET).category(Category.SURPLICE).notKeyword("mysterious"),
+                  append(" & The Pope Set"))),
+          firstOf(
+              option(
+                  when().is(REVIVAL).anyAnniversary(),
+                  new AppendAnniversary(" <", "th Revival Ver.>")),
+              option(when().is(REVIVAL), append(" <Revival Ver.>")),
+              option(
+                  when().anyAnniversary().keyword("jump").is(GOLDEN),
+                  new AppendAnniversary(" ", "th Anniversary Edition (Gold Ver.)")),
+              option(
+                  when().anyAnniversary().keyword("jump"),
+                  new AppendAnniversary(" ", "th Anniversary Edition")),
+              option(
+                  when().is(OCE).anniversary(Anniversary.A_40),
+                  append(" ~40th Anniversary Edition~")),
+              option(
+                  when().isNot(OCE).anniversary(Anniversary.A_10),
+                  new AppendAnniversary(" ~", "th Anniversary Edition~")),
+              option(
+                  when().isNot(OCE).anyAnniversary(),
+                  new AppendAnniversary(" ", "th Anniversary Ver."))),
+          firstOf(
+              option(when().is(GOLD).lineUp(LineUp.MYTH_CLOTH), new Prepend("Golden Genealogy ")),
+              option(when().is(GOLD), append(" Gold24"))),
+          rule(when().is(PLAIN), append(" (Plain Clothes)")),
+          firstOf(
+              panoramation(
+                  "athena", "Golden Zodiac extension set Fire clock of the Sanctuary ~", "~"),
+              panoramation("gemini", "", " ~the Pope's Chamber~"),
+              panoramation("cancer", "Desperate Battle in the Palace of the Giant Crab ~", "~"),
+              panoramation("leo", "Lightning in the Palace of the Lion ~", "~"),
+              panoramation("virgo", "", " ~The Temple of the Maiden~"),
+              panoramation("libra", "Guidance of the Palace of the Scales ~", "~"),
+              panoramation(
+                  "sagittarius",
+                  "Commitment of Aiolos' Spirit in the Palace of the Centaur ~",
+                  "~"),
+              panoramation(
+                  "capricorn", "Glittering Excalibur in the Palace of the Rock Goat ~", "~"),
+              panoramation("pisces", "Blooming Roses in the Palace of the Twin Fish ~", "~"),
+              panoramation("pegasus", "", " ~Pegasus Meteor Punches~"),
+              panoramation("dragon", "Rozan Rising Dragon Blow ~", "~"),
+              panoramation("andromeda", "Nebula Chain ~", "~"),
+              panoramation("phoenix", "", " ~Flying Phoenix~")));
+
+  private DisplayableNameRules() {}
+
+  private static When when() {
+    return new When();
+  }
+
+  private static Action append(String text) {
+    return new Append(text);
+  }
+
+  private static Alternative option(When when, Action action) {
+    return new Alternative(when, action, false);
+  }
+
+  private static Rule rule(When when, Action action) {
+    return firstOf(option(when, action));
+  }
+
+  private static Rule last(When when, Action action) {
+    return new Rule(List.of(new Alternative(when, action, true)));
+  }
+
+  private static Rule firstOf(Alternative... alternatives) {
+    return new Rule(List.of(alternatives));
+  }
+
+  // The DD Panoramation figurines are named after the scene they represent.
+  private static Alternative panoramation(String keyword, String prefix, String suffix) {
+    return option(
+        when().lineUp(LineUp.DDP).keyword(keyword),
+        new ReplaceWithUpperCaseBaseName(prefix, suffix));
+  }
+}
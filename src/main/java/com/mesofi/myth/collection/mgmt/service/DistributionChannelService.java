@@ -2,11 +2,13 @@ package com.mesofi.myth.collection.mgmt.service;
 
 import com.mesofi.myth.collection.mgmt.exceptions.CatalogItemNotFoundException;
 import com.mesofi.myth.collection.mgmt.model.DistributionChannel;
+import com.mesofi.myth.collection.mgmt.model.ReferenceDataChangedEvent;
 import com.mesofi.myth.collection.mgmt.repository.DistributionChannelRepository;
 import java.util.List;
 import java.util.function.Supplier;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 @Slf4j
@@ -15,11 +17,15 @@ import org.springframework.stereotype.Service;
 public class DistributionChannelService {
 
   private final DistributionChannelRepository repository;
+  private final ApplicationEventPublisher eventPublisher;
 
   public DistributionChannel createDistributionChannel(DistributionChannel distributionChannel) {
     log.info("A new distribution channel is about to be created ...");
 
-    return repository.save(distributionChannel);
+    DistributionChannel created = repository.save(distributionChannel);
+    eventPublisher.publishEvent(
+        new ReferenceDataChangedEvent("created distribution channel " + created.getId()));
+    return created;
   }
 
   public List<DistributionChannel> getAllDistributionChannels() {
@@ -36,13 +42,18 @@ public class DistributionChannelService {
       String id, DistributionChannel distributionChannel) {
     if (repository.existsById(id)) {
       distributionChannel.setId(id);
-      return repository.save(distributionChannel);
+      DistributionChannel updated = repository.save(distributionChannel);
+      eventPublisher.publishEvent(
+          new ReferenceDataChangedEvent("updated distribution channel " + id));
+      return updated;
     }
     throw notFound("Unable to update existing distribution channel for a given id: " + id).get();
   }
 
   public void deleteDistributionChannel(String id) {
     repository.deleteById(id);
+    eventPublisher.publishEvent(
+        new ReferenceDataChangedEvent("deleted distribution channel " + id));
   }
 
   private Supplier<CatalogItemNotFoundException> notFound(final String message) {
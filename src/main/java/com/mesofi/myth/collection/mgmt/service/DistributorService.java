@@ -2,11 +2,13 @@ package com.mesofi.myth.collection.mgmt.service;
 
 import com.mesofi.myth.collection.mgmt.exceptions.CatalogItemNotFoundException;
 import com.mesofi.myth.collection.mgmt.model.Distributor;
+import com.mesofi.myth.collection.mgmt.model.ReferenceDataChangedEvent;
 import com.mesofi.myth.collection.mgmt.repository.DistributorRepository;
 import java.util.List;
 import java.util.function.Supplier;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 @Slf4j
@@ -15,11 +17,15 @@ import org.springframework.stereotype.Service;
 public class DistributorService {
 
   private final DistributorRepository repository;
+  private final ApplicationEventPublisher eventPublisher;
 
   public Distributor createDistributor(Distributor distributor) {
     log.info("A new distributor is about to be created ...");
 
-    return repository.save(distributor);
+    Distributor created = repository.save(distributor);
+    eventPublisher.publishEvent(
+        new ReferenceDataChangedEvent("created distributor " + created.getId()));
+    return created;
   }
 
   public List<Distributor> getAllDistributors() {
@@ -35,13 +41,16 @@ public class DistributorService {
   public Distributor updateDistributor(String id, Distributor distributor) {
     if (repository.existsById(id)) {
       distributor.setId(id);
-      return repository.save(distributor);
+      Distributor updated = repository.save(distributor);
+      eventPublisher.publishEvent(new ReferenceDataChangedEvent("updated distributor " + id));
+      return updated;
     }
     throw notFound("Unable to update existing distributor for a given id: " + id).get();
   }
 
   public void deleteDistributor(String id) {
     repository.deleteById(id);
+    eventPublisher.publishEvent(new ReferenceDataChangedEvent("deleted distributor " + id));
   }
 
   private Supplier<CatalogItemNotFoundException> notFound(final String message) {
@@ -0,0 +1,122 @@
+package com.mesofi.myth.collection.mgmt.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import com.mesofi.myth.collection.mgmt.config.ImportProperties;
+import com.mesofi.myth.collection.mgmt.model.Figurine;
+import com.mesofi.myth.collection.mgmt.model.FigurineCatalogChangedEvent;
+import com.mesofi.myth.collection.mgmt.repository.MythCollectionRepository;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.stream.Stream;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-off job that stores the calculated fields (group key, displayable name, status, final price
+ * and image URLs) of the figurines stored before they were calculated on write, and marks the heads
+ * of the groups of the figurines stored before they were marked on write. It runs at startup when
+ * <code>myth.backfill.figurines</code> is enabled, the figurines that already have them are left as
+ * they are.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(prefix = "myth.backfill", name = "figurines", havingValue = "true")
+public class FigurineBackfill implements ApplicationRunner {
+
+  private final MythCollectionRepository repository;
+  private final MythCollectionService figurineService;
+  private final MongoTemplate mongoTemplate;
+  private final ImportProperties properties;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Clock clock;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    backfill();
+  }
+
+  /**
+   * Stores the calculated fields for all the figurines that don't have them yet.
+   *
+   * @return The number of figurines updated.
+   */
+  public long backfill() {
+    log.info("Calculating the missing fields of the figurines ...");
+
+    final int batchSize = Math.max(1, properties.getBatchSize());
+    final LocalDate today = LocalDate.now(clock);
+    long updated = 0;
+    int pending = 0;
+
+    try (Stream<Figurine> figurines = repository.findAllByGroupKeyIsNullOrStatusIsNull()) {
+      BulkOperations bulk = null;
+      Iterator<Figurine> iterator = figurines.iterator();
+      while (iterator.hasNext()) {
+        Figurine figurine = iterator.next();
+        figurineService.populateAdditionalInfo(figurine, today);
+        if (bulk == null) {
+          bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Figurine.class);
+        }
+        bulk.replaceOne(query(where("id").is(figurine.getId())), figurine);
+
+        if (++pending == batchSize) {
+          updated += bulk.execute().getModifiedCount();
+          bulk = null;
+          pending = 0;
+        }
+      }
+      if (pending > 0) {
+        updated += bulk.execute().getModifiedCount();
+      }
+    }
+
+    log.info("The calculated fields have been stored for {} figurines", updated);
+
+    long marked = markGroupHeads(batchSize);
+    log.info("The groups of {} figurines have been marked", marked);
+    if (updated > 0 || marked > 0) {
+      eventPublisher.publishEvent(new FigurineCatalogChangedEvent("backfill"));
+    }
+    return updated;
+  }
+
+  /**
+   * Marks the heads of the groups of the figurines that are not marked yet, a batch of groups at a
+   * time.
+   *
+   * @param batchSize The max number of groups marked at a time.
+   * @return The number of figurines that were not marked.
+   */
+  private long markGroupHeads(int batchSize) {
+    long marked = 0;
+    Set<String> groupKeys = new HashSet<>();
+    try (Stream<Figurine> figurines = repository.findAllByGroupHeadIsNull()) {
+      Iterator<Figurine> iterator = figurines.iterator();
+      while (iterator.hasNext()) {
+        groupKeys.add(iterator.next().getGroupKey());
+        marked++;
+        if (groupKeys.size() == batchSize) {
+          repository.refreshGroupHeads(groupKeys);
+          groupKeys.clear();
+        }
+      }
+      if (!groupKeys.isEmpty()) {
+        repository.refreshGroupHeads(groupKeys);
+      }
+    }
+    return marked;
+  }
+}
@@ -0,0 +1,191 @@
+package com.mesofi.myth.collection.mgmt.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mesofi.myth.collection.mgmt.model.Figurine;
+import com.mesofi.myth.collection.mgmt.model.FigurineCatalogChangedEvent;
+import com.mesofi.myth.collection.mgmt.model.SerializedCatalog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the list of all the figurines in memory, one snapshot with the restocks and one without
+ * them. The catalog changes a few times a day while it is read all the time, so the snapshots are
+ * read without locking and rebuilt in the background every time the catalog changes, the readers
+ * get the previous snapshot meanwhile. The snapshots keep only the figurines serialized as JSON, so
+ * they are written to the responses without serializing them again.
+ */
+@Slf4j
+@Service
+public class FigurineCatalogService {
+
+  private final MythCollectionService figurineService;
+  private final TaskExecutor catalogTaskExecutor;
+  private final ObjectMapper objectMapper;
+
+  private final Variant withRestocks;
+  private final Variant withoutRestocks;
+
+  // Incremented every time the catalog changes, snapshots of older versions are stale.
+  private final AtomicLong version = new AtomicLong();
+  private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter stale;
+
+  public FigurineCatalogService(
+      MythCollectionService figurineService,
+      TaskExecutor catalogTaskExecutor,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry) {
+    this.figurineService = figurineService;
+    this.catalogTaskExecutor = catalogTaskExecutor;
+    this.objectMapper = objectMapper;
+    this.withRestocks = new Variant(false, rebuildTimer(meterRegistry, false));
+    this.withoutRestocks = new Variant(true, rebuildTimer(meterRegistry, true));
+    this.hits = requestCounter(meterRegistry, "hit");
+    this.misses = requestCounter(meterRegistry, "miss");
+    this.stale = requestCounter(meterRegistry, "stale");
+  }
+
+  /**
+   * Gets all the existing figurines serialized as JSON from the latest snapshot. While a changed
+   * catalog is rebuilt in the background the previous snapshot is returned, the snapshot is built
+   * only when there is none.
+   *
+   * @param excludeRestocks Flag to exclude the restocks.
+   * @return The figurines serialized as JSON.
+   */
+  public SerializedCatalog getSerializedCatalog(boolean excludeRestocks) {
+    return snapshot(excludeRestocks).serialized();
+  }
+
+  /**
+   * Marks the current snapshots as stale and rebuilds them in the background, they are still served
+   * until the new ones are built.
+   *
+   * @param event The event with the change.
+   */
+  @EventListener
+  public void onCatalogChanged(FigurineCatalogChangedEvent event) {
+    log.debug("The catalog has changed: {}", event.source());
+    version.incrementAndGet();
+    scheduleRebuild();
+  }
+
+  private void scheduleRebuild() {
+    // A single rebuild is queued no matter how many changes arrive meanwhile.
+    if (rebuildScheduled.compareAndSet(false, true)) {
+      catalogTaskExecutor.execute(
+          () -> {
+            rebuildScheduled.set(false);
+            refresh(withRestocks);
+            refresh(withoutRestocks);
+          });
+    }
+  }
+
+  private Snapshot snapshot(boolean excludeRestocks) {
+    Variant variant = variant(excludeRestocks);
+    Snapshot snapshot = variant.current.get();
+    if (snapshot == null) {
+      misses.increment();
+      return refresh(variant);
+    }
+    if (snapshot.version() == version.get()) {
+      hits.increment();
+    } else {
+      // Served without waiting, a rebuild is queued in case the last one failed.
+      stale.increment();
+      scheduleRebuild();
+    }
+    return snapshot;
+  }
+
+  /**
+   * Builds the snapshot unless it is up-to-date, only one snapshot of a variant is built at a time.
+   *
+   * @param variant The variant to build.
+   * @return The up-to-date snapshot.
+   */
+  private Snapshot refresh(Variant variant) {
+    synchronized (variant) {
+      // The version is read before the figurines, a change made meanwhile makes it stale.
+      long expected = version.get();
+      Snapshot snapshot = variant.current.get();
+      if (snapshot != null && snapshot.version() == expected) {
+        return snapshot;
+      }
+      // The figurines are dropped once serialized, only the JSON is kept.
+      snapshot =
+          variant.rebuildTimer.record(
+              () ->
+                  new Snapshot(
+                      expected,
+                      serialize(figurineService.getAllFigurines(variant.excludeRestocks))));
+      variant.current.set(snapshot);
+      log.info(
+          "Catalog snapshot {} built with {} bytes, excludeRestocks: {}",
+          expected,
+          snapshot.serialized().json().length,
+          variant.excludeRestocks);
+      return snapshot;
+    }
+  }
+
+  private SerializedCatalog serialize(List<Figurine> figurines) {
+    try {
+      return SerializedCatalog.of(objectMapper.writeValueAsBytes(figurines));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Unable to serialize the catalog", e);
+    }
+  }
+
+  private Variant variant(boolean excludeRestocks) {
+    return excludeRestocks ? withoutRestocks : withRestocks;
+  }
+
+  private static Timer rebuildTimer(MeterRegistry meterRegistry, boolean excludeRestocks) {
+    return Timer.builder("figurines.catalog.rebuild")
+        .description("Time taken to build a catalog snapshot")
+        .tag("excludeRestocks", Boolean.toString(excludeRestocks))
+        .register(meterRegistry);
+  }
+
+  private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("figurines.catalog.requests")
+        .description("Requests served by the catalog snapshots")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  /**
+   * The figurines serialized for a given version of the catalog.
+   *
+   * @param version The version of the catalog.
+   * @param serialized The figurines serialized as JSON.
+   */
+  private record Snapshot(long version, SerializedCatalog serialized) {}
+
+  /** The latest snapshot of a variant of the catalog. */
+  private static class Variant {
+    private final boolean excludeRestocks;
+    private final Timer rebuildTimer;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+
+    Variant(boolean excludeRestocks, Timer rebuildTimer) {
+      this.excludeRestocks = excludeRestocks;
+      this.rebuildTimer = rebuildTimer;
+    }
+  }
+}
@@ -0,0 +1,657 @@
+package com.mesofi.myth.collection.mgmt.service;
+
+import com.mesofi.myth.collection.mgmt.config.ImportProperties;
+import com.mesofi.myth.collection.mgmt.mappers.FigurineMapper;
+import com.mesofi.myth.collection.mgmt.model.Figurine;
+import com.mesofi.myth.collection.mgmt.model.FigurineKey;
+import com.mesofi.myth.collection.mgmt.model.ImportCheckpoint;
+import com.mesofi.myth.collection.mgmt.model.ImportMode;
+import com.mesofi.myth.collection.mgmt.model.ImportRowError;
+import com.mesofi.myth.collection.mgmt.model.ImportSummary;
+import com.mesofi.myth.collection.mgmt.model.SourceFigurine;
+import com.mesofi.myth.collection.mgmt.repository.MythCollectionRepository;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Imports figurines from a CSV source file. The rows are read lazily and written in batches, so the
+ * memory used does not depend on the size of the file. Every batch goes through three stages: the
+ * rows are parsed by the calling thread, mapped to figurines in slices by the mapping executor and
+ * written with a single bulk insert by the calling thread, which meanwhile has read the next batch
+ * and started mapping it. The figurines keep the order of the rows. The rows that cannot be read,
+ * such as a row missing fields, or mapped are rejected and skipped, until there are more than the
+ * error budget. A dry run reads and maps the rows the same way, so it rejects exactly the rows an
+ * import would reject, but it reports them instead of writing anything.
+ */
+@Slf4j
+@Service
+@AllArgsConstructor
+public class FigurineImportService {
+
+  // Bounds the slice count of small batches, every slice is still mapped by the task executor.
+  private static final int MIN_ROWS_PER_SLICE = 50;
+
+  private static final String STAGING_COLLECTION_PREFIX = "figurinesStaging_";
+
+  private final MythCollectionRepository repository;
+  private final FigurineMapper mapper;
+  private final MythCollectionService figurineService;
+  private final ImportProperties properties;
+  private final Clock clock;
+  private final TaskExecutor mappingTaskExecutor;
+
+  /**
+   * Imports the figurines of the rows of a source file, starting from a checkpoint. Every figurine
+   * is stored along with the key of the row it comes from and the hash of its content, so the same
+   * file can be imported again with {@link ImportMode#UPSERT} to write only the rows that are new
+   * or have changed. With {@link ImportMode#REPLACE} the figurines are written to a staging
+   * collection that replaces the catalog at the end, so the catalog is never seen half imported.
+   * With {@link ImportMode#DRY_RUN} nothing is written, every row is mapped and the rows that
+   * cannot be imported are reported instead.
+   *
+   * <p>The progress notified after every batch is a checkpoint the import can be resumed from: the
+   * batch that was being written when the import was interrupted is deleted, and the rows of the
+   * batches already written are read again only to rebuild the keys of the rows that follow them.
+   *
+   * @param rows The rows of the source file, from the beginning.
+   * @param mode How the figurines are written, if at all.
+   * @param checkpoint Where the import starts from.
+   * @param listener The listener notified after every batch, it may stop the import.
+   * @return The summary of the import.
+   */
+  ImportSummary importFigurines(
+      final SourceFigurineRows rows,
+      final ImportMode mode,
+      final ImportCheckpoint checkpoint,
+      final ImportProgressListener listener) {
+    Progress progress = new Progress(properties.getMaxReportedErrors(), checkpoint);
+    if (mode == ImportMode.REPLACE) {
+      progress.stagingCollection = STAGING_COLLECTION_PREFIX + checkpoint.importId();
+    }
+
+    boolean replaced = false;
+    try {
+      if (checkpoint.isResumed()) {
+        deleteUncommittedBatch(mode, progress);
+        log.info("The import has been resumed after {} rows ...", progress.rowsParsed);
+      }
+      if (!importRows(rows, mode, listener, progress)) {
+        log.info("The import has been stopped after {} rows ...", progress.rowsParsed);
+        return progress.summary();
+      }
+      if (mode == ImportMode.REPLACE) {
+        replaceCatalog(progress);
+        replaced = true;
+      }
+      if (mode == ImportMode.UPSERT) {
+        progress.rowsOrphaned = countOrphaned(progress);
+      }
+    } finally {
+      if (mode == ImportMode.REPLACE && !replaced) {
+        // The catalog is left as it was.
+        repository.dropStaged(progress.stagingCollection);
+      }
+    }
+
+    ImportSummary summary = progress.summary();
+    log.info(
+        "{} rows parsed, {} rejected, {} figurines created, {} updated, {} unchanged and {} orphaned"
+            + " ...",
+        summary.rowsParsed(),
+        summary.rowsRejected(),
+        summary.rowsInserted(),
+        summary.rowsUpdated(),
+        summary.rowsUnchanged(),
+        summary.rowsOrphaned());
+    return summary;
+  }
+
+  /**
+   * Reads the rows of the source file and imports them in batches.
+   *
+   * @param rows The rows of the source file.
+   * @param mode How the figurines are written, if at all.
+   * @param listener The listener notified after every batch, it may stop the import.
+   * @param progress The progress of the import.
+   * @return true if every row has been imported, false if the listener stopped the import.
+   */
+  private boolean importRows(
+      SourceFigurineRows rows,
+      ImportMode mode,
+      ImportProgressListener listener,
+      Progress progress) {
+    final int batchSize = Math.max(1, properties.getBatchSize());
+    replayCommittedRows(rows, mode, batchSize, progress);
+
+    // The next batch is read and mapped while the current one is written.
+    Batch batch = readBatch(rows, batchSize);
+    while (batch != null) {
+      boolean full = batch.rows().size() == batchSize;
+      Batch next = null;
+      RuntimeException readError = null;
+      try {
+        next = full ? readBatch(rows, batchSize) : null;
+      } catch (RuntimeException e) {
+        readError = e; // thrown once the rows read before it are written
+      }
+
+      importBatch(batch, mode, listener, progress);
+      if (full && !listener.onProgress(progress.summary())) {
+        return false; // the batch read ahead is discarded
+      }
+      if (readError != null) {
+        throw readError;
+      }
+      batch = next;
+    }
+    return true;
+  }
+
+  /**
+   * Reads the next batch of rows and starts mapping them in the mapping executor.
+   *
+   * @param rows The rows of the source file.
+   * @param batchSize Maximum number of rows of the batch.
+   * @return The batch, or null if there are no more rows.
+   */
+  private Batch readBatch(SourceFigurineRows rows, int batchSize) {
+    List<ParsedRow> batch = new ArrayList<>(batchSize);
+    ParsedRow row;
+    while (batch.size() < batchSize && (row = nextRow(rows)) != null) {
+      batch.add(row);
+    }
+    return batch.isEmpty() ? null : new Batch(batch, mapAsync(batch, this::mapRow));
+  }
+
+  /**
+   * Reads the next row of the source file, a row that cannot be bound to its columns is returned
+   * along with the reason, so it is rejected like the rows that cannot be mapped.
+   *
+   * @param rows The rows of the source file.
+   * @return The row, or null if there are no more rows.
+   */
+  private static ParsedRow nextRow(SourceFigurineRows rows) {
+    try {
+      if (!rows.hasNext()) {
+        return null;
+      }
+      SourceFigurine row = rows.next();
+      return new ParsedRow(row, rows.line(), null);
+    } catch (MalformedRowException e) {
+      return new ParsedRow(null, e.line(), e);
+    }
+  }
+
+  /**
+   * Deletes the figurines of the batch that was being written when the import was interrupted, the
+   * batch is written again. The figurines upserted are not deleted, writing them again changes
+   * nothing.
+   *
+   * @param mode How the figurines are written.
+   * @param progress The progress of the import, as it was after the last batch written.
+   */
+  private void deleteUncommittedBatch(ImportMode mode, Progress progress) {
+    String importBatch = progress.importBatchOf(progress.rowsParsed);
+    if (mode == ImportMode.INSERT) {
+      repository.deleteByImportBatch(importBatch);
+    } else if (mode == ImportMode.REPLACE) {
+      repository.deleteStagedByImportBatch(progress.stagingCollection, importBatch);
+      long staged = repository.countStaged(progress.stagingCollection);
+      if (staged != progress.rowsInserted) {
+        throw new IllegalStateException(
+            "Only " + staged + " of " + progress.rowsInserted + " figurines are still staged");
+      }
+    }
+  }
+
+  /**
+   * Reads again the rows written before the import was interrupted. They are not written again,
+   * only mapped to rebuild the keys of the rows that follow them.
+   *
+   * @param rows The rows of the CSV content, from the beginning.
+   * @param mode How the figurines are written, if at all.
+   * @param batchSize Number of rows mapped at the same time.
+   * @param progress The progress of the import, as it was after the last batch written.
+   */
+  private void replayCommittedRows(
+      SourceFigurineRows rows, ImportMode mode, int batchSize, Progress progress) {
+    List<ParsedRow> batch = new ArrayList<>(batchSize);
+    ParsedRow next;
+    for (long row = 0; row < progress.rowsParsed && (next = nextRow(rows)) != null; row++) {
+      batch.add(next);
+      if (batch.size() == batchSize) {
+        replay(batch, mode, progress);
+        batch = new ArrayList<>(batchSize);
+      }
+    }
+    replay(batch, mode, progress);
+  }
+
+  private void replay(List<ParsedRow> rows, ImportMode mode, Progress progress) {
+    if (rows.isEmpty() || mode == ImportMode.DRY_RUN) {
+      return; // a dry run has no keys
+    }
+    for (MappedRow row : map(rows, this::mapRow)) {
+      if (row.error() == null) {
+        progress.importKeyOf(row.figurine());
+      }
+    }
+  }
+
+  /**
+   * Replaces the catalog with the staging collection, once it is known to hold every figurine
+   * written.
+   *
+   * @param progress The progress of the import.
+   */
+  private void replaceCatalog(Progress progress) {
+    if (progress.rowsInserted == 0) {
+      throw new IllegalStateException("The source file has no figurines, the catalog is unchanged");
+    }
+    long staged = repository.countStaged(progress.stagingCollection);
+    if (staged != progress.rowsInserted) {
+      throw new IllegalStateException(
+          "Only " + staged + " of " + progress.rowsInserted + " figurines have been staged");
+    }
+    repository.replaceWithStaged(progress.stagingCollection);
+    log.info("The catalog has been replaced with {} figurines", staged);
+  }
+
+  /**
+   * Maps the batch of rows and writes the figurines, the key and the content hash of every row are
+   * stored along with its figurine. The rows that cannot be read or mapped are rejected and
+   * skipped, the import fails once the error budget is exceeded. A dry run rejects the same rows
+   * and writes nothing.
+   *
+   * @param batch The rows to be imported, being mapped.
+   * @param mode How the figurines are written, if at all.
+   * @param listener The listener notified with the rows rejected.
+   * @param progress The progress of the import.
+   */
+  private void importBatch(
+      Batch batch, ImportMode mode, ImportProgressListener listener, Progress progress) {
+    List<ParsedRow> rows = batch.rows();
+    List<MappedRow> mapped = join(batch.mapped());
+    progress.rowsParsed += rows.size();
+    boolean dryRun = mode == ImportMode.DRY_RUN;
+
+    // The batch is named after its first row, so it is known where to resume from.
+    String importBatch = progress.importBatchOf(progress.rowsParsed - rows.size());
+    List<Figurine> figurines = new ArrayList<>(rows.size());
+    List<ImportRowError> rejected = new ArrayList<>();
+    try {
+      for (int i = 0; i < mapped.size(); i++) {
+        MappedRow row = mapped.get(i);
+        if (row.error() != null) {
+          rejected.add(
+              new ImportRowError(rows.get(i).line(), String.valueOf(row.error().getMessage())));
+          progress.reject(rejected.getLast());
+          if (!dryRun && progress.rowsRejected > properties.getErrorBudget()) {
+            // The row that exceeds the budget fails the import as if it was mapped here.
+            throw row.error();
+          }
+        } else if (!dryRun) {
+          Figurine figurine = row.figurine();
+          figurine.setImportKey(progress.importKeyOf(figurine));
+          figurine.setContentHash(contentHash(rows.get(i).row()));
+          figurine.setImportBatch(importBatch);
+          figurines.add(figurine);
+        }
+      }
+    } finally {
+      if (!rejected.isEmpty()) {
+        listener.onRejected(rejected);
+      }
+    }
+
+    if (figurines.isEmpty()) {
+      return;
+    }
+    switch (mode) {
+      case INSERT -> progress.rowsInserted += insert(figurines);
+      case REPLACE -> progress.rowsInserted += stage(figurines, progress.stagingCollection);
+      case UPSERT -> upsert(figurines, progress);
+    }
+  }
+
+  /**
+   * Maps a row, a dry run and an import check the rows the same way.
+   *
+   * @param row The row.
+   * @return The figurine or the reason why the row cannot be imported.
+   */
+  private MappedRow mapRow(ParsedRow row) {
+    if (row.error() != null) {
+      return new MappedRow(null, row.error());
+    }
+    try {
+      return new MappedRow(mapper.toFigure(row.row()), null);
+    } catch (RuntimeException e) {
+      return new MappedRow(null, e);
+    }
+  }
+
+  /**
+   * Writes the figurines that are new or whose row has changed since they were imported, the rest
+   * of them are skipped.
+   *
+   * @param figurines The figurines to be written.
+   * @param progress The progress of the import, updated with the figurines written and skipped.
+   */
+  private void upsert(List<Figurine> figurines, Progress progress) {
+    Map<String, String> contentHashes =
+        repository.findContentHashes(figurines.stream().map(Figurine::getImportKey).toList());
+
+    List<Figurine> changed = new ArrayList<>(figurines.size());
+    for (Figurine figurine : figurines) {
+      if (!contentHashes.containsKey(figurine.getImportKey())) {
+        progress.rowsInserted++;
+        changed.add(figurine);
+      } else if (!figurine.getContentHash().equals(contentHashes.get(figurine.getImportKey()))) {
+        progress.rowsUpdated++;
+        changed.add(figurine);
+      } else {
+        progress.rowsUnchanged++;
+      }
+    }
+    if (changed.isEmpty()) {
+      return;
+    }
+    figurineService.populateAdditionalInfo(changed, LocalDate.now(clock));
+    repository.upsertByImportKey(changed);
+    repository.refreshGroupHeads(groupKeysOf(changed));
+    log.debug("A batch of {} figurines has been upserted", changed.size());
+  }
+
+  /**
+   * Counts the figurines imported before whose row has not been found in the source file. The key
+   * of a row depends on its naming fields, so a row whose naming has changed is inserted with a new
+   * key and the figurine imported before is orphaned, as is the figurine of a row removed from the
+   * file or rejected. The orphaned figurines are left as they are, only reported.
+   *
+   * @param progress The progress of a complete import, with every row of the file seen.
+   * @return The number of figurines orphaned.
+   */
+  private long countOrphaned(Progress progress) {
+    try (Stream<String> importKeys = repository.streamImportKeys()) {
+      return importKeys.filter(importKey -> !progress.isSeen(importKey)).count();
+    }
+  }
+
+  /**
+   * Maps the rows, see {@link #mapAsync(List, Function)}.
+   *
+   * @param rows The rows to be mapped.
+   * @param function How every row is mapped.
+   * @return The results, in the same order as the rows.
+   */
+  private <R, T> List<T> map(List<R> rows, Function<R, T> function) {
+    return join(mapAsync(rows, function));
+  }
+
+  /**
+   * Maps the rows in the mapping executor, the rows are split in slices mapped at the same time.
+   * The calling thread is free meanwhile, to write the batch mapped before.
+   *
+   * @param rows The rows to be mapped.
+   * @param function How every row is mapped.
+   * @return The results, in the same order as the rows.
+   */
+  private <R, T> CompletableFuture<List<T>> mapAsync(List<R> rows, Function<R, T> function) {
+    int slices =
+        Math.max(1, Math.min(properties.getMappingThreads(), rows.size() / MIN_ROWS_PER_SLICE));
+    int sliceSize = (rows.size() + slices - 1) / slices;
+    List<CompletableFuture<List<T>>> mapped = new ArrayList<>(slices);
+    for (int from = 0; from < rows.size(); from += sliceSize) {
+      List<R> slice = rows.subList(from, Math.min(from + sliceSize, rows.size()));
+      mapped.add(
+          CompletableFuture.supplyAsync(() -> mapSlice(slice, function), mappingTaskExecutor));
+    }
+    return CompletableFuture.allOf(mapped.toArray(CompletableFuture[]::new))
+        .thenApply(
+            $ -> {
+              List<T> results = new ArrayList<>(rows.size());
+              mapped.forEach(slice -> results.addAll(slice.join()));
+              return results;
+            });
+  }
+
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      // The row that could not be mapped fails the import as if it was mapped by this thread.
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private <R, T> List<T> mapSlice(List<R> rows, Function<R, T> function) {
+    List<T> results = new ArrayList<>(rows.size());
+    for (R row : rows) {
+      results.add(function.apply(row));
+    }
+    return results;
+  }
+
+  /**
+   * Calculates the additional information of the batch of figurines and writes them using a single
+   * bulk insert, the status of the whole batch is calculated with the same date. The import key is
+   * unique, so the figurines of the rows imported before are written without it and the figurine
+   * imported before is the one synced by the upserts.
+   *
+   * @param batch The figurines to be written.
+   * @return The number of figurines written.
+   */
+  private int insert(List<Figurine> batch) {
+    figurineService.populateAdditionalInfo(batch, LocalDate.now(clock));
+    try {
+      insertWithFreeKeys(batch);
+    } catch (DuplicateKeyException e) {
+      // Another import took some of the keys meanwhile, the batch is written again without them.
+      repository.deleteByImportBatch(batch.getFirst().getImportBatch());
+      insertWithFreeKeys(batch);
+    }
+    repository.refreshGroupHeads(groupKeysOf(batch));
+    log.debug("A batch of {} figurines has been written", batch.size());
+    return batch.size();
+  }
+
+  private void insertWithFreeKeys(List<Figurine> batch) {
+    Set<String> taken =
+        repository
+            .findContentHashes(
+                batch.stream().map(Figurine::getImportKey).filter(Objects::nonNull).toList())
+            .keySet();
+    for (Figurine figurine : batch) {
+      if (taken.contains(figurine.getImportKey())) {
+        figurine.setImportKey(null);
+        figurine.setContentHash(null);
+      }
+    }
+    repository.insert(batch);
+  }
+
+  /**
+   * Calculates the additional information of the batch of figurines and writes them to the staging
+   * collection using a single bulk insert.
+   *
+   * @param batch The figurines to be written.
+   * @param stagingCollection The name of the staging collection.
+   * @return The number of figurines written.
+   */
+  private int stage(List<Figurine> batch, String stagingCollection) {
+    figurineService.populateAdditionalInfo(batch, LocalDate.now(clock));
+    repository.insertStaged(stagingCollection, batch);
+    repository.refreshStagedGroupHeads(stagingCollection, groupKeysOf(batch));
+    log.debug("A batch of {} figurines has been staged", batch.size());
+    return batch.size();
+  }
+
+  // The groups written to, their heads are calculated again with the figurines stored before.
+  private static List<String> groupKeysOf(List<Figurine> figurines) {
+    return figurines.stream()
+        .map(Figurine::getGroupKey)
+        .filter(Objects::nonNull)
+        .distinct()
+        .toList();
+  }
+
+  /**
+   * Calculates the hash of all the columns of a row, the rows with the same content get the same
+   * hash.
+   *
+   * @param row The row.
+   * @return The hash.
+   */
+  static String contentHash(SourceFigurine row) {
+    String content =
+        String.join(
+            "\u0000",
+            String.valueOf(row.getBaseName()),
+            String.valueOf(row.getPriceJPY()),
+            String.valueOf(row.getAnnJPY()),
+            String.valueOf(row.getPreorderJPY()),
+            String.valueOf(row.getReleaseJPY()),
+            String.valueOf(row.getDistributorMXN()),
+            String.valueOf(row.getPriceMXN()),
+            String.valueOf(row.getPreorderMXN()),
+            String.valueOf(row.getReleaseMXN()),
+            String.valueOf(row.getLink()),
+            String.valueOf(row.getDist()),
+            String.valueOf(row.getLineUp()),
+            String.valueOf(row.getSeries()),
+            String.valueOf(row.getGroup()),
+            String.valueOf(row.getMetal()),
+            String.valueOf(row.getOce()),
+            String.valueOf(row.getRevival()),
+            String.valueOf(row.getPlainCloth()),
+            String.valueOf(row.getBroken()),
+            String.valueOf(row.getGolden()),
+            String.valueOf(row.getGold()),
+            String.valueOf(row.getHk()),
+            String.valueOf(row.getManga()),
+            String.valueOf(row.getSet()),
+            String.valueOf(row.getAnniversary()),
+            String.valueOf(row.getOfficialImages()),
+            String.valueOf(row.getOtherImages()),
+            String.valueOf(row.getRemarks()));
+    return DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** The rows of a batch, along with the figurines they are being mapped to. */
+  private record Batch(List<ParsedRow> rows, CompletableFuture<List<MappedRow>> mapped) {}
+
+  /** A row read from the source file along with its line, or the reason why it cannot be read. */
+  private record ParsedRow(SourceFigurine row, long line, RuntimeException error) {}
+
+  /** The figurine mapped from a row, or the reason why the row cannot be imported. */
+  private record MappedRow(Figurine figurine, RuntimeException error) {}
+
+  /** The rows written or rejected so far by an import. */
+  private static class Progress {
+    private long rowsParsed;
+    private long rowsInserted;
+    private long rowsUpdated;
+    private long rowsUnchanged;
+    private long rowsRejected;
+    private long rowsOrphaned;
+
+    private final String importId;
+
+    // Where the figurines are written until they replace the catalog.
+    private String stagingCollection;
+
+    // Only the first rows rejected are reported, so the report does not grow with the file.
+    private final int maxReportedErrors;
+    private final List<ImportRowError> errors = new ArrayList<>();
+
+    // Number of rows seen so far of every group of restocks.
+    private final Map<String, Integer> occurrences = new HashMap<>();
+
+    Progress(int maxReportedErrors, ImportCheckpoint checkpoint) {
+      this.maxReportedErrors = maxReportedErrors;
+      this.importId = checkpoint.importId();
+
+      ImportSummary committed = checkpoint.committed();
+      rowsParsed = committed.rowsParsed();
+      rowsInserted = committed.rowsInserted();
+      rowsUpdated = committed.rowsUpdated();
+      rowsUnchanged = committed.rowsUnchanged();
+      rowsRejected = committed.rowsRejected();
+      errors.addAll(committed.errors());
+    }
+
+    /** Gets the name of the batch of the import that starts with the given row, 0 based. */
+    String importBatchOf(long firstRow) {
+      return importId + ":" + firstRow;
+    }
+
+    void reject(ImportRowError error) {
+      rowsRejected++;
+      if (errors.size() < maxReportedErrors) {
+        errors.add(error);
+      }
+    }
+
+    /**
+     * Gets the key of the row a figurine comes from. The restocks share the group key, so the key
+     * is the group key plus the number of rows of the group found so far: the first row of the
+     * group gets the same key every time the file is imported, as long as the restocks are not
+     * reordered.
+     */
+    String importKeyOf(Figurine figurine) {
+      String groupKey = FigurineKey.groupKeyOf(figurine);
+      return groupKey + "-" + occurrences.merge(groupKey, 1, Integer::sum);
+    }
+
+    /**
+     * Tells if the row of an import key has been found so far, the keys of the rows found are
+     * rebuilt from the number of rows of every group instead of being kept.
+     */
+    boolean isSeen(String importKey) {
+      int separator = importKey.lastIndexOf('-');
+      if (separator < 0) {
+        return false;
+      }
+      try {
+        int occurrence = Integer.parseInt(importKey.substring(separator + 1));
+        return occurrence >= 1
+            && occurrence <= occurrences.getOrDefault(importKey.substring(0, separator), 0);
+      } catch (NumberFormatException e) {
+        return false;
+      }
+    }
+
+    ImportSummary summary() {
+      return new ImportSummary(
+          rowsParsed,
+          rowsInserted + rowsUpdated,
+          rowsInserted,
+          rowsUpdated,
+          rowsUnchanged,
+          rowsRejected,
+          rowsOrphaned,
+          List.copyOf(errors));
+    }
+  }
+}
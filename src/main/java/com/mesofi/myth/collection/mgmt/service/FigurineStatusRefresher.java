@@ -0,0 +1,71 @@
+package com.mesofi.myth.collection.mgmt.service;
+
+import com.mesofi.myth.collection.mgmt.config.ImportProperties;
+import com.mesofi.myth.collection.mgmt.model.Figurine;
+import com.mesofi.myth.collection.mgmt.model.FigurineCatalogChangedEvent;
+import com.mesofi.myth.collection.mgmt.model.FigurineStatus;
+import com.mesofi.myth.collection.mgmt.repository.MythCollectionRepository;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * The status is stored along with the figurine but it depends on the current date, a figurine
+ * becomes released once its release date is reached. The date the status changes next is stored as
+ * well, so only the figurines whose date has been reached are calculated again. The status is
+ * refreshed right after the application starts and then every day.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class FigurineStatusRefresher {
+
+  private final MythCollectionRepository repository;
+  private final ImportProperties properties;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Clock clock;
+
+  /** Refreshes the status of the figurines whose status change date has been reached. */
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(cron = "${myth.status.refresh-cron:5 0 0 * * *}")
+  public void refreshStatus() {
+    log.info("Refreshing the status of the figurines ...");
+
+    final int batchSize = Math.max(1, properties.getBatchSize());
+    final LocalDate today = LocalDate.now(clock);
+    long updated = 0;
+
+    try (Stream<Figurine> figurines = repository.findStatusChangesDue(today)) {
+      List<Figurine> batch = new ArrayList<>(batchSize);
+      Iterator<Figurine> iterator = figurines.iterator();
+      while (iterator.hasNext()) {
+        Figurine figurine = iterator.next();
+        FigurineStatus status = FigurineStatus.of(figurine, today);
+        figurine.setStatus(status.status());
+        figurine.setStatusChangeDate(status.changeDate());
+        batch.add(figurine);
+
+        if (batch.size() == batchSize) {
+          updated += repository.updateStatus(batch);
+          batch = new ArrayList<>(batchSize);
+        }
+      }
+      updated += repository.updateStatus(batch);
+    }
+
+    log.info("The status has been refreshed for {} figurines", updated);
+    if (updated > 0) {
+      eventPublisher.publishEvent(new FigurineCatalogChangedEvent("status refreshed"));
+    }
+  }
+}
@@ -0,0 +1,425 @@
+package com.mesofi.myth.collection.mgmt.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import com.mesofi.myth.collection.mgmt.config.ImportProperties;
+import com.mesofi.myth.collection.mgmt.exceptions.ImportJobNotFoundException;
+import com.mesofi.myth.collection.mgmt.exceptions.ImportJobNotResumableException;
+import com.mesofi.myth.collection.mgmt.exceptions.ImportJobRejectedException;
+import com.mesofi.myth.collection.mgmt.exceptions.SourceFigurineBulkException;
+import com.mesofi.myth.collection.mgmt.exceptions.UnsupportedCompressionException;
+import com.mesofi.myth.collection.mgmt.model.FigurineCatalogChangedEvent;
+import com.mesofi.myth.collection.mgmt.model.ImportCheckpoint;
+import com.mesofi.myth.collection.mgmt.model.ImportJob;
+import com.mesofi.myth.collection.mgmt.model.ImportJobStatus;
+import com.mesofi.myth.collection.mgmt.model.ImportMode;
+import com.mesofi.myth.collection.mgmt.model.ImportRejection;
+import com.mesofi.myth.collection.mgmt.model.ImportRowError;
+import com.mesofi.myth.collection.mgmt.model.ImportSummary;
+import com.mesofi.myth.collection.mgmt.repository.ImportJobRepository;
+import com.mesofi.myth.collection.mgmt.repository.ImportRejectionRepository;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Handles the import jobs. The uploaded file is kept on disk and imported in the background, the
+ * state of every job is stored in the DB so any node is able to report on it.
+ */
+@Slf4j
+@Service
+@AllArgsConstructor
+public class ImportJobService {
+
+  private static final int MAX_REJECTIONS_PAGE_SIZE = 1000;
+  private static final String SPOOL_FILE_EXTENSION = ".csv";
+
+  private final ImportJobRepository repository;
+  private final ImportRejectionRepository rejectionRepository;
+  private final MongoTemplate mongoTemplate;
+  private final FigurineImportService importService;
+  private final ImportProperties properties;
+  private final TaskExecutor importTaskExecutor;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Clock clock;
+
+  /**
+   * Creates a new import job for the source file, the import itself is executed in the background.
+   * Every row is inserted as a new figurine.
+   *
+   * @param file The file to be used as input.
+   * @return The job created.
+   */
+  public ImportJob submit(final MultipartFile file) {
+    return submit(file, ImportMode.INSERT);
+  }
+
+  /**
+   * Creates a new import job for the source file, the import itself is executed in the background.
+   *
+   * @param file The file to be used as input.
+   * @param mode How the figurines are written, a dry run only reports the rows that cannot be
+   *     imported.
+   * @return The job created.
+   */
+  public ImportJob submit(final MultipartFile file, final ImportMode mode) {
+    ImportJob job = new ImportJob();
+    job.setFileName(file.getOriginalFilename());
+    job.setMode(mode);
+    job.setStatus(ImportJobStatus.QUEUED);
+    job.setTotalBytes(file.getSize());
+    job.setCreatedAt(Instant.now(clock));
+
+    ImportJob created = repository.save(job);
+    final String id = created.getId();
+
+    Path spoolFile = spool(created, file);
+    try {
+      importTaskExecutor.execute(() -> run(id, spoolFile, mode, ImportCheckpoint.start(id)));
+    } catch (TaskRejectedException e) {
+      deleteSpoolFile(spoolFile);
+      finish(id, ImportJobStatus.QUEUED, ImportJobStatus.FAILED, "The import queue is full");
+      throw new ImportJobRejectedException("Unable to queue the import job with id: " + id);
+    }
+
+    log.info("A new import job has been queued with id: {}", id);
+    return created;
+  }
+
+  /**
+   * Get an existing import job, with its rates calculated at the current time, or an exception is
+   * thrown when it is not found.
+   *
+   * @param id The unique identifier.
+   * @return The import job.
+   */
+  public ImportJob getJob(String id) {
+    ImportJob job =
+        repository
+            .findById(id)
+            .orElseThrow(
+                () -> new ImportJobNotFoundException("Import job not found with id: " + id));
+    job.calculateRates(Instant.now(clock));
+    return job;
+  }
+
+  /**
+   * Gets the rows rejected by an import job, in the order of the file. The rows are read in pages,
+   * every page starts after the last line of the previous one.
+   *
+   * @param id The unique identifier.
+   * @param afterLine The last line of the previous page, 0 to get the first page.
+   * @param size The max number of rows in the page.
+   * @return The rows rejected.
+   */
+  public List<ImportRejection> getRejections(String id, long afterLine, int size) {
+    getJob(id); // the job must exist
+    return rejectionRepository.findByJobIdAndLineGreaterThanOrderByLine(
+        id, afterLine, Limit.of(Math.clamp(size, 1, MAX_REJECTIONS_PAGE_SIZE)));
+  }
+
+  /**
+   * Cancels an import job. A running job stops once the batch in progress has been written.
+   *
+   * @param id The unique identifier.
+   * @return The import job.
+   */
+  public ImportJob cancel(String id) {
+    log.info("Import job to be cancelled with id: [{}] ...", id);
+
+    getJob(id); // the job must exist
+    mongoTemplate.updateFirst(
+        query(where("id").is(id).and("status").in(ImportJobStatus.QUEUED, ImportJobStatus.RUNNING)),
+        new Update().set("status", ImportJobStatus.CANCELLED).set("finishedAt", Instant.now(clock)),
+        ImportJob.class);
+
+    return getJob(id);
+  }
+
+  /**
+   * Resumes a failed import job from the last batch written. The rows already written are not
+   * written again, a replace starts over since its staged figurines were dropped when it failed.
+   *
+   * @param id The unique identifier.
+   * @return The import job.
+   */
+  public ImportJob resume(String id) {
+    log.info("Import job to be resumed with id: [{}] ...", id);
+
+    ImportJob job = getJob(id);
+    Path spoolFile = spoolFileOf(id);
+    if (job.getStatus() != ImportJobStatus.FAILED || !Files.exists(spoolFile)) {
+      throw new ImportJobNotResumableException("Unable to resume the import job with id: " + id);
+    }
+    if (!updateJob(id, ImportJobStatus.FAILED, requeue())) {
+      throw new ImportJobNotResumableException("Unable to resume the import job with id: " + id);
+    }
+
+    ImportCheckpoint checkpoint =
+        job.getMode() == ImportMode.REPLACE ? ImportCheckpoint.start(id) : checkpointOf(job);
+    try {
+      importTaskExecutor.execute(() -> run(id, spoolFile, job.getMode(), checkpoint));
+    } catch (TaskRejectedException e) {
+      finish(id, ImportJobStatus.QUEUED, ImportJobStatus.FAILED, "The import queue is full");
+      throw new ImportJobRejectedException("Unable to queue the import job with id: " + id);
+    }
+    return getJob(id);
+  }
+
+  /**
+   * Resumes the import jobs interrupted by a restart of this node. The spool directory is not
+   * shared, so the files left in it belong to the jobs this node was running or had queued.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void resumeInterrupted() {
+    if (!properties.isResumeOnStartup() || !Files.isDirectory(properties.getSpoolDirectory())) {
+      return;
+    }
+    try (DirectoryStream<Path> spoolFiles =
+        Files.newDirectoryStream(properties.getSpoolDirectory(), "*" + SPOOL_FILE_EXTENSION)) {
+      for (Path spoolFile : spoolFiles) {
+        String fileName = spoolFile.getFileName().toString();
+        resumeInterrupted(
+            fileName.substring(0, fileName.length() - SPOOL_FILE_EXTENSION.length()), spoolFile);
+      }
+    } catch (IOException e) {
+      log.warn("Unable to read the directory {}", properties.getSpoolDirectory(), e);
+    }
+  }
+
+  private void resumeInterrupted(String id, Path spoolFile) {
+    ImportJob job = repository.findById(id).orElse(null);
+    if (Objects.isNull(job)
+        || job.getStatus() == ImportJobStatus.COMPLETED
+        || job.getStatus() == ImportJobStatus.CANCELLED) {
+      deleteSpoolFile(spoolFile); // nothing left to import
+      return;
+    }
+    if (job.getStatus() == ImportJobStatus.RUNNING
+        && !updateJob(id, ImportJobStatus.RUNNING, requeue())) {
+      return;
+    }
+    if (job.getStatus() == ImportJobStatus.RUNNING || job.getStatus() == ImportJobStatus.QUEUED) {
+      try {
+        importTaskExecutor.execute(() -> run(id, spoolFile, job.getMode(), checkpointOf(job)));
+        log.info("The interrupted import job {} has been resumed", id);
+      } catch (TaskRejectedException e) {
+        finish(id, ImportJobStatus.QUEUED, ImportJobStatus.FAILED, "The import queue is full");
+      }
+    }
+  }
+
+  private Update requeue() {
+    return new Update()
+        .set("status", ImportJobStatus.QUEUED)
+        .set("resumedAt", Instant.now(clock))
+        .unset("errorMessage")
+        .unset("finishedAt");
+  }
+
+  // The progress stored after every batch is where the job resumes from.
+  private ImportCheckpoint checkpointOf(ImportJob job) {
+    return new ImportCheckpoint(
+        job.getId(),
+        new ImportSummary(
+            job.getRowsParsed(),
+            job.getRowsWritten(),
+            job.getRowsInserted(),
+            job.getRowsUpdated(),
+            job.getRowsUnchanged(),
+            job.getRowsRejected(),
+            job.getRowsOrphaned(),
+            Objects.isNull(job.getErrors()) ? List.of() : job.getErrors()));
+  }
+
+  /**
+   * Executes the import job.
+   *
+   * @param id The unique identifier of the job.
+   * @param spoolFile The file with the content to import.
+   * @param mode How the figurines are written.
+   * @param checkpoint Where the import starts from.
+   */
+  void run(String id, Path spoolFile, ImportMode mode, ImportCheckpoint checkpoint) {
+    boolean started = false;
+    boolean failed = false;
+    Instant now = Instant.now(clock);
+    ActiveTime activeTime = new ActiveTime(clock, now);
+    try {
+      Update start = new Update().set("status", ImportJobStatus.RUNNING).set("updatedAt", now);
+      if (!checkpoint.isResumed()) {
+        // Nothing has been written before, the job starts over.
+        start.set("startedAt", now).set("activeMillis", 0L);
+      }
+      started = updateJob(id, ImportJobStatus.QUEUED, start);
+      if (!started) {
+        log.info("The import job {} was cancelled before it started", id);
+        return;
+      }
+
+      try (MappedSourceFile rows = MappedSourceFile.open(spoolFile)) {
+        ImportSummary summary =
+            importService.importFigurines(
+                rows,
+                mode,
+                checkpoint,
+                new ImportProgressListener() {
+                  @Override
+                  public boolean onProgress(ImportSummary progress) {
+                    return updateJob(
+                        id, ImportJobStatus.RUNNING, progress(progress, rows, activeTime));
+                  }
+
+                  @Override
+                  public void onRejected(List<ImportRowError> rows) {
+                    // Named after the line, a resumed job rejects the same rows again.
+                    rejectionRepository.saveAll(
+                        rows.stream()
+                            .map(
+                                row ->
+                                    new ImportRejection(
+                                        id + ":" + row.line(), id, row.line(), row.message()))
+                            .toList());
+                  }
+                });
+
+        Update update =
+            progress(summary, rows, activeTime).set("status", ImportJobStatus.COMPLETED);
+        if (updateJob(id, ImportJobStatus.RUNNING, update.set("finishedAt", Instant.now(clock)))) {
+          log.info("The import job {} has been completed", id);
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      log.error("The import job {} has failed", id, e);
+      failed =
+          updateJob(
+              id,
+              ImportJobStatus.RUNNING,
+              activeTime.addTo(finished(ImportJobStatus.FAILED, e.getMessage())));
+    } finally {
+      if (!failed) {
+        deleteSpoolFile(spoolFile); // kept to resume the job
+      }
+      if (started && mode != ImportMode.DRY_RUN) {
+        // Even a failed or cancelled import may have written some figurines.
+        eventPublisher.publishEvent(new FigurineCatalogChangedEvent("import " + id));
+      }
+    }
+  }
+
+  private Update progress(ImportSummary summary, MappedSourceFile rows, ActiveTime activeTime) {
+    Update update =
+        new Update()
+            .set("rowsParsed", summary.rowsParsed())
+            .set("rowsWritten", summary.rowsWritten())
+            .set("rowsInserted", summary.rowsInserted())
+            .set("rowsUpdated", summary.rowsUpdated())
+            .set("rowsUnchanged", summary.rowsUnchanged())
+            .set("rowsRejected", summary.rowsRejected())
+            .set("rowsOrphaned", summary.rowsOrphaned())
+            .set("errors", summary.errors())
+            .set("bytesRead", rows.bytesRead());
+    return activeTime.addTo(update);
+  }
+
+  private boolean finish(String id, ImportJobStatus from, ImportJobStatus to, String message) {
+    return updateJob(id, from, finished(to, message));
+  }
+
+  private Update finished(ImportJobStatus to, String message) {
+    return new Update()
+        .set("status", to)
+        .set("errorMessage", message)
+        .set("finishedAt", Instant.now(clock));
+  }
+
+  /**
+   * Updates the job only when it is still in the expected status, this is how a job notices it has
+   * been cancelled, even from a different node.
+   *
+   * @param id The unique identifier of the job.
+   * @param expected The status the job must have.
+   * @param update The changes to apply.
+   * @return true if the job was updated.
+   */
+  private boolean updateJob(String id, ImportJobStatus expected, Update update) {
+    return mongoTemplate
+            .updateFirst(
+                query(where("id").is(id).and("status").is(expected)), update, ImportJob.class)
+            .getMatchedCount()
+        > 0;
+  }
+
+  private Path spool(ImportJob job, MultipartFile file) {
+    String id = job.getId();
+    try {
+      Files.createDirectories(properties.getSpoolDirectory());
+      Path spoolFile = spoolFileOf(id);
+      if (UploadedFiles.spool(file, spoolFile)) {
+        // The progress is measured against the decompressed file.
+        job.setTotalBytes(Files.size(spoolFile));
+        updateJob(id, ImportJobStatus.QUEUED, new Update().set("totalBytes", job.getTotalBytes()));
+      }
+      return spoolFile;
+    } catch (IOException e) {
+      finish(id, ImportJobStatus.QUEUED, ImportJobStatus.FAILED, e.getMessage());
+      throw new SourceFigurineBulkException("Unable to load figurines");
+    } catch (UnsupportedCompressionException e) {
+      finish(id, ImportJobStatus.QUEUED, ImportJobStatus.FAILED, e.getMessage());
+      throw e;
+    }
+  }
+
+  private Path spoolFileOf(String id) {
+    return properties.getSpoolDirectory().resolve(id + SPOOL_FILE_EXTENSION);
+  }
+
+  private void deleteSpoolFile(Path spoolFile) {
+    try {
+      Files.deleteIfExists(spoolFile);
+    } catch (IOException e) {
+      log.warn("Unable to delete the file {}", spoolFile, e);
+    }
+  }
+
+  /**
+   * The time a run of a job has been active. It is added to the job along with the progress, so a
+   * resumed job is measured over all its runs rather than from the start of the last one.
+   */
+  private static class ActiveTime {
+    private final Clock clock;
+    private Instant since;
+
+    ActiveTime(Clock clock, Instant since) {
+      this.clock = clock;
+      this.since = since;
+    }
+
+    /** Adds the time elapsed since it was last added to the job. */
+    Update addTo(Update update) {
+      Instant now = Instant.now(clock);
+      update.inc("activeMillis", Duration.between(since, now).toMillis()).set("updatedAt", now);
+      since = now;
+      return update;
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package com.mesofi.myth.collection.mgmt.service;
+
+import com.mesofi.myth.collection.mgmt.model.ImportRowError;
+import com.mesofi.myth.collection.mgmt.model.ImportSummary;
+import java.util.List;
+
+/** Receives the progress of an import, and the rows rejected, every time a batch is written. */
+@FunctionalInterface
+public interface ImportProgressListener {
+
+  /**
+   * Notifies the progress of the import.
+   *
+   * @param progress The rows processed so far.
+   * @return true to keep importing, false to stop the import.
+   */
+  boolean onProgress(ImportSummary progress);
+
+  /**
+   * Notifies the rows of a batch that cannot be imported, before its progress is notified. Every
+   * row rejected is notified, unlike the rows kept in the summary.
+   *
+   * @param rows The rows rejected.
+   */
+  default void onRejected(List<ImportRowError> rows) {}
+}
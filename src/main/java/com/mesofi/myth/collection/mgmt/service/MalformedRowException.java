@@ -0,0 +1,27 @@
+package com.mesofi.myth.collection.mgmt.service;
+
+import java.io.Serial;
+
+/**
+ * A row of the source file that cannot be bound to its columns. The row has already been read, so
+ * the rows after it can still be read.
+ */
+class MalformedRowException extends IllegalArgumentException {
+  @Serial private static final long serialVersionUID = -3982154409717311520L;
+
+  private final long line;
+
+  MalformedRowException(long line, String msg) {
+    super(msg);
+    this.line = line;
+  }
+
+  /**
+   * Gets the line of the file where the row ends.
+   *
+   * @return The line number.
+   */
+  long line() {
+    return line;
+  }
+}
@@ -0,0 +1,380 @@
+package com.mesofi.myth.collection.mgmt.service;
+
+import com.mesofi.myth.collection.mgmt.model.SourceFigurine;
+import com.opencsv.bean.CsvBindByName;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Reads the rows of a source file mapped in memory. The lines and fields are split over the mapped
+ * bytes without copying them, and only the fields bound to {@link SourceFigurine} are decoded, as
+ * UTF-8 whatever the default charset is. The file is mapped in windows, so its size is not limited
+ * to the size of a single buffer.
+ *
+ * <p>The fields follow RFC 4180: a field may be quoted, the quotes within a quoted field are
+ * written twice and a quoted field may span several lines, which are joined with \n. The lines end
+ * with \n, \r\n or \r, the blank lines are skipped. The columns are bound by name, ignoring the
+ * case, the same way OpenCSV binds them.
+ */
+final class MappedSourceFile implements SourceFigurineRows, Closeable {
+
+  // Large enough for any row, small enough for the address space of any JVM.
+  static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+  private static final byte QUOTE = '"';
+  private static final byte SEPARATOR = ',';
+  private static final byte CR = '\r';
+  private static final byte LF = '\n';
+
+  private static final Map<String, Column> COLUMNS = columnsOf(SourceFigurine.class);
+
+  private final FileChannel channel;
+  private final long size;
+  private final int windowSize;
+
+  private MappedByteBuffer window;
+  private long windowStart;
+  private int windowLength;
+
+  private long position; // where the next row starts
+  private long linesRead;
+  private long line; // where the last row returned ends
+
+  // The fields of the row just read, as offsets within the window.
+  private int fields;
+  private int breaks; // line breaks within quoted fields
+  private int[] starts = new int[64];
+  private int[] ends = new int[64];
+  private boolean[] escaped = new boolean[64];
+  private byte[] scratch = new byte[1024];
+
+  private Column[] bindings; // by the index of the column, null when it is not bound
+  private SourceFigurine next;
+  private long nextLine;
+
+  private MappedSourceFile(FileChannel channel, int windowSize) throws IOException {
+    this.channel = channel;
+    this.size = channel.size();
+    this.windowSize = windowSize;
+  }
+
+  /**
+   * Maps the file and reads its header.
+   *
+   * @param file The source file.
+   * @return The rows of the file.
+   * @throws IOException If the file cannot be read.
+   * @throws IllegalArgumentException If the header is missing or lacks a required column.
+   */
+  static MappedSourceFile open(Path file) throws IOException {
+    return open(file, DEFAULT_WINDOW_SIZE);
+  }
+
+  static MappedSourceFile open(Path file, int windowSize) throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      MappedSourceFile source = new MappedSourceFile(channel, windowSize);
+      source.readHeader();
+      return source;
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (Objects.isNull(next) && readRow()) {
+      nextLine = linesRead;
+      next = bind();
+    }
+    return Objects.nonNull(next);
+  }
+
+  @Override
+  public SourceFigurine next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    SourceFigurine row = next;
+    next = null;
+    line = nextLine;
+    return row;
+  }
+
+  @Override
+  public long line() {
+    return line;
+  }
+
+  /**
+   * Gets the bytes of the file read so far, the next row has already been read.
+   *
+   * @return The number of bytes.
+   */
+  long bytesRead() {
+    return position;
+  }
+
+  @Override
+  public void close() throws IOException {
+    window = null;
+    channel.close();
+  }
+
+  private void readHeader() throws IOException {
+    map(0);
+    if (windowLength >= 3
+        && window.get(0) == (byte) 0xEF
+        && window.get(1) == (byte) 0xBB
+        && window.get(2) == (byte) 0xBF) {
+      position = 3; // the byte order mark written by some spreadsheets
+    }
+    if (!readRow()) {
+      throw new IllegalArgumentException("The source file has no header");
+    }
+
+    bindings = new Column[fields];
+    for (int i = 0; i < fields; i++) {
+      bindings[i] = COLUMNS.get(decode(i).trim().toUpperCase(Locale.ROOT));
+    }
+    for (Column column : COLUMNS.values()) {
+      if (column.required() && !Arrays.asList(bindings).contains(column)) {
+        throw new IllegalArgumentException(
+            "The header is missing the required column: " + column.name());
+      }
+    }
+  }
+
+  /**
+   * Reads the next row that is not blank, its fields are left in the current window.
+   *
+   * @return false if there are no more rows.
+   */
+  private boolean readRow() {
+    while (position < size) {
+      int offset = (int) (position - windowStart);
+      if (position < windowStart || offset >= windowLength) {
+        map(position);
+        continue;
+      }
+
+      byte first = window.get(offset);
+      int end = first == CR || first == LF ? lineBreak(offset) : tokenize(offset);
+      if (end < 0) {
+        // The row goes on after the window.
+        if (windowStart == position) {
+          throw new IllegalArgumentException(
+              "Line " + (linesRead + 1) + " is longer than " + windowSize + " bytes");
+        }
+        map(position);
+        continue;
+      }
+
+      position = windowStart + end;
+      linesRead++;
+      if (first != CR && first != LF) {
+        linesRead += breaks;
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void map(long start) {
+    try {
+      windowStart = start;
+      windowLength = (int) Math.min(windowSize, size - start);
+      window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowLength);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private boolean isLastWindow() {
+    return windowStart + windowLength == size;
+  }
+
+  /**
+   * Splits the row that starts at the given offset into fields.
+   *
+   * @return The offset after the row, or -1 if the row does not end within the window.
+   */
+  private int tokenize(int offset) {
+    int i = offset;
+    fields = 0;
+    breaks = 0;
+    while (true) {
+      if (i < windowLength && window.get(i) == QUOTE) {
+        int start = ++i;
+        boolean escape = false;
+        while (true) {
+          if (i >= windowLength) {
+            if (isLastWindow()) {
+              throw new IllegalArgumentException(
+                  "Line " + (linesRead + 1) + " has a quoted field that is not closed");
+            }
+            return -1;
+          }
+          byte b = window.get(i);
+          if (b == QUOTE || b == CR) {
+            if (i + 1 >= windowLength && !isLastWindow()) {
+              return -1; // the next byte tells what it is
+            }
+            boolean pair = i + 1 < windowLength && window.get(i + 1) == (b == QUOTE ? QUOTE : LF);
+            if (b == QUOTE && !pair) {
+              break;
+            }
+            escape = true;
+            i += pair ? 2 : 1;
+            breaks += b == CR ? 1 : 0;
+          } else {
+            breaks += b == LF ? 1 : 0;
+            i++;
+          }
+        }
+        addField(start, i, escape);
+        i++; // the closing quote
+      } else {
+        int start = i;
+        while (i < windowLength) {
+          byte b = window.get(i);
+          if (b == SEPARATOR || b == CR || b == LF) {
+            break;
+          }
+          i++;
+        }
+        addField(start, i, false);
+      }
+
+      if (i >= windowLength) {
+        return isLastWindow() ? i : -1; // the last row may not end with a line break
+      }
+      byte b = window.get(i);
+      if (b == SEPARATOR) {
+        i++;
+      } else if (b == CR || b == LF) {
+        return lineBreak(i);
+      } else {
+        throw new IllegalArgumentException(
+            "Line " + (linesRead + breaks + 1) + " has characters after a quoted field");
+      }
+    }
+  }
+
+  /**
+   * Skips the line break at the given offset.
+   *
+   * @return The offset after the line break, or -1 if it may go on after the window.
+   */
+  private int lineBreak(int offset) {
+    if (window.get(offset) == LF) {
+      return offset + 1;
+    }
+    if (offset + 1 < windowLength) {
+      return window.get(offset + 1) == LF ? offset + 2 : offset + 1;
+    }
+    return isLastWindow() ? offset + 1 : -1;
+  }
+
+  private void addField(int start, int end, boolean escape) {
+    if (fields == starts.length) {
+      starts = Arrays.copyOf(starts, fields * 2);
+      ends = Arrays.copyOf(ends, fields * 2);
+      escaped = Arrays.copyOf(escaped, fields * 2);
+    }
+    starts[fields] = start;
+    ends[fields] = end;
+    escaped[fields] = escape;
+    fields++;
+  }
+
+  private SourceFigurine bind() {
+    if (fields != bindings.length) {
+      throw new MalformedRowException(
+          linesRead,
+          "Line " + linesRead + " has " + fields + " fields, the header has " + bindings.length);
+    }
+    SourceFigurine row = new SourceFigurine();
+    for (int i = 0; i < fields; i++) {
+      Column column = bindings[i];
+      if (Objects.nonNull(column)) {
+        String value = decode(i);
+        if (column.required() && value.isEmpty()) {
+          throw new MalformedRowException(
+              linesRead,
+              "Line " + linesRead + " has no value for the required column: " + column.name());
+        }
+        column.set(row, value);
+      }
+    }
+    return row;
+  }
+
+  private String decode(int field) {
+    int length = ends[field] - starts[field];
+    if (length == 0) {
+      return "";
+    }
+    if (scratch.length < length) {
+      scratch = new byte[Math.max(length, scratch.length * 2)];
+    }
+    window.get(starts[field], scratch, 0, length);
+    if (escaped[field]) {
+      length = unescape(scratch, length);
+    }
+    return new String(scratch, 0, length, StandardCharsets.UTF_8);
+  }
+
+  // The quotes written twice are kept once and the line breaks become \n, like OpenCSV does.
+  private static int unescape(byte[] bytes, int length) {
+    int n = 0;
+    for (int i = 0; i < length; i++) {
+      byte b = bytes[i];
+      if (b == QUOTE || (b == CR && i + 1 < length && bytes[i + 1] == LF)) {
+        i++;
+      }
+      bytes[n++] = b == CR ? LF : b;
+    }
+    return n;
+  }
+
+  private static Map<String, Column> columnsOf(Class<?> type) {
+    Map<String, Column> columns = new HashMap<>();
+    for (Field field : type.getDeclaredFields()) {
+      CsvBindByName binding = field.getAnnotation(CsvBindByName.class);
+      if (Objects.nonNull(binding)) {
+        field.setAccessible(true);
+        columns.put(
+            binding.column().toUpperCase(Locale.ROOT),
+            new Column(binding.column(), field, binding.required()));
+      }
+    }
+    return Map.copyOf(columns);
+  }
+
+  /** A column of the source file bound to a field of {@link SourceFigurine}. */
+  private record Column(String name, Field field, boolean required) {
+
+    void set(SourceFigurine row, String value) {
+      try {
+        field.set(row, value);
+      } catch (IllegalAccessException e) {
+        throw new IllegalStateException("Unable to bind the column: " + name, e);
+      }
+    }
+  }
+}
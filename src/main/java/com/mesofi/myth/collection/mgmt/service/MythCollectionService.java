@@ -1,32 +1,27 @@
 package com.mesofi.myth.collection.mgmt.service;
 
 import com.mesofi.myth.collection.mgmt.exceptions.FigurineNotFoundException;
-import com.mesofi.myth.collection.mgmt.exceptions.SourceFigurineBulkException;
-import com.mesofi.myth.collection.mgmt.mappers.FigurineMapper;
-import com.mesofi.myth.collection.mgmt.model.Anniversary;
-import com.mesofi.myth.collection.mgmt.model.Category;
 import com.mesofi.myth.collection.mgmt.model.Distribution;
 import com.mesofi.myth.collection.mgmt.model.Figurine;
-import com.mesofi.myth.collection.mgmt.model.LineUp;
-import com.mesofi.myth.collection.mgmt.model.Restock;
-import com.mesofi.myth.collection.mgmt.model.Series;
-import com.mesofi.myth.collection.mgmt.model.SourceFigurine;
+import com.mesofi.myth.collection.mgmt.model.FigurineCatalogChangedEvent;
+import com.mesofi.myth.collection.mgmt.model.FigurineCursor;
+import com.mesofi.myth.collection.mgmt.model.FigurineFilter;
+import com.mesofi.myth.collection.mgmt.model.FigurineKey;
+import com.mesofi.myth.collection.mgmt.model.FigurinePage;
+import com.mesofi.myth.collection.mgmt.model.FigurineStatus;
 import com.mesofi.myth.collection.mgmt.model.Status;
 import com.mesofi.myth.collection.mgmt.repository.MythCollectionRepository;
-import com.opencsv.bean.CsvToBeanBuilder;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.math.BigDecimal;
+import java.time.Clock;
 import java.time.LocalDate;
-import java.time.Period;
-import java.time.chrono.ChronoLocalDate;
 import java.util.*;
+import java.util.stream.Stream;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
 /** Contains the main logic that handles the figurines. */
 @Slf4j
@@ -34,31 +29,14 @@ import org.springframework.web.multipart.MultipartFile;
 @AllArgsConstructor
 public class MythCollectionService {
 
-  private final MythCollectionRepository repository;
-  private final FigurineMapper mapper;
+  // Max number of figurines returned in a single page.
+  private static final int MAX_PAGE_SIZE = 200;
 
-  /**
-   * Create a list of figurines based on the source file.
-   *
-   * @param file The file to be used as input.
-   * @return The list of figurines.
-   */
-  public List<Figurine> createFigurines(final MultipartFile file) {
-
-    try (Reader reader = new InputStreamReader(file.getInputStream())) {
-      // Use OpenCSV to parse the file and map each row to a SourceFigurine object
-      return new CsvToBeanBuilder<SourceFigurine>(reader)
-              .withType(SourceFigurine.class) // Specify the type of object to map to
-              .build()
-              .parse()
-              .stream()
-              .map(mapper::toFigure)
-              .peek(this::createFigurine)
-              .toList();
-    } catch (IOException e) {
-      throw new SourceFigurineBulkException("Unable to load figurines");
-    }
-  }
+  private final MythCollectionRepository repository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final DisplayableNameCache displayableNames;
+  private final TaxRateTimeline taxRates;
+  private final Clock clock;
 
   /**
    * Creates a new figurine.
@@ -69,10 +47,12 @@ public class MythCollectionService {
   public Figurine createFigurine(final Figurine figurine) {
     log.info("A new figure is about to be created with name [{}] ...", figurine.getBaseName());
 
-    Figurine created = repository.save(figurine);
+    // Calculates additional information, it is stored along with the figurine ...
+    populateAdditionalInfo(figurine);
 
-    // Calculates additional information ...
-    populateAdditionalInfo(created);
+    Figurine created = repository.save(figurine);
+    repository.refreshGroupHeads(List.of(created.getGroupKey()));
+    eventPublisher.publishEvent(new FigurineCatalogChangedEvent("created " + created.getId()));
 
     log.info("A new figure has been created with id: {}", created.getId());
     return created;
@@ -92,6 +72,7 @@ public class MythCollectionService {
         repository
             .findById(id)
             .orElseThrow(() -> new FigurineNotFoundException("Figurine not found with id: " + id));
+    String previousGroupKey = existingFigurine.getGroupKey();
 
     // Modify the document
     existingFigurine.setBaseName(figurine.getBaseName());
@@ -117,11 +98,18 @@ public class MythCollectionService {
     existingFigurine.setOtherImages(figurine.getOtherImages());
     existingFigurine.setRemarks(figurine.getRemarks());
 
+    // Calculates additional information, it is stored along with the figurine ...
+    populateAdditionalInfo(existingFigurine);
+
     // Save the updated document
     Figurine updated = repository.save(existingFigurine);
-
-    // Calculates additional information ...
-    populateAdditionalInfo(updated);
+    // The figurine may have been moved to another group, or be older than the head of its group.
+    repository.refreshGroupHeads(
+        Stream.of(previousGroupKey, updated.getGroupKey())
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList());
+    eventPublisher.publishEvent(new FigurineCatalogChangedEvent("updated " + updated.getId()));
 
     log.info("Existing figure has been updated with id: {}", updated.getId());
     return updated;
@@ -136,48 +124,20 @@ public class MythCollectionService {
   public List<Figurine> getAllFigurines(boolean excludeRestocks) {
     log.info("Retrieving all the existing figurines ...");
 
-    Sort sort = Sort.by(Sort.Order.asc("distributionJPY.releaseDate"));
-    List<Figurine> allFigurines = repository.findAll(sort);
-
-    List<Figurine> allFigurinesFiltered = new ArrayList<>();
-    if (excludeRestocks) {
-      for (Figurine currFigurine : allFigurines) {
-        if (allFigurinesFiltered.contains(currFigurine)) {
-          for (Figurine currFiltered : allFigurinesFiltered) {
-            if (currFiltered.equals(currFigurine)) {
-              if (Objects.isNull(currFiltered.getRestocks())) {
-                currFiltered.setRestocks(new ArrayList<>());
-              }
-              Restock restock = new Restock();
-              restock.setDistributionJPY(currFigurine.getDistributionJPY());
-              restock.setDistributionMXN(currFigurine.getDistributionMXN());
-              restock.setTamashiiUrl(currFigurine.getTamashiiUrl());
-              restock.setDistributionChannel(currFigurine.getDistributionChannel());
-              restock.setRemarks(currFigurine.getRemarks());
-
-              currFiltered.getRestocks().add(restock);
-            }
-          }
-        } else {
-          allFigurinesFiltered.add(currFigurine);
-        }
-      }
-    } else {
-      allFigurinesFiltered = allFigurines;
-    }
+    // The restocks are grouped by the DB.
+    List<Figurine> allFigurinesFiltered =
+        excludeRestocks
+            ? repository.findAllGroupingRestocks()
+            : repository.findAll(Sort.by(Sort.Order.asc("distributionJPY.releaseDate")));
 
     List<Figurine> figurineList =
         allFigurinesFiltered.stream()
-            .peek(this::populateAdditionalInfo)
             .sorted(
-                (f1, f2) -> {
-                  if (geReleaseDate(f1).isPresent() && geReleaseDate(f2).isPresent()) {
-                    return f2.getDistributionJPY()
-                        .getReleaseDate()
-                        .compareTo(f1.getDistributionJPY().getReleaseDate());
-                  }
-                  return 0;
-                })
+                // The figurines without release date are kept in their order, the statuses below
+                // never mix them with the ones having a release date.
+                Comparator.comparing(
+                    (Figurine f) -> geReleaseDate(f).orElse(null),
+                    Comparator.nullsLast(Comparator.reverseOrder())))
             .toList();
 
     log.info("Found {} figurines", figurineList.size());
@@ -193,6 +153,59 @@ public class MythCollectionService {
     return list;
   }
 
+  /**
+   * Gets a page of figurines, the figurines are listed in the same order used by {@link
+   * #getAllFigurines(boolean)}.
+   *
+   * @param filter The filters.
+   * @param excludeRestocks Flag to exclude the restocks.
+   * @param size The number of figurines in the page.
+   * @param cursor The cursor returned in the previous page, null to get the first page.
+   * @return The page of figurines.
+   */
+  public FigurinePage getFigurinePage(
+      FigurineFilter filter, boolean excludeRestocks, int size, String cursor) {
+    log.info("Retrieving a page of figurines ...");
+
+    int limit = Math.clamp(size, 1, MAX_PAGE_SIZE);
+    FigurineCursor after = Objects.isNull(cursor) ? null : FigurineCursor.decode(cursor);
+
+    // One more figurine is requested to know if there is a next page.
+    List<Figurine> figurines =
+        repository.findPage(filter, after, limit + 1, excludeRestocks, LocalDate.now(clock));
+    boolean hasNext = figurines.size() > limit;
+    List<Figurine> content = hasNext ? figurines.subList(0, limit) : figurines;
+
+    log.info("Found {} figurines", content.size());
+    return new FigurinePage(
+        content, hasNext ? FigurineCursor.of(content.getLast()).encode() : null);
+  }
+
+  /**
+   * Streams the figurines in the same order used by {@link #getAllFigurines(boolean)}. The
+   * figurines are read from the DB as they are requested, so the whole catalog is never held in
+   * memory, and the calculated fields of every figurine are populated as of today.
+   *
+   * @param filter The filters.
+   * @param excludeRestocks Flag to exclude the restocks.
+   * @return The figurines, read on a thread that may block.
+   */
+  public Flux<Figurine> streamFigurines(FigurineFilter filter, boolean excludeRestocks) {
+    log.info("Streaming the figurines ...");
+
+    LocalDate today = LocalDate.now(clock);
+    return Flux.concat(
+            Arrays.stream(FigurineCursor.Segment.values())
+                .map(
+                    segment ->
+                        Flux.fromStream(
+                            () ->
+                                repository.streamSegment(filter, segment, excludeRestocks, today)))
+                .toList())
+        .doOnNext(figurine -> populateAdditionalInfo(figurine, today))
+        .subscribeOn(Schedulers.boundedElastic());
+  }
+
   private List<Figurine> getFigurinesFilteredByStatus(
       List<Figurine> figurineList, Status prototype) {
     return figurineList.stream()
@@ -218,45 +231,56 @@ public class MythCollectionService {
   }
 
   /**
-   * Populates additional information for the figurine.
+   * Populates additional information for the figurine. This is done before the figurine is stored,
+   * so the figurines are read as they are, only the status needs to be refreshed over time.
    *
    * @param figurine The figurine.
    */
-  private void populateAdditionalInfo(Figurine figurine) {
-    figurine.setDisplayableName(calculateDisplayableName(figurine));
+  void populateAdditionalInfo(Figurine figurine) {
+    populateAdditionalInfo(figurine, LocalDate.now(clock));
+  }
+
+  /**
+   * Populates additional information for the figurine, the status is calculated for a given date.
+   * The date is read once for a whole batch of figurines.
+   *
+   * @param figurine The figurine.
+   * @param today The date used to calculate the status.
+   */
+  void populateAdditionalInfo(Figurine figurine, LocalDate today) {
+    populateFields(figurine, today);
+    taxRates.applyFinalPrices(Collections.singletonList(figurine.getDistributionJPY()));
+  }
+
+  /**
+   * Populates additional information for a batch of figurines, the final prices are calculated all
+   * at once.
+   *
+   * @param figurines The figurines.
+   * @param today The date used to calculate the status.
+   */
+  void populateAdditionalInfo(List<Figurine> figurines, LocalDate today) {
+    List<Distribution> distributions = new ArrayList<>(figurines.size());
+    for (Figurine figurine : figurines) {
+      populateFields(figurine, today);
+      distributions.add(figurine.getDistributionJPY());
+    }
+    taxRates.applyFinalPrices(distributions);
+  }
 
-    Distribution distJPY = figurine.getDistributionJPY();
-    Optional.ofNullable(distJPY)
-        .ifPresent(
-            $ -> {
-              if (Objects.nonNull($.getBasePrice())) {
-                distJPY.setFinalPrice(calculateFinalPrice($.getBasePrice(), $.getReleaseDate()));
-              }
-            });
+  // Every calculated field but the final price.
+  private void populateFields(Figurine figurine, LocalDate today) {
+    figurine.setGroupKey(FigurineKey.groupKeyOf(figurine));
+    figurine.setDisplayableName(calculateDisplayableName(figurine));
 
-    figurine.setStatus(calculateStatus(figurine));
+    FigurineStatus status = FigurineStatus.of(figurine, today);
+    figurine.setStatus(status.status());
+    figurine.setStatusChangeDate(status.changeDate());
 
     figurine.setOfficialImages(complementImageUrls(figurine.getOfficialImages()));
     figurine.setOtherImages(complementImageUrls(figurine.getOtherImages()));
   }
 
-  private Status calculateStatus(Figurine figurine) {
-    Distribution jpy = figurine.getDistributionJPY();
-    LocalDate releaseDate = Optional.ofNullable(jpy).map(Distribution::getReleaseDate).orElse(null);
-    if (Objects.nonNull(releaseDate)) {
-      return releaseDate.isBefore(LocalDate.now()) ? Status.RELEASED : Status.FUTURE_RELEASE;
-    } else {
-      LocalDate anncDate =
-          Optional.ofNullable(jpy).map(Distribution::getFirstAnnouncementDate).orElse(null);
-      if (Objects.nonNull(anncDate)) {
-        Period period = Period.between(anncDate, LocalDate.now());
-        return period.getYears() > 5 ? Status.UNRELEASED : Status.PROTOTYPE;
-      } else {
-        return Status.RELEASE_TBD;
-      }
-    }
-  }
-
   /**
    * Gets the release date, if the release date is not found, then it gets an empty reference.
    *
@@ -268,7 +292,7 @@ public class MythCollectionService {
   }
 
   /**
-   * Complement the image URL.
+   * Complement the image URL, images that are already URLs are left as they are.
    *
    * @param images The image identifier.
    * @return The image URL.
@@ -280,7 +304,9 @@ public class MythCollectionService {
             .map(
                 img -> {
                   final String URL = "https://imagizer.imageshack.com/v2/640x480q70/";
-                  if (img.contains("png")) {
+                  if (img.startsWith(URL)) {
+                    return img;
+                  } else if (img.contains("png")) {
                     return URL + img;
                   } else {
                     return URL + img + ".jpg";
@@ -290,266 +316,13 @@ public class MythCollectionService {
   }
 
   /**
-   * Based on the base price and the release date, calculates the final price for the Japan
-   * figurines.
-   *
-   * @param basePrice The base price.
-   * @param releaseDate The release date.
-   * @return The final price for the figurine.
-   */
-  private BigDecimal calculateFinalPrice(BigDecimal basePrice, LocalDate releaseDate) {
-    ChronoLocalDate april1997 = LocalDate.of(1997, 4, 1);
-    ChronoLocalDate april2014 = LocalDate.of(2014, 4, 1);
-    ChronoLocalDate october2019 = LocalDate.of(2019, 10, 1);
-
-    String rate;
-    if (releaseDate.isAfter(april1997) && releaseDate.isBefore(april2014)) {
-      rate = ".05"; // 5%
-    } else if (releaseDate.isAfter(april2014) && releaseDate.isBefore(october2019)) {
-      rate = ".08"; // 8%
-    } else {
-      rate = ".1"; // 10%
-    }
-    return basePrice.add(basePrice.multiply(new BigDecimal(rate)));
-  }
-
-  /**
-   * Calculates the displayable name based on the figure attributes.
+   * Calculates the displayable name based on the figure attributes, see {@link
+   * DisplayableNameRules}. The names already calculated are kept, see {@link DisplayableNameCache}.
    *
    * @param figurine The figurine with the all its attributes.
    * @return The displayable name.
    */
   public String calculateDisplayableName(Figurine figurine) {
-    final String MYSTERIOUS = "mysterious";
-    final String JUMP = "jump";
-    final String SAGA = "saga";
-
-    String name = figurine.getBaseName();
-
-    // very specific cases.
-    if (figurine.getBaseName().toLowerCase().contains("aries shion")
-        && figurine.isOce()
-        && figurine.isHk()
-        && figurine.isSet()) {
-      return name + " & The Pope Set ~Asian Edition~";
-    }
-
-    if (figurine.isOce()) {
-      if (Anniversary.A_40 != figurine.getAnniversary()) {
-        if (Category.V4 != figurine.getCategory()) {
-          name += " ~Original Color Edition~";
-        }
-      }
-    }
-    if (Category.V2 == figurine.getCategory()) {
-      if (figurine.isBroken() && LineUp.MYTH_CLOTH_EX != figurine.getLineUp()) {
-        name += " (New Bronze Cloth) ~Broken Version~";
-      } else {
-        if (Anniversary.A_40 == figurine.getAnniversary()) {
-          name += " (New Bronze Cloth)";
-        } else {
-          if (LineUp.MYTH_CLOTH_EX == figurine.getLineUp()) {
-            name += " [New Bronze Cloth]";
-          }
-        }
-      }
-    }
-    if (Category.V3 == figurine.getCategory()) {
-      name += " [Final Bronze Cloth]";
-    }
-    if (Category.V4 == figurine.getCategory()) {
-      if (figurine.isOce()) {
-        name += " (God Cloth) ~Original Color Edition~";
-      } else {
-        if (Anniversary.A_10 == figurine.getAnniversary()) {
-          name += " God Cloth";
-        } else {
-          name += " [God Cloth]";
-        }
-      }
-    }
-    if (Category.V5 == figurine.getCategory()) {
-      name += " Heaven Chapter";
-    }
-    if (Category.INHERITOR == figurine.getCategory()) {
-      name += " ~Inheritor of the Gold Cloth~";
-    }
-    if (Category.ROBE == figurine.getCategory()) {
-      if (figurine.getBaseName().toLowerCase().contains("sorrento")) {
-        name += " <Argard Final Battle Ver.>";
-      }
-      if (figurine.getBaseName().toLowerCase().contains("polaris")) {
-        if (figurine.getDistributionJPY().getReleaseDate().getYear() != 2010) {
-          name += " -The Earth Representative Of Odin-";
-        }
-      }
-    }
-    if (Category.SURPLICE == figurine.getCategory()) {
-      if (!figurine.isBroken()) {
-        if (!figurine.getBaseName().toLowerCase().contains(MYSTERIOUS)) {
-          name += " (Surplice)";
-        }
-      }
-    }
-    if (Series.SS_THE_BEGINNING == figurine.getSeries()) {
-      name += " -Knights of the Zodiac-";
-    }
-    if (Series.SS_LEGEND_OF_SANCTUARY == figurine.getSeries()) {
-      if (LineUp.SC_LEGEND != figurine.getLineUp()) {
-        name += " Legend of Sanctuary Edition";
-      }
-    }
-    if (Series.SOG == figurine.getSeries()) {
-      if (!((figurine.isSet() && !figurine.getBaseName().toLowerCase().contains(SAGA))
-          || figurine.getBaseName().toLowerCase().contains("loki")
-          || figurine.getBaseName().toLowerCase().contains("odin"))) {
-        name += " God Cloth";
-      }
-    }
-    if (Series.SAINTIA_SHO == figurine.getSeries() && Category.GOLD == figurine.getCategory()) {
-      name += " Saintia Sho Color Edition";
-    }
-
-    if (figurine.isGolden()) {
-      if (Category.V1 == figurine.getCategory()) {
-        String initialName = name.split(" ")[0];
-        name += " (Early Bronze Cloth) ~Limited Gold " + initialName + "~";
-      } else {
-        if (LineUp.MYTH_CLOTH == figurine.getLineUp()) {
-          name += " ~Power of Gold~";
-        } else {
-          if (!figurine.getBaseName().toLowerCase().contains(JUMP)) {
-            name += " ~Golden Limited Edition~";
-          }
-        }
-      }
-    }
-    if (figurine.isComic()) {
-      name += " Comic Ver.";
-    }
-    if (figurine.isSet()) {
-      if (Category.STEEL == figurine.getCategory() || Category.BLACK == figurine.getCategory()) {
-        name += " Set";
-      }
-      if (Category.SPECTER == figurine.getCategory()) {
-        name += " Complete Set";
-      }
-      if (Category.GOD == figurine.getCategory()) {
-        if (figurine.getBaseName().toLowerCase().contains("abel")) {
-          name += " Memorial Set";
-        } else {
-          name += " -Divine Saga Premium Set-";
-        }
-      }
-      if (Series.SOG == figurine.getSeries()) {
-        if (figurine.getBaseName().toLowerCase().contains(SAGA)) {
-          name += " Saga Saga Premium";
-        }
-        name += " Set";
-      }
-      if (Category.SCALE == figurine.getCategory()) {
-        name += " Imperial Throne Set";
-      }
-      if (Category.SURPLICE == figurine.getCategory()) {
-        if (figurine.isBroken()) {
-          name += " Set";
-        } else {
-          if (!figurine.getBaseName().toLowerCase().contains(MYSTERIOUS)) {
-            name += " & The Pope Set";
-          }
-        }
-      }
-    }
-
-    if (figurine.isRevival()) {
-      if (Objects.nonNull(figurine.getAnniversary())) {
-        name += " <" + figurine.getAnniversary().getDescription() + "th Revival Ver.>";
-      } else {
-        name += " <Revival Ver.>";
-      }
-    } else {
-      if (Objects.nonNull(figurine.getAnniversary())) {
-        if (figurine.getBaseName().toLowerCase().contains(JUMP)) {
-          name += " " + figurine.getAnniversary().getDescription() + "th Anniversary Edition";
-          if (figurine.isGolden()) {
-            name += " (Gold Ver.)";
-          }
-        } else {
-          if (figurine.isOce()) {
-            if (figurine.getAnniversary() == Anniversary.A_40) {
-              name += " ~40th Anniversary Edition~";
-            }
-          } else {
-            if (figurine.getAnniversary() == Anniversary.A_10) {
-              name += " ~" + figurine.getAnniversary().getDescription() + "th Anniversary Edition~";
-            } else {
-              name += " " + figurine.getAnniversary().getDescription() + "th Anniversary Ver.";
-            }
-          }
-        }
-      }
-    }
-
-    if (figurine.isGold()) {
-      if (LineUp.MYTH_CLOTH == figurine.getLineUp()) {
-        name = "Golden Genealogy " + name;
-      } else {
-        name += " Gold24";
-      }
-    }
-    if (figurine.isPlain()) {
-      name += " (Plain Clothes)";
-    }
-
-    if (LineUp.DDP == figurine.getLineUp()) {
-      if (figurine.getBaseName().toLowerCase().contains("athena")) {
-        name =
-            String.format(
-                "Golden Zodiac extension set Fire clock of the Sanctuary ~%s~",
-                figurine.getBaseName().toUpperCase());
-      } else if (figurine.getBaseName().toLowerCase().contains("gemini")) {
-        name = String.format("%s ~the Pope's Chamber~", figurine.getBaseName().toUpperCase());
-      } else if (figurine.getBaseName().toLowerCase().contains("cancer")) {
-        name =
-            String.format(
-                "Desperate Battle in the Palace of the Giant Crab ~%s~",
-                figurine.getBaseName().toUpperCase());
-      } else if (figurine.getBaseName().toLowerCase().contains("leo")) {
-        name =
-            String.format(
-                "Lightning in the Palace of the Lion ~%s~", figurine.getBaseName().toUpperCase());
-      } else if (figurine.getBaseName().toLowerCase().contains("virgo")) {
-        name = String.format("%s ~The Temple of the Maiden~", figurine.getBaseName().toUpperCase());
-      } else if (figurine.getBaseName().toLowerCase().contains("libra")) {
-        name =
-            String.format(
-                "Guidance of the Palace of the Scales ~%s~", figurine.getBaseName().toUpperCase());
-      } else if (figurine.getBaseName().toLowerCase().contains("sagittarius")) {
-        name =
-            String.format(
-                "Commitment of Aiolos' Spirit in the Palace of the Centaur ~%s~",
-                figurine.getBaseName().toUpperCase());
-      } else if (figurine.getBaseName().toLowerCase().contains("capricorn")) {
-        name =
-            String.format(
-                "Glittering Excalibur in the Palace of the Rock Goat ~%s~",
-                figurine.getBaseName().toUpperCase());
-      } else if (figurine.getBaseName().toLowerCase().contains("pisces")) {
-        name =
-            String.format(
-                "Blooming Roses in the Palace of the Twin Fish ~%s~",
-                figurine.getBaseName().toUpperCase());
-      } else if (figurine.getBaseName().toLowerCase().contains("pegasus")) {
-        name = String.format("%s ~Pegasus Meteor Punches~", figurine.getBaseName().toUpperCase());
-      } else if (figurine.getBaseName().toLowerCase().contains("dragon")) {
-        name = String.format("Rozan Rising Dragon Blow ~%s~", figurine.getBaseName().toUpperCase());
-      } else if (figurine.getBaseName().toLowerCase().contains("andromeda")) {
-        name = String.format("Nebula Chain ~%s~", figurine.getBaseName().toUpperCase());
-      } else if (figurine.getBaseName().toLowerCase().contains("phoenix")) {
-        name = String.format("%s ~Flying Phoenix~", figurine.getBaseName().toUpperCase());
-      }
-    }
-
-    return name;
+    return displayableNames.get(figurine);
   }
 }
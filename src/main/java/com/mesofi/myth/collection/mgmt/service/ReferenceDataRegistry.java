@@ -0,0 +1,154 @@
+package com.mesofi.myth.collection.mgmt.service;
+
+import com.mesofi.myth.collection.mgmt.config.ImportProperties;
+import com.mesofi.myth.collection.mgmt.model.DistributionChannel;
+import com.mesofi.myth.collection.mgmt.model.Distributor;
+import com.mesofi.myth.collection.mgmt.model.ReferenceDataChangedEvent;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the distributors and distribution channels in memory, indexed by name, for the figurines
+ * being imported. Nothing is read from the DB until the first snapshot is requested, and the
+ * snapshot is loaded again the first time it is requested after a distributor or a distribution
+ * channel has changed. A snapshot never changes, it is replaced as a whole.
+ */
+@Slf4j
+@Service
+public class ReferenceDataRegistry {
+
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  private final DistributorService distributorService;
+  private final DistributionChannelService distributionChannelService;
+  private final boolean lenientNames;
+
+  // Incremented every time the reference data changes, snapshots of older versions are stale.
+  private final AtomicLong version = new AtomicLong();
+  private final AtomicReference<Snapshot> current = new AtomicReference<>();
+
+  public ReferenceDataRegistry(
+      DistributorService distributorService,
+      DistributionChannelService distributionChannelService,
+      ImportProperties properties) {
+    this.distributorService = distributorService;
+    this.distributionChannelService = distributionChannelService;
+    this.lenientNames = properties.isLenientNames();
+  }
+
+  /**
+   * Gets the latest snapshot, it is loaded when it is missing or stale.
+   *
+   * @return The distributors and distribution channels.
+   */
+  public Snapshot snapshot() {
+    Snapshot snapshot = current.get();
+    if (Objects.nonNull(snapshot) && snapshot.version == version.get()) {
+      return snapshot;
+    }
+    return load();
+  }
+
+  /**
+   * Discards the current snapshot, the next one is loaded when it is requested.
+   *
+   * @param event The event with the change.
+   */
+  @EventListener
+  public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+    log.debug("The reference data has changed: {}", event.source());
+    version.incrementAndGet();
+  }
+
+  private synchronized Snapshot load() {
+    // The version is read before the DB, a change made meanwhile makes the snapshot stale.
+    long loading = version.get();
+    Snapshot snapshot = current.get();
+    if (Objects.nonNull(snapshot) && snapshot.version == loading) {
+      return snapshot; // loaded by another thread meanwhile
+    }
+
+    snapshot =
+        new Snapshot(
+            loading,
+            lenientNames,
+            index(distributorService.getAllDistributors(), Distributor::getName),
+            index(
+                distributionChannelService.getAllDistributionChannels(),
+                DistributionChannel::getDistribution));
+    current.set(snapshot);
+    log.debug(
+        "Reference data loaded: {} distributors, {} distribution channels",
+        snapshot.distributors.size(),
+        snapshot.distributionChannels.size());
+    return snapshot;
+  }
+
+  // The first one wins when a name is repeated.
+  private <T> Map<String, T> index(List<T> values, Function<T, String> name) {
+    Map<String, T> index = new HashMap<>();
+    for (T value : values) {
+      if (Objects.nonNull(name.apply(value))) {
+        index.putIfAbsent(keyOf(name.apply(value), lenientNames), value);
+      }
+    }
+    return Collections.unmodifiableMap(index);
+  }
+
+  private static String keyOf(String name, boolean lenientNames) {
+    return lenientNames
+        ? WHITESPACE.matcher(name.strip()).replaceAll(" ").toLowerCase(Locale.ROOT)
+        : name;
+  }
+
+  /** The distributors and distribution channels loaded at a given time. */
+  public static final class Snapshot {
+
+    private final long version;
+    private final boolean lenientNames;
+    private final Map<String, Distributor> distributors;
+    private final Map<String, DistributionChannel> distributionChannels;
+
+    private Snapshot(
+        long version,
+        boolean lenientNames,
+        Map<String, Distributor> distributors,
+        Map<String, DistributionChannel> distributionChannels) {
+      this.version = version;
+      this.lenientNames = lenientNames;
+      this.distributors = distributors;
+      this.distributionChannels = distributionChannels;
+    }
+
+    /**
+     * Finds a distributor by its name.
+     *
+     * @param name The name of the distributor.
+     * @return The distributor, null if there is none with that name.
+     */
+    public Distributor findDistributor(String name) {
+      return distributors.get(keyOf(name, lenientNames));
+    }
+
+    /**
+     * Finds a distribution channel by its name.
+     *
+     * @param distribution The name of the distribution channel.
+     * @return The distribution channel, null if there is none with that name.
+     */
+    public DistributionChannel findDistributionChannel(String distribution) {
+      return distributionChannels.get(keyOf(distribution, lenientNames));
+    }
+  }
+}
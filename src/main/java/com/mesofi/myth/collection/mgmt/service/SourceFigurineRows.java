@@ -0,0 +1,19 @@
+package com.mesofi.myth.collection.mgmt.service;
+
+import com.mesofi.myth.collection.mgmt.model.SourceFigurine;
+import java.util.Iterator;
+
+/**
+ * The rows of a source file, every row is read when it is requested. A row that cannot be bound to
+ * its columns throws a {@link MalformedRowException} when it is requested, the rows after it can
+ * still be read.
+ */
+interface SourceFigurineRows extends Iterator<SourceFigurine> {
+
+  /**
+   * Gets the line of the file where the last row returned ends, the header is the first line.
+   *
+   * @return The line number.
+   */
+  long line();
+}
@@ -0,0 +1,84 @@
+package com.mesofi.myth.collection.mgmt.service;
+
+import com.mesofi.myth.collection.mgmt.config.TaxProperties;
+import com.mesofi.myth.collection.mgmt.model.Distribution;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.stereotype.Component;
+
+/**
+ * Calculates the final price of the JPY figurines, the consumption tax depends on the release date.
+ * The rates are loaded once from the configuration, the dates are kept sorted as epoch days and
+ * every rate as the multiplier applied to the base price, so a price is calculated with a binary
+ * search and a single multiplication. A missing release date, or one before the first rate, gets
+ * the latest rate.
+ */
+@Component
+public class TaxRateTimeline {
+
+  private final long[] effectiveFrom;
+  private final BigDecimal[] multipliers;
+
+  public TaxRateTimeline(TaxProperties properties) {
+    List<TaxProperties.Rate> rates =
+        properties.getRates().stream()
+            .sorted(Comparator.comparing(TaxProperties.Rate::from))
+            .toList();
+    if (rates.isEmpty()) {
+      throw new IllegalArgumentException("At least one tax rate is required");
+    }
+
+    effectiveFrom = new long[rates.size()];
+    multipliers = new BigDecimal[rates.size()];
+    for (int i = 0; i < rates.size(); i++) {
+      TaxProperties.Rate rate = rates.get(i);
+      effectiveFrom[i] =
+          Objects.requireNonNull(rate.from(), "The tax rate has no date").toEpochDay();
+      if (i > 0 && effectiveFrom[i] == effectiveFrom[i - 1]) {
+        throw new IllegalArgumentException("Two tax rates start on " + rate.from());
+      }
+      multipliers[i] =
+          BigDecimal.ONE.add(Objects.requireNonNull(rate.rate(), "The tax rate is missing"));
+    }
+  }
+
+  /**
+   * Calculates the final price, the base price plus the tax in effect on the release date.
+   *
+   * @param basePrice The base price.
+   * @param releaseDate The release date, null if it is not known yet.
+   * @return The final price.
+   */
+  public BigDecimal finalPrice(BigDecimal basePrice, LocalDate releaseDate) {
+    return basePrice.multiply(multiplierOn(releaseDate));
+  }
+
+  /**
+   * Sets the final price of the distributions that have a base price.
+   *
+   * @param distributions The distributions, the missing ones are skipped.
+   */
+  public void applyFinalPrices(Collection<Distribution> distributions) {
+    for (Distribution distribution : distributions) {
+      if (Objects.nonNull(distribution) && Objects.nonNull(distribution.getBasePrice())) {
+        distribution.setFinalPrice(
+            finalPrice(distribution.getBasePrice(), distribution.getReleaseDate()));
+      }
+    }
+  }
+
+  private BigDecimal multiplierOn(LocalDate date) {
+    if (Objects.isNull(date)) {
+      return multipliers[multipliers.length - 1];
+    }
+    int index = Arrays.binarySearch(effectiveFrom, date.toEpochDay());
+    // When the date is not found the rate is the one before the insertion point.
+    index = index >= 0 ? index : -index - 2;
+    return index >= 0 ? multipliers[index] : multipliers[multipliers.length - 1];
+  }
+}
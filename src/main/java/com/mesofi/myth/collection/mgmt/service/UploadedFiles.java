@@ -0,0 +1,68 @@
+package com.mesofi.myth.collection.mgmt.service;
+
+import com.mesofi.myth.collection.mgmt.exceptions.UnsupportedCompressionException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Spools the uploaded source files, which may be compressed with gzip. The compression is found by
+ * the content type or by the first bytes of the file, and the file is decompressed as it is copied,
+ * it is never held in memory.
+ */
+final class UploadedFiles {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private static final byte[] GZIP_MAGIC = {0x1f, (byte) 0x8b};
+  private static final byte[] ZSTD_MAGIC = {0x28, (byte) 0xb5, 0x2f, (byte) 0xfd};
+
+  private static final Set<String> GZIP_CONTENT_TYPES =
+      Set.of("application/gzip", "application/x-gzip");
+  private static final Set<String> ZSTD_CONTENT_TYPES =
+      Set.of("application/zstd", "application/x-zstd");
+
+  private UploadedFiles() {}
+
+  /**
+   * Copies the uploaded file, decompressed, to the given path.
+   *
+   * @param file The uploaded file.
+   * @param target Where the file is copied.
+   * @return true if the file was compressed.
+   * @throws IOException If the file cannot be copied or decompressed.
+   * @throws UnsupportedCompressionException If the file is compressed with zstd.
+   */
+  static boolean spool(MultipartFile file, Path target) throws IOException {
+    byte[] magic;
+    try (InputStream in = file.getInputStream()) {
+      magic = in.readNBytes(ZSTD_MAGIC.length);
+    }
+    String contentType = Objects.toString(file.getContentType(), "");
+
+    if (ZSTD_CONTENT_TYPES.contains(contentType) || startsWith(magic, ZSTD_MAGIC)) {
+      throw new UnsupportedCompressionException(
+          "The files compressed with zstd are not supported, use gzip instead");
+    }
+    if (GZIP_CONTENT_TYPES.contains(contentType) || startsWith(magic, GZIP_MAGIC)) {
+      try (InputStream in = new GZIPInputStream(file.getInputStream(), BUFFER_SIZE)) {
+        Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+      }
+      return true;
+    }
+    file.transferTo(target); // moved rather than copied when it is already on disk
+    return false;
+  }
+
+  private static boolean startsWith(byte[] bytes, byte[] prefix) {
+    return bytes.length >= prefix.length
+        && Arrays.equals(bytes, 0, prefix.length, prefix, 0, prefix.length);
+  }
+}
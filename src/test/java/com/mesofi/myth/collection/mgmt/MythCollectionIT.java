@@ -12,12 +12,17 @@ import com.mesofi.myth.collection.mgmt.controller.AnniversaryController;
 import com.mesofi.myth.collection.mgmt.controller.CategoryController;
 import com.mesofi.myth.collection.mgmt.controller.DistributionChannelController;
 import com.mesofi.myth.collection.mgmt.controller.DistributorController;
+import com.mesofi.myth.collection.mgmt.controller.ImportJobController;
 import com.mesofi.myth.collection.mgmt.controller.LineUpController;
 import com.mesofi.myth.collection.mgmt.controller.MythCollectionController;
 import com.mesofi.myth.collection.mgmt.controller.SeriesController;
 import com.mesofi.myth.collection.mgmt.model.CatalogKeyDescription;
+import com.mesofi.myth.collection.mgmt.model.ImportJob;
+import com.mesofi.myth.collection.mgmt.model.ImportJobStatus;
 import com.mesofi.myth.collection.mgmt.repository.MythCollectionRepository;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -87,14 +92,20 @@ public class MythCollectionIT {
                 "payloads/it/execute_loadUnsortedFigurines_andListThem/" + request))
         .contentType(MULTIPART_FORM_DATA);
 
-    // the figurines are loaded ...
-    webTestClient
-        .post()
-        .uri(uri + "/upload")
-        .body(BodyInserters.fromMultipartData(multipartBodyBuilder.build()))
-        .exchange()
-        .expectStatus()
-        .isOk();
+    // the figurines are loaded in the background ...
+    ImportJob importJob =
+        webTestClient
+            .post()
+            .uri(uri + "/upload")
+            .body(BodyInserters.fromMultipartData(multipartBodyBuilder.build()))
+            .exchange()
+            .expectStatus()
+            .isAccepted()
+            .expectBody(ImportJob.class)
+            .returnResult()
+            .getResponseBody();
+
+    awaitImportJob(importJob.getId(), ImportJobStatus.COMPLETED);
 
     // Now we list them
     String response =
@@ -369,6 +380,29 @@ public class MythCollectionIT {
         .isOk();
   }
 
+  private void awaitImportJob(String jobId, ImportJobStatus expectedStatus) {
+    long deadline = System.currentTimeMillis() + 30_000;
+    ImportJob importJob;
+    do {
+      importJob =
+          webTestClient
+              .get()
+              .uri(ImportJobController.MAPPING + "/{jobId}", jobId)
+              .exchange()
+              .expectStatus()
+              .isOk()
+              .expectBody(ImportJob.class)
+              .returnResult()
+              .getResponseBody();
+      if (importJob.getStatus() == expectedStatus) {
+        return;
+      }
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+    } while (System.currentTimeMillis() < deadline);
+
+    throw new AssertionError("Import job " + jobId + " ended as " + importJob.getStatus());
+  }
+
   private static Stream<Arguments> provideAllCatalogs() {
     return Stream.of(
         Arguments.of(LineUpController.MAPPING, "/lineups/response_all.json"),
@@ -0,0 +1,191 @@
+package com.mesofi.myth.collection.mgmt.controller;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.mesofi.myth.collection.mgmt.exceptions.ImportJobNotFoundException;
+import com.mesofi.myth.collection.mgmt.exceptions.ImportJobNotResumableException;
+import com.mesofi.myth.collection.mgmt.exceptions.ImportJobRejectedException;
+import com.mesofi.myth.collection.mgmt.exceptions.UnsupportedCompressionException;
+import com.mesofi.myth.collection.mgmt.model.ImportJob;
+import com.mesofi.myth.collection.mgmt.model.ImportJobStatus;
+import com.mesofi.myth.collection.mgmt.model.ImportMode;
+import com.mesofi.myth.collection.mgmt.model.ImportRejection;
+import com.mesofi.myth.collection.mgmt.service.FigurineCatalogService;
+import com.mesofi.myth.collection.mgmt.service.ImportJobService;
+import com.mesofi.myth.collection.mgmt.service.MythCollectionService;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+@ExtendWith(SpringExtension.class)
+@WebMvcTest({ImportJobController.class, MythCollectionController.class})
+public class ImportJobControllerTest {
+
+  @Autowired private MockMvc mockMvc; // MockMvc is used to simulate HTTP requests
+
+  @MockitoBean private ImportJobService service; // Mock the service layer
+  @MockitoBean private MythCollectionService mythCollectionService;
+  @MockitoBean private FigurineCatalogService catalogService;
+
+  private final String PATH = "/figurines/imports";
+
+  @Test
+  void getImportJob_whenNonExistingJob_thenReturnNotFound() throws Exception {
+    when(service.getJob("123")).thenThrow(new ImportJobNotFoundException("not found"));
+
+    mockMvc
+        .perform(get(PATH + "/{jobId}", "123"))
+        .andDo(print())
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.error").value("Not Found"))
+        .andExpect(jsonPath("$.messages", hasSize(1)))
+        .andExpect(
+            jsonPath("$.messages")
+                .value(hasItem("The import job for the given identifier was not found.")))
+        .andExpect(jsonPath("$.path").value(PATH + "/123"));
+  }
+
+  @Test
+  void getRejections_whenRowsRejected_thenReturnThemInOrder() throws Exception {
+    when(service.getRejections("123", 10, 2))
+        .thenReturn(
+            List.of(
+                new ImportRejection("r1", "123", 12, "Invalid date format: 13/2025"),
+                new ImportRejection("r2", "123", 40, "Unknown line up: Myth Cloth XX")));
+
+    mockMvc
+        .perform(
+            get(PATH + "/{jobId}/rejections", "123").param("afterLine", "10").param("size", "2"))
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(2)))
+        .andExpect(jsonPath("$[0].line").value(12))
+        .andExpect(jsonPath("$[0].message").value("Invalid date format: 13/2025"))
+        .andExpect(jsonPath("$[1].line").value(40));
+  }
+
+  @Test
+  void getImportJob_whenRunningJob_thenReturnProgress() throws Exception {
+    ImportJob importJob = new ImportJob();
+    importJob.setId("123");
+    importJob.setStatus(ImportJobStatus.RUNNING);
+    importJob.setTotalBytes(1000);
+    importJob.setBytesRead(500);
+    importJob.setRowsParsed(20);
+    importJob.setRowsWritten(10);
+    importJob.setStartedAt(Instant.now().minusSeconds(10));
+    importJob.setThroughput(1d);
+    importJob.setEtaSeconds(10L);
+
+    when(service.getJob("123")).thenReturn(importJob);
+
+    mockMvc
+        .perform(get(PATH + "/{jobId}", "123"))
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.id").value("123"))
+        .andExpect(jsonPath("$.status").value("RUNNING"))
+        .andExpect(jsonPath("$.rowsParsed").value(20))
+        .andExpect(jsonPath("$.rowsWritten").value(10))
+        .andExpect(jsonPath("$.rowsRejected").value(0))
+        .andExpect(jsonPath("$.throughput").isNumber())
+        .andExpect(jsonPath("$.etaSeconds").isNumber());
+  }
+
+  @Test
+  void cancelImportJob_whenExistingJob_thenReturnCancelledJob() throws Exception {
+    ImportJob importJob = new ImportJob();
+    importJob.setId("123");
+    importJob.setStatus(ImportJobStatus.CANCELLED);
+
+    when(service.cancel("123")).thenReturn(importJob);
+
+    mockMvc
+        .perform(post(PATH + "/{jobId}/cancel", "123"))
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.id").value("123"))
+        .andExpect(jsonPath("$.status").value("CANCELLED"))
+        .andExpect(jsonPath("$.etaSeconds").doesNotExist());
+  }
+
+  @Test
+  void resumeImportJob_whenFailedJob_thenReturnQueuedJob() throws Exception {
+    ImportJob importJob = new ImportJob();
+    importJob.setId("123");
+    importJob.setStatus(ImportJobStatus.QUEUED);
+    importJob.setRowsParsed(500);
+
+    when(service.resume("123")).thenReturn(importJob);
+
+    mockMvc
+        .perform(post(PATH + "/{jobId}/resume", "123"))
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("QUEUED"))
+        .andExpect(jsonPath("$.rowsParsed").value(500));
+  }
+
+  @Test
+  void resumeImportJob_whenJobNotResumable_thenReturnConflict() throws Exception {
+    when(service.resume("123"))
+        .thenThrow(new ImportJobNotResumableException("Unable to resume the import job"));
+
+    mockMvc
+        .perform(post(PATH + "/{jobId}/resume", "123"))
+        .andDo(print())
+        .andExpect(status().isConflict())
+        .andExpect(jsonPath("$.detailMessage").value("Unable to resume the import job"));
+  }
+
+  @Test
+  void uploadFigurines_whenCompressionNotSupported_thenReturnUnsupportedMediaType()
+      throws Exception {
+    MockMultipartFile file =
+        new MockMultipartFile("file", "catalog.csv.zst", "application/zstd", new byte[0]);
+
+    when(service.submit(file, ImportMode.INSERT))
+        .thenThrow(new UnsupportedCompressionException("zstd is not supported"));
+
+    mockMvc
+        .perform(MockMvcRequestBuilders.multipart("/figurines/upload").file(file))
+        .andDo(print())
+        .andExpect(status().isUnsupportedMediaType())
+        .andExpect(
+            jsonPath("$.messages")
+                .value(hasItem("The compression of the uploaded file is not supported.")))
+        .andExpect(jsonPath("$.detailMessage").value("zstd is not supported"));
+  }
+
+  @Test
+  void uploadFigurines_whenImportQueueIsFull_thenReturnServiceUnavailable() throws Exception {
+    MockMultipartFile file = new MockMultipartFile("file", "testfile.txt", null, new byte[0]);
+
+    when(service.submit(file, ImportMode.INSERT))
+        .thenThrow(new ImportJobRejectedException("queue is full"));
+
+    mockMvc
+        .perform(MockMvcRequestBuilders.multipart("/figurines/upload").file(file))
+        .andDo(print())
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(jsonPath("$.error").value("Service Unavailable"))
+        .andExpect(
+            jsonPath("$.messages").value(hasItem("Too many imports in progress, try again later.")))
+        .andExpect(jsonPath("$.detailMessage").value("queue is full"));
+  }
+}
@@ -2,48 +2,79 @@ package com.mesofi.myth.collection.mgmt.controller;
 
 import static com.mesofi.myth.collection.mgmt.common.TestUtils.fromJsonToObject;
 import static com.mesofi.myth.collection.mgmt.common.TestUtils.loadPayload;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mesofi.myth.collection.mgmt.exceptions.FigurineNotFoundException;
+import com.mesofi.myth.collection.mgmt.exceptions.InvalidCursorException;
 import com.mesofi.myth.collection.mgmt.model.Category;
 import com.mesofi.myth.collection.mgmt.model.Figurine;
+import com.mesofi.myth.collection.mgmt.model.FigurineFilter;
+import com.mesofi.myth.collection.mgmt.model.FigurinePage;
+import com.mesofi.myth.collection.mgmt.model.ImportJob;
+import com.mesofi.myth.collection.mgmt.model.ImportJobStatus;
+import com.mesofi.myth.collection.mgmt.model.ImportMode;
+import com.mesofi.myth.collection.mgmt.model.LineUp;
+import com.mesofi.myth.collection.mgmt.model.SerializedCatalog;
+import com.mesofi.myth.collection.mgmt.model.Status;
+import com.mesofi.myth.collection.mgmt.service.FigurineCatalogService;
+import com.mesofi.myth.collection.mgmt.service.ImportJobService;
 import com.mesofi.myth.collection.mgmt.service.MythCollectionService;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
 
 @ExtendWith(SpringExtension.class)
 @WebMvcTest(MythCollectionController.class)
 public class MythCollectionControllerTest {
 
   @Autowired private MockMvc mockMvc; // MockMvc is used to simulate HTTP requests
+  @Autowired private ObjectMapper objectMapper;
 
   @MockitoBean private MythCollectionService service; // Mock the service layer
+  @MockitoBean private ImportJobService importJobService;
+  @MockitoBean private FigurineCatalogService catalogService;
 
   private final String PATH = "/figurines";
 
   @Test
-  void uploadFigurines_whenUploadingNewFigurines_thenReturnUploadedFigurines() throws Exception {
+  void uploadFigurines_whenUploadingNewFigurines_thenReturnImportJob() throws Exception {
     MockMultipartFile file =
         new MockMultipartFile(
             "file", // The name of the parameter in the form
@@ -52,39 +83,45 @@ public class MythCollectionControllerTest {
             "This is a test file.".getBytes() // File content (byte array)
             );
 
-    Figurine figurine1 = new Figurine();
-    figurine1.setBaseName("Seiya");
-    Figurine figurine2 = new Figurine();
-    figurine2.setBaseName("Shiryu");
+    ImportJob importJob = new ImportJob();
+    importJob.setId("67ae35f52ddc1d63ac3774fb");
+    importJob.setFileName("testfile.txt");
+    importJob.setStatus(ImportJobStatus.QUEUED);
 
-    when(service.createFigurines(file)).thenReturn(List.of(figurine1, figurine2));
+    when(importJobService.submit(file, ImportMode.INSERT)).thenReturn(importJob);
 
     mockMvc
         .perform(multipart(PATH + "/upload").file(file))
         .andDo(print())
-        .andExpect(status().isOk())
-        .andExpect(jsonPath("$[0].baseName").value("Seiya"))
-        .andExpect(jsonPath("$[0].revival").value(false))
-        .andExpect(jsonPath("$[0].oce").value(false))
-        .andExpect(jsonPath("$[0].metal").value(false))
-        .andExpect(jsonPath("$[0].golden").value(false))
-        .andExpect(jsonPath("$[0].gold").value(false))
-        .andExpect(jsonPath("$[0].broken").value(false))
-        .andExpect(jsonPath("$[0].plain").value(false))
-        .andExpect(jsonPath("$[0].hk").value(false))
-        .andExpect(jsonPath("$[0].comic").value(false))
-        .andExpect(jsonPath("$[0].set").value(false))
-        .andExpect(jsonPath("$[1].baseName").value("Shiryu"))
-        .andExpect(jsonPath("$[1].revival").value(false))
-        .andExpect(jsonPath("$[1].oce").value(false))
-        .andExpect(jsonPath("$[1].metal").value(false))
-        .andExpect(jsonPath("$[1].golden").value(false))
-        .andExpect(jsonPath("$[1].gold").value(false))
-        .andExpect(jsonPath("$[1].broken").value(false))
-        .andExpect(jsonPath("$[1].plain").value(false))
-        .andExpect(jsonPath("$[1].hk").value(false))
-        .andExpect(jsonPath("$[1].comic").value(false))
-        .andExpect(jsonPath("$[1].set").value(false));
+        .andExpect(status().isAccepted())
+        .andExpect(
+            header()
+                .string("Location", "http://localhost/figurines/imports/67ae35f52ddc1d63ac3774fb"))
+        .andExpect(jsonPath("$.id").value("67ae35f52ddc1d63ac3774fb"))
+        .andExpect(jsonPath("$.fileName").value("testfile.txt"))
+        .andExpect(jsonPath("$.status").value("QUEUED"))
+        .andExpect(jsonPath("$.rowsParsed").value(0))
+        .andExpect(jsonPath("$.rowsWritten").value(0));
+  }
+
+  @Test
+  void uploadFigurines_whenUpsertMode_thenSubmitUpsertImportJob() throws Exception {
+    MockMultipartFile file =
+        new MockMultipartFile("file", "testfile.txt", null, "This is a test file.".getBytes());
+
+    ImportJob importJob = new ImportJob();
+    importJob.setId("67ae35f52ddc1d63ac3774fb");
+    importJob.setMode(ImportMode.UPSERT);
+    importJob.setStatus(ImportJobStatus.QUEUED);
+
+    when(importJobService.submit(file, ImportMode.UPSERT)).thenReturn(importJob);
+
+    mockMvc
+        .perform(multipart(PATH + "/upload").file(file).param("mode", "UPSERT"))
+        .andDo(print())
+        .andExpect(status().isAccepted())
+        .andExpect(jsonPath("$.mode").value("UPSERT"))
+        .andExpect(jsonPath("$.rowsUnchanged").value(0));
   }
 
   @Test
@@ -580,7 +617,13 @@ public class MythCollectionControllerTest {
             newFigurine.isComic(),
             newFigurine.isSet(),
             newFigurine.getAnniversary(),
-            newFigurine.getRestocks());
+            newFigurine.getRestocks(),
+            null,
+            null,
+            null,
+            null,
+            null,
+            null);
     figurine.setDistributionJPY(newFigurine.getDistributionJPY());
     figurine.setDistributionMXN(newFigurine.getDistributionMXN());
     figurine.setTamashiiUrl(newFigurine.getTamashiiUrl());
@@ -714,7 +757,13 @@ public class MythCollectionControllerTest {
             newFigurine.isComic(),
             newFigurine.isSet(),
             newFigurine.getAnniversary(),
-            newFigurine.getRestocks());
+            newFigurine.getRestocks(),
+            null,
+            null,
+            null,
+            null,
+            null,
+            null);
     figurine.setDistributionJPY(newFigurine.getDistributionJPY());
     figurine.setDistributionMXN(newFigurine.getDistributionMXN());
     figurine.setTamashiiUrl(newFigurine.getTamashiiUrl());
@@ -771,12 +820,17 @@ public class MythCollectionControllerTest {
     figurine2.setBaseName("Sea Emperor");
     figurine2.setCategory(Category.SCALE);
 
-    when(service.getAllFigurines(false)).thenReturn(List.of(figurine1, figurine2));
+    SerializedCatalog catalog =
+        SerializedCatalog.of(objectMapper.writeValueAsBytes(List.of(figurine1, figurine2)));
+    when(catalogService.getSerializedCatalog(false)).thenReturn(catalog);
 
     mockMvc
         .perform(get(PATH).contentType(APPLICATION_JSON))
         .andDo(print())
         .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, catalog.etag()))
+        .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+        .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
         .andExpect(jsonPath("$").isArray())
         .andExpect(jsonPath("$", hasSize(2)))
         .andExpect(jsonPath("$[0].baseName").value("Pegasus Seiya"))
@@ -804,7 +858,69 @@ public class MythCollectionControllerTest {
         .andExpect(jsonPath("$[1].comic").value(false))
         .andExpect(jsonPath("$[1].set").value(false));
 
-    verify(service, times(1)).getAllFigurines(false);
+    verify(catalogService, times(1)).getSerializedCatalog(false);
+  }
+
+  @Test
+  void getAllFigurines_whenGzipAccepted_thenReturnCompressedFigurines() throws Exception {
+    SerializedCatalog catalog = SerializedCatalog.of("[{\"baseName\":\"Sea Emperor\"}]".getBytes());
+    when(catalogService.getSerializedCatalog(true)).thenReturn(catalog);
+
+    MvcResult result =
+        mockMvc
+            .perform(
+                get(PATH)
+                    .param("excludeRestocks", "true")
+                    .header(HttpHeaders.ACCEPT_ENCODING, "deflate, gzip;q=0.8"))
+            .andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andExpect(header().string(HttpHeaders.ETAG, catalog.gzipEtag()))
+            .andReturn();
+
+    try (InputStream in =
+        new GZIPInputStream(
+            new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+      assertArrayEquals(catalog.json(), in.readAllBytes());
+    }
+  }
+
+  @Test
+  void getAllFigurines_whenGzipRefused_thenReturnUncompressedFigurines() throws Exception {
+    SerializedCatalog catalog = SerializedCatalog.of("[]".getBytes());
+    when(catalogService.getSerializedCatalog(false)).thenReturn(catalog);
+
+    mockMvc
+        .perform(get(PATH).header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+        .andExpect(content().bytes(catalog.json()));
+  }
+
+  @Test
+  void getAllFigurines_whenCatalogNotModified_thenReturnNotModified() throws Exception {
+    SerializedCatalog catalog = SerializedCatalog.of("[]".getBytes());
+    when(catalogService.getSerializedCatalog(false)).thenReturn(catalog);
+
+    mockMvc
+        .perform(get(PATH).header(HttpHeaders.IF_NONE_MATCH, catalog.etag()))
+        .andDo(print())
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, catalog.etag()))
+        .andExpect(content().bytes(new byte[0]));
+  }
+
+  @Test
+  void getAllFigurines_whenCatalogModified_thenReturnOK() throws Exception {
+    SerializedCatalog catalog = SerializedCatalog.of("[]".getBytes());
+    when(catalogService.getSerializedCatalog(false)).thenReturn(catalog);
+
+    mockMvc
+        .perform(get(PATH).header(HttpHeaders.IF_NONE_MATCH, "\"outdated\""))
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(content().bytes(catalog.json()));
   }
 
   @Test
@@ -855,4 +971,124 @@ public class MythCollectionControllerTest {
 
     verify(service, times(1)).getFigurine(id);
   }
+
+  @Test
+  void getFigurinePage_whenFiltersProvided_thenReturnPage() throws Exception {
+    Figurine figurine = new Figurine();
+    figurine.setBaseName("Pegasus Seiya");
+    figurine.setCategory(Category.V1);
+
+    FigurineFilter filter =
+        new FigurineFilter(LineUp.MYTH_CLOTH_EX, null, Category.V1, Status.RELEASED);
+    when(service.getFigurinePage(filter, true, 10, "abc"))
+        .thenReturn(new FigurinePage(List.of(figurine), "def"));
+
+    mockMvc
+        .perform(
+            get(PATH + "/page")
+                .param("lineUp", "MYTH_CLOTH_EX")
+                .param("category", "V1")
+                .param("status", "RELEASED")
+                .param("excludeRestocks", "true")
+                .param("size", "10")
+                .param("cursor", "abc")
+                .contentType(APPLICATION_JSON))
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.figurines", hasSize(1)))
+        .andExpect(jsonPath("$.figurines[0].baseName").value("Pegasus Seiya"))
+        .andExpect(jsonPath("$.nextCursor").value("def"));
+
+    verify(service, times(1)).getFigurinePage(filter, true, 10, "abc");
+  }
+
+  @Test
+  void getFigurinePage_whenNoParameters_thenReturnFirstPage() throws Exception {
+    when(service.getFigurinePage(FigurineFilter.NONE, false, 50, null))
+        .thenReturn(new FigurinePage(List.of(), null));
+
+    mockMvc
+        .perform(get(PATH + "/page").contentType(APPLICATION_JSON))
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.figurines", hasSize(0)))
+        .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+    verify(service, times(1)).getFigurinePage(FigurineFilter.NONE, false, 50, null);
+  }
+
+  @Test
+  void getFigurinePage_whenInvalidCursor_thenReturnBadRequest() throws Exception {
+    when(service.getFigurinePage(any(FigurineFilter.class), anyBoolean(), anyInt(), any()))
+        .thenThrow(new InvalidCursorException("Invalid cursor: abc"));
+
+    mockMvc
+        .perform(get(PATH + "/page").param("cursor", "abc").contentType(APPLICATION_JSON))
+        .andDo(print())
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error").value("Bad Request"))
+        .andExpect(jsonPath("$.messages").value(hasItem("The cursor provided is not valid.")))
+        .andExpect(jsonPath("$.detailMessage").value("Invalid cursor: abc"))
+        .andExpect(jsonPath("$.path").value(PATH + "/page"));
+  }
+
+  @Test
+  void streamFigurines_whenNdjsonAccepted_thenReturnOneFigurinePerLine() throws Exception {
+    Figurine seiya = new Figurine();
+    seiya.setBaseName("Pegasus Seiya");
+    Figurine shiryu = new Figurine();
+    shiryu.setBaseName("Dragon Shiryu");
+
+    FigurineFilter filter = new FigurineFilter(LineUp.MYTH_CLOTH_EX, null, null, null);
+    when(service.streamFigurines(filter, true)).thenReturn(Flux.just(seiya, shiryu));
+
+    MvcResult result =
+        mockMvc
+            .perform(
+                get(PATH + "/stream")
+                    .param("lineUp", "MYTH_CLOTH_EX")
+                    .param("excludeRestocks", "true")
+                    .accept(MediaType.APPLICATION_NDJSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    String[] lines =
+        mockMvc
+            .perform(asyncDispatch(result))
+            .andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andReturn()
+            .getResponse()
+            .getContentAsString()
+            .split("\n");
+
+    assertEquals(2, lines.length);
+    assertEquals("Pegasus Seiya", fromJsonToObject(Figurine.class, lines[0]).getBaseName());
+    assertEquals("Dragon Shiryu", fromJsonToObject(Figurine.class, lines[1]).getBaseName());
+
+    verify(service, times(1)).streamFigurines(filter, true);
+  }
+
+  @Test
+  void streamFigurines_whenEventStreamAccepted_thenReturnOneEventPerFigurine() throws Exception {
+    Figurine seiya = new Figurine();
+    seiya.setBaseName("Pegasus Seiya");
+
+    when(service.streamFigurines(FigurineFilter.NONE, false)).thenReturn(Flux.just(seiya));
+
+    MvcResult result =
+        mockMvc
+            .perform(get(PATH + "/stream").accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+        .andExpect(content().string(startsWith("data:{")))
+        .andExpect(content().string(containsString("\"baseName\":\"Pegasus Seiya\"")));
+  }
 }
@@ -8,6 +8,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 
+import com.mesofi.myth.collection.mgmt.config.ImportProperties;
 import com.mesofi.myth.collection.mgmt.model.Anniversary;
 import com.mesofi.myth.collection.mgmt.model.Category;
 import com.mesofi.myth.collection.mgmt.model.DistributionChannel;
@@ -18,6 +19,8 @@ import com.mesofi.myth.collection.mgmt.model.Series;
 import com.mesofi.myth.collection.mgmt.model.SourceFigurine;
 import com.mesofi.myth.collection.mgmt.service.DistributionChannelService;
 import com.mesofi.myth.collection.mgmt.service.DistributorService;
+import com.mesofi.myth.collection.mgmt.service.ReferenceDataRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
@@ -34,6 +37,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 @ExtendWith(MockitoExtension.class)
 public class FigurineMapperTest {
   private FigurineMapper mapper;
+  private SimpleMeterRegistry meterRegistry;
 
   @Mock private DistributionChannelService distributionChannelService;
   @Mock private DistributorService distributorService;
@@ -53,7 +57,12 @@ public class FigurineMapperTest {
                 new DistributionChannel("5", "Tamashii Store"),
                 new DistributionChannel("6", "Other Limited Edition")));
 
-    mapper = new FigurineMapper(distributionChannelService, distributorService);
+    meterRegistry = new SimpleMeterRegistry();
+    mapper =
+        new FigurineMapper(
+            new ReferenceDataRegistry(
+                distributorService, distributionChannelService, new ImportProperties()),
+            meterRegistry);
   }
 
   @Test
@@ -68,6 +77,35 @@ public class FigurineMapperTest {
         .withMessage("Invalid date format: 1/1");
   }
 
+  @Test
+  void toFigure_whenUnknownLineUp_thenThrowException() {
+    // Arrange
+    SourceFigurine sourceFigurine = new SourceFigurine();
+    sourceFigurine.setLineUp("Myth Cloth XX");
+
+    // Assert
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> mapper.toFigure(sourceFigurine))
+        .withMessage("Unknown line up: Myth Cloth XX");
+  }
+
+  @Test
+  void toFigure_whenUnknownSeriesOrGroup_thenThrowException() {
+    // Arrange
+    SourceFigurine unknownSeries = new SourceFigurine();
+    unknownSeries.setSeries("Saint Seiya Next Dimension");
+    SourceFigurine unknownGroup = new SourceFigurine();
+    unknownGroup.setGroup("Bronze Saint V9");
+
+    // Assert
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> mapper.toFigure(unknownSeries))
+        .withMessage("Unknown series: Saint Seiya Next Dimension");
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> mapper.toFigure(unknownGroup))
+        .withMessage("Unknown group: Bronze Saint V9");
+  }
+
   @Test
   void toFigure_whenSourceFigurineBasic_thenMapBasicFigurine() {
     // Arrange
@@ -396,6 +434,53 @@ public class FigurineMapperTest {
     assertNull(result.getRemarks());
   }
 
+  @Test
+  void toFigure_whenUnknownDistributorAndChannel_thenCountUnresolved() {
+    // Arrange
+    SourceFigurine unknown = new SourceFigurine();
+    unknown.setDistributorMXN("dam");
+    unknown.setPriceMXN("$2,750");
+    unknown.setDist("Tamashii Shop");
+    SourceFigurine missing = new SourceFigurine();
+    missing.setDistributorMXN("");
+    missing.setDist("");
+
+    // Act
+    Figurine result = mapper.toFigure(unknown);
+    mapper.toFigure(missing);
+
+    // Assert
+    assertNull(result.getDistributionMXN().getDistributor());
+    assertNull(result.getDistributionChannel());
+    assertEquals(1, unresolved("distributor"));
+    assertEquals(1, unresolved("distribution-channel"));
+  }
+
+  @Test
+  void toFigure_whenLenientNames_thenIgnoreCaseAndWhitespace() {
+    // Arrange
+    ImportProperties properties = new ImportProperties();
+    properties.setLenientNames(true);
+    mapper =
+        new FigurineMapper(
+            new ReferenceDataRegistry(distributorService, distributionChannelService, properties),
+            meterRegistry);
+
+    SourceFigurine sourceFigurine = new SourceFigurine();
+    sourceFigurine.setDistributorMXN(" dtm ");
+    sourceFigurine.setPriceMXN("$2,750");
+    sourceFigurine.setDist("tamashii  WEB shop");
+
+    // Act
+    Figurine result = mapper.toFigure(sourceFigurine);
+
+    // Assert
+    assertEquals("2", result.getDistributionMXN().getDistributor().getId());
+    assertEquals("2", result.getDistributionChannel().getId());
+    assertEquals(0, unresolved("distributor"));
+    assertEquals(0, unresolved("distribution-channel"));
+  }
+
   @ParameterizedTest
   @MethodSource("provideTestDataAnniversary")
   void toFigure_whenCustomSourceFigurine_thenMapFigurine(
@@ -594,4 +679,12 @@ public class FigurineMapperTest {
         Arguments.of("The Lost Canvas", Series.LOST_CANVAS),
         Arguments.of("Saint Seiya The Beginning", Series.SS_THE_BEGINNING));
   }
+
+  private double unresolved(String reference) {
+    return meterRegistry
+        .get("figurines.import.unresolved")
+        .tag("reference", reference)
+        .counter()
+        .count();
+  }
 }
@@ -0,0 +1,46 @@
+package com.mesofi.myth.collection.mgmt.mappers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+
+/**
+ * The dates and amounts as they were parsed before {@link SourceValueParser}, it is kept to check
+ * the parser gets the same values.
+ */
+final class LegacySourceValues {
+
+  private static final DateTimeFormatter formatterMDY =
+      new DateTimeFormatterBuilder()
+          .appendPattern("M/d/yyyy") // Format: M/d/yyyy
+          .toFormatter();
+
+  private static final DateTimeFormatter formatterMY =
+      new DateTimeFormatterBuilder()
+          .appendPattern("M/yyyy") // Format: M/yyyy
+          .toFormatter();
+
+  private LegacySourceValues() {}
+
+  static BigDecimal parseAmount(String amount) {
+    return new BigDecimal(amount.substring(1).replaceAll(",", ""));
+  }
+
+  static LocalDate parseDate(String input) {
+    try {
+      // Try the first format
+      return LocalDate.parse(input, formatterMDY);
+    } catch (DateTimeParseException e1) {
+      try {
+        // If parsing fails, try the second format
+        return YearMonth.parse(input, formatterMY).atDay(1);
+      } catch (DateTimeParseException e2) {
+        // If both parsing attempts fail, throw an exception
+        throw new IllegalArgumentException("Invalid date format: " + input);
+      }
+    }
+  }
+}
@@ -0,0 +1,130 @@
+package com.mesofi.myth.collection.mgmt.mappers;
+
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+public class SourceValueParserTest {
+
+  private static final String[] DATE_PARTS = {
+    "0", "1", "01", "2", "02", "9", "10", "12", "13", "28", "29", "30", "31", "32", "001", "99",
+    "1999", "2000", "2024", "2025", "0999", "999", "20245", "", "a", "1a", " 1"
+  };
+  private static final String[] AMOUNT_CHARS = {
+    "0", "1", "5", "9", ",", ",", ".", "-", "+", " ", "e", "x"
+  };
+
+  @Test
+  void parseDate_whenAnyValue_thenSameDateAsBefore() {
+    // Arrange
+    Random random = new Random(42);
+
+    for (int i = 0; i < 200_000; i++) {
+      StringBuilder date = new StringBuilder(pick(random, DATE_PARTS));
+      int slashes = random.nextInt(10) == 0 ? random.nextInt(4) : 1 + random.nextInt(2);
+      for (int j = 0; j < slashes; j++) {
+        date.append('/').append(pick(random, DATE_PARTS));
+      }
+      String input = date.toString();
+      if (input.isEmpty()) {
+        continue; // empty dates are never parsed
+      }
+
+      // Act
+      Object expected = outcome(LegacySourceValues::parseDate, input);
+      Object actual = outcome(SourceValueParser::parseDate, input);
+
+      // Assert
+      assertEquals(expected, actual, input);
+    }
+  }
+
+  @Test
+  void parseAmount_whenAnyValue_thenSameAmountAsBefore() {
+    // Arrange
+    Random random = new Random(42);
+
+    for (int i = 0; i < 200_000; i++) {
+      StringBuilder amount = new StringBuilder(random.nextBoolean() ? "¥" : "$");
+      int length = random.nextInt(random.nextInt(10) == 0 ? 25 : 9);
+      for (int j = 0; j < length; j++) {
+        amount.append(random.nextInt(3) > 0 ? "1234567890".charAt(random.nextInt(10)) : "");
+        amount.append(random.nextInt(4) == 0 ? pick(random, AMOUNT_CHARS) : "");
+      }
+      String input = amount.toString();
+
+      // Act
+      Object expected = outcome(LegacySourceValues::parseAmount, input);
+      Object actual = outcome(SourceValueParser::parseAmount, input);
+
+      // Assert
+      assertEquals(expected, actual, input);
+    }
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+    "6/2025, 2025-06-01",
+    "10/26/2024, 2024-10-26",
+    "02/30/2024, 2024-02-29",
+    "2/31/2023, 2023-02-28",
+    "04/31/2023, 2023-04-30",
+    "001/2/2020, 2020-01-02"
+  })
+  void parseDate_whenValidDate_thenParseIt(String input, LocalDate expected) {
+    // Act & Assert
+    assertEquals(expected, SourceValueParser.parseDate(input));
+  }
+
+  @ParameterizedTest
+  @CsvSource({"1/1", "13/2024", "0/1/2024", "1/32/2024", "1/1/24", "1/1/2024/1", "a/2024"})
+  void parseDate_whenInvalidDate_thenThrowException(String input) {
+    // Act & Assert
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> SourceValueParser.parseDate(input))
+        .withMessage("Invalid date format: " + input);
+  }
+
+  @ParameterizedTest
+  @CsvSource(
+      delimiter = ';',
+      value = {
+        "¥15,400; 15400",
+        "$2,750; 2750",
+        "¥1,234.50; 1234.50",
+        "¥1,234,567,890,123,456,789,012; 1234567890123456789012",
+        "¥-500; -500"
+      })
+  void parseAmount_whenValidAmount_thenParseIt(String input, BigDecimal expected) {
+    // Act & Assert
+    assertEquals(expected, SourceValueParser.parseAmount(input));
+  }
+
+  @ParameterizedTest
+  @CsvSource({"¥", "¥,", "¥1 000", "¥1.2.3"})
+  void parseAmount_whenInvalidAmount_thenThrowException(String input) {
+    // Act & Assert
+    assertThatExceptionOfType(NumberFormatException.class)
+        .isThrownBy(() -> SourceValueParser.parseAmount(input));
+  }
+
+  private String pick(Random random, String[] values) {
+    return values[random.nextInt(values.length)];
+  }
+
+  // The exceptions thrown before must be thrown as well.
+  private <T> Object outcome(Function<String, T> parser, String input) {
+    try {
+      return parser.apply(input);
+    } catch (RuntimeException e) {
+      return e.getClass().getName() + ": " + e.getMessage();
+    }
+  }
+}
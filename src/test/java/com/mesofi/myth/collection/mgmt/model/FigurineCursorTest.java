@@ -0,0 +1,91 @@
+package com.mesofi.myth.collection.mgmt.model;
+
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.mesofi.myth.collection.mgmt.exceptions.InvalidCursorException;
+import com.mesofi.myth.collection.mgmt.model.FigurineCursor.Segment;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class FigurineCursorTest {
+
+  @Test
+  void of_whenReleaseDate_thenReleaseDateSegment() {
+    Figurine figurine = figurine("1", LocalDate.of(2018, 4, 28), LocalDate.of(2017, 11, 28));
+
+    FigurineCursor cursor = FigurineCursor.of(figurine);
+
+    assertEquals(new FigurineCursor(Segment.RELEASE_DATE, LocalDate.of(2018, 4, 28), "1"), cursor);
+  }
+
+  @Test
+  void of_whenAnnouncementDateOnly_thenAnnouncementDateSegment() {
+    Figurine figurine = figurine("2", null, LocalDate.of(2017, 11, 28));
+
+    FigurineCursor cursor = FigurineCursor.of(figurine);
+
+    assertEquals(
+        new FigurineCursor(Segment.ANNOUNCEMENT_DATE, LocalDate.of(2017, 11, 28), "2"), cursor);
+  }
+
+  @Test
+  void of_whenNoDates_thenUndatedSegment() {
+    Figurine figurine = new Figurine();
+    figurine.setId("3");
+
+    FigurineCursor cursor = FigurineCursor.of(figurine);
+
+    assertEquals(Segment.UNDATED, cursor.segment());
+    assertNull(cursor.date());
+    assertEquals("3", cursor.id());
+  }
+
+  @Test
+  void decode_whenEncoded_thenSameCursor() {
+    FigurineCursor dated =
+        new FigurineCursor(
+            Segment.RELEASE_DATE, LocalDate.of(2024, 1, 24), "67ae35f52ddc1d63ac3774fb");
+    FigurineCursor undated = new FigurineCursor(Segment.UNDATED, null, "67ae35f52ddc1d63ac3774fc");
+
+    assertEquals(dated, FigurineCursor.decode(dated.encode()));
+    assertEquals(undated, FigurineCursor.decode(undated.encode()));
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "not base64!",
+        "UNKNOWN|2024-01-24|1",
+        "RELEASE_DATE|2024-13-24|1",
+        "RELEASE_DATE||1",
+        "UNDATED|2024-01-24|1",
+        "RELEASE_DATE|2024-01-24|",
+        "RELEASE_DATE|2024-01-24"
+      })
+  void decode_whenInvalidCursor_thenThrowInvalidCursorException(String value) {
+    String cursor =
+        value.contains("|")
+            ? Base64.getUrlEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8))
+            : value;
+
+    assertThatExceptionOfType(InvalidCursorException.class)
+        .isThrownBy(() -> FigurineCursor.decode(cursor))
+        .withMessage("Invalid cursor: " + cursor);
+  }
+
+  private Figurine figurine(String id, LocalDate releaseDate, LocalDate announcementDate) {
+    Figurine figurine = new Figurine();
+    figurine.setId(id);
+    Distribution distribution = new Distribution();
+    distribution.setReleaseDate(releaseDate);
+    distribution.setFirstAnnouncementDate(announcementDate);
+    figurine.setDistributionJPY(distribution);
+    return figurine;
+  }
+}
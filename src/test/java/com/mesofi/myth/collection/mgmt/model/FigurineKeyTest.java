@@ -0,0 +1,79 @@
+package com.mesofi.myth.collection.mgmt.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+
+public class FigurineKeyTest {
+
+  @Test
+  void groupKeyOf_whenRestock_thenSameGroupKey() {
+    // Arrange
+    Figurine original = figurine("Aiolia Leo");
+    original.setDistributionJPY(
+        new Distribution(null, null, null, null, null, LocalDate.of(2018, 4, 28), true));
+    original.setStatus(Status.RELEASED);
+    original.setDisplayableName("Aiolia Leo <Revival Ver.>");
+
+    Figurine restock = figurine("Aiolia Leo");
+    restock.setDistributionJPY(
+        new Distribution(null, null, null, null, null, LocalDate.of(2030, 1, 24), true));
+    restock.setStatus(Status.FUTURE_RELEASE);
+
+    // Act
+    String originalKey = FigurineKey.groupKeyOf(original);
+    String restockKey = FigurineKey.groupKeyOf(restock);
+
+    // Assert
+    assertEquals(32, originalKey.length());
+    assertEquals(originalKey, restockKey);
+  }
+
+  @Test
+  void groupKeyOf_whenDifferentAttributes_thenDifferentGroupKey() {
+    // Arrange
+    String key = FigurineKey.groupKeyOf(figurine("Aiolia Leo"));
+
+    Figurine differentName = figurine("Aiolos Sagittarius");
+    Figurine differentCategory = figurine("Aiolia Leo");
+    differentCategory.setCategory(Category.INHERITOR);
+    Figurine differentAnniversary = figurine("Aiolia Leo");
+    differentAnniversary.setAnniversary(Anniversary.A_20);
+
+    // Assert
+    assertNotEquals(key, FigurineKey.groupKeyOf(differentName));
+    assertNotEquals(key, FigurineKey.groupKeyOf(differentCategory));
+    assertNotEquals(key, FigurineKey.groupKeyOf(differentAnniversary));
+    for (int bit = 0; bit < 10; bit++) {
+      Figurine differentFlag = figurine("Aiolia Leo");
+      setFlag(differentFlag, bit);
+      assertNotEquals(key, FigurineKey.groupKeyOf(differentFlag));
+    }
+  }
+
+  private Figurine figurine(String baseName) {
+    Figurine figurine = new Figurine();
+    figurine.setBaseName(baseName);
+    figurine.setLineUp(LineUp.MYTH_CLOTH_EX);
+    figurine.setSeries(Series.SAINT_SEIYA);
+    figurine.setCategory(Category.GOLD);
+    return figurine;
+  }
+
+  private void setFlag(Figurine figurine, int bit) {
+    switch (bit) {
+      case 0 -> figurine.setRevival(true);
+      case 1 -> figurine.setOce(true);
+      case 2 -> figurine.setMetal(true);
+      case 3 -> figurine.setGolden(true);
+      case 4 -> figurine.setGold(true);
+      case 5 -> figurine.setBroken(true);
+      case 6 -> figurine.setPlain(true);
+      case 7 -> figurine.setHk(true);
+      case 8 -> figurine.setComic(true);
+      default -> figurine.setSet(true);
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package com.mesofi.myth.collection.mgmt.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDate;
+import java.time.Period;
+import org.junit.jupiter.api.Test;
+
+public class FigurineStatusTest {
+
+  @Test
+  void of_whenReleaseDateInTheFuture_thenChangesTheDayAfterTheRelease() {
+    // Arrange
+    Figurine figurine = figurine(LocalDate.of(2025, 3, 1), null);
+
+    // Act
+    FigurineStatus status = FigurineStatus.of(figurine, LocalDate.of(2025, 3, 1));
+    FigurineStatus nextDay = FigurineStatus.of(figurine, status.changeDate());
+
+    // Assert
+    assertEquals(Status.FUTURE_RELEASE, status.status());
+    assertEquals(LocalDate.of(2025, 3, 2), status.changeDate());
+    assertEquals(Status.RELEASED, nextDay.status());
+    assertNull(nextDay.changeDate());
+  }
+
+  @Test
+  void of_whenOnlyAnnounced_thenChangesOnceUnreleased() {
+    // Arrange
+    Figurine figurine = figurine(null, LocalDate.of(2019, 3, 2));
+
+    // Act
+    FigurineStatus status = FigurineStatus.of(figurine, LocalDate.of(2025, 3, 1));
+    FigurineStatus changed = FigurineStatus.of(figurine, status.changeDate());
+
+    // Assert
+    assertEquals(Status.PROTOTYPE, status.status());
+    assertEquals(LocalDate.of(2025, 3, 2), status.changeDate());
+    assertEquals(Status.UNRELEASED, changed.status());
+    assertNull(changed.changeDate());
+  }
+
+  @Test
+  void of_whenNoDates_thenNeverChanges() {
+    // Act
+    FigurineStatus status = FigurineStatus.of(new Figurine(), LocalDate.of(2025, 3, 1));
+
+    // Assert
+    assertEquals(Status.RELEASE_TBD, status.status());
+    assertNull(status.changeDate());
+  }
+
+  @Test
+  void of_whenAnyDate_thenSameStatusAsPeriodBetweenDates() {
+    for (int day = 0; day < 366 * 8; day++) {
+      LocalDate announcement = LocalDate.of(2017, 1, 1).plusDays(day);
+      Figurine figurine = figurine(null, announcement);
+
+      for (int offset = -2; offset <= 2; offset++) {
+        // Arrange
+        LocalDate date = announcement.plusYears(6).plusDays(offset);
+
+        // Act
+        FigurineStatus status = FigurineStatus.of(figurine, date);
+
+        // Assert
+        Status expected =
+            Period.between(announcement, date).getYears() > 5
+                ? Status.UNRELEASED
+                : Status.PROTOTYPE;
+        assertEquals(expected, status.status(), announcement + " on " + date);
+        if (expected == Status.PROTOTYPE) {
+          assertEquals(
+              Status.UNRELEASED,
+              FigurineStatus.of(figurine, status.changeDate()).status(),
+              announcement.toString());
+          assertEquals(
+              Status.PROTOTYPE,
+              FigurineStatus.of(figurine, status.changeDate().minusDays(1)).status(),
+              announcement.toString());
+        }
+      }
+    }
+  }
+
+  private Figurine figurine(LocalDate releaseDate, LocalDate announcementDate) {
+    Figurine figurine = new Figurine();
+    figurine.setDistributionJPY(
+        new Distribution(null, null, null, announcementDate, null, releaseDate, null));
+    return figurine;
+  }
+}
@@ -0,0 +1,81 @@
+package com.mesofi.myth.collection.mgmt.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+public class ImportJobTest {
+  private static final Instant NOW = Instant.parse("2025-03-01T10:00:00Z");
+
+  @Test
+  void calculateRates_whenResumed_thenMeasureTheThroughputOverTheActiveTime() {
+    // Arrange
+    ImportJob job = new ImportJob();
+    job.setStatus(ImportJobStatus.COMPLETED);
+    job.setStartedAt(NOW.minus(Duration.ofHours(2)));
+    job.setResumedAt(NOW.minus(Duration.ofSeconds(1)));
+    job.setUpdatedAt(NOW.minus(Duration.ofSeconds(1)));
+    job.setActiveMillis(20_000);
+    job.setRowsWritten(10_000);
+
+    // Act
+    job.calculateRates(NOW);
+
+    // Assert
+    assertEquals(500d, job.getThroughput());
+    assertNull(job.getEtaSeconds());
+  }
+
+  @Test
+  void calculateRates_whenNotStarted_thenLeaveTheRatesEmpty() {
+    // Arrange
+    ImportJob job = new ImportJob();
+    job.setStatus(ImportJobStatus.QUEUED);
+
+    // Act
+    job.calculateRates(NOW);
+
+    // Assert
+    assertNull(job.getThroughput());
+    assertNull(job.getEtaSeconds());
+  }
+
+  @Test
+  void calculateRates_whenRunning_thenAddTheTimeSinceTheLastUpdate() {
+    // Arrange
+    ImportJob job = new ImportJob();
+    job.setStatus(ImportJobStatus.RUNNING);
+    job.setStartedAt(NOW.minus(Duration.ofHours(2)));
+    job.setUpdatedAt(NOW.minus(Duration.ofSeconds(10)));
+    job.setActiveMillis(30_000);
+    job.setRowsWritten(8_000);
+    job.setTotalBytes(4_000);
+    job.setBytesRead(1_000);
+
+    // Act
+    job.calculateRates(NOW);
+
+    // Assert
+    assertEquals(200d, job.getThroughput());
+    assertEquals(120L, job.getEtaSeconds());
+  }
+
+  @Test
+  void calculateRates_whenNotRunning_thenLeaveTheEtaEmpty() {
+    // Arrange
+    ImportJob job = new ImportJob();
+    job.setStatus(ImportJobStatus.FAILED);
+    job.setActiveMillis(30_000);
+    job.setTotalBytes(4_000);
+    job.setBytesRead(1_000);
+
+    // Act
+    job.calculateRates(NOW);
+
+    // Assert
+    assertNull(job.getEtaSeconds());
+  }
+}
@@ -0,0 +1,49 @@
+package com.mesofi.myth.collection.mgmt.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+
+public class SerializedCatalogTest {
+
+  @Test
+  void of_whenJson_thenCompressTheSameJson() throws IOException {
+    // Arrange
+    byte[] json = "[{\"baseName\":\"Pegasus Seiya\"}]".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+    // Act
+    SerializedCatalog catalog = SerializedCatalog.of(json);
+
+    // Assert
+    assertArrayEquals(json, catalog.json());
+    assertTrue(catalog.gzip().length < json.length);
+    try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(catalog.gzip()))) {
+      assertArrayEquals(json, in.readAllBytes());
+    }
+  }
+
+  @Test
+  void of_whenJson_thenStrongETagsFromTheContent() {
+    // Arrange
+    byte[] json = "[]".getBytes(StandardCharsets.UTF_8);
+
+    // Act
+    SerializedCatalog catalog = SerializedCatalog.of(json);
+    SerializedCatalog same = SerializedCatalog.of("[]".getBytes(StandardCharsets.UTF_8));
+    SerializedCatalog different = SerializedCatalog.of("[{}]".getBytes(StandardCharsets.UTF_8));
+
+    // Assert
+    assertTrue(catalog.etag().matches("\"[0-9a-f]{32}\""));
+    assertEquals(catalog.etag().replace("\"", "") + "-gzip", catalog.gzipEtag().replace("\"", ""));
+    assertEquals(catalog.etag(), same.etag());
+    assertNotEquals(catalog.etag(), different.etag());
+  }
+}
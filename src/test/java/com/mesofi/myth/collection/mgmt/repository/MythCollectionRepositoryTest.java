@@ -1,11 +1,28 @@
 package com.mesofi.myth.collection.mgmt.repository;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.mesofi.myth.collection.mgmt.model.Category;
+import com.mesofi.myth.collection.mgmt.model.Distribution;
 import com.mesofi.myth.collection.mgmt.model.Figurine;
+import com.mesofi.myth.collection.mgmt.model.FigurineCursor;
+import com.mesofi.myth.collection.mgmt.model.FigurineFilter;
+import com.mesofi.myth.collection.mgmt.model.FigurineKey;
+import com.mesofi.myth.collection.mgmt.model.LineUp;
+import com.mesofi.myth.collection.mgmt.model.Status;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.test.context.ActiveProfiles;
 
 @DataMongoTest
@@ -14,14 +31,395 @@ public class MythCollectionRepositoryTest {
 
   @Autowired private MythCollectionRepository repository;
 
+  @BeforeEach
+  void setUp() {
+    repository.deleteAll();
+  }
+
   @Test
   void save_whenFigurinePopulated_thenCreateFigurineAndReturnSaved() {
     Figurine figurineToSave =
         new Figurine(
             null, "Seiya", null, null, null, null, null, false, false, false, false, false, false,
-            false, false, false, false, null, null);
+            false, false, false, false, null, null, null, null, null, null, null, null);
     Figurine savedFigurine = repository.save(figurineToSave);
 
     assertTrue(repository.findById(savedFigurine.getId()).isPresent());
   }
+
+  @Test
+  void findAllGroupingRestocks_whenRestocksStored_thenGroupRestocksInTheOldestFigurine() {
+    Figurine restock = figurine("Aiolia Leo", Category.GOLD, LocalDate.of(2024, 1, 24), null, "B");
+    Figurine original = figurine("Aiolia Leo", Category.GOLD, LocalDate.of(2018, 4, 28), null, "A");
+    Figurine other =
+        figurine("Eta Benetnasch Mime", Category.ROBE, LocalDate.of(2020, 1, 1), null, null);
+    Figurine legacy = figurine("Pegasus Seiya", Category.V1, null, null, null);
+    legacy.setGroupKey(null); // stored before the group key was introduced
+    repository.saveAll(List.of(restock, original, other, legacy));
+
+    List<Figurine> result = repository.findAllGroupingRestocks();
+
+    assertEquals(3, result.size());
+    assertEquals("Pegasus Seiya", result.getFirst().getBaseName());
+    assertNull(result.getFirst().getRestocks());
+
+    assertEquals("Aiolia Leo", result.get(1).getBaseName());
+    assertEquals("A", result.get(1).getRemarks());
+    assertEquals(1, result.get(1).getRestocks().size());
+    assertEquals("B", result.get(1).getRestocks().getFirst().getRemarks());
+    assertEquals(
+        LocalDate.of(2024, 1, 24),
+        result.get(1).getRestocks().getFirst().getDistributionJPY().getReleaseDate());
+
+    assertEquals("Eta Benetnasch Mime", result.get(2).getBaseName());
+    assertNull(result.get(2).getRestocks());
+  }
+
+  @Test
+  void findAllByGroupKeyIsNullOrStatusIsNull_whenLegacyFigurines_thenReturnOnlyLegacyFigurines() {
+    Figurine withoutGroupKey = figurine("Pegasus Seiya", Category.V1, null, null, null);
+    withoutGroupKey.setGroupKey(null);
+    withoutGroupKey.setStatus(Status.RELEASE_TBD);
+    Figurine withoutStatus = figurine("Phoenix Ikki", Category.V1, null, null, null);
+    Figurine calculated = figurine("Dragon Shiryu", Category.V1, null, null, null);
+    calculated.setStatus(Status.RELEASE_TBD);
+    repository.saveAll(List.of(withoutGroupKey, withoutStatus, calculated));
+
+    assertEquals(
+        List.of("Pegasus Seiya", "Phoenix Ikki"),
+        repository.findAllByGroupKeyIsNullOrStatusIsNull().map(Figurine::getBaseName).toList());
+  }
+
+  @Test
+  void findStatusChangesDue_whenDatesReached_thenReturnOnlyTheFigurinesDue() {
+    LocalDate today = LocalDate.of(2025, 3, 1);
+    Figurine released = figurine("Released", Category.V1, LocalDate.of(2025, 2, 28), null, null);
+    released.setStatus(Status.FUTURE_RELEASE);
+    released.setStatusChangeDate(LocalDate.of(2025, 3, 1));
+    Figurine future = figurine("Future", Category.V1, LocalDate.of(2025, 3, 1), null, null);
+    future.setStatus(Status.FUTURE_RELEASE);
+    future.setStatusChangeDate(LocalDate.of(2025, 3, 2));
+    Figurine undated = figurine("Undated", Category.V1, null, LocalDate.of(2019, 3, 1), null);
+    undated.setStatus(Status.PROTOTYPE); // stored before the status change date was calculated
+    Figurine tbd = figurine("TBD", Category.V1, null, null, null);
+    tbd.setStatus(Status.RELEASE_TBD);
+    repository.saveAll(List.of(released, future, undated, tbd));
+
+    List<Figurine> due = repository.findStatusChangesDue(today).toList();
+
+    assertEquals(
+        List.of(released.getId(), undated.getId()), due.stream().map(Figurine::getId).toList());
+    assertNull(due.getFirst().getBaseName()); // only the dates are read
+    assertEquals(LocalDate.of(2025, 2, 28), due.getFirst().getDistributionJPY().getReleaseDate());
+  }
+
+  @Test
+  void updateStatus_whenStatusChanged_thenStoreOnlyTheStatus() {
+    Figurine released = figurine("Released", Category.V1, LocalDate.of(2025, 2, 28), null, null);
+    released.setStatus(Status.FUTURE_RELEASE);
+    released.setStatusChangeDate(LocalDate.of(2025, 3, 1));
+    repository.save(released);
+
+    Figurine changed = new Figurine();
+    changed.setId(released.getId());
+    changed.setStatus(Status.RELEASED);
+    long updated = repository.updateStatus(List.of(changed));
+
+    Figurine stored = repository.findById(released.getId()).orElseThrow();
+    assertEquals(1, updated);
+    assertEquals(Status.RELEASED, stored.getStatus());
+    assertNull(stored.getStatusChangeDate());
+    assertEquals("Released", stored.getBaseName());
+  }
+
+  @Test
+  void findPage_whenPagingAllFigurines_thenListThemInStatusOrder() {
+    LocalDate today = LocalDate.of(2025, 3, 1);
+    repository.saveAll(
+        List.of(
+            figurine("Released 1", Category.V1, LocalDate.of(2020, 1, 1), null, null),
+            figurine("Unreleased", Category.V1, null, LocalDate.of(2010, 1, 1), null),
+            figurine("TBD 1", Category.V1, null, null, null),
+            figurine("Future", Category.V1, LocalDate.of(2026, 1, 1), null, null),
+            figurine("Prototype", Category.V1, null, LocalDate.of(2024, 1, 1), null),
+            figurine("Released 2", Category.V1, LocalDate.of(2020, 1, 1), null, null),
+            figurine("TBD 2", Category.V1, null, null, null),
+            figurine("Released 3", Category.V1, LocalDate.of(2022, 1, 1), null, null)));
+
+    List<String> names = new ArrayList<>();
+    FigurineCursor after = null;
+    List<Figurine> page;
+    do {
+      page = repository.findPage(FigurineFilter.NONE, after, 3, false, today);
+      page.forEach(figurine -> names.add(figurine.getBaseName()));
+      after = page.isEmpty() ? null : FigurineCursor.of(page.getLast());
+    } while (page.size() == 3);
+
+    assertEquals(
+        List.of(
+            "TBD 1",
+            "TBD 2",
+            "Future",
+            "Released 3",
+            "Released 1",
+            "Released 2",
+            "Prototype",
+            "Unreleased"),
+        names);
+  }
+
+  @Test
+  void findPage_whenFilteredByStatus_thenReturnOnlyFigurinesWithStatus() {
+    LocalDate today = LocalDate.of(2025, 3, 1);
+    Figurine released = figurine("Released", Category.V1, LocalDate.of(2020, 1, 1), null, null);
+    released.setLineUp(LineUp.MYTH_CLOTH_EX);
+    Figurine other = figurine("Other Line Up", Category.V1, LocalDate.of(2021, 1, 1), null, null);
+    other.setLineUp(LineUp.MYTH_CLOTH);
+    repository.saveAll(
+        List.of(
+            released,
+            other,
+            figurine("Future", Category.V1, LocalDate.of(2026, 1, 1), null, null),
+            figurine("Prototype", Category.V1, null, LocalDate.of(2024, 1, 1), null),
+            figurine("Unreleased", Category.V1, null, LocalDate.of(2019, 3, 1), null)));
+
+    FigurineFilter releasedFilter =
+        new FigurineFilter(LineUp.MYTH_CLOTH_EX, null, Category.V1, Status.RELEASED);
+    assertEquals(
+        List.of("Released"),
+        repository.findPage(releasedFilter, null, 10, false, today).stream()
+            .map(Figurine::getBaseName)
+            .toList());
+
+    FigurineFilter unreleasedFilter = new FigurineFilter(null, null, null, Status.UNRELEASED);
+    assertEquals(
+        List.of("Unreleased"),
+        repository.findPage(unreleasedFilter, null, 10, false, today).stream()
+            .map(Figurine::getBaseName)
+            .toList());
+  }
+
+  @Test
+  void findPage_whenExcludingRestocks_thenGroupRestocksBeforePaging() {
+    LocalDate today = LocalDate.of(2025, 3, 1);
+    List<Figurine> saved =
+        repository.saveAll(
+            List.of(
+                figurine("Aiolia Leo", Category.GOLD, LocalDate.of(2024, 1, 24), null, "B"),
+                figurine("Aiolia Leo", Category.GOLD, LocalDate.of(2018, 4, 28), null, "A"),
+                figurine("Shaka Virgo", Category.GOLD, LocalDate.of(2019, 1, 1), null, null)));
+    repository.refreshGroupHeads(saved.stream().map(Figurine::getGroupKey).distinct().toList());
+
+    List<Figurine> firstPage = repository.findPage(FigurineFilter.NONE, null, 1, true, today);
+    List<Figurine> secondPage =
+        repository.findPage(
+            FigurineFilter.NONE, FigurineCursor.of(firstPage.getLast()), 1, true, today);
+
+    assertEquals("Shaka Virgo", firstPage.getFirst().getBaseName());
+    assertEquals(1, secondPage.size());
+    assertEquals("A", secondPage.getFirst().getRemarks());
+    assertEquals("B", secondPage.getFirst().getRestocks().getFirst().getRemarks());
+  }
+
+  @Test
+  void refreshGroupHeads_whenOlderFigurineAdded_thenMoveTheHeadToIt() {
+    Figurine restock =
+        repository.save(
+            figurine("Aiolia Leo", Category.GOLD, LocalDate.of(2024, 1, 24), null, "B"));
+    repository.refreshGroupHeads(List.of(restock.getGroupKey()));
+    assertEquals(true, repository.findById(restock.getId()).orElseThrow().getGroupHead());
+
+    Figurine original =
+        repository.save(
+            figurine("Aiolia Leo", Category.GOLD, LocalDate.of(2018, 4, 28), null, "A"));
+    repository.refreshGroupHeads(List.of(original.getGroupKey()));
+
+    assertEquals(true, repository.findById(original.getId()).orElseThrow().getGroupHead());
+    assertEquals(false, repository.findById(restock.getId()).orElseThrow().getGroupHead());
+  }
+
+  @Test
+  void streamSegment_whenStreamingEverySegment_thenListThemInStatusOrder() {
+    LocalDate today = LocalDate.of(2025, 3, 1);
+    repository.saveAll(
+        List.of(
+            figurine("Released", Category.V1, LocalDate.of(2020, 1, 1), null, null),
+            figurine("Unreleased", Category.V1, null, LocalDate.of(2010, 1, 1), null),
+            figurine("TBD", Category.V1, null, null, null),
+            figurine("Future", Category.V1, LocalDate.of(2026, 1, 1), null, null),
+            figurine("Aiolia Leo", Category.GOLD, LocalDate.of(2024, 1, 24), null, "B"),
+            figurine("Aiolia Leo", Category.GOLD, LocalDate.of(2018, 4, 28), null, "A")));
+
+    List<String> names = new ArrayList<>();
+    for (FigurineCursor.Segment segment : FigurineCursor.Segment.values()) {
+      try (Stream<Figurine> figurines =
+          repository.streamSegment(FigurineFilter.NONE, segment, true, today)) {
+        figurines.forEach(figurine -> names.add(figurine.getBaseName()));
+      }
+    }
+
+    assertEquals(List.of("TBD", "Future", "Released", "Aiolia Leo", "Unreleased"), names);
+  }
+
+  @Test
+  void streamSegment_whenStatusNotInSegment_thenReturnNoFigurines() {
+    LocalDate today = LocalDate.of(2025, 3, 1);
+    repository.save(figurine("Released", Category.V1, LocalDate.of(2020, 1, 1), null, null));
+
+    FigurineFilter filter = new FigurineFilter(null, null, null, Status.RELEASED);
+    try (Stream<Figurine> figurines =
+        repository.streamSegment(filter, FigurineCursor.Segment.UNDATED, false, today)) {
+      assertEquals(0, figurines.count());
+    }
+  }
+
+  @Test
+  void findContentHashes_whenImportedFigurines_thenReturnTheirHashes() {
+    Figurine seiya = figurine("Seiya", Category.V1, null, null, null);
+    seiya.setImportKey("seiya-1");
+    seiya.setContentHash("hash-1");
+    Figurine shiryu = figurine("Shiryu", Category.V1, null, null, null);
+    shiryu.setImportKey("shiryu-1");
+    shiryu.setContentHash("hash-2");
+    repository.saveAll(List.of(seiya, shiryu));
+
+    Map<String, String> result = repository.findContentHashes(List.of("seiya-1", "hyoga-1"));
+
+    assertEquals(Map.of("seiya-1", "hash-1"), result);
+  }
+
+  @Test
+  void streamImportKeys_whenImportedFigurines_thenStreamOnlyTheirKeys() {
+    Figurine seiya = figurine("Seiya", Category.V1, null, null, null);
+    seiya.setImportKey("seiya-1");
+    Figurine shiryu = figurine("Shiryu", Category.V1, null, null, null);
+    shiryu.setImportKey("shiryu-1");
+    repository.saveAll(List.of(seiya, shiryu, figurine("Hyoga", Category.V1, null, null, null)));
+
+    try (Stream<String> importKeys = repository.streamImportKeys()) {
+      assertEquals(List.of("seiya-1", "shiryu-1"), importKeys.sorted().toList());
+    }
+  }
+
+  @Test
+  void upsertByImportKey_whenImportedBefore_thenReplaceItKeepingTheId() {
+    Figurine stored = figurine("Seiya", Category.V1, null, null, "Before");
+    stored.setImportKey("seiya-1");
+    stored.setContentHash("hash-1");
+    String id = repository.save(stored).getId();
+
+    Figurine changed = figurine("Seiya", Category.V1, null, null, "After");
+    changed.setImportKey("seiya-1");
+    changed.setContentHash("hash-2");
+    Figurine added = figurine("Shiryu", Category.V1, null, null, null);
+    added.setImportKey("shiryu-1");
+    added.setContentHash("hash-3");
+
+    long result = repository.upsertByImportKey(List.of(changed, added));
+
+    assertEquals(2, result);
+    assertEquals(2, repository.count());
+    Figurine updated = repository.findById(id).orElseThrow();
+    assertEquals("After", updated.getRemarks());
+    assertEquals("hash-2", updated.getContentHash());
+  }
+
+  @Test
+  void insert_whenImportKeyTaken_thenRejectTheFigurine() {
+    Figurine stored = figurine("Seiya", Category.V1, null, null, null);
+    stored.setImportKey("seiya-1");
+    repository.saveAll(
+        List.of(
+            stored,
+            figurine("Shiryu", Category.V1, null, null, null),
+            figurine("Hyoga", Category.V1, null, null, null)));
+
+    Figurine duplicated = figurine("Seiya", Category.V1, null, null, "Restock");
+    duplicated.setImportKey("seiya-1");
+
+    assertThrows(DuplicateKeyException.class, () -> repository.insert(duplicated));
+    assertEquals(3, repository.count());
+  }
+
+  @Test
+  void replaceWithStaged_whenFiguresStaged_thenReplaceTheCatalog() {
+    repository.save(figurine("Seiya", Category.V1, null, null, null));
+    repository.insertStaged(
+        "figurinesStaging_test",
+        List.of(
+            figurine("Shiryu", Category.V1, null, null, null),
+            figurine("Hyoga", Category.V1, null, null, null)));
+
+    assertEquals(2, repository.countStaged("figurinesStaging_test"));
+    assertEquals(1, repository.count());
+
+    repository.replaceWithStaged("figurinesStaging_test");
+
+    assertEquals(2, repository.count());
+    assertEquals(
+        List.of("Hyoga", "Shiryu"),
+        repository.findAll().stream().map(Figurine::getBaseName).sorted().toList());
+    assertEquals(0, repository.countStaged("figurinesStaging_test"));
+  }
+
+  @Test
+  void dropStaged_whenFiguresStaged_thenLeaveTheCatalog() {
+    repository.save(figurine("Seiya", Category.V1, null, null, null));
+    repository.insertStaged(
+        "figurinesStaging_test", List.of(figurine("Shiryu", Category.V1, null, null, null)));
+
+    repository.dropStaged("figurinesStaging_test");
+
+    assertEquals(0, repository.countStaged("figurinesStaging_test"));
+    assertEquals(1, repository.count());
+  }
+
+  @Test
+  void deleteByImportBatch_whenBatchesWritten_thenDeleteOnlyTheBatch() {
+    Figurine seiya = figurine("Seiya", Category.V1, null, null, null);
+    seiya.setImportBatch("import-1:0");
+    Figurine shiryu = figurine("Shiryu", Category.V1, null, null, null);
+    shiryu.setImportBatch("import-1:1");
+    repository.insert(List.of(seiya, shiryu));
+
+    long result = repository.deleteByImportBatch("import-1:1");
+
+    assertEquals(1, result);
+    assertEquals(
+        List.of("Seiya"), repository.findAll().stream().map(Figurine::getBaseName).toList());
+  }
+
+  @Test
+  void deleteStagedByImportBatch_whenBatchesStaged_thenDeleteOnlyTheBatch() {
+    Figurine seiya = figurine("Seiya", Category.V1, null, null, null);
+    seiya.setImportBatch("import-1:0");
+    Figurine shiryu = figurine("Shiryu", Category.V1, null, null, null);
+    shiryu.setImportBatch("import-1:1");
+    repository.insertStaged("figurinesStaging_test", List.of(seiya, shiryu));
+
+    long result = repository.deleteStagedByImportBatch("figurinesStaging_test", "import-1:1");
+
+    assertEquals(1, result);
+    assertEquals(1, repository.countStaged("figurinesStaging_test"));
+  }
+
+  private Figurine figurine(
+      String baseName,
+      Category category,
+      LocalDate releaseDate,
+      LocalDate announcementDate,
+      String remarks) {
+    Figurine figurine = new Figurine();
+    figurine.setBaseName(baseName);
+    figurine.setCategory(category);
+    if (releaseDate != null || announcementDate != null) {
+      Distribution distribution = new Distribution();
+      distribution.setReleaseDate(releaseDate);
+      distribution.setFirstAnnouncementDate(announcementDate);
+      figurine.setDistributionJPY(distribution);
+    }
+    figurine.setRemarks(remarks);
+    figurine.setGroupKey(FigurineKey.groupKeyOf(figurine));
+    return figurine;
+  }
 }
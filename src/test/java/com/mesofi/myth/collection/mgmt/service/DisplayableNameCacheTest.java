@@ -0,0 +1,145 @@
+package com.mesofi.myth.collection.mgmt.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.mesofi.myth.collection.mgmt.model.Category;
+import com.mesofi.myth.collection.mgmt.model.Distribution;
+import com.mesofi.myth.collection.mgmt.model.Figurine;
+import com.mesofi.myth.collection.mgmt.service.DisplayableNameEngine.Alternative;
+import com.mesofi.myth.collection.mgmt.service.DisplayableNameEngine.Append;
+import com.mesofi.myth.collection.mgmt.service.DisplayableNameEngine.Rule;
+import com.mesofi.myth.collection.mgmt.service.DisplayableNameEngine.When;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class DisplayableNameCacheTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private DisplayableNameCache cache;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    cache =
+        new DisplayableNameCache(
+            DisplayableNameEngine.compile(DisplayableNameRules.RULES), 2, meterRegistry);
+  }
+
+  @Test
+  void get_whenSameAttributes_thenNameCalculatedOnce() {
+    // Arrange
+    Figurine figurine = figurine("Pegasus Seiya", Category.V3, LocalDate.of(2008, 1, 1));
+    Figurine restock = figurine("Pegasus Seiya", Category.V3, LocalDate.of(2015, 6, 1));
+
+    // Act
+    String name = cache.get(figurine);
+    String restockName = cache.get(restock);
+
+    // Assert
+    assertEquals("Pegasus Seiya [Final Bronze Cloth]", name);
+    assertSame(name, restockName);
+    assertEquals(1, requests("hit"));
+    assertEquals(1, requests("miss"));
+    assertEquals(1, size());
+  }
+
+  @Test
+  void get_whenAttributesDiffer_thenNameCalculatedAgain() {
+    // Arrange
+    Figurine figurine = figurine("Pegasus Seiya", Category.V3, null);
+    Figurine other = figurine("Pegasus Seiya", Category.V4, null);
+
+    // Act
+    String name = cache.get(figurine);
+    String otherName = cache.get(other);
+
+    // Assert
+    assertEquals("Pegasus Seiya [Final Bronze Cloth]", name);
+    assertEquals("Pegasus Seiya [God Cloth]", otherName);
+    assertEquals(0, requests("hit"));
+    assertEquals(2, requests("miss"));
+  }
+
+  @Test
+  void get_whenReleaseYearChecked_thenReleaseYearIsPartOfTheKey() {
+    // Arrange
+    Figurine polaris = figurine("Polaris Hilda", Category.ROBE, LocalDate.of(2010, 3, 1));
+    Figurine restock = figurine("Polaris Hilda", Category.ROBE, LocalDate.of(2014, 3, 1));
+
+    // Act
+    String name = cache.get(polaris);
+    String restockName = cache.get(restock);
+
+    // Assert
+    assertEquals("Polaris Hilda", name);
+    assertEquals("Polaris Hilda -The Earth Representative Of Odin-", restockName);
+    assertEquals(2, requests("miss"));
+  }
+
+  @Test
+  void get_whenFull_thenOldestNameDiscarded() {
+    // Arrange
+    Figurine first = figurine("Pegasus Seiya", Category.V3, null);
+    Figurine second = figurine("Dragon Shiryu", Category.V3, null);
+    Figurine third = figurine("Cygnus Hyoga", Category.V3, null);
+
+    // Act
+    cache.get(first);
+    cache.get(second);
+    cache.get(third);
+    cache.get(third);
+    cache.get(first);
+
+    // Assert
+    assertEquals(1, requests("hit"));
+    assertEquals(4, requests("miss"));
+    assertEquals(2, size());
+  }
+
+  @Test
+  void keyOf_whenRulesChange_thenKeyChanges() {
+    // Arrange
+    Figurine figurine = figurine("Pegasus Seiya", Category.V1, null);
+    DisplayableNameEngine engine = DisplayableNameEngine.compile(DisplayableNameRules.RULES);
+    DisplayableNameEngine other =
+        DisplayableNameEngine.compile(
+            List.of(
+                new Rule(
+                    List.of(
+                        new Alternative(
+                            new When().category(Category.V1), new Append(" V1"), false)))));
+
+    // Act
+    DisplayableNameEngine.Key key = engine.keyOf(figurine);
+    DisplayableNameEngine.Key otherKey = other.keyOf(figurine);
+
+    // Assert
+    assertNotEquals(key, otherKey);
+    assertEquals(key.baseName(), otherKey.baseName());
+  }
+
+  private Figurine figurine(String baseName, Category category, LocalDate releaseDate) {
+    Figurine figurine = new Figurine();
+    figurine.setBaseName(baseName);
+    figurine.setCategory(category);
+    figurine.setDistributionJPY(new Distribution(null, null, null, null, null, releaseDate, true));
+    return figurine;
+  }
+
+  private double requests(String result) {
+    return meterRegistry
+        .get("figurines.displayable-names.requests")
+        .tag("result", result)
+        .counter()
+        .count();
+  }
+
+  private double size() {
+    return meterRegistry.get("figurines.displayable-names.size").gauge().value();
+  }
+}
@@ -0,0 +1,191 @@
+package com.mesofi.myth.collection.mgmt.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.mesofi.myth.collection.mgmt.model.Anniversary;
+import com.mesofi.myth.collection.mgmt.model.Category;
+import com.mesofi.myth.collection.mgmt.model.Distribution;
+import com.mesofi.myth.collection.mgmt.model.Figurine;
+import com.mesofi.myth.collection.mgmt.model.LineUp;
+import com.mesofi.myth.collection.mgmt.model.Series;
+import com.mesofi.myth.collection.mgmt.service.DisplayableNameEngine.Alternative;
+import com.mesofi.myth.collection.mgmt.service.DisplayableNameEngine.Append;
+import com.mesofi.myth.collection.mgmt.service.DisplayableNameEngine.Rule;
+import com.mesofi.myth.collection.mgmt.service.DisplayableNameEngine.When;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+public class DisplayableNameEngineTest {
+
+  // Every keyword looked for by the rules, alone and combined.
+  private static final String[] NAMES = {
+    "Pegasus Seiya",
+    "Aries Shion",
+    "Sorrento",
+    "Polaris Hilda",
+    "Mysterious Surplice",
+    "Loki",
+    "Odin Seiya",
+    "Gemini Saga",
+    "Jump Seiya",
+    "Abel",
+    "Athena",
+    "Cancer Deathmask",
+    "Leo Aiolia",
+    "Virgo Shaka",
+    "Libra Dohko",
+    "Sagittarius Aiolos",
+    "Capricorn Shura",
+    "Pisces Aphrodite",
+    "Dragon Shiryu",
+    "Andromeda Shun",
+    "Phoenix Ikki",
+    "ARIES SHION",
+    "Saga Loki",
+    "Odin Saga",
+    "Jump Abel"
+  };
+
+  private final DisplayableNameEngine engine =
+      DisplayableNameEngine.compile(DisplayableNameRules.RULES);
+
+  @Test
+  void calculate_whenAnyFigurine_thenSameNameAsBefore() {
+    // Arrange
+    Random random = new Random(42);
+
+    for (int i = 0; i < 200_000; i++) {
+      Figurine figurine = figurine(random);
+
+      // Act
+      String expected = outcome(() -> LegacyDisplayableName.calculateDisplayableName(figurine));
+      String actual = outcome(() -> engine.calculate(figurine));
+
+      // Assert
+      assertEquals(expected, actual, () -> describe(figurine));
+    }
+  }
+
+  @Test
+  void keyOf_whenSameKey_thenSameName() {
+    // Arrange
+    Random random = new Random(7);
+    Map<DisplayableNameEngine.Key, String> names = new HashMap<>();
+
+    for (int i = 0; i < 200_000; i++) {
+      Figurine figurine = figurine(random);
+      String name = outcome(() -> engine.calculate(figurine));
+      if (name.startsWith("java.")) {
+        continue; // the exception is thrown again, nothing to keep
+      }
+
+      // Act
+      String previous = names.putIfAbsent(engine.keyOf(figurine), name);
+
+      // Assert
+      if (previous != null) {
+        assertEquals(previous, name, () -> describe(figurine));
+      }
+    }
+  }
+
+  @Test
+  void calculate_whenNoRuleApplies_thenBaseName() {
+    // Arrange
+    Figurine figurine = new Figurine();
+    figurine.setBaseName("Pegasus Seiya");
+    figurine.setCategory(Category.V1);
+
+    // Act
+    String name = engine.calculate(figurine);
+
+    // Assert
+    assertSame(figurine.getBaseName(), name);
+  }
+
+  @Test
+  void version_whenSameRules_thenSameVersion() {
+    // Arrange
+    DisplayableNameEngine other = DisplayableNameEngine.compile(DisplayableNameRules.RULES);
+    DisplayableNameEngine different =
+        DisplayableNameEngine.compile(
+            List.of(
+                new Rule(
+                    List.of(
+                        new Alternative(
+                            new When().category(Category.V1), new Append(" V1"), false)))));
+
+    // Act
+    String version = engine.version();
+
+    // Assert
+    assertEquals(32, version.length());
+    assertEquals(version, other.version());
+    assertNotEquals(version, different.version());
+  }
+
+  private Figurine figurine(Random random) {
+    Figurine figurine = new Figurine();
+    figurine.setBaseName(NAMES[random.nextInt(NAMES.length)]);
+    figurine.setCategory(pick(random, Category.values()));
+    figurine.setLineUp(pick(random, LineUp.values()));
+    figurine.setSeries(pick(random, Series.values()));
+    figurine.setAnniversary(pick(random, Anniversary.values()));
+    figurine.setRevival(random.nextInt(4) == 0);
+    figurine.setOce(random.nextInt(3) == 0);
+    figurine.setMetal(random.nextInt(4) == 0);
+    figurine.setGolden(random.nextInt(3) == 0);
+    figurine.setGold(random.nextInt(4) == 0);
+    figurine.setBroken(random.nextInt(3) == 0);
+    figurine.setPlain(random.nextInt(4) == 0);
+    figurine.setHk(random.nextInt(2) == 0);
+    figurine.setComic(random.nextInt(4) == 0);
+    figurine.setSet(random.nextInt(2) == 0);
+    if (random.nextInt(5) > 0) {
+      LocalDate releaseDate = LocalDate.of(2008 + random.nextInt(4), 6, 1);
+      figurine.setDistributionJPY(
+          new Distribution(null, null, null, null, null, releaseDate, true));
+    }
+    return figurine;
+  }
+
+  // Half of the time the attribute is missing.
+  private <T> T pick(Random random, T[] values) {
+    return random.nextBoolean() ? null : values[random.nextInt(values.length)];
+  }
+
+  // The exceptions thrown by the previous implementation must be thrown as well.
+  private String outcome(Supplier<String> name) {
+    try {
+      return name.get();
+    } catch (RuntimeException e) {
+      return e.getClass().getName();
+    }
+  }
+
+  private String describe(Figurine figurine) {
+    return String.join(
+        ", ",
+        figurine.getBaseName(),
+        String.valueOf(figurine.getCategory()),
+        String.valueOf(figurine.getLineUp()),
+        String.valueOf(figurine.getSeries()),
+        String.valueOf(figurine.getAnniversary()),
+        "revival=" + figurine.isRevival(),
+        "oce=" + figurine.isOce(),
+        "golden=" + figurine.isGolden(),
+        "gold=" + figurine.isGold(),
+        "broken=" + figurine.isBroken(),
+        "plain=" + figurine.isPlain(),
+        "hk=" + figurine.isHk(),
+        "comic=" + figurine.isComic(),
+        "set=" + figurine.isSet());
+  }
+}
@@ -11,6 +11,7 @@ import static org.mockito.Mockito.when;
 
 import com.mesofi.myth.collection.mgmt.exceptions.CatalogItemNotFoundException;
 import com.mesofi.myth.collection.mgmt.model.DistributionChannel;
+import com.mesofi.myth.collection.mgmt.model.ReferenceDataChangedEvent;
 import com.mesofi.myth.collection.mgmt.repository.DistributionChannelRepository;
 import java.util.List;
 import java.util.Optional;
@@ -19,12 +20,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 @ExtendWith(MockitoExtension.class)
 public class DistributionChannelServiceTest {
   @InjectMocks private DistributionChannelService service;
 
   @Mock private DistributionChannelRepository repository;
+  @Mock private ApplicationEventPublisher eventPublisher;
 
   @Test
   void
@@ -45,6 +48,8 @@ public class DistributionChannelServiceTest {
 
     // Verify
     verify(repository, times(1)).save(distributionChannelToSave);
+    verify(eventPublisher)
+        .publishEvent(new ReferenceDataChangedEvent("created distribution channel 1"));
   }
 
   @Test
@@ -138,6 +143,8 @@ public class DistributionChannelServiceTest {
     // Verify
     verify(repository).existsById("1");
     verify(repository).save(existingDistributionChannel);
+    verify(eventPublisher)
+        .publishEvent(new ReferenceDataChangedEvent("updated distribution channel 1"));
   }
 
   @Test
@@ -153,5 +160,7 @@ public class DistributionChannelServiceTest {
 
     // Verify
     verify(repository).deleteById("1");
+    verify(eventPublisher)
+        .publishEvent(new ReferenceDataChangedEvent("deleted distribution channel 1"));
   }
 }
@@ -11,6 +11,7 @@ import static org.mockito.Mockito.when;
 
 import com.mesofi.myth.collection.mgmt.exceptions.CatalogItemNotFoundException;
 import com.mesofi.myth.collection.mgmt.model.Distributor;
+import com.mesofi.myth.collection.mgmt.model.ReferenceDataChangedEvent;
 import com.mesofi.myth.collection.mgmt.repository.DistributorRepository;
 import java.util.List;
 import java.util.Optional;
@@ -19,12 +20,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 @ExtendWith(MockitoExtension.class)
 public class DistributorServiceTest {
   @InjectMocks private DistributorService service;
 
   @Mock private DistributorRepository repository;
+  @Mock private ApplicationEventPublisher eventPublisher;
 
   @Test
   void createDistributor_whenDistributorPopulated_thenCreateDistributorAndReturnSaved() {
@@ -44,6 +47,7 @@ public class DistributorServiceTest {
 
     // Verify
     verify(repository, times(1)).save(distributorToSave);
+    verify(eventPublisher).publishEvent(new ReferenceDataChangedEvent("created distributor 1"));
   }
 
   @Test
@@ -133,6 +137,7 @@ public class DistributorServiceTest {
     // Verify
     verify(repository).existsById("1");
     verify(repository).save(existingDistributor);
+    verify(eventPublisher).publishEvent(new ReferenceDataChangedEvent("updated distributor 1"));
   }
 
   @Test
@@ -148,5 +153,6 @@ public class DistributorServiceTest {
 
     // Verify
     verify(repository).deleteById("1");
+    verify(eventPublisher).publishEvent(new ReferenceDataChangedEvent("deleted distributor 1"));
   }
 }
@@ -0,0 +1,142 @@
+package com.mesofi.myth.collection.mgmt.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mesofi.myth.collection.mgmt.config.ImportProperties;
+import com.mesofi.myth.collection.mgmt.model.Figurine;
+import com.mesofi.myth.collection.mgmt.model.FigurineCatalogChangedEvent;
+import com.mesofi.myth.collection.mgmt.repository.MythCollectionRepository;
+import com.mongodb.bulk.BulkWriteResult;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+@ExtendWith(MockitoExtension.class)
+public class FigurineBackfillTest {
+  @Mock private MythCollectionRepository repository;
+  @Mock private MythCollectionService figurineService;
+  @Mock private MongoTemplate mongoTemplate;
+  @Mock private BulkOperations bulkOperations;
+  @Mock private BulkWriteResult bulkWriteResult;
+  @Mock private ApplicationEventPublisher eventPublisher;
+
+  private final ImportProperties properties = new ImportProperties();
+  private final Clock clock = Clock.fixed(Instant.parse("2025-03-01T10:00:00Z"), ZoneOffset.UTC);
+
+  private FigurineBackfill backfill;
+
+  @BeforeEach
+  void setUp() {
+    properties.setBatchSize(2);
+    backfill =
+        new FigurineBackfill(
+            repository, figurineService, mongoTemplate, properties, eventPublisher, clock);
+  }
+
+  @Test
+  void backfill_whenNoLegacyFigurines_thenNothingIsWritten() {
+    // Arrange
+    when(repository.findAllByGroupKeyIsNullOrStatusIsNull()).thenReturn(Stream.empty());
+
+    // Act
+    backfill.run(new DefaultApplicationArguments());
+
+    // Assert
+    verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(Figurine.class));
+    verify(eventPublisher, never()).publishEvent(any(Object.class));
+  }
+
+  @Test
+  void backfill_whenLegacyFigurines_thenStoreCalculatedFieldsInBatches() {
+    // Arrange
+    List<Figurine> figurines =
+        List.of(figurine("1", "Seiya"), figurine("2", "Shiryu"), figurine("3", "Hyoga"));
+    when(repository.findAllByGroupKeyIsNullOrStatusIsNull()).thenReturn(figurines.stream());
+    when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Figurine.class))
+        .thenReturn(bulkOperations);
+    when(bulkOperations.execute()).thenReturn(bulkWriteResult);
+    when(bulkWriteResult.getModifiedCount()).thenReturn(2, 1);
+
+    // Act
+    long result = backfill.backfill();
+
+    // Assert
+    assertEquals(3, result);
+    verify(mongoTemplate, times(2)).bulkOps(BulkOperations.BulkMode.UNORDERED, Figurine.class);
+    verify(bulkOperations, times(2)).execute();
+    verify(eventPublisher).publishEvent(new FigurineCatalogChangedEvent("backfill"));
+
+    ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+    ArgumentCaptor<Object> replacements = ArgumentCaptor.forClass(Object.class);
+    verify(bulkOperations, times(3)).replaceOne(queries.capture(), replacements.capture());
+
+    for (int i = 0; i < figurines.size(); i++) {
+      verify(figurineService).populateAdditionalInfo(figurines.get(i), LocalDate.of(2025, 3, 1));
+      assertEquals(
+          figurines.get(i).getId(), queries.getAllValues().get(i).getQueryObject().get("id"));
+      assertEquals(figurines.get(i), replacements.getAllValues().get(i));
+    }
+  }
+
+  @Test
+  void backfill_whenGroupsNotMarked_thenMarkTheirHeadsInBatches() {
+    // Arrange
+    List<Figurine> figurines =
+        List.of(
+            figurine("1", "Seiya", "seiya"),
+            figurine("2", "Seiya", "seiya"),
+            figurine("3", "Shiryu", "shiryu"),
+            figurine("4", "Hyoga", "hyoga"));
+    when(repository.findAllByGroupKeyIsNullOrStatusIsNull()).thenReturn(Stream.empty());
+    when(repository.findAllByGroupHeadIsNull()).thenReturn(figurines.stream());
+    List<Set<String>> refreshed = new ArrayList<>();
+    doAnswer(invocation -> refreshed.add(Set.copyOf(invocation.getArgument(0))))
+        .when(repository)
+        .refreshGroupHeads(anyCollection());
+
+    // Act
+    long result = backfill.backfill();
+
+    // Assert
+    assertEquals(0, result);
+    assertEquals(List.of(Set.of("seiya", "shiryu"), Set.of("hyoga")), refreshed);
+    verify(eventPublisher).publishEvent(new FigurineCatalogChangedEvent("backfill"));
+  }
+
+  private Figurine figurine(String id, String baseName, String groupKey) {
+    Figurine figurine = figurine(id, baseName);
+    figurine.setGroupKey(groupKey);
+    return figurine;
+  }
+
+  private Figurine figurine(String id, String baseName) {
+    Figurine figurine = new Figurine();
+    figurine.setId(id);
+    figurine.setBaseName(baseName);
+    return figurine;
+  }
+}
@@ -0,0 +1,198 @@
+package com.mesofi.myth.collection.mgmt.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mesofi.myth.collection.mgmt.model.Figurine;
+import com.mesofi.myth.collection.mgmt.model.FigurineCatalogChangedEvent;
+import com.mesofi.myth.collection.mgmt.model.SerializedCatalog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskExecutor;
+
+@ExtendWith(MockitoExtension.class)
+public class FigurineCatalogServiceTest {
+  @Mock private MythCollectionService figurineService;
+  @Mock private TaskExecutor catalogTaskExecutor;
+
+  private SimpleMeterRegistry meterRegistry;
+  private FigurineCatalogService service;
+
+  @BeforeEach
+  void beforeEach() {
+    meterRegistry = new SimpleMeterRegistry();
+    service =
+        new FigurineCatalogService(
+            figurineService, catalogTaskExecutor, new ObjectMapper(), meterRegistry);
+  }
+
+  @Test
+  void getSerializedCatalog_whenCalledTwice_thenReadFromTheDBOnce() {
+    // Arrange
+    when(figurineService.getAllFigurines(false)).thenReturn(List.of(figurine("Pegasus Seiya")));
+
+    // Act
+    SerializedCatalog first = service.getSerializedCatalog(false);
+    SerializedCatalog second = service.getSerializedCatalog(false);
+
+    // Assert
+    assertTrue(new String(first.json()).contains("\"baseName\":\"Pegasus Seiya\""));
+    assertSame(first, second);
+    verify(figurineService, times(1)).getAllFigurines(false);
+    assertEquals(1, requests("hit"));
+    assertEquals(1, requests("miss"));
+  }
+
+  @Test
+  void getSerializedCatalog_whenRestocksExcluded_thenUseItsOwnSnapshot() {
+    // Arrange
+    when(figurineService.getAllFigurines(false))
+        .thenReturn(List.of(figurine("Pegasus Seiya"), figurine("Dragon Shiryu")));
+    when(figurineService.getAllFigurines(true)).thenReturn(List.of(figurine("Pegasus Seiya")));
+
+    // Act
+    String withRestocks = json(false);
+    String withoutRestocks = json(true);
+
+    // Assert
+    assertTrue(withRestocks.contains("Dragon Shiryu"));
+    assertFalse(withoutRestocks.contains("Dragon Shiryu"));
+    assertTrue(withoutRestocks.contains("Pegasus Seiya"));
+    assertEquals(2, requests("miss"));
+  }
+
+  @Test
+  void getSerializedCatalog_whenCatalogChanged_thenServeThePreviousSnapshotUntilRebuilt() {
+    // Arrange
+    ArgumentCaptor<Runnable> rebuild = ArgumentCaptor.forClass(Runnable.class);
+    doNothing().when(catalogTaskExecutor).execute(rebuild.capture());
+    Figurine seiya = figurine("Pegasus Seiya");
+    Figurine shiryu = figurine("Dragon Shiryu");
+    when(figurineService.getAllFigurines(false))
+        .thenReturn(List.of(seiya))
+        .thenReturn(List.of(seiya, shiryu));
+    when(figurineService.getAllFigurines(true)).thenReturn(List.of(seiya, shiryu));
+    SerializedCatalog initial = service.getSerializedCatalog(false);
+
+    // Act
+    service.onCatalogChanged(new FigurineCatalogChangedEvent("created 2"));
+    SerializedCatalog previous = service.getSerializedCatalog(false);
+    rebuild.getValue().run();
+    String latest = json(false);
+
+    // Assert
+    assertSame(initial, previous);
+    assertTrue(latest.contains("Pegasus Seiya"));
+    assertTrue(latest.contains("Dragon Shiryu"));
+    verify(catalogTaskExecutor, times(1)).execute(any(Runnable.class));
+    verify(figurineService, times(2)).getAllFigurines(false);
+    assertEquals(1, requests("miss"));
+    assertEquals(1, requests("stale"));
+    assertEquals(1, requests("hit"));
+  }
+
+  @Test
+  void getSerializedCatalog_whenStaleAndRebuildNotQueued_thenQueueRebuild() {
+    // Arrange
+    ArgumentCaptor<Runnable> rebuild = ArgumentCaptor.forClass(Runnable.class);
+    doNothing().when(catalogTaskExecutor).execute(rebuild.capture());
+    when(figurineService.getAllFigurines(false))
+        .thenReturn(List.of(figurine("Pegasus Seiya")))
+        .thenThrow(new IllegalStateException("DB unavailable"));
+    SerializedCatalog initial = service.getSerializedCatalog(false);
+    service.onCatalogChanged(new FigurineCatalogChangedEvent("updated 1"));
+    assertThrows(IllegalStateException.class, () -> rebuild.getValue().run());
+
+    // Act
+    SerializedCatalog catalog = service.getSerializedCatalog(false);
+
+    // Assert
+    assertSame(initial, catalog);
+    verify(catalogTaskExecutor, times(2)).execute(any(Runnable.class));
+  }
+
+  @Test
+  void onCatalogChanged_whenSeveralChanges_thenRebuildOnceInTheBackground() {
+    // Arrange
+    ArgumentCaptor<Runnable> rebuild = ArgumentCaptor.forClass(Runnable.class);
+    doNothing().when(catalogTaskExecutor).execute(rebuild.capture());
+    when(figurineService.getAllFigurines(false)).thenReturn(List.of(figurine("Pegasus Seiya")));
+    when(figurineService.getAllFigurines(true)).thenReturn(List.of(figurine("Pegasus Seiya")));
+
+    // Act
+    service.onCatalogChanged(new FigurineCatalogChangedEvent("import 1"));
+    service.onCatalogChanged(new FigurineCatalogChangedEvent("import 1"));
+    rebuild.getValue().run();
+    service.getSerializedCatalog(false);
+    service.getSerializedCatalog(true);
+
+    // Assert
+    verify(catalogTaskExecutor, times(1)).execute(any(Runnable.class));
+    verify(figurineService, times(1)).getAllFigurines(false);
+    verify(figurineService, times(1)).getAllFigurines(true);
+    assertEquals(2, requests("hit"));
+    assertEquals(0, requests("miss"));
+    assertEquals(
+        1,
+        meterRegistry
+            .get("figurines.catalog.rebuild")
+            .tag("excludeRestocks", "true")
+            .timer()
+            .count());
+  }
+
+  @Test
+  void getSerializedCatalog_whenCatalogChangedWithTheSameContent_thenKeepTheETag() {
+    // Arrange
+    ArgumentCaptor<Runnable> rebuild = ArgumentCaptor.forClass(Runnable.class);
+    doNothing().when(catalogTaskExecutor).execute(rebuild.capture());
+    when(figurineService.getAllFigurines(false))
+        .thenReturn(List.of(figurine("Pegasus Seiya")))
+        .thenReturn(List.of(figurine("Pegasus Seiya")))
+        .thenReturn(List.of(figurine("Dragon Shiryu")));
+    when(figurineService.getAllFigurines(true)).thenReturn(List.of());
+    String first = service.getSerializedCatalog(false).etag();
+
+    // Act
+    service.onCatalogChanged(new FigurineCatalogChangedEvent("updated 1"));
+    rebuild.getValue().run();
+    String same = service.getSerializedCatalog(false).etag();
+    service.onCatalogChanged(new FigurineCatalogChangedEvent("updated 1"));
+    rebuild.getValue().run();
+    String changed = service.getSerializedCatalog(false).etag();
+
+    // Assert
+    assertEquals(first, same);
+    assertNotEquals(first, changed);
+  }
+
+  private String json(boolean excludeRestocks) {
+    return new String(service.getSerializedCatalog(excludeRestocks).json());
+  }
+
+  private double requests(String result) {
+    return meterRegistry.get("figurines.catalog.requests").tag("result", result).counter().count();
+  }
+
+  private Figurine figurine(String baseName) {
+    Figurine figurine = new Figurine();
+    figurine.setBaseName(baseName);
+    return figurine;
+  }
+}
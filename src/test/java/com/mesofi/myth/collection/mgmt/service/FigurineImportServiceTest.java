@@ -0,0 +1,924 @@
+package com.mesofi.myth.collection.mgmt.service;
+
+import static com.mesofi.myth.collection.mgmt.common.TestUtils.loadFigurines;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.mesofi.myth.collection.mgmt.config.ImportProperties;
+import com.mesofi.myth.collection.mgmt.mappers.FigurineMapper;
+import com.mesofi.myth.collection.mgmt.model.Distribution;
+import com.mesofi.myth.collection.mgmt.model.Figurine;
+import com.mesofi.myth.collection.mgmt.model.FigurineKey;
+import com.mesofi.myth.collection.mgmt.model.ImportCheckpoint;
+import com.mesofi.myth.collection.mgmt.model.ImportMode;
+import com.mesofi.myth.collection.mgmt.model.ImportRowError;
+import com.mesofi.myth.collection.mgmt.model.ImportSummary;
+import com.mesofi.myth.collection.mgmt.model.SourceFigurine;
+import com.mesofi.myth.collection.mgmt.repository.MythCollectionRepository;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DuplicateKeyException;
+
+@ExtendWith(MockitoExtension.class)
+public class FigurineImportServiceTest {
+  @Mock private MythCollectionRepository repository;
+  @Mock private FigurineMapper mapper;
+  @Mock private MythCollectionService figurineService;
+  @Spy private ImportProperties properties = new ImportProperties();
+  @Spy private Clock clock = Clock.fixed(Instant.parse("2025-03-01T10:00:00Z"), ZoneOffset.UTC);
+  @Spy private TaskExecutor mappingTaskExecutor = new SyncTaskExecutor();
+
+  @InjectMocks private FigurineImportService service;
+
+  @TempDir private Path directory;
+
+  @Test
+  void importFigurines_whenBasicFigurines_thenLoadThemAll() {
+    String figurines = loadFigurines("basic.csv");
+
+    Figurine figurine = new Figurine();
+    figurine.setBaseName("Some Figurine");
+
+    when(mapper.toFigure(any(SourceFigurine.class))).thenReturn(figurine);
+
+    // Act
+    ImportSummary result = importFigurines(figurines);
+    assertNotNull(result);
+    assertEquals(2, result.rowsParsed());
+    assertEquals(2, result.rowsWritten());
+
+    verify(mapper, times(2)).toFigure(any(SourceFigurine.class));
+    verify(figurineService)
+        .populateAdditionalInfo(List.of(figurine, figurine), LocalDate.of(2025, 3, 1));
+    verify(repository).insert(List.of(figurine, figurine));
+  }
+
+  @Test
+  void importFigurines_whenMoreRowsThanBatchSize_thenWriteInBatches() {
+    properties.setBatchSize(2);
+
+    StringBuilder csv = new StringBuilder("Base Name\n");
+    for (int i = 0; i < 5; i++) {
+      csv.append("Figurine ").append(i).append("\n");
+    }
+
+    when(mapper.toFigure(any(SourceFigurine.class))).thenAnswer($ -> new Figurine());
+
+    List<Integer> batchSizes = new ArrayList<>();
+    when(repository.insert(anyList()))
+        .thenAnswer(
+            invocation -> {
+              List<Figurine> batch = invocation.getArgument(0);
+              batchSizes.add(batch.size());
+              return batch;
+            });
+
+    // Act
+    ImportSummary result = importFigurines(csv.toString());
+
+    // Assert
+    assertEquals(5, result.rowsParsed());
+    assertEquals(5, result.rowsWritten());
+    assertEquals(List.of(2, 2, 1), batchSizes);
+  }
+
+  @Test
+  void importFigurines_whenBatchSizeExactlyFilled_thenSkipEmptyBatch() {
+    properties.setBatchSize(2);
+
+    when(mapper.toFigure(any(SourceFigurine.class))).thenAnswer($ -> new Figurine());
+
+    // Act
+    ImportSummary result = importFigurines("Base Name\nSeiya\nShiryu\n");
+
+    // Assert
+    assertEquals(2, result.rowsParsed());
+    assertEquals(2, result.rowsWritten());
+
+    ArgumentCaptor<List<Figurine>> captor = ArgumentCaptor.forClass(List.class);
+    verify(repository, times(1)).insert(captor.capture());
+    assertEquals(2, captor.getValue().size());
+  }
+
+  @Test
+  void importFigurines_whenNoRows_thenWriteNothing() {
+    // Act
+    ImportSummary result = importFigurines("Base Name\n");
+
+    // Assert
+    assertEquals(0, result.rowsParsed());
+    assertEquals(0, result.rowsWritten());
+    verify(repository, never()).insert(anyList());
+  }
+
+  @Test
+  void importFigurines_whenListenerStopsImport_thenSkipRemainingRows() {
+    properties.setBatchSize(2);
+
+    when(mapper.toFigure(any(SourceFigurine.class))).thenAnswer($ -> new Figurine());
+
+    List<ImportSummary> progress = new ArrayList<>();
+
+    // Act
+    ImportSummary result =
+        importFigurines(
+            "Base Name\nSeiya\nShiryu\nHyoga\nShun\nIkki\n",
+            summary -> {
+              progress.add(summary);
+              return false;
+            });
+
+    // Assert
+    assertEquals(2, result.rowsParsed());
+    assertEquals(2, result.rowsWritten());
+    assertEquals(List.of(new ImportSummary(2, 2)), progress);
+    // The second batch was read and mapped while the first one was written.
+    verify(mapper, times(4)).toFigure(any(SourceFigurine.class));
+    verify(repository, times(1)).insert(anyList());
+  }
+
+  @Test
+  void importFigurines_whenListenerKeepsImporting_thenNotifyEveryBatch() {
+    properties.setBatchSize(2);
+
+    when(mapper.toFigure(any(SourceFigurine.class))).thenAnswer($ -> new Figurine());
+
+    List<ImportSummary> progress = new ArrayList<>();
+
+    // Act
+    ImportSummary result =
+        importFigurines("Base Name\nSeiya\nShiryu\nHyoga\nShun\nIkki\n", progress::add);
+
+    // Assert
+    assertEquals(new ImportSummary(5, 5), result);
+    assertEquals(List.of(new ImportSummary(2, 2), new ImportSummary(4, 4)), progress);
+  }
+
+  @Test
+  void importFigurines_whenMappedInSlices_thenKeepTheOrderOfTheRows() {
+    properties.setBatchSize(500);
+    properties.setMappingThreads(4);
+
+    StringBuilder csv = new StringBuilder("Base Name\n");
+    for (int i = 0; i < 1200; i++) {
+      csv.append("Figurine ").append(i).append("\n");
+    }
+
+    Set<String> threads = ConcurrentHashMap.newKeySet();
+    when(mapper.toFigure(any(SourceFigurine.class)))
+        .thenAnswer(
+            invocation -> {
+              threads.add(Thread.currentThread().getName());
+              Figurine figurine = new Figurine();
+              figurine.setBaseName(invocation.<SourceFigurine>getArgument(0).getBaseName());
+              return figurine;
+            });
+
+    List<String> written = new ArrayList<>();
+    when(repository.insert(anyList()))
+        .thenAnswer(
+            invocation -> {
+              List<Figurine> batch = invocation.getArgument(0);
+              batch.forEach(figurine -> written.add(figurine.getBaseName()));
+              return batch;
+            });
+
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      FigurineImportService parallel =
+          new FigurineImportService(
+              repository, mapper, figurineService, properties, clock, executor::execute);
+
+      // Act
+      ImportSummary result = importFigurines(parallel, csv.toString());
+
+      // Assert
+      assertEquals(new ImportSummary(1200, 1200), result);
+      assertEquals(1200, written.size());
+      for (int i = 0; i < 1200; i++) {
+        assertEquals("Figurine " + i, written.get(i));
+      }
+      assertTrue(threads.size() > 1, () -> "Mapped only by " + threads);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void importFigurines_whenBatchWritten_thenMapTheNextBatchMeanwhile() throws Exception {
+    properties.setBatchSize(2);
+    CountDownLatch nextBatchMapped = new CountDownLatch(1);
+    when(mapper.toFigure(any(SourceFigurine.class)))
+        .thenAnswer(
+            invocation -> {
+              String baseName = invocation.<SourceFigurine>getArgument(0).getBaseName();
+              if (baseName.equals("Hyoga")) {
+                nextBatchMapped.countDown();
+              }
+              Figurine figurine = new Figurine();
+              figurine.setBaseName(baseName);
+              return figurine;
+            });
+
+    List<Boolean> mappedWhileWriting = new ArrayList<>();
+    when(repository.insert(anyList()))
+        .thenAnswer(
+            invocation -> {
+              mappedWhileWriting.add(nextBatchMapped.await(5, TimeUnit.SECONDS));
+              return invocation.getArgument(0);
+            });
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      FigurineImportService pipelined =
+          new FigurineImportService(
+              repository, mapper, figurineService, properties, clock, executor::execute);
+
+      // Act
+      ImportSummary result = importFigurines(pipelined, "Base Name\nSeiya\nShiryu\nHyoga\nShun\n");
+
+      // Assert
+      assertEquals(new ImportSummary(4, 4), result);
+      assertEquals(List.of(true, true), mappedWhileWriting);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void importFigurines_whenRowOfSliceCannotBeMapped_thenThrowTheSameException() {
+    properties.setMappingThreads(4);
+
+    StringBuilder csv = new StringBuilder("Base Name\n");
+    for (int i = 0; i < 400; i++) {
+      csv.append("Figurine ").append(i).append("\n");
+    }
+    when(mapper.toFigure(any(SourceFigurine.class)))
+        .thenAnswer(
+            invocation -> {
+              if ("Figurine 399".equals(invocation.<SourceFigurine>getArgument(0).getBaseName())) {
+                throw new IllegalArgumentException("Invalid date format: 1/1");
+              }
+              return new Figurine();
+            });
+
+    // Act & Assert
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> importFigurines(csv.toString()))
+        .withMessage("Invalid date format: 1/1");
+    verify(repository, never()).insert(anyList());
+  }
+
+  @Test
+  void importFigurines_whenInserted_thenStoreImportKeyAndContentHash() {
+    when(mapper.toFigure(any(SourceFigurine.class)))
+        .thenAnswer(
+            invocation -> {
+              Figurine figurine = new Figurine();
+              figurine.setBaseName(invocation.<SourceFigurine>getArgument(0).getBaseName());
+              return figurine;
+            });
+
+    // Act
+    importFigurines("Base Name,Remarks\nSeiya,\nShiryu,\nSeiya,Restock\n");
+
+    // Assert
+    ArgumentCaptor<List<Figurine>> captor = ArgumentCaptor.forClass(List.class);
+    verify(repository).insert(captor.capture());
+    List<Figurine> written = captor.getValue();
+    String seiya = FigurineKey.groupKeyOf(written.get(0));
+    assertEquals(seiya + "-1", written.get(0).getImportKey());
+    assertEquals(FigurineKey.groupKeyOf(written.get(1)) + "-1", written.get(1).getImportKey());
+    assertEquals(seiya + "-2", written.get(2).getImportKey());
+    assertEquals(32, written.get(0).getContentHash().length());
+    assertNotEquals(written.get(0).getContentHash(), written.get(2).getContentHash());
+  }
+
+  @Test
+  void importFigurines_whenRowImportedBefore_thenInsertItWithoutImportKey() {
+    when(mapper.toFigure(any(SourceFigurine.class)))
+        .thenAnswer(
+            invocation -> {
+              Figurine figurine = new Figurine();
+              figurine.setBaseName(invocation.<SourceFigurine>getArgument(0).getBaseName());
+              figurine.setGroupKey(figurine.getBaseName().toLowerCase());
+              return figurine;
+            });
+    when(repository.findContentHashes(List.of(importKey("Seiya"), importKey("Shiryu"))))
+        .thenReturn(Map.of(importKey("Seiya"), "hash"));
+
+    // Act
+    ImportSummary result = importFigurines("Base Name\nSeiya\nShiryu\n");
+
+    // Assert
+    assertEquals(2, result.rowsInserted());
+    ArgumentCaptor<List<Figurine>> captor = ArgumentCaptor.forClass(List.class);
+    verify(repository).insert(captor.capture());
+    List<Figurine> written = captor.getValue();
+    assertNull(written.get(0).getImportKey());
+    assertNull(written.get(0).getContentHash());
+    assertEquals(importKey("Shiryu"), written.get(1).getImportKey());
+    verify(repository).refreshGroupHeads(List.of("seiya", "shiryu"));
+  }
+
+  @Test
+  void importFigurines_whenKeyTakenWhileInserting_thenWriteTheBatchAgain() {
+    when(mapper.toFigure(any(SourceFigurine.class)))
+        .thenAnswer(
+            invocation -> {
+              Figurine figurine = new Figurine();
+              figurine.setBaseName(invocation.<SourceFigurine>getArgument(0).getBaseName());
+              return figurine;
+            });
+    when(repository.findContentHashes(anyCollection()))
+        .thenReturn(Map.of())
+        .thenReturn(Map.of(importKey("Shiryu"), "hash"));
+    when(repository.insert(anyList()))
+        .thenThrow(new DuplicateKeyException("E11000 duplicate key error"))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+    // Act
+    ImportSummary result = importFigurines("Base Name\nSeiya\nShiryu\n");
+
+    // Assert
+    assertEquals(2, result.rowsInserted());
+    verify(repository).deleteByImportBatch(endsWith(":0"));
+    ArgumentCaptor<List<Figurine>> captor = ArgumentCaptor.forClass(List.class);
+    verify(repository, times(2)).insert(captor.capture());
+    List<Figurine> written = captor.getValue();
+    assertEquals(importKey("Seiya"), written.get(0).getImportKey());
+    assertNull(written.get(1).getImportKey());
+  }
+
+  @Test
+  void importFigurines_whenUpsert_thenWriteOnlyNewAndChangedRows() {
+    String csv = "Base Name,Remarks\nSeiya,\nShiryu,\nHyoga,\n";
+    when(mapper.toFigure(any(SourceFigurine.class)))
+        .thenAnswer(
+            invocation -> {
+              Figurine figurine = new Figurine();
+              figurine.setBaseName(invocation.<SourceFigurine>getArgument(0).getBaseName());
+              figurine.setGroupKey(figurine.getBaseName().toLowerCase());
+              return figurine;
+            });
+
+    // Seiya is unchanged, Shiryu has changed and Hyoga is new.
+    Map<String, String> stored = new HashMap<>();
+    stored.put(importKey("Seiya"), FigurineImportService.contentHash(row("Seiya")));
+    stored.put(importKey("Shiryu"), "changed");
+    when(repository.findContentHashes(anyCollection())).thenReturn(stored);
+
+    // Act
+    ImportSummary result = importFigurines(csv, ImportMode.UPSERT, $ -> true);
+
+    // Assert
+    assertEquals(new ImportSummary(3, 2, 1, 1, 1, 0, 0, List.of()), result);
+
+    ArgumentCaptor<List<Figurine>> captor = ArgumentCaptor.forClass(List.class);
+    verify(repository).upsertByImportKey(captor.capture());
+    assertEquals(
+        List.of("Shiryu", "Hyoga"), captor.getValue().stream().map(Figurine::getBaseName).toList());
+    verify(figurineService).populateAdditionalInfo(captor.getValue(), LocalDate.of(2025, 3, 1));
+    verify(repository).refreshGroupHeads(List.of("shiryu", "hyoga"));
+    verify(repository, never()).insert(anyList());
+  }
+
+  @Test
+  void importFigurines_whenUpsertLeavesImportedRowsUnseen_thenReportThemOrphaned() {
+    when(mapper.toFigure(any(SourceFigurine.class)))
+        .thenAnswer(
+            invocation -> {
+              Figurine figurine = new Figurine();
+              figurine.setBaseName(invocation.<SourceFigurine>getArgument(0).getBaseName());
+              return figurine;
+            });
+    String seiya = importKey("Seiya").replaceAll("-1$", "");
+    // The second restock has been removed and Hyoga was renamed to Cygnus Hyoga.
+    when(repository.streamImportKeys())
+        .thenReturn(
+            Stream.of(
+                seiya + "-1",
+                seiya + "-2",
+                seiya + "-3",
+                importKey("Hyoga"),
+                importKey("Cygnus Hyoga"),
+                "legacy"));
+
+    // Act
+    ImportSummary result =
+        importFigurines(
+            "Base Name,Remarks\nSeiya,\nSeiya,Restock\nCygnus Hyoga,\n",
+            ImportMode.UPSERT,
+            $ -> true);
+
+    // Assert
+    assertEquals(3, result.rowsOrphaned());
+    assertEquals(3, result.rowsInserted());
+  }
+
+  @Test
+  void importFigurines_whenUpsertStopped_thenDoNotLookForOrphanedFigurines() {
+    properties.setBatchSize(1);
+    when(mapper.toFigure(any(SourceFigurine.class))).thenAnswer($ -> new Figurine());
+
+    // Act
+    ImportSummary result =
+        importFigurines("Base Name\nSeiya\nShiryu\n", ImportMode.UPSERT, $ -> false);
+
+    // Assert
+    assertEquals(1, result.rowsParsed());
+    assertEquals(0, result.rowsOrphaned());
+    verify(repository, never()).streamImportKeys();
+  }
+
+  @Test
+  void importFigurines_whenUpsertWithNothingChanged_thenWriteNothing() {
+    when(mapper.toFigure(any(SourceFigurine.class)))
+        .thenAnswer(
+            invocation -> {
+              Figurine figurine = new Figurine();
+              figurine.setBaseName(invocation.<SourceFigurine>getArgument(0).getBaseName());
+              return figurine;
+            });
+    when(repository.findContentHashes(List.of(importKey("Seiya"))))
+        .thenReturn(Map.of(importKey("Seiya"), FigurineImportService.contentHash(row("Seiya"))));
+
+    // Act
+    ImportSummary result =
+        importFigurines("Base Name,Remarks\nSeiya,\n", ImportMode.UPSERT, $ -> true);
+
+    // Assert
+    assertEquals(new ImportSummary(1, 0, 0, 0, 1, 0, 0, List.of()), result);
+    verify(repository, never()).upsertByImportKey(anyList());
+    verify(figurineService, never()).populateAdditionalInfo(anyList(), any(LocalDate.class));
+  }
+
+  @Test
+  void importFigurines_whenDryRun_thenReportRejectedRowsWithoutWriting() {
+    when(mapper.toFigure(any(SourceFigurine.class)))
+        .thenAnswer(
+            invocation -> {
+              String baseName = invocation.<SourceFigurine>getArgument(0).getBaseName();
+              if (baseName.startsWith("Hyoga")) {
+                throw new IllegalArgumentException("Invalid date format: 13/2025");
+              }
+              Figurine figurine = new Figurine();
+              figurine.setBaseName(baseName);
+              return figurine;
+            });
+
+    // The third row spans two lines.
+    String csv = "Base Name\nSeiya\nXY\n\"Shiryu\nDragon\"\nHyoga\n";
+
+    // Act
+    ImportSummary result = importFigurines(csv, ImportMode.DRY_RUN, $ -> true);
+
+    // Assert
+    assertEquals(4, result.rowsParsed());
+    assertEquals(0, result.rowsWritten());
+    assertEquals(1, result.rowsRejected());
+    assertEquals(List.of(new ImportRowError(6, "Invalid date format: 13/2025")), result.errors());
+
+    // Verify
+    verifyNoInteractions(repository, figurineService);
+  }
+
+  @Test
+  void importFigurines_whenDryRunWithMoreErrorsThanReported_thenCountTheRest() {
+    properties.setMaxReportedErrors(1);
+    when(mapper.toFigure(any(SourceFigurine.class)))
+        .thenThrow(new IllegalArgumentException("Invalid date format: 13/2025"));
+
+    // Act
+    ImportSummary result =
+        importFigurines("Base Name\nSeiya\nShiryu\n", ImportMode.DRY_RUN, $ -> true);
+
+    // Assert
+    assertEquals(2, result.rowsRejected());
+    assertEquals(List.of(new ImportRowError(2, "Invalid date format: 13/2025")), result.errors());
+    verifyNoInteractions(repository);
+  }
+
+  @Test
+  void importFigurines_whenPrototypeRow_thenAcceptedByDryRunAndImport() {
+    // Announced only, without price nor dates, and a name longer than the API allows.
+    Figurine prototype = new Figurine();
+    prototype.setBaseName("Bronze Saint Five Warriors Gathered");
+    prototype.setDistributionJPY(
+        new Distribution(null, null, null, LocalDate.of(2024, 10, 1), null, null, null));
+    when(mapper.toFigure(any(SourceFigurine.class))).thenReturn(prototype);
+    String csv = "Base Name,Announcement (JPY)\nBronze Saint Five Warriors Gathered,10/1/2024\n";
+
+    // Act
+    ImportSummary dryRun = importFigurines(csv, ImportMode.DRY_RUN, $ -> true);
+    ImportSummary imported = importFigurines(csv, ImportMode.INSERT, $ -> true);
+
+    // Assert
+    assertEquals(new ImportSummary(1, 0, 0, 0, 0, 0, 0, List.of()), dryRun);
+    assertEquals(new ImportSummary(1, 1), imported);
+    verify(repository).insert(List.of(prototype));
+  }
+
+  @Test
+  void importFigurines_whenRowsWithinErrorBudget_thenSkipThem() {
+    properties.setErrorBudget(2);
+    when(mapper.toFigure(any(SourceFigurine.class)))
+        .thenAnswer(
+            invocation -> {
+              String baseName = invocation.<SourceFigurine>getArgument(0).getBaseName();
+              if (baseName.startsWith("Bad")) {
+                throw new IllegalArgumentException("Unknown line up: " + baseName);
+              }
+              Figurine figurine = new Figurine();
+              figurine.setBaseName(baseName);
+              return figurine;
+            });
+
+    List<ImportRowError> rejected = new ArrayList<>();
+    ImportProgressListener listener =
+        new ImportProgressListener() {
+          @Override
+          public boolean onProgress(ImportSummary progress) {
+            return true;
+          }
+
+          @Override
+          public void onRejected(List<ImportRowError> rows) {
+            rejected.addAll(rows);
+          }
+        };
+
+    // Act
+    ImportSummary result =
+        importFigurines("Base Name\nSeiya\nBad 1\nShiryu\nBad 2\n", ImportMode.INSERT, listener);
+
+    // Assert
+    assertEquals(4, result.rowsParsed());
+    assertEquals(2, result.rowsWritten());
+    assertEquals(2, result.rowsRejected());
+    List<ImportRowError> expected =
+        List.of(
+            new ImportRowError(3, "Unknown line up: Bad 1"),
+            new ImportRowError(5, "Unknown line up: Bad 2"));
+    assertEquals(expected, result.errors());
+    assertEquals(expected, rejected);
+
+    // Verify
+    ArgumentCaptor<List<Figurine>> captor = ArgumentCaptor.forClass(List.class);
+    verify(repository).insert(captor.capture());
+    assertEquals(
+        List.of("Seiya", "Shiryu"), captor.getValue().stream().map(Figurine::getBaseName).toList());
+  }
+
+  @Test
+  void importFigurines_whenMalformedRowsWithinErrorBudget_thenRejectThemAndImportTheRest() {
+    properties.setErrorBudget(2);
+    when(mapper.toFigure(any(SourceFigurine.class)))
+        .thenAnswer(
+            invocation -> {
+              Figurine figurine = new Figurine();
+              figurine.setBaseName(invocation.<SourceFigurine>getArgument(0).getBaseName());
+              return figurine;
+            });
+
+    // Act
+    ImportSummary result =
+        importFigurines(
+            "Base Name,Remarks\nSeiya,\n,Restock\nShiryu\nHyoga,\n", ImportMode.INSERT, $ -> true);
+
+    // Assert
+    assertEquals(4, result.rowsParsed());
+    assertEquals(2, result.rowsWritten());
+    assertEquals(
+        List.of(
+            new ImportRowError(3, "Line 3 has no value for the required column: Base Name"),
+            new ImportRowError(4, "Line 4 has 1 fields, the header has 2")),
+        result.errors());
+
+    // Verify
+    ArgumentCaptor<List<Figurine>> captor = ArgumentCaptor.forClass(List.class);
+    verify(repository).insert(captor.capture());
+    assertEquals(
+        List.of("Seiya", "Hyoga"), captor.getValue().stream().map(Figurine::getBaseName).toList());
+  }
+
+  @Test
+  void importFigurines_whenMalformedRowExceedsErrorBudget_thenThrowTheRowException() {
+    when(mapper.toFigure(any(SourceFigurine.class))).thenAnswer($ -> new Figurine());
+
+    // Act & Assert
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> importFigurines("Base Name,Remarks\nSeiya,\nShiryu\n"))
+        .withMessage("Line 3 has 1 fields, the header has 2");
+    verify(repository, never()).insert(anyList());
+  }
+
+  @Test
+  void importFigurines_whenResumedAfterMalformedRow_thenWriteOnlyTheRowsAfterTheCheckpoint() {
+    properties.setBatchSize(2);
+    properties.setErrorBudget(1);
+    when(mapper.toFigure(any(SourceFigurine.class)))
+        .thenAnswer(
+            invocation -> {
+              Figurine figurine = new Figurine();
+              figurine.setBaseName(invocation.<SourceFigurine>getArgument(0).getBaseName());
+              return figurine;
+            });
+    ImportCheckpoint checkpoint =
+        new ImportCheckpoint(
+            "import-1",
+            new ImportSummary(
+                2, 1, 1, 0, 0, 1, 0, List.of(new ImportRowError(3, "Line 3 has 1 fields"))));
+
+    // Act
+    ImportSummary result =
+        importFigurines(
+            "Base Name,Remarks\nSeiya,\nShiryu\nHyoga,\n",
+            ImportMode.INSERT,
+            checkpoint,
+            $ -> true);
+
+    // Assert
+    assertEquals(3, result.rowsParsed());
+    assertEquals(2, result.rowsWritten());
+    assertEquals(1, result.rowsRejected());
+
+    // Verify
+    ArgumentCaptor<List<Figurine>> captor = ArgumentCaptor.forClass(List.class);
+    verify(repository).insert(captor.capture());
+    assertEquals(List.of("Hyoga"), captor.getValue().stream().map(Figurine::getBaseName).toList());
+  }
+
+  @Test
+  void importFigurines_whenErrorBudgetExceeded_thenThrowTheRowException() {
+    properties.setErrorBudget(1);
+    when(mapper.toFigure(any(SourceFigurine.class)))
+        .thenThrow(new IllegalArgumentException("Invalid date format: 1/1"));
+
+    // Act & Assert
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> importFigurines("Base Name\nSeiya\nShiryu\n"))
+        .withMessage("Invalid date format: 1/1");
+    verify(repository, never()).insert(anyList());
+  }
+
+  @Test
+  void importFigurines_whenReplace_thenStageRowsAndReplaceTheCatalog() {
+    when(mapper.toFigure(any(SourceFigurine.class))).thenAnswer($ -> new Figurine());
+    when(repository.countStaged(anyString())).thenReturn(2L);
+
+    // Act
+    ImportSummary result =
+        importFigurines("Base Name\nSeiya\nShiryu\n", ImportMode.REPLACE, $ -> true);
+
+    // Assert
+    assertEquals(new ImportSummary(2, 2), result);
+
+    // Verify
+    ArgumentCaptor<String> staging = ArgumentCaptor.forClass(String.class);
+    verify(repository).insertStaged(staging.capture(), anyList());
+    assertTrue(staging.getValue().startsWith("figurinesStaging_"));
+    verify(repository).refreshStagedGroupHeads(eq(staging.getValue()), anyList());
+    verify(repository).replaceWithStaged(staging.getValue());
+    verify(repository, never()).insert(anyList());
+    verify(repository, never()).dropStaged(anyString());
+  }
+
+  @Test
+  void importFigurines_whenReplaceFails_thenDropTheStagingCollection() {
+    properties.setBatchSize(1);
+    when(mapper.toFigure(any(SourceFigurine.class)))
+        .thenReturn(new Figurine())
+        .thenThrow(new IllegalArgumentException("Invalid date format: 1/1"));
+
+    // Act & Assert
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(
+            () -> importFigurines("Base Name\nSeiya\nShiryu\n", ImportMode.REPLACE, $ -> true))
+        .withMessage("Invalid date format: 1/1");
+
+    // Verify
+    verify(repository).insertStaged(startsWith("figurinesStaging_"), anyList());
+    verify(repository).dropStaged(startsWith("figurinesStaging_"));
+    verify(repository, never()).replaceWithStaged(anyString());
+  }
+
+  @Test
+  void importFigurines_whenReplaceStopped_thenDropTheStagingCollection() {
+    properties.setBatchSize(1);
+    when(mapper.toFigure(any(SourceFigurine.class))).thenAnswer($ -> new Figurine());
+
+    // Act
+    ImportSummary result =
+        importFigurines("Base Name\nSeiya\nShiryu\n", ImportMode.REPLACE, $ -> false);
+
+    // Assert
+    assertEquals(new ImportSummary(1, 1), result);
+
+    // Verify
+    verify(repository).dropStaged(startsWith("figurinesStaging_"));
+    verify(repository, never()).replaceWithStaged(anyString());
+  }
+
+  @Test
+  void importFigurines_whenReplaceWithMissingStagedFigurines_thenKeepTheCatalog() {
+    when(mapper.toFigure(any(SourceFigurine.class))).thenAnswer($ -> new Figurine());
+    when(repository.countStaged(anyString())).thenReturn(1L);
+
+    // Act & Assert
+    assertThatExceptionOfType(IllegalStateException.class)
+        .isThrownBy(
+            () -> importFigurines("Base Name\nSeiya\nShiryu\n", ImportMode.REPLACE, $ -> true))
+        .withMessage("Only 1 of 2 figurines have been staged");
+
+    // Verify
+    verify(repository, never()).replaceWithStaged(anyString());
+    verify(repository).dropStaged(startsWith("figurinesStaging_"));
+  }
+
+  @Test
+  void importFigurines_whenReplaceWithNoRows_thenKeepTheCatalog() {
+    // Act & Assert
+    assertThatExceptionOfType(IllegalStateException.class)
+        .isThrownBy(() -> importFigurines("Base Name\n", ImportMode.REPLACE, $ -> true))
+        .withMessage("The source file has no figurines, the catalog is unchanged");
+
+    // Verify
+    verify(repository, never()).replaceWithStaged(anyString());
+  }
+
+  @Test
+  void importFigurines_whenResumed_thenWriteOnlyTheRowsAfterTheCheckpoint() {
+    properties.setBatchSize(2);
+    when(mapper.toFigure(any(SourceFigurine.class)))
+        .thenAnswer(
+            invocation -> {
+              Figurine figurine = new Figurine();
+              figurine.setBaseName(invocation.<SourceFigurine>getArgument(0).getBaseName());
+              return figurine;
+            });
+    ImportCheckpoint checkpoint = new ImportCheckpoint("import-1", new ImportSummary(2, 2));
+
+    // Act
+    ImportSummary result =
+        importFigurines(
+            "Base Name\nSeiya\nShiryu\nSeiya\nHyoga\n", ImportMode.INSERT, checkpoint, $ -> true);
+
+    // Assert
+    assertEquals(new ImportSummary(4, 4), result);
+
+    // Verify
+    verify(repository).deleteByImportBatch("import-1:2");
+    ArgumentCaptor<List<Figurine>> captor = ArgumentCaptor.forClass(List.class);
+    verify(repository).insert(captor.capture());
+    List<Figurine> written = captor.getValue();
+    assertEquals(2, written.size());
+    assertEquals("Seiya", written.get(0).getBaseName());
+    assertEquals(FigurineKey.groupKeyOf(written.get(0)) + "-2", written.get(0).getImportKey());
+    assertEquals(importKey("Hyoga"), written.get(1).getImportKey());
+    assertEquals("import-1:2", written.get(0).getImportBatch());
+  }
+
+  @Test
+  void importFigurines_whenReplaceResumed_thenKeepTheFiguresStagedBefore() {
+    properties.setBatchSize(1);
+    when(mapper.toFigure(any(SourceFigurine.class))).thenAnswer($ -> new Figurine());
+    when(repository.countStaged("figurinesStaging_import-1")).thenReturn(1L, 2L);
+    ImportCheckpoint checkpoint = new ImportCheckpoint("import-1", new ImportSummary(1, 1));
+
+    // Act
+    ImportSummary result =
+        importFigurines("Base Name\nSeiya\nShiryu\n", ImportMode.REPLACE, checkpoint, $ -> true);
+
+    // Assert
+    assertEquals(new ImportSummary(2, 2), result);
+
+    // Verify
+    verify(repository).deleteStagedByImportBatch("figurinesStaging_import-1", "import-1:1");
+    verify(repository, times(1)).insertStaged(anyString(), anyList());
+    verify(repository).replaceWithStaged("figurinesStaging_import-1");
+  }
+
+  @Test
+  void importFigurines_whenResumedWithoutTheStagedFigurines_thenThrowException() {
+    ImportCheckpoint checkpoint = new ImportCheckpoint("import-1", new ImportSummary(1, 1));
+
+    // Act & Assert
+    assertThatExceptionOfType(IllegalStateException.class)
+        .isThrownBy(
+            () ->
+                importFigurines(
+                    "Base Name\nSeiya\nShiryu\n", ImportMode.REPLACE, checkpoint, $ -> true))
+        .withMessage("Only 0 of 1 figurines are still staged");
+
+    // Verify
+    verify(repository, never()).insertStaged(anyString(), anyList());
+    verify(repository).dropStaged("figurinesStaging_import-1");
+  }
+
+  private ImportSummary importFigurines(String csv) {
+    return importFigurines(csv, $ -> true);
+  }
+
+  private ImportSummary importFigurines(String csv, ImportProgressListener listener) {
+    return importFigurines(csv, ImportMode.INSERT, listener);
+  }
+
+  private ImportSummary importFigurines(
+      String csv, ImportMode mode, ImportProgressListener listener) {
+    return importFigurines(
+        csv, mode, ImportCheckpoint.start(UUID.randomUUID().toString()), listener);
+  }
+
+  private ImportSummary importFigurines(
+      String csv, ImportMode mode, ImportCheckpoint checkpoint, ImportProgressListener listener) {
+    return importFigurines(service, csv, mode, checkpoint, listener);
+  }
+
+  private ImportSummary importFigurines(FigurineImportService importService, String csv) {
+    return importFigurines(
+        importService,
+        csv,
+        ImportMode.INSERT,
+        ImportCheckpoint.start(UUID.randomUUID().toString()),
+        $ -> true);
+  }
+
+  // The rows are read from a spooled file, the same way the import jobs read them.
+  private ImportSummary importFigurines(
+      FigurineImportService importService,
+      String csv,
+      ImportMode mode,
+      ImportCheckpoint checkpoint,
+      ImportProgressListener listener) {
+    try {
+      Path file =
+          Files.writeString(
+              Files.createTempFile(directory, "source", ".csv"), csv, StandardCharsets.UTF_8);
+      try (MappedSourceFile rows = MappedSourceFile.open(file)) {
+        return importService.importFigurines(rows, mode, checkpoint, listener);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private String importKey(String baseName) {
+    Figurine figurine = new Figurine();
+    figurine.setBaseName(baseName);
+    return FigurineKey.groupKeyOf(figurine) + "-1";
+  }
+
+  // The row as it is read by OpenCSV, the empty columns are empty strings.
+  private SourceFigurine row(String baseName) {
+    SourceFigurine row = new SourceFigurine();
+    row.setBaseName(baseName);
+    row.setRemarks("");
+    return row;
+  }
+}
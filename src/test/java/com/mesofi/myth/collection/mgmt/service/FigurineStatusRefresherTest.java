@@ -0,0 +1,103 @@
+package com.mesofi.myth.collection.mgmt.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mesofi.myth.collection.mgmt.config.ImportProperties;
+import com.mesofi.myth.collection.mgmt.model.Distribution;
+import com.mesofi.myth.collection.mgmt.model.Figurine;
+import com.mesofi.myth.collection.mgmt.model.FigurineCatalogChangedEvent;
+import com.mesofi.myth.collection.mgmt.model.Status;
+import com.mesofi.myth.collection.mgmt.repository.MythCollectionRepository;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+@ExtendWith(MockitoExtension.class)
+public class FigurineStatusRefresherTest {
+  private static final LocalDate TODAY = LocalDate.of(2025, 3, 1);
+
+  @Mock private MythCollectionRepository repository;
+  @Mock private ApplicationEventPublisher eventPublisher;
+
+  private final ImportProperties properties = new ImportProperties();
+  private final Clock clock = Clock.fixed(Instant.parse("2025-03-01T10:00:00Z"), ZoneOffset.UTC);
+
+  private FigurineStatusRefresher refresher;
+
+  @BeforeEach
+  void setUp() {
+    properties.setBatchSize(2);
+    refresher = new FigurineStatusRefresher(repository, properties, eventPublisher, clock);
+  }
+
+  @Test
+  void refreshStatus_whenChangesDue_thenStoreTheNewStatusInBatches() {
+    // Arrange
+    Figurine released = figurine(LocalDate.of(2025, 2, 28), null, Status.FUTURE_RELEASE);
+    Figurine unreleased = figurine(null, LocalDate.of(2019, 3, 1), Status.PROTOTYPE);
+    Figurine future = figurine(LocalDate.of(2025, 3, 1), null, Status.FUTURE_RELEASE);
+    when(repository.findStatusChangesDue(TODAY))
+        .thenReturn(Stream.of(released, unreleased, future));
+
+    List<List<Figurine>> batches = new ArrayList<>();
+    when(repository.updateStatus(anyList()))
+        .thenAnswer(
+            invocation -> {
+              List<Figurine> batch = invocation.getArgument(0);
+              batches.add(List.copyOf(batch));
+              return (long) batch.size();
+            });
+
+    // Act
+    refresher.refreshStatus();
+
+    // Assert
+    assertEquals(List.of(List.of(released, unreleased), List.of(future)), batches);
+    assertEquals(Status.RELEASED, released.getStatus());
+    assertNull(released.getStatusChangeDate());
+    assertEquals(Status.UNRELEASED, unreleased.getStatus());
+    assertNull(unreleased.getStatusChangeDate());
+    assertEquals(Status.FUTURE_RELEASE, future.getStatus());
+    assertEquals(LocalDate.of(2025, 3, 2), future.getStatusChangeDate());
+    verify(eventPublisher).publishEvent(new FigurineCatalogChangedEvent("status refreshed"));
+  }
+
+  @Test
+  void refreshStatus_whenNoChangesDue_thenCatalogIsNotChanged() {
+    // Arrange
+    when(repository.findStatusChangesDue(TODAY)).thenReturn(Stream.empty());
+    when(repository.updateStatus(List.of())).thenReturn(0L);
+
+    // Act
+    refresher.refreshStatus();
+
+    // Assert
+    verify(repository, times(1)).updateStatus(anyList());
+    verify(eventPublisher, never()).publishEvent(any(Object.class));
+  }
+
+  private Figurine figurine(LocalDate releaseDate, LocalDate announcementDate, Status status) {
+    Figurine figurine = new Figurine();
+    figurine.setDistributionJPY(
+        new Distribution(null, null, null, announcementDate, null, releaseDate, null));
+    figurine.setStatus(status);
+    return figurine;
+  }
+}
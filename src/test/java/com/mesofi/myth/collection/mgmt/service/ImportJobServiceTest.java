@@ -0,0 +1,661 @@
+package com.mesofi.myth.collection.mgmt.service;
+
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mesofi.myth.collection.mgmt.config.ImportProperties;
+import com.mesofi.myth.collection.mgmt.exceptions.ImportJobNotFoundException;
+import com.mesofi.myth.collection.mgmt.exceptions.ImportJobNotResumableException;
+import com.mesofi.myth.collection.mgmt.exceptions.ImportJobRejectedException;
+import com.mesofi.myth.collection.mgmt.exceptions.SourceFigurineBulkException;
+import com.mesofi.myth.collection.mgmt.exceptions.UnsupportedCompressionException;
+import com.mesofi.myth.collection.mgmt.model.FigurineCatalogChangedEvent;
+import com.mesofi.myth.collection.mgmt.model.ImportCheckpoint;
+import com.mesofi.myth.collection.mgmt.model.ImportJob;
+import com.mesofi.myth.collection.mgmt.model.ImportJobStatus;
+import com.mesofi.myth.collection.mgmt.model.ImportMode;
+import com.mesofi.myth.collection.mgmt.model.ImportRejection;
+import com.mesofi.myth.collection.mgmt.model.ImportRowError;
+import com.mesofi.myth.collection.mgmt.model.ImportSummary;
+import com.mesofi.myth.collection.mgmt.repository.ImportJobRepository;
+import com.mesofi.myth.collection.mgmt.repository.ImportRejectionRepository;
+import com.mongodb.client.result.UpdateResult;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+@ExtendWith(MockitoExtension.class)
+public class ImportJobServiceTest {
+  private static final Instant NOW = Instant.parse("2025-03-01T10:00:00Z");
+
+  @Mock private ImportJobRepository repository;
+  @Mock private ImportRejectionRepository rejectionRepository;
+  @Mock private MongoTemplate mongoTemplate;
+  @Mock private FigurineImportService importService;
+  @Mock private TaskExecutor importTaskExecutor;
+  @Mock private ApplicationEventPublisher eventPublisher;
+  @Mock private Clock clock;
+
+  @TempDir private Path spoolDirectory;
+
+  private ImportJobService service;
+
+  private final List<Update> updates = new ArrayList<>();
+  private final List<Query> queries = new ArrayList<>();
+
+  @BeforeEach
+  void before() {
+    ImportProperties properties = new ImportProperties();
+    properties.setSpoolDirectory(spoolDirectory);
+
+    service =
+        new ImportJobService(
+            repository,
+            rejectionRepository,
+            mongoTemplate,
+            importService,
+            properties,
+            importTaskExecutor,
+            eventPublisher,
+            clock);
+    lenient().when(clock.instant()).thenReturn(NOW);
+  }
+
+  private void givenJobUpdates(boolean... matched) {
+    var stubbing =
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ImportJob.class)));
+    for (boolean m : matched) {
+      stubbing =
+          stubbing.thenAnswer(
+              invocation -> {
+                queries.add(invocation.getArgument(0));
+                updates.add(invocation.getArgument(1));
+                return UpdateResult.acknowledged(m ? 1 : 0, m ? 1L : 0L, null);
+              });
+    }
+  }
+
+  private void givenTasksRunImmediately() {
+    doAnswer(
+            invocation -> {
+              ((Runnable) invocation.getArgument(0)).run();
+              return null;
+            })
+        .when(importTaskExecutor)
+        .execute(any(Runnable.class));
+  }
+
+  private void givenSavedJob() {
+    when(repository.save(any(ImportJob.class)))
+        .thenAnswer(
+            invocation -> {
+              ImportJob job = invocation.getArgument(0);
+              job.setId("job-1");
+              return job;
+            });
+  }
+
+  private byte[] gzip(byte[] content) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(content);
+    }
+    return out.toByteArray();
+  }
+
+  private Document set(Update update) {
+    return (Document) update.getUpdateObject().get("$set");
+  }
+
+  private Document inc(Update update) {
+    return (Document) update.getUpdateObject().get("$inc");
+  }
+
+  @Test
+  void submit_whenFileUploaded_thenQueueJob() {
+    givenSavedJob();
+    MultipartFile file = new MockMultipartFile("file", "basic.csv", null, "Base Name".getBytes());
+
+    // Act
+    ImportJob result = service.submit(file);
+
+    // Assert
+    assertEquals("job-1", result.getId());
+    assertEquals("basic.csv", result.getFileName());
+    assertEquals(ImportJobStatus.QUEUED, result.getStatus());
+    assertEquals(ImportMode.INSERT, result.getMode());
+    assertEquals(9, result.getTotalBytes());
+    assertTrue(Files.exists(spoolDirectory.resolve("job-1.csv")));
+    verify(importTaskExecutor).execute(any(Runnable.class));
+  }
+
+  @Test
+  void submit_whenQueueIsFull_thenRejectJob() {
+    givenSavedJob();
+    givenJobUpdates(true);
+    doThrow(TaskRejectedException.class).when(importTaskExecutor).execute(any(Runnable.class));
+    MultipartFile file = new MockMultipartFile("file", "basic.csv", null, "Base Name".getBytes());
+
+    // Assert
+    assertThatExceptionOfType(ImportJobRejectedException.class)
+        .isThrownBy(() -> service.submit(file))
+        .withMessage("Unable to queue the import job with id: job-1");
+
+    assertFalse(Files.exists(spoolDirectory.resolve("job-1.csv")));
+    assertEquals(ImportJobStatus.FAILED, set(updates.getFirst()).get("status"));
+    assertEquals("The import queue is full", set(updates.getFirst()).get("errorMessage"));
+  }
+
+  @Test
+  void submit_whenGzipFile_thenSpoolItDecompressed() throws IOException {
+    givenSavedJob();
+    givenJobUpdates(true);
+    byte[] csv = "Base Name\nSeiya\nShiryu\n".getBytes(StandardCharsets.UTF_8);
+    MultipartFile file = new MockMultipartFile("file", "basic.csv.gz", null, gzip(csv));
+
+    // Act
+    ImportJob result = service.submit(file);
+
+    // Assert
+    assertArrayEquals(csv, Files.readAllBytes(spoolDirectory.resolve("job-1.csv")));
+    assertEquals(csv.length, result.getTotalBytes());
+    assertEquals((long) csv.length, set(updates.getFirst()).get("totalBytes"));
+    verify(importTaskExecutor).execute(any(Runnable.class));
+  }
+
+  @Test
+  void submit_whenZstdFile_thenRejectIt() {
+    givenSavedJob();
+    givenJobUpdates(true);
+    MultipartFile file =
+        new MockMultipartFile("file", "basic.csv.zst", "application/zstd", new byte[] {1, 2});
+
+    // Assert
+    assertThatExceptionOfType(UnsupportedCompressionException.class)
+        .isThrownBy(() -> service.submit(file))
+        .withMessage("The files compressed with zstd are not supported, use gzip instead");
+
+    assertFalse(Files.exists(spoolDirectory.resolve("job-1.csv")));
+    assertEquals(ImportJobStatus.FAILED, set(updates.getFirst()).get("status"));
+    verify(importTaskExecutor, never()).execute(any(Runnable.class));
+  }
+
+  @Test
+  void submit_whenFileCannotBeSpooled_thenThrowException() throws IOException {
+    givenSavedJob();
+    givenJobUpdates(true);
+    MultipartFile file = mock(MultipartFile.class);
+    when(file.getInputStream()).thenReturn(new ByteArrayInputStream("Base Name".getBytes()));
+    doThrow(new IOException("disk full")).when(file).transferTo(any(Path.class));
+
+    // Assert
+    assertThatExceptionOfType(SourceFigurineBulkException.class)
+        .isThrownBy(() -> service.submit(file))
+        .withMessage("Unable to load figurines");
+
+    assertEquals(ImportJobStatus.FAILED, set(updates.getFirst()).get("status"));
+    assertEquals("disk full", set(updates.getFirst()).get("errorMessage"));
+    verify(importTaskExecutor, never()).execute(any(Runnable.class));
+  }
+
+  @Test
+  void run_whenJobCancelledBeforeStarting_thenSkipImport() throws IOException {
+    givenJobUpdates(false);
+    Path spoolFile = Files.writeString(spoolDirectory.resolve("job-1.csv"), "Base Name\n");
+
+    // Act
+    service.run("job-1", spoolFile, ImportMode.INSERT, ImportCheckpoint.start("job-1"));
+
+    // Assert
+    verify(importService, never())
+        .importFigurines(
+            any(SourceFigurineRows.class),
+            eq(ImportMode.INSERT),
+            any(ImportCheckpoint.class),
+            any());
+    verify(eventPublisher, never()).publishEvent(any(Object.class));
+    assertFalse(Files.exists(spoolFile));
+  }
+
+  @Test
+  void run_whenImportCompleted_thenStoreProgress() throws IOException {
+    givenJobUpdates(true, true, true);
+    Path spoolFile = Files.writeString(spoolDirectory.resolve("job-1.csv"), "Base Name\nSeiya\n");
+
+    when(importService.importFigurines(
+            any(SourceFigurineRows.class),
+            eq(ImportMode.INSERT),
+            any(ImportCheckpoint.class),
+            any()))
+        .thenAnswer(
+            invocation -> {
+              SourceFigurineRows rows = invocation.getArgument(0);
+              assertEquals("Seiya", rows.next().getBaseName());
+              assertFalse(rows.hasNext());
+              ImportProgressListener listener = invocation.getArgument(3);
+              assertTrue(listener.onProgress(new ImportSummary(1, 1)));
+              return new ImportSummary(1, 1);
+            });
+    when(clock.instant())
+        .thenReturn(NOW, NOW.plusSeconds(2), NOW.plusSeconds(5), NOW.plusSeconds(6));
+
+    // Act
+    service.run("job-1", spoolFile, ImportMode.INSERT, ImportCheckpoint.start("job-1"));
+
+    // Assert
+    assertEquals(3, updates.size());
+    assertEquals(ImportJobStatus.RUNNING, set(updates.get(0)).get("status"));
+    assertEquals(NOW, set(updates.get(0)).get("startedAt"));
+    assertEquals(NOW, set(updates.get(0)).get("updatedAt"));
+    assertEquals(0L, set(updates.get(0)).get("activeMillis"));
+    assertEquals(ImportJobStatus.QUEUED, queries.get(0).getQueryObject().get("status"));
+    assertEquals(1L, set(updates.get(1)).get("rowsWritten"));
+    assertEquals(2000L, inc(updates.get(1)).get("activeMillis"));
+    assertEquals(16L, set(updates.get(1)).get("bytesRead"));
+    assertEquals(ImportJobStatus.COMPLETED, set(updates.get(2)).get("status"));
+    assertEquals(3000L, inc(updates.get(2)).get("activeMillis"));
+    assertEquals(NOW.plusSeconds(6), set(updates.get(2)).get("finishedAt"));
+    assertEquals(1L, set(updates.get(2)).get("rowsParsed"));
+    assertEquals(ImportJobStatus.RUNNING, queries.get(2).getQueryObject().get("status"));
+    assertFalse(Files.exists(spoolFile));
+    verify(eventPublisher).publishEvent(new FigurineCatalogChangedEvent("import job-1"));
+  }
+
+  @Test
+  void run_whenResumed_thenKeepTheStartAndAddTheActiveTime() throws IOException {
+    givenJobUpdates(true, true);
+    Path spoolFile = Files.writeString(spoolDirectory.resolve("job-1.csv"), "Base Name\nSeiya\n");
+    ImportCheckpoint checkpoint = new ImportCheckpoint("job-1", new ImportSummary(1, 1));
+
+    when(importService.importFigurines(
+            any(SourceFigurineRows.class), eq(ImportMode.INSERT), eq(checkpoint), any()))
+        .thenReturn(new ImportSummary(1, 1));
+    when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(4));
+
+    // Act
+    service.run("job-1", spoolFile, ImportMode.INSERT, checkpoint);
+
+    // Assert
+    assertEquals(ImportJobStatus.RUNNING, set(updates.get(0)).get("status"));
+    assertFalse(set(updates.get(0)).containsKey("startedAt"));
+    assertFalse(set(updates.get(0)).containsKey("activeMillis"));
+    assertEquals(NOW, set(updates.get(0)).get("updatedAt"));
+    assertEquals(ImportJobStatus.COMPLETED, set(updates.get(1)).get("status"));
+    assertEquals(4000L, inc(updates.get(1)).get("activeMillis"));
+    assertEquals(NOW.plusSeconds(4), set(updates.get(1)).get("updatedAt"));
+  }
+
+  @Test
+  void run_whenJobCancelledWhileRunning_thenStopImport() throws IOException {
+    givenJobUpdates(true, false, false);
+    Path spoolFile = Files.writeString(spoolDirectory.resolve("job-1.csv"), "Base Name\nSeiya\n");
+
+    when(importService.importFigurines(
+            any(SourceFigurineRows.class),
+            eq(ImportMode.INSERT),
+            any(ImportCheckpoint.class),
+            any()))
+        .thenAnswer(
+            invocation -> {
+              ImportProgressListener listener = invocation.getArgument(3);
+              assertFalse(listener.onProgress(new ImportSummary(1, 1)));
+              return new ImportSummary(1, 1);
+            });
+
+    // Act
+    service.run("job-1", spoolFile, ImportMode.INSERT, ImportCheckpoint.start("job-1"));
+
+    // Assert
+    assertEquals(3, updates.size());
+    assertFalse(Files.exists(spoolFile));
+  }
+
+  @Test
+  void run_whenImportFails_thenMarkJobAsFailed() throws IOException {
+    givenJobUpdates(true, true);
+    Path spoolFile = Files.writeString(spoolDirectory.resolve("job-1.csv"), "Base Name\nSeiya\n");
+
+    when(importService.importFigurines(
+            any(SourceFigurineRows.class),
+            eq(ImportMode.INSERT),
+            any(ImportCheckpoint.class),
+            any()))
+        .thenThrow(new IllegalArgumentException("Invalid date format: 1/1"));
+
+    // Act
+    service.run("job-1", spoolFile, ImportMode.INSERT, ImportCheckpoint.start("job-1"));
+
+    // Assert
+    assertEquals(ImportJobStatus.FAILED, set(updates.get(1)).get("status"));
+    assertEquals("Invalid date format: 1/1", set(updates.get(1)).get("errorMessage"));
+    assertTrue(Files.exists(spoolFile));
+    verify(eventPublisher).publishEvent(new FigurineCatalogChangedEvent("import job-1"));
+  }
+
+  @Test
+  void run_whenDryRun_thenStoreRejectedRowsWithoutChangingTheCatalog() throws IOException {
+    givenJobUpdates(true, true);
+    Path spoolFile = Files.writeString(spoolDirectory.resolve("job-1.csv"), "Base Name\nXY\n");
+    List<ImportRowError> errors =
+        List.of(new ImportRowError(2, "baseName: size must be between 3 and 20"));
+
+    when(importService.importFigurines(
+            any(SourceFigurineRows.class),
+            eq(ImportMode.DRY_RUN),
+            any(ImportCheckpoint.class),
+            any()))
+        .thenReturn(new ImportSummary(1, 0, 0, 0, 0, 1, 0, errors));
+
+    // Act
+    service.run("job-1", spoolFile, ImportMode.DRY_RUN, ImportCheckpoint.start("job-1"));
+
+    // Assert
+    assertEquals(ImportJobStatus.COMPLETED, set(updates.get(1)).get("status"));
+    assertEquals(1L, set(updates.get(1)).get("rowsRejected"));
+    assertEquals(errors, set(updates.get(1)).get("errors"));
+    assertFalse(Files.exists(spoolFile));
+    verify(eventPublisher, never()).publishEvent(any(Object.class));
+  }
+
+  @Test
+  void run_whenRowsRejected_thenStoreThemWithTheJob() throws IOException {
+    givenJobUpdates(true, true);
+    Path spoolFile = Files.writeString(spoolDirectory.resolve("job-1.csv"), "Base Name\nXY\n");
+
+    when(importService.importFigurines(
+            any(SourceFigurineRows.class),
+            eq(ImportMode.INSERT),
+            any(ImportCheckpoint.class),
+            any()))
+        .thenAnswer(
+            invocation -> {
+              ImportProgressListener listener = invocation.getArgument(3);
+              listener.onRejected(List.of(new ImportRowError(2, "Unknown series: Omega")));
+              return new ImportSummary(1, 0);
+            });
+
+    // Act
+    service.run("job-1", spoolFile, ImportMode.INSERT, ImportCheckpoint.start("job-1"));
+
+    // Assert
+    ArgumentCaptor<List<ImportRejection>> captor = ArgumentCaptor.forClass(List.class);
+    verify(rejectionRepository).saveAll(captor.capture());
+    ImportRejection rejection = captor.getValue().getFirst();
+    assertEquals("job-1:2", rejection.getId());
+    assertEquals("job-1", rejection.getJobId());
+    assertEquals(2, rejection.getLine());
+    assertEquals("Unknown series: Omega", rejection.getMessage());
+  }
+
+  @Test
+  void resume_whenFailedJob_thenResumeFromTheLastBatchWritten() throws IOException {
+    ImportJob failed = failedJob(ImportMode.INSERT);
+    when(repository.findById("job-1")).thenReturn(Optional.of(failed));
+    Files.writeString(spoolDirectory.resolve("job-1.csv"), "Base Name\nSeiya\n");
+    givenJobUpdates(true, true, true);
+    givenTasksRunImmediately();
+    when(importService.importFigurines(
+            any(SourceFigurineRows.class),
+            eq(ImportMode.INSERT),
+            any(ImportCheckpoint.class),
+            any()))
+        .thenReturn(new ImportSummary(2, 2));
+
+    // Act
+    service.resume("job-1");
+
+    // Assert
+    assertEquals(ImportJobStatus.FAILED, queries.get(0).getQueryObject().get("status"));
+    assertEquals(ImportJobStatus.QUEUED, set(updates.get(0)).get("status"));
+    assertTrue(updates.get(0).getUpdateObject().containsKey("$unset"));
+    assertEquals(ImportJobStatus.COMPLETED, set(updates.get(2)).get("status"));
+    assertFalse(Files.exists(spoolDirectory.resolve("job-1.csv")));
+
+    ArgumentCaptor<ImportCheckpoint> captor = ArgumentCaptor.forClass(ImportCheckpoint.class);
+    verify(importService)
+        .importFigurines(
+            any(SourceFigurineRows.class), eq(ImportMode.INSERT), captor.capture(), any());
+    assertEquals("job-1", captor.getValue().importId());
+    assertEquals(1, captor.getValue().committed().rowsParsed());
+    assertEquals(1, captor.getValue().committed().rowsInserted());
+  }
+
+  @Test
+  void resume_whenFailedReplace_thenStartOver() throws IOException {
+    when(repository.findById("job-1")).thenReturn(Optional.of(failedJob(ImportMode.REPLACE)));
+    Files.writeString(spoolDirectory.resolve("job-1.csv"), "Base Name\nSeiya\n");
+    givenJobUpdates(true, true, true);
+    givenTasksRunImmediately();
+    when(importService.importFigurines(
+            any(SourceFigurineRows.class),
+            eq(ImportMode.REPLACE),
+            any(ImportCheckpoint.class),
+            any()))
+        .thenReturn(new ImportSummary(2, 2));
+
+    // Act
+    service.resume("job-1");
+
+    // Assert
+    ArgumentCaptor<ImportCheckpoint> captor = ArgumentCaptor.forClass(ImportCheckpoint.class);
+    verify(importService)
+        .importFigurines(
+            any(SourceFigurineRows.class), eq(ImportMode.REPLACE), captor.capture(), any());
+    assertEquals(ImportCheckpoint.start("job-1"), captor.getValue());
+  }
+
+  @Test
+  void resume_whenFileNoLongerAvailable_thenThrowImportJobNotResumableException() {
+    when(repository.findById("job-1")).thenReturn(Optional.of(failedJob(ImportMode.INSERT)));
+
+    // Assert
+    assertThatExceptionOfType(ImportJobNotResumableException.class)
+        .isThrownBy(() -> service.resume("job-1"))
+        .withMessage("Unable to resume the import job with id: job-1");
+    verify(importTaskExecutor, never()).execute(any(Runnable.class));
+  }
+
+  @Test
+  void resume_whenJobCompleted_thenThrowImportJobNotResumableException() throws IOException {
+    ImportJob completed = failedJob(ImportMode.INSERT);
+    completed.setStatus(ImportJobStatus.COMPLETED);
+    when(repository.findById("job-1")).thenReturn(Optional.of(completed));
+    Files.writeString(spoolDirectory.resolve("job-1.csv"), "Base Name\nSeiya\n");
+
+    // Assert
+    assertThatExceptionOfType(ImportJobNotResumableException.class)
+        .isThrownBy(() -> service.resume("job-1"));
+    verify(mongoTemplate, never())
+        .updateFirst(any(Query.class), any(Update.class), eq(ImportJob.class));
+  }
+
+  @Test
+  void resumeInterrupted_whenJobWasRunning_thenQueueItAgain() throws IOException {
+    ImportJob running = failedJob(ImportMode.UPSERT);
+    running.setStatus(ImportJobStatus.RUNNING);
+    when(repository.findById("job-1")).thenReturn(Optional.of(running));
+    when(repository.findById("job-2")).thenReturn(Optional.empty());
+    Files.writeString(spoolDirectory.resolve("job-1.csv"), "Base Name\nSeiya\n");
+    Path leftover = Files.writeString(spoolDirectory.resolve("job-2.csv"), "Base Name\n");
+    givenJobUpdates(true);
+
+    // Act
+    service.resumeInterrupted();
+
+    // Assert
+    assertEquals(ImportJobStatus.RUNNING, queries.get(0).getQueryObject().get("status"));
+    assertEquals(ImportJobStatus.QUEUED, set(updates.get(0)).get("status"));
+    verify(importTaskExecutor).execute(any(Runnable.class));
+    assertTrue(Files.exists(spoolDirectory.resolve("job-1.csv")));
+    assertFalse(Files.exists(leftover));
+  }
+
+  @Test
+  void resumeInterrupted_whenJobFailed_thenKeepItUntilResumed() throws IOException {
+    when(repository.findById("job-1")).thenReturn(Optional.of(failedJob(ImportMode.INSERT)));
+    Path spoolFile = Files.writeString(spoolDirectory.resolve("job-1.csv"), "Base Name\n");
+
+    // Act
+    service.resumeInterrupted();
+
+    // Assert
+    assertTrue(Files.exists(spoolFile));
+    verify(importTaskExecutor, never()).execute(any(Runnable.class));
+  }
+
+  private ImportJob failedJob(ImportMode mode) {
+    ImportJob job = new ImportJob();
+    job.setId("job-1");
+    job.setMode(mode);
+    job.setStatus(ImportJobStatus.FAILED);
+    job.setRowsParsed(1);
+    job.setRowsWritten(1);
+    job.setRowsInserted(1);
+    return job;
+  }
+
+  @Test
+  void getRejections_whenPageTooBig_thenLimitThePage() {
+    when(repository.findById("job-1")).thenReturn(Optional.of(new ImportJob()));
+    List<ImportRejection> rejections = List.of(new ImportRejection("r1", "job-1", 12, "error"));
+    when(rejectionRepository.findByJobIdAndLineGreaterThanOrderByLine("job-1", 10, Limit.of(1000)))
+        .thenReturn(rejections);
+
+    // Act
+    List<ImportRejection> result = service.getRejections("job-1", 10, 5000);
+
+    // Assert
+    assertEquals(rejections, result);
+  }
+
+  @Test
+  void getRejections_whenNonExistingJob_thenThrowImportJobNotFoundException() {
+    when(repository.findById("job-1")).thenReturn(Optional.empty());
+
+    // Assert
+    assertThatExceptionOfType(ImportJobNotFoundException.class)
+        .isThrownBy(() -> service.getRejections("job-1", 0, 100));
+    verify(rejectionRepository, never())
+        .findByJobIdAndLineGreaterThanOrderByLine(any(), any(Long.class), any());
+  }
+
+  @Test
+  void getJob_whenRunningJob_thenCalculateTheRatesAtTheCurrentTime() {
+    ImportJob job = new ImportJob();
+    job.setStatus(ImportJobStatus.RUNNING);
+    job.setStartedAt(NOW.minusSeconds(3600));
+    job.setUpdatedAt(NOW.minusSeconds(10));
+    job.setActiveMillis(10_000);
+    job.setRowsWritten(100);
+    job.setTotalBytes(4_000);
+    job.setBytesRead(1_000);
+    when(repository.findById("job-1")).thenReturn(Optional.of(job));
+
+    // Act
+    ImportJob result = service.getJob("job-1");
+
+    // Assert
+    assertEquals(5d, result.getThroughput());
+    assertEquals(60L, result.getEtaSeconds());
+  }
+
+  @Test
+  void getJob_whenNonExistingJob_thenThrowImportJobNotFoundException() {
+    when(repository.findById("job-1")).thenReturn(Optional.empty());
+
+    // Assert
+    assertThatExceptionOfType(ImportJobNotFoundException.class)
+        .isThrownBy(() -> service.getJob("job-1"))
+        .withMessage("Import job not found with id: job-1");
+  }
+
+  @Test
+  void cancel_whenExistingJob_thenCancelJob() {
+    ImportJob running = new ImportJob();
+    running.setStatus(ImportJobStatus.RUNNING);
+    ImportJob cancelled = new ImportJob();
+    cancelled.setStatus(ImportJobStatus.CANCELLED);
+
+    when(repository.findById("job-1")).thenReturn(Optional.of(running), Optional.of(cancelled));
+    givenJobUpdates(true);
+
+    // Act
+    ImportJob result = service.cancel("job-1");
+
+    // Assert
+    assertEquals(ImportJobStatus.CANCELLED, result.getStatus());
+    assertEquals(ImportJobStatus.CANCELLED, set(updates.getFirst()).get("status"));
+    verify(repository, times(2)).findById("job-1");
+  }
+
+  @Test
+  void cancel_whenNonExistingJob_thenThrowImportJobNotFoundException() {
+    when(repository.findById("job-1")).thenReturn(Optional.empty());
+
+    // Assert
+    assertThatExceptionOfType(ImportJobNotFoundException.class)
+        .isThrownBy(() -> service.cancel("job-1"));
+    verify(mongoTemplate, never())
+        .updateFirst(any(Query.class), any(Update.class), eq(ImportJob.class));
+  }
+
+  @Test
+  void run_whenProgressReported_thenCaptureJobId() throws IOException {
+    givenJobUpdates(true, true);
+    Path spoolFile = Files.writeString(spoolDirectory.resolve("job-1.csv"), "Base Name\n");
+    when(importService.importFigurines(
+            any(SourceFigurineRows.class),
+            eq(ImportMode.INSERT),
+            any(ImportCheckpoint.class),
+            any()))
+        .thenReturn(new ImportSummary(0, 0));
+
+    // Act
+    service.run("job-1", spoolFile, ImportMode.INSERT, ImportCheckpoint.start("job-1"));
+
+    // Assert
+    ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+    verify(mongoTemplate, times(2))
+        .updateFirst(captor.capture(), any(Update.class), eq(ImportJob.class));
+    assertEquals("job-1", captor.getValue().getQueryObject().get("id"));
+  }
+}
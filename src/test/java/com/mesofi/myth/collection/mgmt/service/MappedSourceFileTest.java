@@ -0,0 +1,180 @@
+package com.mesofi.myth.collection.mgmt.service;
+
+import static com.mesofi.myth.collection.mgmt.common.TestUtils.loadFigurines;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.mesofi.myth.collection.mgmt.model.SourceFigurine;
+import com.opencsv.bean.CsvToBeanBuilder;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MappedSourceFileTest {
+
+  @TempDir private Path directory;
+
+  @Test
+  void next_whenSourceFile_thenSameRowsAsOpenCsv() throws IOException {
+    // Arrange
+    String csv = loadFigurines("basic.csv");
+    List<SourceFigurine> expected = openCsv(csv);
+
+    // Act
+    List<SourceFigurine> rows = read(csv, MappedSourceFile.DEFAULT_WINDOW_SIZE);
+
+    // Assert
+    assertEquals(expected.size(), rows.size());
+    assertThat(rows).usingRecursiveFieldByFieldElementComparator().isEqualTo(expected);
+    assertEquals("¥0", rows.getFirst().getPriceJPY());
+  }
+
+  @Test
+  void next_whenQuotedFields_thenSameRowsAsOpenCsv() throws IOException {
+    // Arrange
+    String csv =
+        "Base Name,Remarks,Link\n"
+            + "\"Seiya, Pegasus\",\"Comes with \"\"Nike\"\"\",\n"
+            + "Shiryu,\"First line\r\nsecond line\",http://link\r\n"
+            + "Hyoga,,\"\"";
+    List<SourceFigurine> expected = openCsv(csv);
+
+    // Act
+    List<SourceFigurine> rows = read(csv, MappedSourceFile.DEFAULT_WINDOW_SIZE);
+
+    // Assert
+    assertThat(rows).usingRecursiveFieldByFieldElementComparator().isEqualTo(expected);
+    assertEquals("Seiya, Pegasus", rows.get(0).getBaseName());
+    assertEquals("Comes with \"Nike\"", rows.get(0).getRemarks());
+    assertEquals("First line\nsecond line", rows.get(1).getRemarks());
+    assertEquals("", rows.get(2).getLink());
+  }
+
+  @Test
+  void next_whenRowsCrossTheWindows_thenReadEveryRow() throws IOException {
+    // Arrange
+    StringBuilder csv = new StringBuilder("Base Name,Remarks\r\n");
+    for (int i = 0; i < 100; i++) {
+      csv.append("Seiya ").append(i).append(",\"Ver.\r\n").append(i).append("\"\r\n");
+    }
+
+    // Act
+    List<SourceFigurine> rows = read(csv.toString(), 32);
+
+    // Assert
+    assertEquals(100, rows.size());
+    assertEquals("Seiya 99", rows.getLast().getBaseName());
+    assertEquals("Ver.\n99", rows.getLast().getRemarks());
+  }
+
+  @Test
+  void line_whenRowsSpanSeveralLines_thenLineWhereTheRowEnds() throws IOException {
+    // Arrange
+    Path file = write("\uFEFFBase Name,Remarks\nSeiya,\"a\nb\"\n\nShiryu,\n");
+
+    try (MappedSourceFile rows = MappedSourceFile.open(file)) {
+      // Act
+      SourceFigurine seiya = rows.next();
+      long seiyaLine = rows.line();
+      SourceFigurine shiryu = rows.next();
+
+      // Assert
+      assertEquals("Seiya", seiya.getBaseName());
+      assertEquals(3, seiyaLine);
+      assertEquals("Shiryu", shiryu.getBaseName());
+      assertEquals(5, rows.line());
+      assertFalse(rows.hasNext());
+      assertEquals(Files.size(file), rows.bytesRead());
+    }
+  }
+
+  @Test
+  void next_whenColumnNotBound_thenSkipIt() throws IOException {
+    // Act
+    List<SourceFigurine> rows = read("Base Name,Restock\nSeiya,TRUE\n", 1024);
+
+    // Assert
+    assertEquals("Seiya", rows.getFirst().getBaseName());
+    assertNull(rows.getFirst().getRemarks());
+  }
+
+  @Test
+  void open_whenRequiredColumnMissing_thenThrowException() throws IOException {
+    // Arrange
+    Path file = write("Remarks\nSeiya\n");
+
+    // Act & Assert
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> MappedSourceFile.open(file))
+        .withMessage("The header is missing the required column: Base Name");
+  }
+
+  @Test
+  void next_whenRequiredValueMissing_thenThrowException() throws IOException {
+    // Act & Assert
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> read("Base Name,Remarks\nSeiya,\n,Restock\n", 1024))
+        .withMessage("Line 3 has no value for the required column: Base Name");
+  }
+
+  @Test
+  void next_whenFieldsMissing_thenThrowException() throws IOException {
+    // Act & Assert
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> read("Base Name,Remarks\nSeiya\n", 1024))
+        .withMessage("Line 2 has 1 fields, the header has 2");
+  }
+
+  @Test
+  void next_whenRowMalformed_thenReadTheRowsAfterIt() throws IOException {
+    // Arrange
+    Path file = write("Base Name,Remarks\nSeiya\nShiryu,\n");
+
+    try (MappedSourceFile rows = MappedSourceFile.open(file)) {
+      // Act & Assert
+      assertThatExceptionOfType(MalformedRowException.class)
+          .isThrownBy(rows::next)
+          .withMessage("Line 2 has 1 fields, the header has 2")
+          .satisfies(e -> assertEquals(2, e.line()));
+      assertEquals("Shiryu", rows.next().getBaseName());
+      assertEquals(3, rows.line());
+      assertFalse(rows.hasNext());
+    }
+  }
+
+  @Test
+  void next_whenRowLongerThanTheWindow_thenThrowException() throws IOException {
+    // Act & Assert
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> read("Base Name\nSeiya\n" + "S".repeat(64) + "\n", 32))
+        .withMessage("Line 3 is longer than 32 bytes");
+  }
+
+  private List<SourceFigurine> read(String csv, int windowSize) throws IOException {
+    List<SourceFigurine> rows = new ArrayList<>();
+    try (MappedSourceFile source = MappedSourceFile.open(write(csv), windowSize)) {
+      source.forEachRemaining(rows::add);
+    }
+    return rows;
+  }
+
+  private List<SourceFigurine> openCsv(String csv) {
+    return new CsvToBeanBuilder<SourceFigurine>(new StringReader(csv))
+        .withType(SourceFigurine.class)
+        .build()
+        .parse();
+  }
+
+  private Path write(String csv) throws IOException {
+    return Files.writeString(directory.resolve("source.csv"), csv, StandardCharsets.UTF_8);
+  }
+}
@@ -1,84 +1,68 @@
 package com.mesofi.myth.collection.mgmt.service;
 
-import static com.mesofi.myth.collection.mgmt.common.TestUtils.loadFigurines;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.mesofi.myth.collection.mgmt.config.DisplayableNameProperties;
+import com.mesofi.myth.collection.mgmt.config.TaxProperties;
 import com.mesofi.myth.collection.mgmt.exceptions.FigurineNotFoundException;
-import com.mesofi.myth.collection.mgmt.exceptions.SourceFigurineBulkException;
-import com.mesofi.myth.collection.mgmt.mappers.FigurineMapper;
 import com.mesofi.myth.collection.mgmt.model.Anniversary;
 import com.mesofi.myth.collection.mgmt.model.Category;
 import com.mesofi.myth.collection.mgmt.model.Distribution;
 import com.mesofi.myth.collection.mgmt.model.DistributionChannel;
 import com.mesofi.myth.collection.mgmt.model.Distributor;
 import com.mesofi.myth.collection.mgmt.model.Figurine;
+import com.mesofi.myth.collection.mgmt.model.FigurineCatalogChangedEvent;
+import com.mesofi.myth.collection.mgmt.model.FigurineCursor;
+import com.mesofi.myth.collection.mgmt.model.FigurineFilter;
+import com.mesofi.myth.collection.mgmt.model.FigurineKey;
+import com.mesofi.myth.collection.mgmt.model.FigurinePage;
 import com.mesofi.myth.collection.mgmt.model.LineUp;
 import com.mesofi.myth.collection.mgmt.model.Restock;
 import com.mesofi.myth.collection.mgmt.model.Series;
-import com.mesofi.myth.collection.mgmt.model.SourceFigurine;
 import com.mesofi.myth.collection.mgmt.model.Status;
 import com.mesofi.myth.collection.mgmt.repository.MythCollectionRepository;
-import java.io.IOException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
+import java.time.Clock;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
-import org.springframework.mock.web.MockMultipartFile;
-import org.springframework.web.multipart.MultipartFile;
 
 @ExtendWith(MockitoExtension.class)
 public class MythCollectionServiceTest {
   @Mock private MythCollectionRepository repository;
-  @Mock private FigurineMapper mapper;
-  @Mock MultipartFile multipartFile;
+  @Mock private ApplicationEventPublisher eventPublisher;
 
-  @InjectMocks private MythCollectionService service;
-
-  @Test
-  void createFigurines_whenBasicFigurines_thenThrowIOException() throws IOException {
-    when(multipartFile.getInputStream()).thenThrow(IOException.class);
-
-    // Assert
-    assertThatExceptionOfType(SourceFigurineBulkException.class)
-        .isThrownBy(() -> service.createFigurines(multipartFile))
-        .withMessage("Unable to load figurines");
-  }
-
-  @Test
-  void createFigurines_whenBasicFigurines_thenLoadThemAll() {
-    String figurines = loadFigurines("basic.csv");
+  @Spy
+  private DisplayableNameCache displayableNames =
+      new DisplayableNameCache(new DisplayableNameProperties(), new SimpleMeterRegistry());
 
-    MultipartFile file = new MockMultipartFile("file", "basic.csv", null, figurines.getBytes());
+  @Spy private TaxRateTimeline taxRates = new TaxRateTimeline(new TaxProperties());
+  @Spy private Clock clock = Clock.systemDefaultZone();
 
-    Figurine figurine = new Figurine();
-    figurine.setBaseName("Some Figurine");
-
-    when(mapper.toFigure(any(SourceFigurine.class))).thenReturn(figurine);
-    when(repository.save(figurine)).thenReturn(figurine);
-
-    // Act
-    List<Figurine> result = service.createFigurines(file);
-    assertNotNull(result);
-    assertEquals(2, result.size());
-
-    verify(mapper, times(2)).toFigure(any(SourceFigurine.class));
-    verify(repository, times(2)).save(figurine);
-  }
+  @InjectMocks private MythCollectionService service;
 
   @Test
   void createFigurine_whenFigurinePopulated_thenCreateFigurineAndReturnSaved() {
@@ -87,18 +71,17 @@ public class MythCollectionServiceTest {
     Figurine figurineToSave =
         new Figurine(
             null, "Seiya", null, null, null, null, null, false, false, false, false, false, false,
-            false, false, false, false, null, null);
+            false, false, false, false, null, null, null, null, null, null, null, null);
     figurineToSave.setOfficialImages(List.of("abc"));
     figurineToSave.setOtherImages(List.of("def"));
 
-    Figurine savedFigurine =
-        new Figurine(
-            "1", "Seiya", null, null, null, null, null, false, false, false, false, false, false,
-            false, false, false, false, null, null);
-    savedFigurine.setOfficialImages(List.of("abc"));
-    savedFigurine.setOtherImages(List.of("def"));
-
-    when(repository.save(figurineToSave)).thenReturn(savedFigurine);
+    when(repository.save(figurineToSave))
+        .thenAnswer(
+            invocation -> {
+              Figurine saved = invocation.getArgument(0);
+              saved.setId("1");
+              return saved;
+            });
 
     // Act
     Figurine result = service.createFigurine(figurineToSave);
@@ -108,6 +91,8 @@ public class MythCollectionServiceTest {
     assertEquals("1", result.getId());
     assertEquals("Seiya", result.getBaseName());
     assertEquals("Seiya", result.getDisplayableName());
+    assertEquals(Status.RELEASE_TBD, result.getStatus());
+    assertEquals(FigurineKey.groupKeyOf(figurineToSave), result.getGroupKey());
     assertEquals(1, result.getOfficialImages().size());
     assertEquals(
         "https://imagizer.imageshack.com/v2/640x480q70/abc.jpg",
@@ -117,6 +102,8 @@ public class MythCollectionServiceTest {
         "https://imagizer.imageshack.com/v2/640x480q70/def.jpg",
         result.getOtherImages().getFirst());
     verify(repository, times(1)).save(figurineToSave);
+    verify(repository).refreshGroupHeads(List.of(result.getGroupKey()));
+    verify(eventPublisher).publishEvent(new FigurineCatalogChangedEvent("created 1"));
   }
 
   @Test
@@ -137,6 +124,7 @@ public class MythCollectionServiceTest {
     existingFigurine.setId(id);
     existingFigurine.setBaseName("ToBeUpdated");
     existingFigurine.setLineUp(LineUp.DDP);
+    existingFigurine.setGroupKey("previous");
 
     when(repository.findById(id)).thenReturn(Optional.of(existingFigurine));
     when(repository.save(existingFigurine)).thenReturn(existingFigurine);
@@ -205,9 +193,13 @@ public class MythCollectionServiceTest {
         List.of("https://imagizer.imageshack.com/v2/640x480q70/b.jpg"),
         updatedFigurine.getOtherImages());
     assertEquals("sample", updatedFigurine.getRemarks());
+    assertEquals(FigurineKey.groupKeyOf(newFigurine), updatedFigurine.getGroupKey());
 
     verify(repository).findById(id);
     verify(repository).save(existingFigurine);
+    // Both the group it was moved from and the one it was moved to get their heads calculated.
+    verify(repository).refreshGroupHeads(List.of("previous", FigurineKey.groupKeyOf(newFigurine)));
+    verify(eventPublisher).publishEvent(new FigurineCatalogChangedEvent("updated " + id));
   }
 
   @Test
@@ -227,6 +219,7 @@ public class MythCollectionServiceTest {
     List<Figurine> list = new ArrayList<>();
     list.add(figurine1);
     list.add(figurine2);
+    list.forEach(service::populateAdditionalInfo); // stored with the calculated fields
     Sort sort = Sort.by(Sort.Order.asc("distributionJPY.releaseDate"));
     when(repository.findAll(sort)).thenReturn(list);
 
@@ -271,8 +264,8 @@ public class MythCollectionServiceTest {
     List<Figurine> list = new ArrayList<>();
     list.add(figurine1);
     list.add(figurine2);
-    Sort sort = Sort.by(Sort.Order.asc("distributionJPY.releaseDate"));
-    when(repository.findAll(sort)).thenReturn(list);
+    list.forEach(service::populateAdditionalInfo); // stored with the calculated fields
+    when(repository.findAllGroupingRestocks()).thenReturn(list);
 
     // Act
     List<Figurine> result = service.getAllFigurines(true);
@@ -290,13 +283,13 @@ public class MythCollectionServiceTest {
     assertEquals(Category.SCALE, result.get(1).getCategory());
     assertNull(result.get(1).getRestocks());
 
-    verify(repository).findAll(Sort.by(Sort.Order.asc("distributionJPY.releaseDate")));
+    verify(repository).findAllGroupingRestocks();
   }
 
   @Test
   void getAllFigurines_whenSameFigurines_thenGetAllFigurinesWithoutRestocks() {
     Figurine figurine1 = new Figurine();
-    Figurine figurine2 = new Figurine();
+    Restock restock = new Restock();
 
     Distribution distributionJPY = new Distribution();
     distributionJPY.setBasePrice(new BigDecimal("12000"));
@@ -314,20 +307,18 @@ public class MythCollectionServiceTest {
     figurine1.setDistributionChannel(new DistributionChannel("123", "Stores"));
     figurine1.setRemarks("some comment");
 
-    figurine2.setBaseName("Pegasus Seiya");
-    figurine2.setCategory(Category.V1);
-    figurine2.setDistributionJPY(distributionJPY);
-    figurine2.setDistributionMXN(distributionMXN);
-    figurine2.setTamashiiUrl("https://tamashiiweb.com/item/1288");
-    figurine2.setDistributionChannel(new DistributionChannel("123", "Stores"));
-    figurine2.setRemarks("some comment");
+    restock.setDistributionJPY(distributionJPY);
+    restock.setDistributionMXN(distributionMXN);
+    restock.setTamashiiUrl("https://tamashiiweb.com/item/1288");
+    restock.setDistributionChannel(new DistributionChannel("123", "Stores"));
+    restock.setRemarks("some comment");
+    figurine1.setRestocks(List.of(restock)); // grouped by the DB
 
     // Arrange
     List<Figurine> list = new ArrayList<>();
     list.add(figurine1);
-    list.add(figurine2);
-    Sort sort = Sort.by(Sort.Order.asc("distributionJPY.releaseDate"));
-    when(repository.findAll(sort)).thenReturn(list);
+    list.forEach(service::populateAdditionalInfo); // stored with the calculated fields
+    when(repository.findAllGroupingRestocks()).thenReturn(list);
 
     // Act
     List<Figurine> result = service.getAllFigurines(true);
@@ -350,7 +341,7 @@ public class MythCollectionServiceTest {
         new DistributionChannel("123", "Stores"), restocks.getFirst().getDistributionChannel());
     assertEquals("some comment", restocks.getFirst().getRemarks());
 
-    verify(repository).findAll(Sort.by(Sort.Order.asc("distributionJPY.releaseDate")));
+    verify(repository).findAllGroupingRestocks();
   }
 
   @Test
@@ -374,10 +365,8 @@ public class MythCollectionServiceTest {
     figurine1.setCategory(Category.GOLD);
     figurine1.setRevival(true);
 
-    Figurine figurine2 = new Figurine();
-    figurine2.setId("1234567891");
-    figurine2.setBaseName("Aiolia Leo");
-    figurine2.setDistributionJPY(
+    Restock restock = new Restock();
+    restock.setDistributionJPY(
         new Distribution(
             null,
             new BigDecimal("15000"),
@@ -386,13 +375,10 @@ public class MythCollectionServiceTest {
             LocalDate.of(2024, 1, 24),
             LocalDate.of(2024, 1, 24),
             true));
-    figurine2.setTamashiiUrl("https://tamashiiweb.com/item/14207");
-    figurine2.setDistributionChannel(new DistributionChannel("123", "Tamashii Store"));
-    figurine2.setLineUp(LineUp.MYTH_CLOTH_EX);
-    figurine2.setSeries(Series.SAINT_SEIYA);
-    figurine2.setCategory(Category.GOLD);
-    figurine2.setRevival(true);
-    figurine2.setRemarks("Sold via lottery from Jan 10 to Jan 16");
+    restock.setTamashiiUrl("https://tamashiiweb.com/item/14207");
+    restock.setDistributionChannel(new DistributionChannel("123", "Tamashii Store"));
+    restock.setRemarks("Sold via lottery from Jan 10 to Jan 16");
+    figurine1.setRestocks(List.of(restock)); // grouped by the DB
 
     Figurine figurine3 = new Figurine();
     figurine3.setId("1234567892");
@@ -406,10 +392,9 @@ public class MythCollectionServiceTest {
     // Arrange
     List<Figurine> list = new ArrayList<>();
     list.add(figurine1);
-    list.add(figurine2);
     list.add(figurine3);
-    Sort sort = Sort.by(Sort.Order.asc("distributionJPY.releaseDate"));
-    when(repository.findAll(sort)).thenReturn(list);
+    list.forEach(service::populateAdditionalInfo); // stored with the calculated fields
+    when(repository.findAllGroupingRestocks()).thenReturn(list);
 
     // Act
     List<Figurine> result = service.getAllFigurines(true);
@@ -449,7 +434,7 @@ public class MythCollectionServiceTest {
     assertEquals(Series.SAINT_SEIYA, result.get(1).getSeries());
     assertEquals(Category.ROBE, result.get(1).getCategory());
 
-    verify(repository).findAll(Sort.by(Sort.Order.asc("distributionJPY.releaseDate")));
+    verify(repository).findAllGroupingRestocks();
   }
 
   @Test
@@ -489,6 +474,7 @@ public class MythCollectionServiceTest {
     list.add(figurine5);
     list.add(figurine6);
 
+    list.forEach(service::populateAdditionalInfo); // stored with the calculated fields
     Sort sort = Sort.by(Sort.Order.asc("distributionJPY.releaseDate"));
     when(repository.findAll(sort)).thenReturn(list);
 
@@ -518,6 +504,40 @@ public class MythCollectionServiceTest {
     verify(repository).findAll(Sort.by(Sort.Order.asc("distributionJPY.releaseDate")));
   }
 
+  @Test
+  void getAllFigurines_whenReleaseDatesMissingInBetween_thenGetAllFigurinesOrderedByReleaseDate() {
+    // Arrange
+    Random random = new Random(42);
+    List<Figurine> list = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      Figurine figurine = new Figurine();
+      figurine.setBaseName("Figurine " + i);
+      if (random.nextInt(3) > 0) {
+        figurine.setDistributionJPY(
+            new Distribution(
+                null, null, null, null, null, LocalDate.of(2000, 1, 1).plusDays(i * 7L), null));
+      }
+      list.add(figurine);
+    }
+    Collections.shuffle(list, random);
+
+    list.forEach(service::populateAdditionalInfo); // stored with the calculated fields
+    Sort sort = Sort.by(Sort.Order.asc("distributionJPY.releaseDate"));
+    when(repository.findAll(sort)).thenReturn(list);
+
+    // Act
+    List<Figurine> result = service.getAllFigurines(false);
+
+    // Assert
+    assertEquals(500, result.size());
+    List<LocalDate> releaseDates =
+        result.stream()
+            .filter($ -> $.getStatus() == Status.RELEASED)
+            .map($ -> $.getDistributionJPY().getReleaseDate())
+            .toList();
+    assertEquals(releaseDates.stream().sorted(Comparator.reverseOrder()).toList(), releaseDates);
+  }
+
   @Test
   void getAllFigurines_whenMultipleFigurines_thenCalculateFinalPrice() {
     Figurine figurine1 = new Figurine(); // no distributionJPY
@@ -561,6 +581,7 @@ public class MythCollectionServiceTest {
     list.add(figurine5);
     list.add(figurine6);
 
+    list.forEach(service::populateAdditionalInfo); // stored with the calculated fields
     Sort sort = Sort.by(Sort.Order.asc("distributionJPY.releaseDate"));
     when(repository.findAll(sort)).thenReturn(list);
 
@@ -627,6 +648,7 @@ public class MythCollectionServiceTest {
     list.add(figurine6);
     list.add(figurine7);
 
+    list.forEach(service::populateAdditionalInfo); // stored with the calculated fields
     Sort sort = Sort.by(Sort.Order.asc("distributionJPY.releaseDate"));
     when(repository.findAll(sort)).thenReturn(list);
 
@@ -646,6 +668,180 @@ public class MythCollectionServiceTest {
     verify(repository).findAll(Sort.by(Sort.Order.asc("distributionJPY.releaseDate")));
   }
 
+  @Test
+  void getFigurinePage_whenMoreFigurines_thenReturnPageWithNextCursor() {
+    Figurine figurine1 = new Figurine();
+    figurine1.setId("1");
+    figurine1.setBaseName("Pegasus Seiya");
+    figurine1.setOfficialImages(List.of("abc"));
+    figurine1.setDistributionJPY(
+        new Distribution(null, null, null, null, null, LocalDate.of(2024, 1, 24), true));
+
+    Figurine figurine2 = new Figurine();
+    figurine2.setId("2");
+    figurine2.setBaseName("Dragon Shiryu");
+
+    FigurineFilter filter = new FigurineFilter(LineUp.MYTH_CLOTH_EX, null, null, null);
+
+    // Arrange
+    service.populateAdditionalInfo(figurine1); // stored with the calculated fields
+    service.populateAdditionalInfo(figurine2);
+    when(repository.findPage(eq(filter), eq(null), eq(2), eq(true), any(LocalDate.class)))
+        .thenReturn(List.of(figurine1, figurine2));
+
+    // Act
+    FigurinePage result = service.getFigurinePage(filter, true, 1, null);
+
+    // Assert
+    assertEquals(1, result.figurines().size());
+    assertEquals("Pegasus Seiya", result.figurines().getFirst().getDisplayableName());
+    assertEquals(Status.RELEASED, result.figurines().getFirst().getStatus());
+    assertEquals(
+        List.of("https://imagizer.imageshack.com/v2/640x480q70/abc.jpg"),
+        result.figurines().getFirst().getOfficialImages());
+    assertEquals(
+        new FigurineCursor(FigurineCursor.Segment.RELEASE_DATE, LocalDate.of(2024, 1, 24), "1"),
+        FigurineCursor.decode(result.nextCursor()));
+  }
+
+  @Test
+  void getFigurinePage_whenLastPage_thenReturnPageWithoutNextCursor() {
+    Figurine figurine = new Figurine();
+    figurine.setId("2");
+    figurine.setBaseName("Dragon Shiryu");
+
+    FigurineCursor after = new FigurineCursor(FigurineCursor.Segment.UNDATED, null, "1");
+
+    // Arrange
+    service.populateAdditionalInfo(figurine); // stored with the calculated fields
+    when(repository.findPage(
+            eq(FigurineFilter.NONE), eq(after), eq(201), eq(false), any(LocalDate.class)))
+        .thenReturn(List.of(figurine));
+
+    // Act
+    FigurinePage result = service.getFigurinePage(FigurineFilter.NONE, false, 1000, after.encode());
+
+    // Assert
+    assertEquals(List.of(figurine), result.figurines());
+    assertEquals(Status.RELEASE_TBD, figurine.getStatus());
+    assertNull(result.nextCursor());
+  }
+
+  @Test
+  void getFigurinePage_whenInvalidSize_thenReturnAtLeastOneFigurine() {
+    // Arrange
+    when(repository.findPage(
+            eq(FigurineFilter.NONE), eq(null), eq(2), eq(false), any(LocalDate.class)))
+        .thenReturn(List.of());
+
+    // Act
+    FigurinePage result = service.getFigurinePage(FigurineFilter.NONE, false, 0, null);
+
+    // Assert
+    assertTrue(result.figurines().isEmpty());
+    assertNull(result.nextCursor());
+  }
+
+  @Test
+  void streamFigurines_whenFigurinesInSeveralSegments_thenStreamThemInOrder() {
+    Figurine released = new Figurine();
+    released.setId("1");
+    released.setBaseName("Pegasus Seiya");
+    released.setOfficialImages(List.of("abc"));
+    released.setDistributionJPY(
+        new Distribution(null, null, null, null, null, LocalDate.of(2024, 1, 24), true));
+
+    Figurine undated = new Figurine();
+    undated.setId("2");
+    undated.setBaseName("Dragon Shiryu");
+
+    FigurineFilter filter = new FigurineFilter(LineUp.MYTH_CLOTH_EX, null, null, null);
+
+    // Arrange
+    when(repository.streamSegment(
+            eq(filter), eq(FigurineCursor.Segment.UNDATED), eq(true), any(LocalDate.class)))
+        .thenReturn(Stream.of(undated));
+    when(repository.streamSegment(
+            eq(filter), eq(FigurineCursor.Segment.RELEASE_DATE), eq(true), any(LocalDate.class)))
+        .thenReturn(Stream.of(released));
+    when(repository.streamSegment(
+            eq(filter),
+            eq(FigurineCursor.Segment.ANNOUNCEMENT_DATE),
+            eq(true),
+            any(LocalDate.class)))
+        .thenReturn(Stream.empty());
+
+    // Act
+    List<Figurine> result = service.streamFigurines(filter, true).collectList().block();
+
+    // Assert
+    assertNotNull(result);
+    assertEquals(List.of(undated, released), result);
+    assertEquals("Dragon Shiryu", undated.getDisplayableName());
+    assertEquals(Status.RELEASE_TBD, undated.getStatus());
+    assertEquals(Status.RELEASED, released.getStatus());
+    assertEquals(
+        List.of("https://imagizer.imageshack.com/v2/640x480q70/abc.jpg"),
+        released.getOfficialImages());
+  }
+
+  @Test
+  void streamFigurines_whenFewerRequested_thenReadOnlyTheSegmentsNeeded() {
+    Figurine undated = new Figurine();
+    undated.setId("1");
+    undated.setBaseName("Dragon Shiryu");
+
+    // Arrange
+    when(repository.streamSegment(
+            eq(FigurineFilter.NONE),
+            eq(FigurineCursor.Segment.UNDATED),
+            eq(false),
+            any(LocalDate.class)))
+        .thenReturn(Stream.of(undated));
+
+    // Act
+    Figurine result = service.streamFigurines(FigurineFilter.NONE, false).blockFirst();
+
+    // Assert
+    assertEquals(undated, result);
+    verify(repository, times(1))
+        .streamSegment(
+            eq(FigurineFilter.NONE),
+            eq(FigurineCursor.Segment.UNDATED),
+            eq(false),
+            any(LocalDate.class));
+    verify(repository, times(0))
+        .streamSegment(
+            eq(FigurineFilter.NONE),
+            eq(FigurineCursor.Segment.RELEASE_DATE),
+            eq(false),
+            any(LocalDate.class));
+  }
+
+  @Test
+  void getAllFigurines_whenStoredFigurines_thenReturnStoredCalculatedFields() {
+    Figurine figurine = new Figurine();
+    figurine.setBaseName("Seiya");
+    figurine.setDisplayableName("Stored Name");
+    figurine.setStatus(Status.PROTOTYPE);
+    figurine.setDistributionJPY(
+        new Distribution(null, null, null, LocalDate.now(), null, null, null));
+    figurine.setOfficialImages(List.of("abc"));
+
+    // Arrange
+    Sort sort = Sort.by(Sort.Order.asc("distributionJPY.releaseDate"));
+    when(repository.findAll(sort)).thenReturn(List.of(figurine));
+
+    // Act
+    List<Figurine> result = service.getAllFigurines(false);
+
+    // Assert
+    assertEquals(1, result.size());
+    assertEquals("Stored Name", result.getFirst().getDisplayableName());
+    assertEquals(Status.PROTOTYPE, result.getFirst().getStatus());
+    assertEquals(List.of("abc"), result.getFirst().getOfficialImages());
+  }
+
   @Test
   void getFigurine_whenNonExistingFigurine_thenThrowFigurineNotFoundException() {
 
@@ -698,6 +894,20 @@ public class MythCollectionServiceTest {
     assertEquals("https://imagizer.imageshack.com/v2/640x480q70/hij.png", result.get(2));
   }
 
+  @Test
+  void complementImageUrls_whenProvidedUrls_thenReturnSameUrls() {
+    List<String> urls =
+        List.of(
+            "https://imagizer.imageshack.com/v2/640x480q70/abc.jpg",
+            "https://imagizer.imageshack.com/v2/640x480q70/hij.png");
+
+    // Act
+    List<String> result = service.complementImageUrls(urls);
+
+    // Assert
+    assertEquals(urls, result);
+  }
+
   @Test
   void calculateDisplayableName_whenFigurinePopulated_thenCalculateDisplayableName() {
     Figurine theFigurine = new Figurine();
@@ -0,0 +1,122 @@
+package com.mesofi.myth.collection.mgmt.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.mesofi.myth.collection.mgmt.config.ImportProperties;
+import com.mesofi.myth.collection.mgmt.model.DistributionChannel;
+import com.mesofi.myth.collection.mgmt.model.Distributor;
+import com.mesofi.myth.collection.mgmt.model.ReferenceDataChangedEvent;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class ReferenceDataRegistryTest {
+  private ReferenceDataRegistry registry;
+
+  @Mock private DistributorService distributorService;
+  @Mock private DistributionChannelService distributionChannelService;
+
+  @BeforeEach
+  void before() {
+    registry =
+        new ReferenceDataRegistry(
+            distributorService, distributionChannelService, new ImportProperties());
+  }
+
+  @Test
+  void new_whenCreated_thenNothingLoaded() {
+    // Assert
+    verifyNoInteractions(distributorService, distributionChannelService);
+  }
+
+  @Test
+  void snapshot_whenNoChanges_thenLoadOnce() {
+    // Arrange
+    when(distributorService.getAllDistributors()).thenReturn(List.of(new Distributor("1", "DAM")));
+    when(distributionChannelService.getAllDistributionChannels())
+        .thenReturn(List.of(new DistributionChannel("1", "Stores")));
+
+    // Act
+    ReferenceDataRegistry.Snapshot first = registry.snapshot();
+    ReferenceDataRegistry.Snapshot second = registry.snapshot();
+
+    // Assert
+    assertSame(first, second);
+    assertEquals("1", first.findDistributor("DAM").getId());
+    assertEquals("1", first.findDistributionChannel("Stores").getId());
+    assertNull(first.findDistributor("dam"));
+    assertNull(first.findDistributionChannel("Tamashii Web Shop"));
+
+    // Verify
+    verify(distributorService, times(1)).getAllDistributors();
+    verify(distributionChannelService, times(1)).getAllDistributionChannels();
+  }
+
+  @Test
+  void snapshot_whenReferenceDataChanged_thenLoadAgain() {
+    // Arrange
+    when(distributorService.getAllDistributors())
+        .thenReturn(List.of(new Distributor("1", "DAM")))
+        .thenReturn(List.of(new Distributor("1", "DAM"), new Distributor("2", "DTM")));
+    when(distributionChannelService.getAllDistributionChannels()).thenReturn(List.of());
+    ReferenceDataRegistry.Snapshot before = registry.snapshot();
+
+    // Act
+    registry.onReferenceDataChanged(new ReferenceDataChangedEvent("created distributor 2"));
+    ReferenceDataRegistry.Snapshot after = registry.snapshot();
+
+    // Assert
+    assertNull(before.findDistributor("DTM"));
+    assertEquals("2", after.findDistributor("DTM").getId());
+
+    // Verify
+    verify(distributorService, times(2)).getAllDistributors();
+  }
+
+  @Test
+  void snapshot_whenNameRepeated_thenKeepTheFirstOne() {
+    // Arrange
+    when(distributorService.getAllDistributors())
+        .thenReturn(
+            List.of(
+                new Distributor("1", "DAM"),
+                new Distributor("2", "DAM"),
+                new Distributor("3", null)));
+    when(distributionChannelService.getAllDistributionChannels()).thenReturn(List.of());
+
+    // Act
+    ReferenceDataRegistry.Snapshot result = registry.snapshot();
+
+    // Assert
+    assertEquals("1", result.findDistributor("DAM").getId());
+  }
+
+  @Test
+  void snapshot_whenLenientNames_thenIgnoreCaseAndWhitespace() {
+    // Arrange
+    ImportProperties properties = new ImportProperties();
+    properties.setLenientNames(true);
+    registry =
+        new ReferenceDataRegistry(distributorService, distributionChannelService, properties);
+    when(distributorService.getAllDistributors()).thenReturn(List.of(new Distributor("1", "DAM")));
+    when(distributionChannelService.getAllDistributionChannels())
+        .thenReturn(List.of(new DistributionChannel("2", "Tamashii Web Shop")));
+
+    // Act
+    ReferenceDataRegistry.Snapshot result = registry.snapshot();
+
+    // Assert
+    assertEquals("1", result.findDistributor("  dam").getId());
+    assertEquals("2", result.findDistributionChannel("TAMASHII\tweb   shop ").getId());
+  }
+}
@@ -0,0 +1,131 @@
+package com.mesofi.myth.collection.mgmt.service;
+
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.mesofi.myth.collection.mgmt.config.TaxProperties;
+import com.mesofi.myth.collection.mgmt.model.Distribution;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+public class TaxRateTimelineTest {
+
+  private static final BigDecimal BASE_PRICE = new BigDecimal("4000");
+
+  private final TaxRateTimeline timeline = new TaxRateTimeline(new TaxProperties());
+
+  @Test
+  void finalPrice_whenReleaseDateWithinRate_thenApplyTheRate() {
+    // Act & Assert
+    assertEquals(new BigDecimal("4200.00"), timeline.finalPrice(BASE_PRICE, date(2003, 1, 1)));
+    assertEquals(new BigDecimal("4320.00"), timeline.finalPrice(BASE_PRICE, date(2015, 1, 1)));
+    assertEquals(new BigDecimal("4400.0"), timeline.finalPrice(BASE_PRICE, date(2020, 1, 1)));
+  }
+
+  @Test
+  void finalPrice_whenReleasedOnTheFirstDayOfRate_thenApplyTheNewRate() {
+    // Act & Assert
+    assertEquals(new BigDecimal("4200.00"), timeline.finalPrice(BASE_PRICE, date(1997, 4, 1)));
+    assertEquals(new BigDecimal("4200.00"), timeline.finalPrice(BASE_PRICE, date(2014, 3, 31)));
+    assertEquals(new BigDecimal("4320.00"), timeline.finalPrice(BASE_PRICE, date(2014, 4, 1)));
+    assertEquals(new BigDecimal("4320.00"), timeline.finalPrice(BASE_PRICE, date(2019, 9, 30)));
+    assertEquals(new BigDecimal("4400.0"), timeline.finalPrice(BASE_PRICE, date(2019, 10, 1)));
+  }
+
+  @Test
+  void finalPrice_whenReleaseDateMissingOrBeforeFirstRate_thenApplyTheLatestRate() {
+    // Act & Assert
+    assertEquals(new BigDecimal("4400.0"), timeline.finalPrice(BASE_PRICE, null));
+    assertEquals(new BigDecimal("4400.0"), timeline.finalPrice(BASE_PRICE, date(1995, 1, 1)));
+  }
+
+  @Test
+  void applyFinalPrices_whenDistributions_thenSetTheFinalPriceOfTheOnesWithBasePrice() {
+    // Arrange
+    Distribution priced =
+        new Distribution(null, BASE_PRICE, null, null, null, date(2015, 1, 1), null);
+    Distribution notPriced = new Distribution(null, null, null, null, null, date(2015, 1, 1), null);
+
+    // Act
+    timeline.applyFinalPrices(Arrays.asList(priced, null, notPriced));
+
+    // Assert
+    assertEquals(new BigDecimal("4320.00"), priced.getFinalPrice());
+    assertNull(notPriced.getFinalPrice());
+  }
+
+  @Test
+  void new_whenRatesNotSorted_thenSortThemByDate() {
+    // Arrange
+    TaxProperties properties = new TaxProperties();
+    properties.setRates(
+        List.of(
+            new TaxProperties.Rate(date(2019, 10, 1), new BigDecimal("0.1")),
+            new TaxProperties.Rate(date(1997, 4, 1), new BigDecimal("0.05"))));
+
+    // Act
+    TaxRateTimeline result = new TaxRateTimeline(properties);
+
+    // Assert
+    assertEquals(new BigDecimal("4200.00"), result.finalPrice(BASE_PRICE, date(2015, 1, 1)));
+  }
+
+  @Test
+  void new_whenTwoRatesOnTheSameDate_thenThrowException() {
+    // Arrange
+    TaxProperties properties = new TaxProperties();
+    properties.setRates(
+        List.of(
+            new TaxProperties.Rate(date(2019, 10, 1), new BigDecimal("0.1")),
+            new TaxProperties.Rate(date(2019, 10, 1), new BigDecimal("0.08"))));
+
+    // Act & Assert
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new TaxRateTimeline(properties))
+        .withMessage("Two tax rates start on 2019-10-01");
+  }
+
+  @Test
+  void new_whenNoRates_thenThrowException() {
+    // Arrange
+    TaxProperties properties = new TaxProperties();
+    properties.setRates(List.of());
+
+    // Act & Assert
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new TaxRateTimeline(properties))
+        .withMessage("At least one tax rate is required");
+  }
+
+  @Test
+  void new_whenRatesConfigured_thenBindThemFromTheProperties() {
+    // Arrange
+    Binder binder =
+        new Binder(
+            new MapConfigurationPropertySource(
+                Map.of(
+                    "myth.tax.rates[0].from", "2019-10-01",
+                    "myth.tax.rates[0].rate", "0.1",
+                    "myth.tax.rates[1].from", "2030-01-01",
+                    "myth.tax.rates[1].rate", "0.12")));
+
+    // Act
+    TaxRateTimeline result =
+        new TaxRateTimeline(binder.bind("myth.tax", TaxProperties.class).get());
+
+    // Assert
+    assertEquals(new BigDecimal("4400.0"), result.finalPrice(BASE_PRICE, date(2029, 12, 31)));
+    assertEquals(new BigDecimal("4480.00"), result.finalPrice(BASE_PRICE, date(2030, 1, 1)));
+  }
+
+  private static LocalDate date(int year, int month, int day) {
+    return LocalDate.of(year, month, day);
+  }
+}